@@ -0,0 +1,314 @@
+package com.gameadvisor.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gameadvisor.model.GameAdviceRequest;
+import com.gameadvisor.model.ScreenAnalysisRequest;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 조언 API 부하 테스트 드라이버
+ * /api/advice/game 과 /api/advice/screen 요청을 지정한 비율로 섞어 보내며,
+ * 동시 사용자 수를 단계적으로 늘려 단계별 처리량, p50/p90/p99 지연, 오류율을 보고합니다.
+ * 처리량이 더 늘지 않으면서 p99가 크게 늘거나 오류가 생기기 시작한 단계를 포화 지점으로 표시합니다.
+ *
+ * 실행: ./gradlew loadTest -PloadArgs="--target=http://localhost:8080 --concurrency=1,2,4,8,16,32"
+ *
+ * 옵션
+ *   --target          백엔드 주소 (기본 http://localhost:8080)
+ *   --concurrency     단계별 동시 사용자 수 (기본 1,2,4,8,16,32)
+ *   --step-seconds    단계당 측정 시간 (기본 20)
+ *   --warmup-seconds  단계마다 측정 전 예열 시간 (기본 3)
+ *   --screen-ratio    화면 분석 요청 비율 0~1 (기본 0.5)
+ *   --clients         가상 클라이언트 ID 수 (기본 동시 사용자 수와 같음)
+ *   --image           화면 분석에 사용할 PNG 파일 (없으면 요청마다 다른 합성 화면 생성)
+ *   --csv             단계별 결과를 저장할 CSV 파일
+ */
+public class AdviceLoadDriver {
+
+    private static final String[] GAMES = {"BloonsTD", "MasterDuel"};
+    private static final String[] BLOONS_SITUATIONS = {
+            "라운드 %d 세라믹 러시가 오는데 방어가 부족해요",
+            "라운드 %d 모압이 나오기 시작했어요. 돈은 3000 정도 있어요",
+            "라운드 %d 카모 풍선이 새어 나가요",
+            "round %d lead bloons are leaking, what should I upgrade?",
+            "라운드 %d 초반인데 바나나 농장을 언제 지어야 할까요"
+    };
+    private static final String[] DUEL_SITUATIONS = {
+            "후공 %d턴째 상대 필드에 몬스터 3장, 패 4장 남았어요",
+            "선공 %d턴째 패트랩을 언제 써야 할까요",
+            "상대가 %d번째 특수소환 중인데 체인할까요",
+            "turn %d opponent has two set traps, how do I push through?"
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String target;
+    private final double screenRatio;
+    private final int clients;
+    private final String fixedImage;
+
+    AdviceLoadDriver(String target, double screenRatio, int clients, String fixedImage) {
+        this.target = target;
+        this.screenRatio = screenRatio;
+        this.clients = clients;
+        this.fixedImage = fixedImage;
+    }
+
+    public static void main(String[] argv) throws Exception {
+        LoadTestArgs args = new LoadTestArgs(argv);
+        List<Integer> steps = args.getIntList("concurrency", "1,2,4,8,16,32");
+        int stepSeconds = args.getInt("step-seconds", 20);
+        int warmupSeconds = args.getInt("warmup-seconds", 3);
+        String imagePath = args.get("image", null);
+        String fixedImage = imagePath != null
+                ? Base64.getEncoder().encodeToString(Files.readAllBytes(Path.of(imagePath))) : null;
+
+        List<StepResult> results = new ArrayList<>();
+        for (int concurrency : steps) {
+            AdviceLoadDriver driver = new AdviceLoadDriver(args.get("target", "http://localhost:8080"),
+                    args.getDouble("screen-ratio", 0.5), args.getInt("clients", concurrency), fixedImage);
+            driver.runFor(concurrency, warmupSeconds * 1000L, false);
+            StepResult result = driver.runFor(concurrency, stepSeconds * 1000L, true);
+            results.add(result);
+            System.out.println(result.format());
+        }
+
+        printSummary(results);
+        String csv = args.get("csv", null);
+        if (csv != null) {
+            writeCsv(Path.of(csv), results);
+        }
+    }
+
+    /**
+     * 동시 사용자 concurrency 명이 각자 응답을 받자마자 다음 요청을 보내는 닫힌 루프로 실행
+     */
+    private StepResult runFor(int concurrency, long durationMs, boolean measure) throws InterruptedException {
+        Recorder[] recorders = new Recorder[concurrency];
+        Thread[] users = new Thread[concurrency];
+        long deadline = System.currentTimeMillis() + durationMs;
+        long startedAt = System.nanoTime();
+
+        for (int u = 0; u < concurrency; u++) {
+            Recorder recorder = new Recorder();
+            recorders[u] = recorder;
+            users[u] = new Thread(() -> {
+                while (System.currentTimeMillis() < deadline) {
+                    sendOne(recorder);
+                }
+            }, "load-user-" + u);
+            users[u].start();
+        }
+        for (Thread user : users) {
+            user.join();
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        return measure ? StepResult.of(concurrency, elapsedNanos, recorders) : null;
+    }
+
+    private void sendOne(Recorder recorder) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean screen = random.nextDouble() < screenRatio;
+        long startedAt = 0;
+        try {
+            // 요청 본문(합성 화면 포함) 생성 시간은 지연에서 제외
+            byte[] body = objectMapper.writeValueAsBytes(screen ? screenRequest(random) : gameRequest(random));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(target + (screen ? "/api/advice/screen" : "/api/advice/game")))
+                    .timeout(Duration.ofSeconds(120))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+            startedAt = System.nanoTime();
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            recorder.record(System.nanoTime() - startedAt, response.statusCode() / 100 == 2);
+        } catch (IOException e) {
+            recorder.record(startedAt != 0 ? System.nanoTime() - startedAt : 0, false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private GameAdviceRequest gameRequest(Random random) {
+        String game = GAMES[random.nextInt(GAMES.length)];
+        GameAdviceRequest request = new GameAdviceRequest();
+        request.setGameName(game);
+        request.setCurrentSituation(situation(game, random));
+        return request;
+    }
+
+    private ScreenAnalysisRequest screenRequest(Random random) throws IOException {
+        String game = GAMES[random.nextInt(GAMES.length)];
+        ScreenAnalysisRequest request = new ScreenAnalysisRequest();
+        request.setGameName(game);
+        request.setClientId("load-client-" + random.nextInt(Math.max(1, clients)));
+        request.setImageBase64(fixedImage != null ? fixedImage : syntheticScreen(random));
+        if (random.nextBoolean()) {
+            request.setHudText(situation(game, random));
+        }
+        return request;
+    }
+
+    private String situation(String game, Random random) {
+        String[] templates = "BloonsTD".equals(game) ? BLOONS_SITUATIONS : DUEL_SITUATIONS;
+        return String.format(templates[random.nextInt(templates.length)], 1 + random.nextInt(100));
+    }
+
+    /**
+     * 요청마다 배치가 다른 1920x1080 합성 게임 화면 (중복 화면 판별에 걸리지 않도록)
+     */
+    private String syntheticScreen(Random random) throws IOException {
+        BufferedImage image = new BufferedImage(1920, 1080, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(new Color(60, 120, 60));
+            g.fillRect(0, 0, 1920, 1080);
+            for (int i = 0; i < 40; i++) {
+                g.setColor(new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256)));
+                g.fillRect(random.nextInt(1920), random.nextInt(1080), 40 + random.nextInt(300), 40 + random.nextInt(300));
+            }
+        } finally {
+            g.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return Base64.getEncoder().encodeToString(out.toByteArray());
+    }
+
+    /**
+     * 포화 지점: 처리량 증가가 10% 미만이면서 p99가 50% 이상 늘었거나, 오류율이 1%를 넘은 첫 단계
+     */
+    private static void printSummary(List<StepResult> results) {
+        StepResult best = null;
+        StepResult saturation = null;
+        for (int i = 0; i < results.size(); i++) {
+            StepResult current = results.get(i);
+            if (best == null || current.throughput > best.throughput) {
+                best = current;
+            }
+            if (saturation == null && i > 0) {
+                StepResult previous = results.get(i - 1);
+                boolean flat = current.throughput < previous.throughput * 1.10;
+                boolean slower = current.p99Ms > previous.p99Ms * 1.5;
+                if ((flat && slower) || current.errorRate() > 0.01) {
+                    saturation = current;
+                }
+            }
+        }
+        System.out.println("----");
+        if (best != null) {
+            System.out.printf("최대 처리량: %.2f req/s (동시 사용자 %d)%n", best.throughput, best.concurrency);
+        }
+        System.out.println(saturation != null
+                ? String.format("포화 지점: 동시 사용자 %d (p99 %.0fms, 오류율 %.1f%%)",
+                        saturation.concurrency, saturation.p99Ms, saturation.errorRate() * 100)
+                : "포화 지점: 측정 범위 안에서 발견되지 않음");
+    }
+
+    private static void writeCsv(Path path, List<StepResult> results) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path))) {
+            writer.println("concurrency,requests,errors,throughput,p50_ms,p90_ms,p99_ms");
+            for (StepResult r : results) {
+                writer.printf("%d,%d,%d,%.3f,%.1f,%.1f,%.1f%n",
+                        r.concurrency, r.requests, r.errors, r.throughput, r.p50Ms, r.p90Ms, r.p99Ms);
+            }
+        }
+    }
+
+    /**
+     * 사용자 스레드별 기록 (스레드 간 공유 없음)
+     */
+    private static class Recorder {
+        private long[] latencies = new long[256];
+        private int size;
+        private int errors;
+
+        void record(long nanos, boolean success) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = nanos;
+            if (!success) {
+                errors++;
+            }
+        }
+    }
+
+    private static class StepResult {
+        private final int concurrency;
+        private final int requests;
+        private final int errors;
+        private final double throughput;
+        private final double p50Ms;
+        private final double p90Ms;
+        private final double p99Ms;
+
+        StepResult(int concurrency, int requests, int errors, double throughput,
+                   double p50Ms, double p90Ms, double p99Ms) {
+            this.concurrency = concurrency;
+            this.requests = requests;
+            this.errors = errors;
+            this.throughput = throughput;
+            this.p50Ms = p50Ms;
+            this.p90Ms = p90Ms;
+            this.p99Ms = p99Ms;
+        }
+
+        static StepResult of(int concurrency, long elapsedNanos, Recorder[] recorders) {
+            int total = 0;
+            int errors = 0;
+            for (Recorder recorder : recorders) {
+                total += recorder.size;
+                errors += recorder.errors;
+            }
+            long[] all = new long[total];
+            int offset = 0;
+            for (Recorder recorder : recorders) {
+                System.arraycopy(recorder.latencies, 0, all, offset, recorder.size);
+                offset += recorder.size;
+            }
+            Arrays.sort(all);
+            double throughput = total / (elapsedNanos / 1e9);
+            return new StepResult(concurrency, total, errors, throughput,
+                    percentileMs(all, 0.50), percentileMs(all, 0.90), percentileMs(all, 0.99));
+        }
+
+        private static double percentileMs(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+        }
+
+        double errorRate() {
+            return requests == 0 ? 0.0 : (double) errors / requests;
+        }
+
+        String format() {
+            return String.format("동시 사용자 %3d | 요청 %6d | %8.2f req/s | p50 %7.0fms | p90 %7.0fms | p99 %7.0fms | 오류 %.1f%%",
+                    concurrency, requests, throughput, p50Ms, p90Ms, p99Ms, errorRate() * 100);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.gameadvisor.loadtest;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gameadvisor.model.GeminiRequest;
+import com.gameadvisor.model.GeminiResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로컬 Gemini 대역 서버 (부하 테스트용)
+ * generateContent / streamGenerateContent(SSE) 요청을 {@link GeminiRequest} 형식으로 받아
+ * {@link GeminiResponse} 형식으로 응답합니다. 지연 시간은 로그 정규 분포(중앙값, p99 지정),
+ * 오류는 지정한 비율로 429/500/503 중 하나를 반환합니다.
+ *
+ * 실행: ./gradlew geminiStub -PstubArgs="--port=8089 --median-ms=1500 --p99-ms=6000 --error-rate=0.02"
+ * 백엔드 설정: gemini.api.url=http://localhost:8089/v1beta/models/gemini-stub:generateContent
+ *
+ * 옵션
+ *   --port               수신 포트 (기본 8089)
+ *   --median-ms          응답 지연 중앙값 (기본 1500)
+ *   --p99-ms             응답 지연 p99 (기본 6000)
+ *   --error-rate         오류 응답 비율 0~1 (기본 0)
+ *   --candidate-tokens   응답 토큰 수 (기본 180)
+ *   --stream-chunks      스트리밍 응답 조각 수 (기본 8)
+ */
+public class GeminiStubServer {
+
+    private static final int[] ERROR_STATUSES = {429, 500, 503};
+    // 이미지 한 장의 프롬프트 토큰 수 (Gemini 기준)
+    private static final int IMAGE_TOKENS = 258;
+    private static final double Z_99 = 2.326;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final double logMedian;
+    private final double sigma;
+    private final double errorRate;
+    private final int candidateTokens;
+    private final int streamChunks;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    GeminiStubServer(LoadTestArgs args) {
+        double medianMs = args.getDouble("median-ms", 1500);
+        double p99Ms = Math.max(medianMs, args.getDouble("p99-ms", 6000));
+        this.logMedian = Math.log(Math.max(1.0, medianMs));
+        this.sigma = Math.log(p99Ms / Math.max(1.0, medianMs)) / Z_99;
+        this.errorRate = args.getDouble("error-rate", 0.0);
+        this.candidateTokens = args.getInt("candidate-tokens", 180);
+        this.streamChunks = Math.max(1, args.getInt("stream-chunks", 8));
+    }
+
+    public static void main(String[] argv) throws IOException {
+        LoadTestArgs args = new LoadTestArgs(argv);
+        int port = args.getInt("port", 8089);
+        GeminiStubServer stub = new GeminiStubServer(args);
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 256);
+        server.createContext("/", stub::handle);
+        // 실제 API처럼 동시 요청 수에 제한을 두지 않음
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        System.out.printf("Gemini 대역 서버 시작: http://localhost:%d (중앙값 %.0fms, p99 %.0fms, 오류율 %.1f%%)%n",
+                port, Math.exp(stub.logMedian), Math.exp(stub.logMedian + Z_99 * stub.sigma), stub.errorRate * 100);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() ->
+                System.out.printf("총 요청 %d 건, 오류 응답 %d 건%n", stub.requests.get(), stub.errors.get())));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            String path = exchange.getRequestURI().getPath();
+            if (!"POST".equals(exchange.getRequestMethod())
+                    || !(path.endsWith(":generateContent") || path.endsWith(":streamGenerateContent"))) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            GeminiRequest request = objectMapper.readValue(exchange.getRequestBody(), GeminiRequest.class);
+            long latencyMs = sampleLatencyMs();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+
+            if (random.nextDouble() < errorRate) {
+                errors.incrementAndGet();
+                sleep(latencyMs / 4);
+                int status = ERROR_STATUSES[random.nextInt(ERROR_STATUSES.length)];
+                writeJson(exchange, status, Map.of("error", Map.of("code", status, "message", "stub error")));
+                return;
+            }
+
+            String text = responseText(request);
+            GeminiResponse.UsageMetadata usage = GeminiResponse.UsageMetadata.builder()
+                    .promptTokenCount(promptTokens(request))
+                    .candidatesTokenCount(candidateTokens)
+                    .totalTokenCount(promptTokens(request) + candidateTokens)
+                    .build();
+
+            if (path.endsWith(":streamGenerateContent")) {
+                stream(exchange, text, usage, latencyMs);
+            } else {
+                sleep(latencyMs);
+                writeJson(exchange, 200, response(text, usage));
+            }
+        }
+    }
+
+    /**
+     * SSE 스트리밍 - 첫 조각은 지연의 30% 시점에, 나머지는 남은 시간 동안 고르게 전송
+     */
+    private void stream(HttpExchange exchange, String text, GeminiResponse.UsageMetadata usage, long latencyMs)
+            throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+
+        sleep((long) (latencyMs * 0.3));
+        long interval = (long) (latencyMs * 0.7 / streamChunks);
+        int chunkLength = (int) Math.ceil((double) text.length() / streamChunks);
+        for (int i = 0; i < streamChunks; i++) {
+            int start = Math.min(text.length(), i * chunkLength);
+            int end = Math.min(text.length(), start + chunkLength);
+            boolean last = i == streamChunks - 1;
+            GeminiResponse chunk = response(text.substring(start, end), last ? usage : null);
+            out.write(("data: " + objectMapper.writeValueAsString(chunk) + "\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            if (!last) {
+                sleep(interval);
+            }
+        }
+    }
+
+    private GeminiResponse response(String text, GeminiResponse.UsageMetadata usage) {
+        GeminiResponse.Content content = GeminiResponse.Content.builder()
+                .role("model")
+                .parts(List.of(GeminiResponse.Part.builder().text(text).build()))
+                .build();
+        return GeminiResponse.builder()
+                .candidates(List.of(GeminiResponse.Candidate.builder()
+                        .content(content).finishReason("STOP").index(0).build()))
+                .usageMetadata(usage)
+                .build();
+    }
+
+    /**
+     * 응답 토큰 수에 맞춘 한국어 조언 텍스트 (단일 호출 프롬프트면 첫 줄에 상황 요약)
+     */
+    private String responseText(GeminiRequest request) {
+        StringBuilder text = new StringBuilder();
+        if (promptText(request).contains("'상황:'")) {
+            text.append("상황: 라운드 진행 중, 자원 여유 있음\n");
+        }
+        String sentence = "1. 입구 쪽 경로에 공격 타워를 먼저 배치하세요. ";
+        // 한글은 대략 1.5음절당 1토큰
+        int targetLength = (int) (candidateTokens * 1.5);
+        while (text.length() < targetLength) {
+            text.append(sentence);
+        }
+        return text.toString();
+    }
+
+    private int promptTokens(GeminiRequest request) {
+        int tokens = promptText(request).length() * 2 / 3;
+        if (request.getContents() != null) {
+            for (GeminiRequest.Content content : request.getContents()) {
+                if (content.getParts() != null) {
+                    for (GeminiRequest.Part part : content.getParts()) {
+                        if (part.getInlineData() != null) {
+                            tokens += IMAGE_TOKENS;
+                        }
+                    }
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private String promptText(GeminiRequest request) {
+        StringBuilder text = new StringBuilder();
+        if (request.getContents() != null) {
+            for (GeminiRequest.Content content : request.getContents()) {
+                if (content.getParts() != null) {
+                    for (GeminiRequest.Part part : content.getParts()) {
+                        if (part.getText() != null) {
+                            text.append(part.getText());
+                        }
+                    }
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    private long sampleLatencyMs() {
+        return (long) Math.exp(logMedian + sigma * ThreadLocalRandom.current().nextGaussian());
+    }
+
+    private void writeJson(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(Math.max(0, ms));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.gameadvisor.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 조언 생성 파이프라인에서 사용하는 실행기 설정
+ */
+@Configuration
+public class AdviceExecutorConfig {
+
+    /**
+     * 화면 분석 시 벡터 검색/웹 검색 분기를 병렬 실행하는 전용 실행기
+     * 스레드 수와 대기열이 모두 제한되어 있어, 포화 시 새 분기는 거부되고 빈 결과로 대체됩니다.
+     */
+    @Bean(name = "adviceFanOutExecutor")
+    public ThreadPoolTaskExecutor adviceFanOutExecutor(
+            @Value("${advice.fanout.pool-size:8}") int poolSize,
+            @Value("${advice.fanout.queue-capacity:32}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("advice-fanout-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 연합 웹 검색에서 검색 소스들을 병렬 호출하는 실행기
+     * 포화 시 새 소스 호출은 거부되고 해당 소스는 결과에서 제외됩니다.
+     */
+    @Bean(name = "webSearchExecutor")
+    public ThreadPoolTaskExecutor webSearchExecutor(
+            @Value("${web.search.pool-size:4}") int poolSize,
+            @Value("${web.search.queue-capacity:32}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("web-search-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 웹 자료 수집 작업자 풀 ({@link com.gameadvisor.service.crawler.CrawlerEngine}이 호스트별 예의 규칙을 통과한 작업만 넘김)
+     * 넘어오는 작업은 호스트당 max-per-host개로 제한되지만 호스트 수에는 상한이 없으므로 대기열도 제한하며,
+     * 포화 시 거부된 작업은 엔진이 실패로 완료합니다.
+     */
+    @Bean(name = "crawlerExecutor")
+    public ThreadPoolTaskExecutor crawlerExecutor(
+            @Value("${crawler.pool-size:8}") int poolSize,
+            @Value("${crawler.queue-capacity:64}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("crawler-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 재시작 후 미완료 깊이 크롤링 작업을 이어서 진행하는 실행기
+     * 작업마다 임대 폴링 대기와 DB 호출로 스레드를 오래 점유하므로 공용 ForkJoin 풀 대신 별도 풀에서 실행하며,
+     * 한 번에 재개하는 작업 수는 pool-size로 제한되고 나머지는 대기열에서 순서를 기다립니다.
+     */
+    @Bean(name = "crawlResumeExecutor")
+    public ThreadPoolTaskExecutor crawlResumeExecutor(
+            @Value("${crawler.frontier.resume-pool-size:2}") int poolSize,
+            @Value("${crawler.frontier.resume-queue-capacity:32}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("crawl-resume-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * SSE 스트리밍 응답을 생성하는 실행기 (요청 스레드를 점유하지 않도록 분리)
+     */
+    @Bean(name = "adviceStreamExecutor")
+    public ThreadPoolTaskExecutor adviceStreamExecutor(
+            @Value("${advice.stream.pool-size:8}") int poolSize,
+            @Value("${advice.stream.queue-capacity:16}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("advice-stream-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 비동기 화면 분석 작업을 실행하는 실행기 (요청 스레드는 작업 등록 후 즉시 반환)
+     * 대기열이 가득 차면 새 작업은 거부됩니다.
+     */
+    @Bean(name = "adviceJobExecutor")
+    public ThreadPoolTaskExecutor adviceJobExecutor(
+            @Value("${advice.job.pool-size:8}") int poolSize,
+            @Value("${advice.job.queue-capacity:32}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("advice-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
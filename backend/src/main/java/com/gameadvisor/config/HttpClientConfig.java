@@ -0,0 +1,126 @@
+package com.gameadvisor.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * 외부 HTTP 호출용 클라이언트 설정
+ * Gemini API 호출과 웹 크롤링 트래픽은 서로 다른 연결 풀을 사용하므로,
+ * 크롤링이 몰려도 Gemini 호출이 연결을 기다리지 않습니다.
+ * 풀 상태는 /actuator/metrics 의 httpcomponents.httpclient.pool.* 로 확인할 수 있습니다.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${http.client.keep-alive-ms:30000}")
+    private long keepAliveMs;
+
+    @Value("${http.client.connection-request-timeout-ms:2000}")
+    private long connectionRequestTimeoutMs;
+
+    @Bean(name = "geminiConnectionManager", destroyMethod = "close")
+    public PoolingHttpClientConnectionManager geminiConnectionManager(
+            @Value("${http.client.gemini.max-total:20}") int maxTotal,
+            @Value("${http.client.gemini.max-per-route:20}") int maxPerRoute,
+            @Value("${http.client.gemini.connect-timeout-ms:5000}") long connectTimeoutMs,
+            @Value("${gemini.api.timeout:30000}") long readTimeoutMs,
+            MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager =
+                buildConnectionManager(maxTotal, maxPerRoute, connectTimeoutMs, readTimeoutMs);
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "gemini").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(name = "crawlerConnectionManager", destroyMethod = "close")
+    public PoolingHttpClientConnectionManager crawlerConnectionManager(
+            @Value("${http.client.crawler.max-total:50}") int maxTotal,
+            @Value("${http.client.crawler.max-per-route:4}") int maxPerRoute,
+            @Value("${http.client.crawler.connect-timeout-ms:5000}") long connectTimeoutMs,
+            @Value("${http.client.crawler.read-timeout-ms:15000}") long readTimeoutMs,
+            MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager =
+                buildConnectionManager(maxTotal, maxPerRoute, connectTimeoutMs, readTimeoutMs);
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "crawler").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(name = "geminiHttpClient", destroyMethod = "close")
+    public CloseableHttpClient geminiHttpClient(
+            @Qualifier("geminiConnectionManager") PoolingHttpClientConnectionManager connectionManager,
+            @Value("${gemini.api.timeout:30000}") long responseTimeoutMs) {
+        return buildHttpClient(connectionManager, responseTimeoutMs);
+    }
+
+    @Bean(name = "crawlerHttpClient", destroyMethod = "close")
+    public CloseableHttpClient crawlerHttpClient(
+            @Qualifier("crawlerConnectionManager") PoolingHttpClientConnectionManager connectionManager,
+            @Value("${http.client.crawler.read-timeout-ms:15000}") long responseTimeoutMs) {
+        return buildHttpClient(connectionManager, responseTimeoutMs);
+    }
+
+    /**
+     * Gemini API 호출 전용 RestTemplate
+     */
+    @Bean(name = "geminiRestTemplate")
+    public RestTemplate geminiRestTemplate(@Qualifier("geminiHttpClient") CloseableHttpClient httpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+
+    /**
+     * 웹 검색/크롤링 전용 RestTemplate
+     */
+    @Bean(name = "crawlerRestTemplate")
+    public RestTemplate crawlerRestTemplate(@Qualifier("crawlerHttpClient") CloseableHttpClient httpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+
+    private PoolingHttpClientConnectionManager buildConnectionManager(int maxTotal, int maxPerRoute,
+                                                                      long connectTimeoutMs, long readTimeoutMs) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        // 오래 쉬었던 연결은 재사용 전에 살아있는지 확인
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    private CloseableHttpClient buildHttpClient(PoolingHttpClientConnectionManager connectionManager,
+                                                long responseTimeoutMs) {
+        TimeValue keepAlive = TimeValue.ofMilliseconds(keepAliveMs);
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                        .build())
+                // 서버가 알려준 Keep-Alive 시간과 설정값 중 짧은 쪽만큼 연결을 유지
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return TimeValue.isPositive(serverKeepAlive) && serverKeepAlive.compareTo(keepAlive) < 0
+                            ? serverKeepAlive : keepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(keepAlive)
+                .build();
+    }
+}
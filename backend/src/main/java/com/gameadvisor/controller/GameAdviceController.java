@@ -1,23 +1,58 @@
 package com.gameadvisor.controller;
 
+import com.gameadvisor.model.AdviceJobResponse;
 import com.gameadvisor.model.GameAdviceRequest;
 import com.gameadvisor.model.GameAdviceResponse;
 import com.gameadvisor.model.ScreenAnalysisRequest;
 import com.gameadvisor.model.ScreenAnalysisResponse;
 import com.gameadvisor.service.GeminiService;
-import lombok.RequiredArgsConstructor;
+import com.gameadvisor.service.image.ImageUploadBuffers;
+import com.gameadvisor.service.job.AdviceJob;
+import com.gameadvisor.service.job.AdviceJobService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @RestController
 @RequestMapping("/api/advice")
-@RequiredArgsConstructor
 @CrossOrigin(origins = "*")
 public class GameAdviceController {
     
     private final GeminiService geminiService;
+    private final Executor streamExecutor;
+    private final AdviceJobService adviceJobService;
+    private final ImageUploadBuffers imageUploadBuffers;
+    
+    @Value("${advice.stream.timeout-ms:120000}")
+    private long streamTimeoutMs;
+    
+    @Value("${advice.job.max-wait-ms:30000}")
+    private long jobMaxWaitMs;
+    
+    @Autowired
+    public GameAdviceController(GeminiService geminiService,
+                                @Qualifier("adviceStreamExecutor") Executor streamExecutor,
+                                AdviceJobService adviceJobService, ImageUploadBuffers imageUploadBuffers) {
+        this.geminiService = geminiService;
+        this.streamExecutor = streamExecutor;
+        this.adviceJobService = adviceJobService;
+        this.imageUploadBuffers = imageUploadBuffers;
+    }
     
     @PostMapping("/game")
     public ResponseEntity<GameAdviceResponse> getGameAdvice(@RequestBody GameAdviceRequest request) {
@@ -49,7 +84,78 @@ public class GameAdviceController {
     @PostMapping("/screen")
     public ResponseEntity<ScreenAnalysisResponse> analyzeScreen(@RequestBody ScreenAnalysisRequest request) {
         log.info("화면 분석 요청 받음: 게임={}", request.getGameName());
-        
+        return screenResult(request);
+    }
+    
+    /**
+     * 화면 분석 (multipart) - image 파트에 PNG/JPEG 바이트, 나머지 정보는 별도 필드로 전송
+     * multipart 파트는 Spring이 먼저 전체를 받아 두므로, 복사를 줄이려면 octet-stream 엔드포인트를 사용합니다.
+     */
+    @PostMapping(value = "/screen", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ScreenAnalysisResponse> analyzeScreenUpload(@RequestPart("image") MultipartFile image,
+                                                                      @RequestParam String gameName,
+                                                                      @RequestParam(required = false) String additionalContext,
+                                                                      @RequestParam(required = false) String clientId,
+                                                                      @RequestParam(required = false) String hudText) {
+        log.info("화면 분석 업로드 요청 받음: 게임={}, {} KB", gameName, image.getSize() / 1024);
+        ImageUploadBuffers.UploadBuffer buffer = null;
+        try {
+            buffer = imageUploadBuffers.read(image.getInputStream(), image.getSize());
+            return screenResult(uploadedRequest(buffer, gameName, additionalContext, clientId, hudText));
+        } catch (IOException e) {
+            return uploadFailure(e);
+        } finally {
+            imageUploadBuffers.release(buffer);
+        }
+    }
+    
+    /**
+     * 화면 분석 (octet-stream) - 요청 본문이 이미지 바이트, 나머지 정보는 쿼리 파라미터로 전송
+     */
+    @PostMapping(value = "/screen", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<ScreenAnalysisResponse> analyzeScreenBinary(HttpServletRequest servletRequest,
+                                                                      @RequestParam String gameName,
+                                                                      @RequestParam(required = false) String additionalContext,
+                                                                      @RequestParam(required = false) String clientId,
+                                                                      @RequestParam(required = false) String hudText) {
+        log.info("화면 분석 바이너리 요청 받음: 게임={}", gameName);
+        ImageUploadBuffers.UploadBuffer buffer = null;
+        try {
+            buffer = imageUploadBuffers.read(servletRequest.getInputStream(), servletRequest.getContentLengthLong());
+            return screenResult(uploadedRequest(buffer, gameName, additionalContext, clientId, hudText));
+        } catch (IOException e) {
+            return uploadFailure(e);
+        } finally {
+            imageUploadBuffers.release(buffer);
+        }
+    }
+    
+    private ScreenAnalysisRequest uploadedRequest(ImageUploadBuffers.UploadBuffer buffer, String gameName,
+                                                  String additionalContext, String clientId, String hudText) {
+        return ScreenAnalysisRequest.builder()
+                .imageBytes(buffer.array())
+                .imageLength(buffer.length())
+                .gameName(gameName)
+                .additionalContext(additionalContext)
+                .clientId(clientId)
+                .hudText(hudText)
+                .build();
+    }
+    
+    private ResponseEntity<ScreenAnalysisResponse> uploadFailure(IOException e) {
+        log.warn("화면 이미지 수신 실패: {}", e.getMessage());
+        HttpStatus status = e instanceof ImageUploadBuffers.UploadTooLargeException
+                ? HttpStatus.PAYLOAD_TOO_LARGE : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(ScreenAnalysisResponse.builder()
+                .analysis("화면 이미지를 받지 못했습니다.")
+                .advice("다시 시도해 주세요.")
+                .characterName("게임 어드바이저")
+                .success(false)
+                .errorMessage(e.getMessage())
+                .build());
+    }
+    
+    private ResponseEntity<ScreenAnalysisResponse> screenResult(ScreenAnalysisRequest request) {
         try {
             ScreenAnalysisResponse response = geminiService.analyzeScreen(request);
             
@@ -73,7 +179,248 @@ public class GameAdviceController {
             return ResponseEntity.internalServerError().body(errorResponse);
         }
     }
-
+    
+    /**
+     * 게임 조언 스트리밍 (SSE)
+     * chunk 이벤트로 텍스트 조각을, done 이벤트로 최종 응답을 전송합니다.
+     */
+    @PostMapping(value = "/game/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamGameAdvice(@RequestBody GameAdviceRequest request) {
+        log.info("게임 조언 스트리밍 요청 받음: {}", request.getGameName());
+        
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        startStream(emitter, () -> {
+            GameAdviceResponse response = geminiService.streamGameAdvice(request, chunk -> sendChunk(emitter, chunk));
+            emitter.send(SseEmitter.event().name("done").data(response, MediaType.APPLICATION_JSON));
+        });
+        return emitter;
+    }
+    
+    /**
+     * 화면 분석 스트리밍 (SSE)
+     * chunk 이벤트로 최종 조언의 텍스트 조각을, done 이벤트로 최종 응답을 전송합니다.
+     */
+    @PostMapping(value = "/screen/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamScreenAnalysis(@RequestBody ScreenAnalysisRequest request) {
+        log.info("화면 분석 스트리밍 요청 받음: 게임={}", request.getGameName());
+        
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        startStream(emitter, () -> streamScreen(emitter, request));
+        return emitter;
+    }
+    
+    /**
+     * 화면 분석 스트리밍 (multipart) - 업로드 버퍼는 스트리밍이 끝난 뒤 반환됩니다.
+     * multipart 파트는 컨트롤러 실행 전에 Spring이 이미 메모리/임시 파일에 받아 두므로 복사가 한 번 더 생깁니다.
+     * (업로드 복사를 줄이려면 octet-stream 엔드포인트 사용)
+     */
+    @PostMapping(value = "/screen/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+                 produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamScreenUpload(@RequestPart("image") MultipartFile image,
+                                         @RequestParam String gameName,
+                                         @RequestParam(required = false) String additionalContext,
+                                         @RequestParam(required = false) String clientId,
+                                         @RequestParam(required = false) String hudText) {
+        log.info("화면 분석 업로드 스트리밍 요청 받음: 게임={}, {} KB", gameName, image.getSize() / 1024);
+        return streamUploadedScreen(() -> imageUploadBuffers.read(image.getInputStream(), image.getSize()),
+                gameName, additionalContext, clientId, hudText);
+    }
+    
+    /**
+     * 화면 분석 스트리밍 (octet-stream) - 요청 본문의 이미지 바이트를 업로드 버퍼로 바로 읽고, 나머지 정보는 쿼리 파라미터로 전송
+     */
+    @PostMapping(value = "/screen/stream", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+                 produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamScreenBinary(HttpServletRequest servletRequest,
+                                         @RequestParam String gameName,
+                                         @RequestParam(required = false) String additionalContext,
+                                         @RequestParam(required = false) String clientId,
+                                         @RequestParam(required = false) String hudText) {
+        log.info("화면 분석 바이너리 스트리밍 요청 받음: 게임={}", gameName);
+        return streamUploadedScreen(
+                () -> imageUploadBuffers.read(servletRequest.getInputStream(), servletRequest.getContentLengthLong()),
+                gameName, additionalContext, clientId, hudText);
+    }
+    
+    /**
+     * 업로드 이미지를 버퍼로 받은 뒤 스트리밍을 시작합니다. 버퍼는 스트리밍이 끝나거나 시작하지 못하면 반환됩니다.
+     */
+    private SseEmitter streamUploadedScreen(UploadReader reader, String gameName, String additionalContext,
+                                            String clientId, String hudText) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        ImageUploadBuffers.UploadBuffer buffer;
+        try {
+            buffer = reader.read();
+        } catch (IOException e) {
+            log.warn("화면 이미지 수신 실패: {}", e.getMessage());
+            sendError(emitter, e.getMessage());
+            return emitter;
+        }
+        ScreenAnalysisRequest request = uploadedRequest(buffer, gameName, additionalContext, clientId, hudText);
+        if (!startStream(emitter, () -> {
+            try {
+                streamScreen(emitter, request);
+            } finally {
+                imageUploadBuffers.release(buffer);
+            }
+        })) {
+            imageUploadBuffers.release(buffer);
+        }
+        return emitter;
+    }
+    
+    private void streamScreen(SseEmitter emitter, ScreenAnalysisRequest request) throws IOException {
+        ScreenAnalysisResponse response = geminiService.streamScreenAnalysis(request, chunk -> sendChunk(emitter, chunk));
+        emitter.send(SseEmitter.event().name("done").data(response, MediaType.APPLICATION_JSON));
+    }
+    
+    /**
+     * @return 실행기에 등록되었으면 true (포화로 거부되면 오류 이벤트 전송 후 false)
+     */
+    private boolean startStream(SseEmitter emitter, StreamTask task) {
+        try {
+            streamExecutor.execute(() -> {
+                try {
+                    task.run();
+                    emitter.complete();
+                } catch (Exception e) {
+                    log.error("스트리밍 처리 중 오류 발생: {}", e.getMessage(), e);
+                    sendError(emitter, e.getMessage());
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("스트리밍 실행기 포화 - 요청 거부");
+            sendError(emitter, "서버가 혼잡합니다. 잠시 후 다시 시도해주세요.");
+            return false;
+        }
+    }
+    
+    /**
+     * 텍스트 조각 전송 (줄바꿈이 SSE 필드를 깨지 않도록 JSON으로 감쌈)
+     */
+    private void sendChunk(SseEmitter emitter, String chunk) {
+        try {
+            emitter.send(SseEmitter.event().name("chunk").data(Map.of("text", chunk), MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            // 클라이언트 연결 종료 시 남은 생성은 계속되지만 전송만 중단됨
+            log.debug("스트리밍 조각 전송 실패 (클라이언트 연결 종료): {}", e.getMessage());
+        }
+    }
+    
+    private void sendError(SseEmitter emitter, String message) {
+        try {
+            emitter.send(SseEmitter.event().name("error")
+                    .data(Map.of("message", message != null ? message : "알 수 없는 오류"), MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (Exception sendFailure) {
+            emitter.completeWithError(sendFailure);
+        }
+    }
+    
+    @FunctionalInterface
+    private interface StreamTask {
+        void run() throws Exception;
+    }
+    
+    @FunctionalInterface
+    private interface UploadReader {
+        ImageUploadBuffers.UploadBuffer read() throws IOException;
+    }
+    
+    /**
+     * 화면 분석 작업 등록 - 작업 ID를 즉시 반환합니다. (202 Accepted)
+     * 같은 클라이언트/게임의 이전 작업은 취소됩니다.
+     */
+    @PostMapping("/screen/jobs")
+    public ResponseEntity<AdviceJobResponse> submitScreenJob(@RequestBody ScreenAnalysisRequest request) {
+        log.info("화면 분석 작업 등록 요청: 게임={}", request.getGameName());
+        
+        try {
+            AdviceJob job = adviceJobService.submitScreenAnalysis(request);
+            return ResponseEntity.accepted().body(job.toResponse());
+        } catch (RejectedExecutionException e) {
+            log.warn("작업 실행기 포화 - 화면 분석 작업 거부");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(AdviceJobResponse.builder()
+                    .status(AdviceJob.Status.FAILED.name())
+                    .errorMessage("서버가 혼잡합니다. 잠시 후 다시 시도해주세요.")
+                    .build());
+        }
+    }
+    
+    /**
+     * 작업 결과 조회 (롱 폴링)
+     * 작업이 끝나면 즉시 200으로, waitMs 안에 끝나지 않으면 202와 현재 상태를 반환합니다.
+     * 요청 스레드는 대기하지 않고 작업이 끝날 때 응답이 전송됩니다.
+     */
+    @GetMapping("/jobs/{jobId}")
+    public DeferredResult<ResponseEntity<AdviceJobResponse>> pollJob(@PathVariable String jobId,
+                                                                     @RequestParam(defaultValue = "25000") long waitMs) {
+        AdviceJob job = adviceJobService.find(jobId);
+        long timeout = Math.max(0, Math.min(waitMs, jobMaxWaitMs));
+        DeferredResult<ResponseEntity<AdviceJobResponse>> deferred = new DeferredResult<>(timeout);
+        
+        if (job == null) {
+            deferred.setResult(ResponseEntity.notFound().build());
+            return deferred;
+        }
+        if (job.isFinished() || timeout == 0) {
+            deferred.setResult(jobResult(job));
+            return deferred;
+        }
+        deferred.onTimeout(() -> deferred.setResult(ResponseEntity.accepted().body(job.toResponse())));
+        job.completion().thenAccept(finished -> deferred.setResult(jobResult(finished)));
+        return deferred;
+    }
+    
+    /**
+     * 작업 결과 구독 (SSE) - status 이벤트로 현재 상태를, 작업이 끝나면 done 이벤트로 최종 상태를 전송합니다.
+     */
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeJob(@PathVariable String jobId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        AdviceJob job = adviceJobService.find(jobId);
+        if (job == null) {
+            sendError(emitter, "작업을 찾을 수 없습니다: " + jobId);
+            return emitter;
+        }
+        try {
+            emitter.send(SseEmitter.event().name("status").data(job.toResponse(), MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            log.debug("작업 상태 전송 실패 (클라이언트 연결 종료): {}", e.getMessage());
+            emitter.complete();
+            return emitter;
+        }
+        job.completion().thenAccept(finished -> {
+            try {
+                emitter.send(SseEmitter.event().name("done").data(finished.toResponse(), MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (Exception e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+    
+    /**
+     * 작업 취소
+     */
+    @DeleteMapping("/jobs/{jobId}")
+    public ResponseEntity<AdviceJobResponse> cancelJob(@PathVariable String jobId) {
+        AdviceJob job = adviceJobService.find(jobId);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        adviceJobService.cancel(jobId);
+        return ResponseEntity.ok(job.toResponse());
+    }
+    
+    private ResponseEntity<AdviceJobResponse> jobResult(AdviceJob job) {
+        if (job.isFinished()) {
+            return ResponseEntity.ok(job.toResponse());
+        }
+        return ResponseEntity.accepted().body(job.toResponse());
+    }
     
     @GetMapping("/test")
     public ResponseEntity<String> testEndpoint() {
@@ -398,53 +398,42 @@ public class WebLearningController {
     }
     
     /**
-     * 벡터 DB를 초기화하고 개선된 방식으로 처음부터 학습시킵니다.
+     * 전략 가이드와 위키를 다시 학습시킵니다.
+     * 기본은 바뀐 페이지/섹션만 반영하는 증분 동기화이며, fullReset=true면 벡터 DB를 초기화하고 처음부터 학습합니다.
      */
     @PostMapping("/reset-and-relearn")
-    public ResponseEntity<Map<String, Object>> resetAndRelearn(@RequestParam(required = false, defaultValue = "false") boolean confirmReset) {
-        log.info("DB 초기화 및 재학습 요청 - 확인: {}", confirmReset);
+    public ResponseEntity<Map<String, Object>> resetAndRelearn(
+            @RequestParam(required = false, defaultValue = "false") boolean fullReset,
+            @RequestParam(required = false, defaultValue = "false") boolean confirmReset) {
+        log.info("재학습 요청 - 전체 초기화: {}, 확인: {}", fullReset, confirmReset);
         
         Map<String, Object> response = new HashMap<>();
         
         try {
-            if (!confirmReset) {
+            if (fullReset && !confirmReset) {
                 response.put("success", false);
                 response.put("message", "DB 초기화에는 confirmReset=true 파라미터가 필요합니다.");
                 response.put("warning", "⚠️ 이 작업은 기존의 모든 학습된 데이터를 삭제합니다!");
                 response.put("instruction", "확실하다면 ?confirmReset=true를 추가하여 다시 요청하세요.");
                 return ResponseEntity.badRequest().body(response);
             }
+            if (confirmReset && !fullReset) {
+                // 초기화를 의도한 요청이 fullReset 누락으로 증분 동기화로 바뀌어 실행되지 않도록 거부
+                response.put("success", false);
+                response.put("message", "confirmReset=true는 fullReset=true와 함께 사용해야 합니다.");
+                response.put("instruction", "DB 초기화를 원하면 ?fullReset=true&confirmReset=true, 증분 재학습은 파라미터 없이 요청하세요.");
+                return ResponseEntity.badRequest().body(response);
+            }
             
-            // 비동기로 초기화 및 재학습 작업 실행
-            CompletableFuture.runAsync(() -> {
-                try {
-                    log.info("🔄 벡터 DB 초기화 및 재학습 시작");
-                    
-                    // 1. 기존 데이터 초기화 (Repository를 통해)
-                    log.info("📊 기존 데이터 초기화 중...");
-                    webDataCollectionService.clearAllBloonsTDData();
-                    
-                    // 잠시 대기
-                    Thread.sleep(2000);
-                    
-                    // 2. 개선된 방식으로 전략 가이드 수집
-                    log.info("📚 전략 가이드 수집 시작 (페이지당 여러 지식 추출)...");
-                    webDataCollectionService.collectAllStrategyGuides();
-                    
-                    // 3. 추가 웹 자료 수집
-                    log.info("🌐 추가 웹 자료 수집 시작...");
-                    webDataCollectionService.collectAndLearnFromWeb();
-                    
-                    log.info("✅ 벡터 DB 초기화 및 재학습 완료!");
-                    
-                } catch (Exception e) {
-                    log.error("❌ 벡터 DB 초기화 및 재학습 실패: {}", e.getMessage(), e);
-                }
-            });
+            // 비동기로 (초기화 및) 재학습 작업 실행
+            webDataCollectionService.resetAndRelearn(fullReset);
             
             response.put("success", true);
-            response.put("message", "🚀 벡터 DB 초기화 및 재학습이 시작되었습니다!");
+            response.put("message", fullReset
+                    ? "🚀 벡터 DB 초기화 및 재학습이 시작되었습니다!"
+                    : "🚀 증분 재학습이 시작되었습니다! (바뀐 페이지/섹션만 반영)");
             response.put("status", "processing");
+            response.put("mode", fullReset ? "full" : "incremental");
             response.put("improvements", Arrays.asList(
                 "📄 한 페이지에서 여러 전략 지식 추출",
                 "🎯 섹션별 세분화된 정보 저장", 
@@ -452,8 +441,7 @@ public class WebLearningController {
                 "📈 향상된 신뢰도 및 품질 관리",
                 "🔍 더 정밀한 검색을 위한 구조화"
             ));
-            response.put("estimated_time", "15-30분");
-            response.put("expected_knowledge_count", "1000+ 개의 세분화된 전략 지식");
+            response.put("estimated_time", fullReset ? "15-30분" : "대부분 변경 없음(304)이면 수 분");
             
             return ResponseEntity.ok(response);
             
@@ -511,7 +499,7 @@ public class WebLearningController {
         endpoints.put("POST /collect-url?url={url}&category={category}", "사용자가 지정한 URL에서 웹 자료를 수집합니다.");
         endpoints.put("POST /collect-urls (JSON body)", "여러 URL을 한 번에 수집합니다.");
         endpoints.put("POST /collect-site-deep?baseUrl={url}&category={category}&maxDepth={depth}&maxPages={pages}", "사이트를 깊이 크롤링하여 하위 페이지들도 함께 수집합니다.");
-        endpoints.put("POST /reset-and-relearn?confirmReset={true/false}", "벡터 DB를 초기화하고 개선된 방식으로 처음부터 학습시킵니다.");
+        endpoints.put("POST /reset-and-relearn?fullReset={true/false}&confirmReset={true/false}", "바뀐 페이지/섹션만 다시 학습합니다. (fullReset=true면 벡터 DB를 초기화하고 처음부터 학습, confirmReset=true 필요)");
         endpoints.put("GET /knowledge-stats", "현재 벡터 DB의 지식 통계를 확인합니다.");
         endpoints.put("GET /status", "웹 학습 서비스 상태를 확인합니다.");
         endpoints.put("GET /help", "사용 가능한 API 목록을 보여줍니다.");
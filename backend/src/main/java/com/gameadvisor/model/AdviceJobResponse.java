@@ -0,0 +1,33 @@
+package com.gameadvisor.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdviceJobResponse {
+    
+    /**
+     * 작업 ID (결과 조회/취소에 사용)
+     */
+    private String jobId;
+    
+    /**
+     * 작업 상태 (PENDING / RUNNING / DONE / FAILED / CANCELLED)
+     */
+    private String status;
+    
+    /**
+     * 화면 분석 결과 (DONE일 때만)
+     */
+    private ScreenAnalysisResponse result;
+    
+    /**
+     * 오류 또는 취소 사유
+     */
+    private String errorMessage;
+}
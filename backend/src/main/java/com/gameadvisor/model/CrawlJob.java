@@ -0,0 +1,30 @@
+package com.gameadvisor.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사이트 깊이 크롤링 작업 (crawl_jobs)
+ * 진행 상황은 crawl_frontier에 URL 단위로 기록되므로, RUNNING 상태로 남은 작업은 재시작 후 이어서 진행합니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CrawlJob {
+    private String crawlId;
+    private String baseUrl;
+    private String category;
+    private int maxDepth;
+    private int maxPages;
+    private String status;      // RUNNING, DONE
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static final String RUNNING = "RUNNING";
+    public static final String DONE = "DONE";
+}
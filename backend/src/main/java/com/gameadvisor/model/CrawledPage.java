@@ -0,0 +1,23 @@
+package com.gameadvisor.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 크롤러가 받아온 웹 페이지 본문 (로컬 웹 검색 인덱스의 원본)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CrawledPage {
+    private String url;
+    private String gameName;    // 검색 파티션 (벡터 서비스의 게임 이름, 예: BloonsTD)
+    private String title;
+    private String content;     // 본문 텍스트 (HTML 제거)
+    private LocalDateTime fetchedAt;
+}
@@ -0,0 +1,19 @@
+package com.gameadvisor.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 크롤링 대기열(crawl_frontier)에서 임대한 URL
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FrontierEntry {
+    private String url;
+    private int depth;
+    private int attempts;       // 이번 임대를 포함한 시도 횟수
+}
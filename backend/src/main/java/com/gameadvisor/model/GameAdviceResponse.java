@@ -19,4 +19,6 @@ public class GameAdviceResponse {
     private LocalDateTime timestamp;
     private boolean success;
     private String errorMessage;
+    // 캐시된 응답이면 true (Gemini 호출 없이 반환됨)
+    private boolean cached;
 } 
\ No newline at end of file
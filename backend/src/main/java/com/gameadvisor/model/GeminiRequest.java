@@ -52,8 +52,9 @@ public class GeminiRequest {
         @JsonProperty("mime_type")
         private String mimeType;
         
+        // Jackson이 직렬화하면서 출력 스트림에 바로 Base64로 기록 (중간 문자열 없음)
         @JsonProperty("data")
-        private String data;
+        private byte[] data;
     }
     
     @Data
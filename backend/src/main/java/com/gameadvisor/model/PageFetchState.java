@@ -0,0 +1,38 @@
+package com.gameadvisor.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 페이지별 재수집 상태 (조건부 요청 검증값, 본문 해시, 섹션별 지식 행)
+ * 재학습 시 변경되지 않은 페이지는 304/해시 비교로 건너뛰고,
+ * 바뀐 페이지는 섹션 해시를 비교하여 달라진 섹션의 지식만 추가/수정/삭제합니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageFetchState {
+    private String url;
+    private String etag;
+    private String lastModified;
+    private String contentHash;                 // 추출한 본문 텍스트의 SHA-256
+    private Map<String, SectionState> sections; // 섹션 키(제목#순번) → 섹션 해시와 지식 ID
+    private List<String> links;                 // 페이지의 하위 링크 (304 응답에도 깊이 크롤링을 이어가기 위함)
+    private LocalDateTime fetchedAt;            // 본문이 마지막으로 바뀐 시각
+    private LocalDateTime checkedAt;            // 마지막 확인 시각
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SectionState {
+        private String hash;
+        private String knowledgeId;
+    }
+}
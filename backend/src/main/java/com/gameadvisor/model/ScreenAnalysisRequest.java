@@ -1,9 +1,11 @@
 package com.gameadvisor.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Data
 @Builder
@@ -14,8 +16,20 @@ public class ScreenAnalysisRequest {
     /**
      * Base64로 인코딩된 스크린샷 이미지
      */
+    @ToString.Exclude
     private String imageBase64;
     
+    /**
+     * 바이너리로 업로드된 스크린샷 (multipart/octet-stream 요청, 앞 imageLength 바이트만 유효)
+     * 있으면 imageBase64보다 우선하며 JSON에는 포함되지 않습니다.
+     */
+    @JsonIgnore
+    @ToString.Exclude
+    private byte[] imageBytes;
+    
+    @JsonIgnore
+    private int imageLength;
+    
     /**
      * 현재 플레이 중인 게임 이름
      */
@@ -25,4 +39,14 @@ public class ScreenAnalysisRequest {
      * 추가 컨텍스트 정보
      */
     private String additionalContext;
+    
+    /**
+     * 클라이언트 식별자 (이전 프레임 분석 재사용 키, 없으면 게임 이름 기준)
+     */
+    private String clientId;
+    
+    /**
+     * 클라이언트가 화면에서 읽은 HUD 텍스트 (라운드, 자원 등, 선택)
+     */
+    private String hudText;
 } 
\ No newline at end of file
@@ -48,4 +48,14 @@ public class ScreenAnalysisResponse {
      * 오류 메시지 (실패 시)
      */
     private String errorMessage;
+    
+    /**
+     * 사용된 분석 파이프라인 (single-pass / two-pass)
+     */
+    private String pipelineMode;
+    
+    /**
+     * 캐시된 응답 여부 (유사 상황 캐시 적중 시 true)
+     */
+    private boolean cached;
 } 
\ No newline at end of file
@@ -0,0 +1,213 @@
+package com.gameadvisor.repository;
+
+import com.gameadvisor.model.CrawlJob;
+import com.gameadvisor.model.FrontierEntry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 사이트 깊이 크롤링의 영속 대기열 (crawl_jobs, crawl_frontier)
+ * 대기열의 행은 곧 방문 기록이므로 같은 URL은 작업당 한 번만 들어갑니다. (INSERT IGNORE)
+ * URL 임대는 SELECT ... FOR UPDATE SKIP LOCKED로 행을 잠그므로 여러 작업자/노드가 동시에 임대해도
+ * 같은 URL을 두 번 가져가지 않습니다. 임대 중인 행의 next_eligible_at은 임대 만료 시각이며,
+ * 작업자가 죽어 완료/실패를 기록하지 못한 URL은 만료 후 다른 작업자가 다시 임대합니다.
+ */
+@Slf4j
+@Repository
+public class CrawlFrontierRepository {
+
+    // crawl_frontier.url 컬럼 길이 (더 긴 URL은 대기열에 넣지 않음)
+    private static final int MAX_URL_LENGTH = 700;
+
+    private static final RowMapper<CrawlJob> JOB_MAPPER = (rs, rowNum) -> {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        return CrawlJob.builder()
+                .crawlId(rs.getString("crawl_id"))
+                .baseUrl(rs.getString("base_url"))
+                .category(rs.getString("category"))
+                .maxDepth(rs.getInt("max_depth"))
+                .maxPages(rs.getInt("max_pages"))
+                .status(rs.getString("status"))
+                .createdAt(createdAt != null ? createdAt.toLocalDateTime() : null)
+                .updatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null)
+                .build();
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public CrawlFrontierRepository(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * 작업을 시작합니다.
+     * 진행 중(RUNNING)인 같은 작업이 있으면 대기열을 그대로 두고 이어서 진행하며,
+     * 끝난(DONE) 작업이면 대기열을 비우고 처음부터 다시 크롤링합니다.
+     * @param seedPriority 시작 URL의 우선순위
+     */
+    public void startJob(CrawlJob job, int seedPriority) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Optional<CrawlJob> existing = findJob(job.getCrawlId());
+            if (existing.isPresent() && CrawlJob.DONE.equals(existing.get().getStatus())) {
+                jdbcTemplate.update("DELETE FROM crawl_frontier WHERE crawl_id = ?", job.getCrawlId());
+            }
+            jdbcTemplate.update("""
+                INSERT INTO crawl_jobs (crawl_id, base_url, category, max_depth, max_pages, status)
+                VALUES (?, ?, ?, ?, ?, 'RUNNING')
+                ON DUPLICATE KEY UPDATE max_depth = VALUES(max_depth), max_pages = VALUES(max_pages), status = 'RUNNING'
+                """,
+                    job.getCrawlId(), job.getBaseUrl(), job.getCategory(), job.getMaxDepth(), job.getMaxPages());
+            jdbcTemplate.update("INSERT IGNORE INTO crawl_frontier (crawl_id, url, depth, priority) VALUES (?, ?, 0, ?)",
+                    job.getCrawlId(), job.getBaseUrl(), seedPriority);
+            if (existing.isPresent() && CrawlJob.RUNNING.equals(existing.get().getStatus())) {
+                log.info("진행 중이던 크롤링 작업 재개: {} ({})", job.getCrawlId(), job.getBaseUrl());
+            }
+        });
+    }
+
+    public Optional<CrawlJob> findJob(String crawlId) {
+        List<CrawlJob> found = jdbcTemplate.query("SELECT * FROM crawl_jobs WHERE crawl_id = ?", JOB_MAPPER, crawlId);
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    public List<CrawlJob> findRunningJobs() {
+        return jdbcTemplate.query("SELECT * FROM crawl_jobs WHERE status = 'RUNNING' ORDER BY created_at", JOB_MAPPER);
+    }
+
+    public void finishJob(String crawlId) {
+        jdbcTemplate.update("UPDATE crawl_jobs SET status = 'DONE' WHERE crawl_id = ?", crawlId);
+    }
+
+    /**
+     * 새로 발견한 URL을 대기열에 넣습니다. 이미 있는 URL은 무시하고, 작업당 maxUrls 행까지만 받습니다.
+     * @return 새로 추가된 URL 수
+     */
+    public int enqueue(String crawlId, List<String> urls, int depth, int priority, int maxUrls) {
+        if (urls.isEmpty()) {
+            return 0;
+        }
+        long room = maxUrls - countAll(crawlId);
+        if (room <= 0) {
+            return 0;
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (String url : urls) {
+            if (rows.size() >= room) {
+                break;
+            }
+            if (url.length() > MAX_URL_LENGTH) {
+                continue;
+            }
+            rows.add(new Object[]{crawlId, url, depth, priority});
+        }
+        int added = 0;
+        for (int count : jdbcTemplate.batchUpdate(
+                "INSERT IGNORE INTO crawl_frontier (crawl_id, url, depth, priority) VALUES (?, ?, ?, ?)", rows)) {
+            added += count > 0 ? 1 : 0;
+        }
+        return added;
+    }
+
+    /**
+     * 지금 처리할 수 있는 URL을 최대 limit 개 임대합니다. (우선순위, 얕은 깊이 순)
+     * 다른 작업자가 잠근 행은 건너뛰므로 임대가 서로 겹치지 않습니다.
+     * @param leaseMs 임대 유효 시간 - 이 시간 안에 완료/실패를 기록하지 못하면 다시 임대 가능
+     */
+    public List<FrontierEntry> lease(String crawlId, String owner, int limit, long leaseMs) {
+        return transactionTemplate.execute(status -> {
+            List<FrontierEntry> entries = jdbcTemplate.query("""
+                SELECT url, depth, attempts FROM crawl_frontier
+                WHERE crawl_id = ? AND state IN ('PENDING', 'LEASED') AND next_eligible_at <= NOW(3)
+                ORDER BY priority DESC, depth, next_eligible_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+                """,
+                    (rs, rowNum) -> FrontierEntry.builder()
+                            .url(rs.getString("url"))
+                            .depth(rs.getInt("depth"))
+                            .attempts(rs.getInt("attempts") + 1)
+                            .build(),
+                    crawlId, limit);
+            if (entries.isEmpty()) {
+                return entries;
+            }
+            List<Object[]> rows = new ArrayList<>();
+            for (FrontierEntry entry : entries) {
+                rows.add(new Object[]{owner, leaseMs * 1000, crawlId, entry.getUrl()});
+            }
+            jdbcTemplate.batchUpdate("""
+                UPDATE crawl_frontier
+                SET state = 'LEASED', lease_owner = ?, attempts = attempts + 1,
+                    next_eligible_at = TIMESTAMPADD(MICROSECOND, ?, NOW(3))
+                WHERE crawl_id = ? AND url = ?
+                """, rows);
+            return entries;
+        });
+    }
+
+    /**
+     * 처리 완료 기록 (임대가 만료되어 다른 작업자에게 넘어간 URL이면 무시)
+     */
+    public void complete(String crawlId, String url, String owner) {
+        jdbcTemplate.update("""
+            UPDATE crawl_frontier SET state = 'DONE', lease_owner = NULL
+            WHERE crawl_id = ? AND url = ? AND lease_owner = ?
+            """, crawlId, url, owner);
+    }
+
+    /**
+     * 처리 실패 기록
+     * @param retry true면 retryDelayMs 후 다시 임대 가능, false면 FAILED로 종료
+     */
+    public void fail(String crawlId, String url, String owner, boolean retry, long retryDelayMs) {
+        jdbcTemplate.update("""
+            UPDATE crawl_frontier
+            SET state = ?, lease_owner = NULL, next_eligible_at = TIMESTAMPADD(MICROSECOND, ?, NOW(3))
+            WHERE crawl_id = ? AND url = ? AND lease_owner = ?
+            """, retry ? "PENDING" : "FAILED", retryDelayMs * 1000, crawlId, url, owner);
+    }
+
+    /**
+     * 한 번 이상 임대된 URL 수 (최대 페이지 수 판정용)
+     */
+    public long countStarted(String crawlId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM crawl_frontier WHERE crawl_id = ? AND attempts > 0", Long.class, crawlId);
+    }
+
+    /**
+     * 아직 끝나지 않은 URL(대기, 재시도 대기, 다른 작업자가 임대 중)이 남아 있는지
+     */
+    public boolean hasOutstanding(String crawlId) {
+        Long outstanding = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM crawl_frontier WHERE crawl_id = ? AND state IN ('PENDING', 'LEASED')",
+                Long.class, crawlId);
+        return outstanding != null && outstanding > 0;
+    }
+
+    /**
+     * 상태별 URL 수 (방문 기록 요약)
+     */
+    public List<String> summarize(String crawlId) {
+        return jdbcTemplate.query(
+                "SELECT state, COUNT(*) AS cnt FROM crawl_frontier WHERE crawl_id = ? GROUP BY state",
+                (rs, rowNum) -> rs.getString("state") + "=" + rs.getLong("cnt"), crawlId);
+    }
+
+    private long countAll(String crawlId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM crawl_frontier WHERE crawl_id = ?", Long.class, crawlId);
+    }
+}
@@ -0,0 +1,56 @@
+package com.gameadvisor.repository;
+
+import com.gameadvisor.model.CrawledPage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * 크롤링한 웹 페이지 저장소 (crawled_pages)
+ * 같은 URL을 다시 받아오면 본문을 덮어씁니다.
+ */
+@Slf4j
+@Repository
+public class CrawledPageRepository {
+
+    private static final RowMapper<CrawledPage> ROW_MAPPER = (rs, rowNum) -> {
+        Timestamp fetchedAt = rs.getTimestamp("fetched_at");
+        return CrawledPage.builder()
+                .url(rs.getString("url"))
+                .gameName(rs.getString("game_name"))
+                .title(rs.getString("title"))
+                .content(rs.getString("content"))
+                .fetchedAt(fetchedAt != null ? fetchedAt.toLocalDateTime() : null)
+                .build();
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public CrawledPageRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void save(CrawledPage page) {
+        String sql = """
+            INSERT INTO crawled_pages (url, game_name, title, content)
+            VALUES (?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE game_name = VALUES(game_name), title = VALUES(title),
+                                    content = VALUES(content), fetched_at = CURRENT_TIMESTAMP
+            """;
+        jdbcTemplate.update(sql, page.getUrl(), page.getGameName(), page.getTitle(), page.getContent());
+    }
+
+    public List<CrawledPage> findAll() {
+        return jdbcTemplate.query("SELECT * FROM crawled_pages ORDER BY fetched_at", ROW_MAPPER);
+    }
+
+    public long count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM crawled_pages", Long.class);
+    }
+}
@@ -0,0 +1,101 @@
+package com.gameadvisor.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gameadvisor.model.PageFetchState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 페이지별 재수집 상태 저장소 (page_fetch_state)
+ */
+@Slf4j
+@Repository
+public class PageFetchStateRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final RowMapper<PageFetchState> rowMapper;
+
+    @Autowired
+    public PageFetchStateRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.rowMapper = (rs, rowNum) -> {
+            try {
+                String sections = rs.getString("sections");
+                String links = rs.getString("links");
+                Timestamp fetchedAt = rs.getTimestamp("fetched_at");
+                Timestamp checkedAt = rs.getTimestamp("checked_at");
+                return PageFetchState.builder()
+                        .url(rs.getString("url"))
+                        .etag(rs.getString("etag"))
+                        .lastModified(rs.getString("last_modified"))
+                        .contentHash(rs.getString("content_hash"))
+                        .sections(sections != null ? objectMapper.readValue(sections,
+                                new TypeReference<Map<String, PageFetchState.SectionState>>() {}) : Map.of())
+                        .links(links != null ? objectMapper.readValue(links, new TypeReference<List<String>>() {}) : List.of())
+                        .fetchedAt(fetchedAt != null ? fetchedAt.toLocalDateTime() : null)
+                        .checkedAt(checkedAt != null ? checkedAt.toLocalDateTime() : null)
+                        .build();
+            } catch (JsonProcessingException e) {
+                throw new SQLException("JSON 파싱 오류", e);
+            }
+        };
+    }
+
+    public Optional<PageFetchState> findByUrl(String url) {
+        List<PageFetchState> found = jdbcTemplate.query("SELECT * FROM page_fetch_state WHERE url = ?", rowMapper, url);
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    /**
+     * 본문을 새로 받은 뒤의 상태를 저장합니다. (본문 해시가 바뀐 경우에만 fetched_at 갱신)
+     */
+    public void save(PageFetchState state) {
+        String sql = """
+            INSERT INTO page_fetch_state (url, etag, last_modified, content_hash, sections, links)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE fetched_at = IF(content_hash <=> VALUES(content_hash), fetched_at, CURRENT_TIMESTAMP),
+                                    etag = VALUES(etag), last_modified = VALUES(last_modified),
+                                    content_hash = VALUES(content_hash), sections = VALUES(sections),
+                                    links = VALUES(links), checked_at = CURRENT_TIMESTAMP
+            """;
+        try {
+            jdbcTemplate.update(sql,
+                    state.getUrl(),
+                    state.getEtag(),
+                    state.getLastModified(),
+                    state.getContentHash(),
+                    objectMapper.writeValueAsString(state.getSections() != null ? state.getSections() : Map.of()),
+                    objectMapper.writeValueAsString(state.getLinks() != null ? state.getLinks() : List.of()));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("JSON 변환 오류", e);
+        }
+    }
+
+    /**
+     * 304 응답으로 변경 없음이 확인된 페이지의 확인 시각만 갱신합니다.
+     */
+    public void markChecked(String url) {
+        jdbcTemplate.update("UPDATE page_fetch_state SET checked_at = CURRENT_TIMESTAMP WHERE url = ?", url);
+    }
+
+    /**
+     * 모든 상태를 지웁니다. (지식 테이블을 비울 때 함께 호출하여 다음 수집이 전체 수집이 되도록 함)
+     */
+    public void deleteAll() {
+        int deleted = jdbcTemplate.update("DELETE FROM page_fetch_state");
+        log.info("페이지 재수집 상태 삭제 완료: {} 개", deleted);
+    }
+}
@@ -8,6 +8,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
@@ -17,21 +18,27 @@ import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Repository
 public class BloonsTDVectorRepository implements GameVectorRepository<BloonsTDKnowledge> {
     
+    private static final String GAME_NAME = "BloonsTD";
+    
     private final JdbcTemplate jdbcTemplate;
     private final ObjectMapper objectMapper;
     private final RowMapper<BloonsTDKnowledge> rowMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KnowledgeIndex<BloonsTDKnowledge> index;
     
     @Autowired
-    public BloonsTDVectorRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+    public BloonsTDVectorRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                    ApplicationEventPublisher eventPublisher) {
         this.jdbcTemplate = jdbcTemplate;
         this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
         this.rowMapper = new BloonsTDKnowledgeRowMapper();
+        this.index = new KnowledgeIndex<>(GAME_NAME, this::findAll);
     }
     
     @Override
@@ -43,8 +50,8 @@ public class BloonsTDVectorRepository implements GameVectorRepository<BloonsTDKn
         String sql = """
             INSERT INTO vector_knowledge_bloonstd 
             (id, situation_type, round_range, difficulty, tower_types, title, content, advice, 
-             tags, embedding, confidence, success_rate, usage_count)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+             tags, embedding, confidence, success_rate, usage_count, source_url)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
             """;
         
         try {
@@ -65,10 +72,12 @@ public class BloonsTDVectorRepository implements GameVectorRepository<BloonsTDKn
                 embeddingJson,
                 knowledge.getConfidence(),
                 knowledge.getSuccessRate(),
-                knowledge.getUsageCount() != null ? knowledge.getUsageCount() : 0
+                knowledge.getUsageCount() != null ? knowledge.getUsageCount() : 0,
+                knowledge.getSourceUrl()
             );
             
             log.info("BloonsTD 지식 저장 완료: {}", knowledge.getId());
+            publishKnowledgeChanged();
         } catch (JsonProcessingException e) {
             throw new RuntimeException("JSON 변환 오류", e);
         }
@@ -94,30 +103,11 @@ public class BloonsTDVectorRepository implements GameVectorRepository<BloonsTDKn
     
     @Override
     public List<VectorSearchResult> findSimilar(List<Double> queryEmbedding, double minSimilarity, int limit) {
-        String sql = """
-            SELECT * FROM vector_knowledge_bloonstd 
-            WHERE confidence >= 0.5 
-            ORDER BY confidence DESC, success_rate DESC 
-            LIMIT ?
-            """;
-        
         long startTime = System.currentTimeMillis();
         
-        List<BloonsTDKnowledge> candidates = jdbcTemplate.query(sql, rowMapper, Math.min(limit * 5, 50));
-        
-        List<VectorSearchResult> results = candidates.stream()
-            .map(knowledge -> {
-                double similarity = calculateCosineSimilarity(queryEmbedding, knowledge.getEmbedding());
-                return VectorSearchResult.builder()
-                    .knowledge(knowledge)
-                    .similarity(similarity)
-                    .searchTimeMs(System.currentTimeMillis() - startTime)
-                    .build();
-            })
-            .filter(result -> result.getSimilarity() >= minSimilarity)
-            .sorted((a, b) -> a.compareTo(b))
-            .limit(limit)
-            .collect(Collectors.toList());
+        // 신뢰도/성공률 상위 후보 중에서 유사도 순으로 선택 (메모리 인덱스 사용)
+        List<VectorSearchResult> results = index.search(queryEmbedding, knowledge -> true,
+            Math.min(limit * 5, 50), minSimilarity, limit);
         
         log.info("BloonsTD 유사도 검색 완료: {} 개 결과, {}ms", results.size(), System.currentTimeMillis() - startTime);
         return results;
@@ -125,79 +115,14 @@ public class BloonsTDVectorRepository implements GameVectorRepository<BloonsTDKn
     
     @Override
     public List<VectorSearchResult> findSimilarByType(List<Double> queryEmbedding, String situationType, int limit) {
-        String sql = """
-            SELECT * FROM vector_knowledge_bloonstd 
-            WHERE situation_type = ? AND confidence >= 0.5 
-            ORDER BY confidence DESC, success_rate DESC 
-            LIMIT ?
-            """;
-        
-        long startTime = System.currentTimeMillis();
-        
-        List<BloonsTDKnowledge> candidates = jdbcTemplate.query(sql, rowMapper, situationType, Math.min(limit * 3, 30));
-        
-        return candidates.stream()
-            .map(knowledge -> {
-                double similarity = calculateCosineSimilarity(queryEmbedding, knowledge.getEmbedding());
-                return VectorSearchResult.builder()
-                    .knowledge(knowledge)
-                    .similarity(similarity)
-                    .searchTimeMs(System.currentTimeMillis() - startTime)
-                    .build();
-            })
-            .sorted((a, b) -> a.compareTo(b))
-            .limit(limit)
-            .collect(Collectors.toList());
+        return index.search(queryEmbedding, knowledge -> situationType.equals(knowledge.getSituationType()),
+            Math.min(limit * 3, 30), Double.NEGATIVE_INFINITY, limit);
     }
     
     // BloonsTD 특화 검색 메서드
     public List<VectorSearchResult> findSimilarByRoundRange(List<Double> queryEmbedding, String roundRange, int limit) {
-        String sql = """
-            SELECT * FROM vector_knowledge_bloonstd 
-            WHERE round_range = ? AND confidence >= 0.5 
-            ORDER BY confidence DESC, success_rate DESC 
-            LIMIT ?
-            """;
-        
-        long startTime = System.currentTimeMillis();
-        
-        List<BloonsTDKnowledge> candidates = jdbcTemplate.query(sql, rowMapper, roundRange, Math.min(limit * 3, 30));
-        
-        return candidates.stream()
-            .map(knowledge -> {
-                double similarity = calculateCosineSimilarity(queryEmbedding, knowledge.getEmbedding());
-                return VectorSearchResult.builder()
-                    .knowledge(knowledge)
-                    .similarity(similarity)
-                    .searchTimeMs(System.currentTimeMillis() - startTime)
-                    .build();
-            })
-            .sorted((a, b) -> a.compareTo(b))
-            .limit(limit)
-            .collect(Collectors.toList());
-    }
-    
-    // 코사인 유사도 계산
-    private double calculateCosineSimilarity(List<Double> vec1, List<Double> vec2) {
-        if (vec1 == null || vec2 == null || vec1.size() != vec2.size()) {
-            return 0.0;
-        }
-        
-        double dotProduct = 0.0;
-        double norm1 = 0.0;
-        double norm2 = 0.0;
-        
-        for (int i = 0; i < vec1.size(); i++) {
-            dotProduct += vec1.get(i) * vec2.get(i);
-            norm1 += vec1.get(i) * vec1.get(i);
-            norm2 += vec2.get(i) * vec2.get(i);
-        }
-        
-        if (norm1 == 0.0 || norm2 == 0.0) {
-            return 0.0;
-        }
-        
-        return dotProduct / (Math.sqrt(norm1) * Math.sqrt(norm2));
+        return index.search(queryEmbedding, knowledge -> roundRange.equals(knowledge.getRoundRange()),
+            Math.min(limit * 3, 30), Double.NEGATIVE_INFINITY, limit);
     }
     
     @Override
@@ -210,6 +135,8 @@ public class BloonsTDVectorRepository implements GameVectorRepository<BloonsTDKn
     public void updateSuccessMetric(String id, double successMetric) {
         String sql = "UPDATE vector_knowledge_bloonstd SET success_rate = ? WHERE id = ?";
         jdbcTemplate.update(sql, successMetric, id);
+        // 성공률은 후보 선택 순서에 쓰이므로 인덱스만 다시 만듦 (응답 캐시는 유지)
+        index.invalidate();
     }
     
     @Override
@@ -231,6 +158,7 @@ public class BloonsTDVectorRepository implements GameVectorRepository<BloonsTDKn
         String sql = "DELETE FROM vector_knowledge_bloonstd";
         int deletedCount = jdbcTemplate.update(sql);
         log.info("모든 BloonsTD 지식 삭제 완료: {} 개", deletedCount);
+        publishKnowledgeChanged();
     }
     
     /**
@@ -265,16 +193,52 @@ public class BloonsTDVectorRepository implements GameVectorRepository<BloonsTDKn
         return jdbcTemplate.queryForObject(sql, Double.class);
     }
     
-    // 나머지 메서드들은 기본 구현
+    /**
+     * 지식 내용을 수정합니다. (사용 횟수와 성공률은 쌓인 피드백이므로 유지)
+     * @return 수정된 행 수 (해당 ID가 없으면 0)
+     */
     @Override
-    public void update(BloonsTDKnowledge knowledge) {
-        // 구현 생략 (필요시 추가)
+    public int update(BloonsTDKnowledge knowledge) {
+        String sql = """
+            UPDATE vector_knowledge_bloonstd
+            SET situation_type = ?, round_range = ?, difficulty = ?, tower_types = ?, title = ?, content = ?,
+                advice = ?, tags = ?, embedding = ?, confidence = ?, source_url = ?
+            WHERE id = ?
+            """;
+        
+        try {
+            int updated = jdbcTemplate.update(sql,
+                knowledge.getSituationType(),
+                knowledge.getRoundRange(),
+                knowledge.getDifficulty(),
+                objectMapper.writeValueAsString(knowledge.getTowerTypes()),
+                knowledge.getTitle(),
+                knowledge.getContent(),
+                knowledge.getAdvice(),
+                objectMapper.writeValueAsString(knowledge.getTags()),
+                objectMapper.writeValueAsString(knowledge.getEmbedding()),
+                knowledge.getConfidence(),
+                knowledge.getSourceUrl(),
+                knowledge.getId()
+            );
+            
+            if (updated == 0) {
+                log.warn("수정할 BloonsTD 지식 없음: {}", knowledge.getId());
+                return 0;
+            }
+            log.info("BloonsTD 지식 수정 완료: {} ({} 행)", knowledge.getId(), updated);
+            publishKnowledgeChanged();
+            return updated;
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("JSON 변환 오류", e);
+        }
     }
     
     @Override
     public void deleteById(String id) {
         String sql = "DELETE FROM vector_knowledge_bloonstd WHERE id = ?";
         jdbcTemplate.update(sql, id);
+        publishKnowledgeChanged();
     }
     
     @Override
@@ -307,10 +271,28 @@ public class BloonsTDVectorRepository implements GameVectorRepository<BloonsTDKn
             String embeddingJson = objectMapper.writeValueAsString(embedding);
             String sql = "UPDATE vector_knowledge_bloonstd SET embedding = ? WHERE id = ?";
             jdbcTemplate.update(sql, embeddingJson, id);
+            publishKnowledgeChanged();
         } catch (JsonProcessingException e) {
             throw new RuntimeException("임베딩 업데이트 오류", e);
         }
     }
+
+    /**
+     * 검색용 메모리 인덱스를 미리 만듭니다. (시작 시 워밍업용)
+     * @return 인덱스에 포함된 지식 수
+     */
+    @Override
+    public int loadIndex() {
+        return index.load();
+    }
+    
+    /**
+     * 지식 변경 알림 (메모리 인덱스를 비우고 해당 게임의 캐시 응답 무효화)
+     */
+    private void publishKnowledgeChanged() {
+        index.invalidate();
+        eventPublisher.publishEvent(new KnowledgeChangedEvent(GAME_NAME));
+    }
     
     // RowMapper 구현
     private class BloonsTDKnowledgeRowMapper implements RowMapper<BloonsTDKnowledge> {
@@ -335,6 +317,7 @@ public class BloonsTDVectorRepository implements GameVectorRepository<BloonsTDKn
                     .confidence(rs.getDouble("confidence"))
                     .successRate(rs.getDouble("success_rate"))
                     .usageCount(rs.getInt("usage_count"))
+                    .sourceUrl(rs.getString("source_url"))
                     .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
                     .updatedAt(rs.getTimestamp("updated_at").toLocalDateTime())
                     .build();
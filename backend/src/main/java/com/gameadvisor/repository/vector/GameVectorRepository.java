@@ -11,7 +11,7 @@ public interface GameVectorRepository<T extends BaseGameKnowledge> {
     // 기본 CRUD 작업
     void save(T knowledge);
     Optional<T> findById(String id);
-    void update(T knowledge);
+    int update(T knowledge); // 반환값: 수정된 행 수 (0이면 해당 ID 없음)
     void deleteById(String id);
     List<T> findAll();
     
@@ -35,4 +35,7 @@ public interface GameVectorRepository<T extends BaseGameKnowledge> {
     
     // 벡터 임베딩 업데이트
     void updateEmbedding(String id, List<Double> embedding);
+    
+    // 검색용 메모리 인덱스 생성 (반환값: 인덱스에 포함된 지식 수)
+    int loadIndex();
 } 
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.gameadvisor.repository.vector;
+
+/**
+ * 게임 지식(벡터 DB)이 추가/수정/삭제되었음을 알리는 이벤트
+ * 해당 게임의 지식으로 만든 캐시 응답을 무효화하는 데 사용합니다.
+ */
+public class KnowledgeChangedEvent {
+
+    private final String gameName;
+
+    public KnowledgeChangedEvent(String gameName) {
+        this.gameName = gameName;
+    }
+
+    /**
+     * 변경된 게임 이름 (벡터 서비스의 getGameName() 값, 예: BloonsTD, MasterDuel)
+     */
+    public String getGameName() {
+        return gameName;
+    }
+}
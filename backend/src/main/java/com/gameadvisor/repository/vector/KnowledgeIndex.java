@@ -0,0 +1,188 @@
+package com.gameadvisor.repository.vector;
+
+import com.gameadvisor.model.vector.BaseGameKnowledge;
+import com.gameadvisor.model.vector.VectorSearchResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 게임 지식 테이블(vector_knowledge_*)의 메모리 인덱스
+ * 검색 대상(신뢰도 0.5 이상)을 신뢰도/성공률 순으로 한 번만 읽어 두고, 임베딩은 L2 정규화된 배열로 보관합니다.
+ * 검색할 때마다 테이블을 조회하고 JSON 임베딩을 다시 파싱하던 비용이 사라지며,
+ * 후보 선택 규칙(정렬 순서와 후보 수 제한)은 기존 SQL과 같습니다.
+ * 지식이 바뀌면 {@link #invalidate()}로 비우고, 다음 검색(또는 워밍업)에서 다시 읽습니다.
+ * 읽는 도중에 무효화되면 읽은 목록은 이미 낡았을 수 있으므로 버리고 다시 읽습니다. (세대 번호로 판별)
+ */
+@Slf4j
+public class KnowledgeIndex<T extends BaseGameKnowledge> {
+
+    private static final double MIN_CONFIDENCE = 0.5;
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private final String gameName;
+    private final Supplier<List<T>> loader;
+    private volatile List<Entry<T>> entries;
+    // invalidate()마다 증가 - load()는 읽기 시작 시점과 세대가 같을 때만 결과를 반영
+    private final AtomicLong generation = new AtomicLong();
+
+    public KnowledgeIndex(String gameName, Supplier<List<T>> loader) {
+        this.gameName = gameName;
+        this.loader = loader;
+    }
+
+    /**
+     * 인덱스를 (다시) 만듭니다.
+     * @return 인덱스에 포함된 지식 수
+     */
+    public synchronized int load() {
+        return loadEntries().size();
+    }
+
+    /**
+     * 지식을 읽어 인덱스로 반영합니다. 읽는 동안 무효화되었으면 반영을 취소하고 다시 읽습니다.
+     * 변경이 계속 이어져 MAX_LOAD_ATTEMPTS 번 모두 실패하면 마지막으로 읽은 목록을 반영하지 않고 반환합니다.
+     */
+    private synchronized List<Entry<T>> loadEntries() {
+        long startedAt = System.currentTimeMillis();
+        for (int attempt = 1; ; attempt++) {
+            long loadGeneration = generation.get();
+            List<Entry<T>> loaded = readEntries();
+            // 먼저 반영한 뒤 세대를 확인 - 이후의 invalidate()는 반드시 이 반영을 덮어씀
+            entries = loaded;
+            if (generation.get() == loadGeneration) {
+                log.info("{} 지식 인덱스 생성 완료: {} 개, {}ms", gameName, loaded.size(),
+                        System.currentTimeMillis() - startedAt);
+                return loaded;
+            }
+            entries = null;
+            if (attempt >= MAX_LOAD_ATTEMPTS) {
+                log.warn("{} 지식 인덱스 생성 중 변경이 계속되어 이번 검색에만 사용 ({}회 시도)", gameName, attempt);
+                return loaded;
+            }
+        }
+    }
+
+    private List<Entry<T>> readEntries() {
+        List<Entry<T>> loaded = new ArrayList<>();
+        for (T knowledge : loader.get()) {
+            if (knowledge.getConfidence() != null && knowledge.getConfidence() >= MIN_CONFIDENCE) {
+                loaded.add(new Entry<>(knowledge, normalized(knowledge.getEmbedding())));
+            }
+        }
+        loaded.sort(Comparator.comparingDouble((Entry<T> e) -> e.knowledge.getConfidence()).reversed()
+                .thenComparing(e -> successMetricOf(e.knowledge), Comparator.reverseOrder()));
+        return loaded;
+    }
+
+    /**
+     * 인덱스를 비웁니다. 진행 중인 load()가 있으면 그 결과도 반영되지 않습니다.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        entries = null;
+    }
+
+    public boolean isLoaded() {
+        return entries != null;
+    }
+
+    /**
+     * 조건에 맞는 상위 후보(candidateLimit 개)와 쿼리의 코사인 유사도를 계산하여 유사도 순으로 반환합니다.
+     */
+    public List<VectorSearchResult> search(List<Double> queryEmbedding, Predicate<T> filter, int candidateLimit,
+                                           double minSimilarity, int limit) {
+        long startTime = System.currentTimeMillis();
+        List<Entry<T>> snapshot = entries;
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = entries;
+                if (snapshot == null) {
+                    snapshot = loadEntries();
+                }
+            }
+        }
+
+        double[] query = normalized(queryEmbedding);
+        List<VectorSearchResult> results = new ArrayList<>();
+        int candidates = 0;
+        for (Entry<T> entry : snapshot) {
+            if (candidates >= candidateLimit) {
+                break;
+            }
+            if (!filter.test(entry.knowledge)) {
+                continue;
+            }
+            candidates++;
+            double similarity = cosine(query, entry.embedding);
+            if (similarity >= minSimilarity) {
+                results.add(VectorSearchResult.builder()
+                        .knowledge(entry.knowledge)
+                        .similarity(similarity)
+                        .build());
+            }
+        }
+        results.sort(VectorSearchResult::compareTo);
+        List<VectorSearchResult> top = results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
+
+        long searchTimeMs = System.currentTimeMillis() - startTime;
+        for (VectorSearchResult result : top) {
+            result.setSearchTimeMs(searchTimeMs);
+        }
+        return top;
+    }
+
+    private static double successMetricOf(BaseGameKnowledge knowledge) {
+        Double metric = knowledge.getSuccessMetric();
+        return metric != null ? metric : 0.0;
+    }
+
+    /**
+     * L2 정규화된 배열 (null이거나 영벡터면 null - 유사도 0으로 취급)
+     */
+    private static double[] normalized(List<Double> embedding) {
+        if (embedding == null || embedding.isEmpty()) {
+            return null;
+        }
+        double[] vector = new double[embedding.size()];
+        double norm = 0.0;
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = embedding.get(i);
+            norm += vector[i] * vector[i];
+        }
+        if (norm == 0.0) {
+            return null;
+        }
+        norm = Math.sqrt(norm);
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] /= norm;
+        }
+        return vector;
+    }
+
+    private static double cosine(double[] a, double[] b) {
+        if (a == null || b == null || a.length != b.length) {
+            return 0.0;
+        }
+        double dot = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+        }
+        return dot;
+    }
+
+    private static class Entry<T> {
+        private final T knowledge;
+        private final double[] embedding;
+
+        Entry(T knowledge, double[] embedding) {
+            this.knowledge = knowledge;
+            this.embedding = embedding;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
@@ -17,21 +18,27 @@ import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Repository
 public class MasterDuelVectorRepository implements GameVectorRepository<MasterDuelKnowledge> {
     
+    private static final String GAME_NAME = "MasterDuel";
+    
     private final JdbcTemplate jdbcTemplate;
     private final ObjectMapper objectMapper;
     private final RowMapper<MasterDuelKnowledge> rowMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KnowledgeIndex<MasterDuelKnowledge> index;
     
     @Autowired
-    public MasterDuelVectorRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+    public MasterDuelVectorRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                      ApplicationEventPublisher eventPublisher) {
         this.jdbcTemplate = jdbcTemplate;
         this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
         this.rowMapper = new MasterDuelKnowledgeRowMapper();
+        this.index = new KnowledgeIndex<>(GAME_NAME, this::findAll);
     }
     
     @Override
@@ -69,6 +76,7 @@ public class MasterDuelVectorRepository implements GameVectorRepository<MasterDu
             );
             
             log.info("MasterDuel 지식 저장 완료: {}", knowledge.getId());
+            publishKnowledgeChanged();
         } catch (JsonProcessingException e) {
             throw new RuntimeException("JSON 변환 오류", e);
         }
@@ -94,30 +102,11 @@ public class MasterDuelVectorRepository implements GameVectorRepository<MasterDu
     
     @Override
     public List<VectorSearchResult> findSimilar(List<Double> queryEmbedding, double minSimilarity, int limit) {
-        String sql = """
-            SELECT * FROM vector_knowledge_masterduel 
-            WHERE confidence >= 0.5 
-            ORDER BY confidence DESC, win_rate DESC 
-            LIMIT ?
-            """;
-        
         long startTime = System.currentTimeMillis();
         
-        List<MasterDuelKnowledge> candidates = jdbcTemplate.query(sql, rowMapper, Math.min(limit * 5, 50));
-        
-        List<VectorSearchResult> results = candidates.stream()
-            .map(knowledge -> {
-                double similarity = calculateCosineSimilarity(queryEmbedding, knowledge.getEmbedding());
-                return VectorSearchResult.builder()
-                    .knowledge(knowledge)
-                    .similarity(similarity)
-                    .searchTimeMs(System.currentTimeMillis() - startTime)
-                    .build();
-            })
-            .filter(result -> result.getSimilarity() >= minSimilarity)
-            .sorted((a, b) -> a.compareTo(b))
-            .limit(limit)
-            .collect(Collectors.toList());
+        // 신뢰도/성공률 상위 후보 중에서 유사도 순으로 선택 (메모리 인덱스 사용)
+        List<VectorSearchResult> results = index.search(queryEmbedding, knowledge -> true,
+            Math.min(limit * 5, 50), minSimilarity, limit);
         
         log.info("MasterDuel 유사도 검색 완료: {} 개 결과, {}ms", results.size(), System.currentTimeMillis() - startTime);
         return results;
@@ -125,105 +114,19 @@ public class MasterDuelVectorRepository implements GameVectorRepository<MasterDu
     
     @Override
     public List<VectorSearchResult> findSimilarByType(List<Double> queryEmbedding, String situationType, int limit) {
-        String sql = """
-            SELECT * FROM vector_knowledge_masterduel 
-            WHERE situation_type = ? AND confidence >= 0.5 
-            ORDER BY confidence DESC, win_rate DESC 
-            LIMIT ?
-            """;
-        
-        long startTime = System.currentTimeMillis();
-        
-        List<MasterDuelKnowledge> candidates = jdbcTemplate.query(sql, rowMapper, situationType, Math.min(limit * 3, 30));
-        
-        return candidates.stream()
-            .map(knowledge -> {
-                double similarity = calculateCosineSimilarity(queryEmbedding, knowledge.getEmbedding());
-                return VectorSearchResult.builder()
-                    .knowledge(knowledge)
-                    .similarity(similarity)
-                    .searchTimeMs(System.currentTimeMillis() - startTime)
-                    .build();
-            })
-            .sorted((a, b) -> a.compareTo(b))
-            .limit(limit)
-            .collect(Collectors.toList());
+        return index.search(queryEmbedding, knowledge -> situationType.equals(knowledge.getSituationType()),
+            Math.min(limit * 3, 30), Double.NEGATIVE_INFINITY, limit);
     }
     
     // MasterDuel 특화 검색 메서드
     public List<VectorSearchResult> findSimilarByArchetype(List<Double> queryEmbedding, String archetype, int limit) {
-        String sql = """
-            SELECT * FROM vector_knowledge_masterduel 
-            WHERE archetype = ? AND confidence >= 0.5 
-            ORDER BY confidence DESC, win_rate DESC 
-            LIMIT ?
-            """;
-        
-        long startTime = System.currentTimeMillis();
-        
-        List<MasterDuelKnowledge> candidates = jdbcTemplate.query(sql, rowMapper, archetype, Math.min(limit * 3, 30));
-        
-        return candidates.stream()
-            .map(knowledge -> {
-                double similarity = calculateCosineSimilarity(queryEmbedding, knowledge.getEmbedding());
-                return VectorSearchResult.builder()
-                    .knowledge(knowledge)
-                    .similarity(similarity)
-                    .searchTimeMs(System.currentTimeMillis() - startTime)
-                    .build();
-            })
-            .sorted((a, b) -> a.compareTo(b))
-            .limit(limit)
-            .collect(Collectors.toList());
+        return index.search(queryEmbedding, knowledge -> archetype.equals(knowledge.getArchetype()),
+            Math.min(limit * 3, 30), Double.NEGATIVE_INFINITY, limit);
     }
     
     public List<VectorSearchResult> findSimilarByFormatType(List<Double> queryEmbedding, String formatType, int limit) {
-        String sql = """
-            SELECT * FROM vector_knowledge_masterduel 
-            WHERE format_type = ? AND confidence >= 0.5 
-            ORDER BY confidence DESC, win_rate DESC 
-            LIMIT ?
-            """;
-        
-        long startTime = System.currentTimeMillis();
-        
-        List<MasterDuelKnowledge> candidates = jdbcTemplate.query(sql, rowMapper, formatType, Math.min(limit * 3, 30));
-        
-        return candidates.stream()
-            .map(knowledge -> {
-                double similarity = calculateCosineSimilarity(queryEmbedding, knowledge.getEmbedding());
-                return VectorSearchResult.builder()
-                    .knowledge(knowledge)
-                    .similarity(similarity)
-                    .searchTimeMs(System.currentTimeMillis() - startTime)
-                    .build();
-            })
-            .sorted((a, b) -> a.compareTo(b))
-            .limit(limit)
-            .collect(Collectors.toList());
-    }
-    
-    // 코사인 유사도 계산
-    private double calculateCosineSimilarity(List<Double> vec1, List<Double> vec2) {
-        if (vec1 == null || vec2 == null || vec1.size() != vec2.size()) {
-            return 0.0;
-        }
-        
-        double dotProduct = 0.0;
-        double norm1 = 0.0;
-        double norm2 = 0.0;
-        
-        for (int i = 0; i < vec1.size(); i++) {
-            dotProduct += vec1.get(i) * vec2.get(i);
-            norm1 += vec1.get(i) * vec1.get(i);
-            norm2 += vec2.get(i) * vec2.get(i);
-        }
-        
-        if (norm1 == 0.0 || norm2 == 0.0) {
-            return 0.0;
-        }
-        
-        return dotProduct / (Math.sqrt(norm1) * Math.sqrt(norm2));
+        return index.search(queryEmbedding, knowledge -> formatType.equals(knowledge.getFormatType()),
+            Math.min(limit * 3, 30), Double.NEGATIVE_INFINITY, limit);
     }
     
     @Override
@@ -236,6 +139,8 @@ public class MasterDuelVectorRepository implements GameVectorRepository<MasterDu
     public void updateSuccessMetric(String id, double successMetric) {
         String sql = "UPDATE vector_knowledge_masterduel SET win_rate = ? WHERE id = ?";
         jdbcTemplate.update(sql, successMetric, id);
+        // 성공률은 후보 선택 순서에 쓰이므로 인덱스만 다시 만듦 (응답 캐시는 유지)
+        index.invalidate();
     }
     
     @Override
@@ -250,14 +155,16 @@ public class MasterDuelVectorRepository implements GameVectorRepository<MasterDu
     }
     
     @Override
-    public void update(MasterDuelKnowledge knowledge) {
+    public int update(MasterDuelKnowledge knowledge) {
         // TODO: 업데이트 로직 구현
+        return 0;
     }
     
     @Override
     public void deleteById(String id) {
         String sql = "DELETE FROM vector_knowledge_masterduel WHERE id = ?";
         jdbcTemplate.update(sql, id);
+        publishKnowledgeChanged();
     }
     
     @Override
@@ -289,10 +196,28 @@ public class MasterDuelVectorRepository implements GameVectorRepository<MasterDu
             String embeddingJson = objectMapper.writeValueAsString(embedding);
             String sql = "UPDATE vector_knowledge_masterduel SET embedding = ? WHERE id = ?";
             jdbcTemplate.update(sql, embeddingJson, id);
+            publishKnowledgeChanged();
         } catch (JsonProcessingException e) {
             throw new RuntimeException("임베딩 업데이트 실패", e);
         }
     }
+
+    /**
+     * 검색용 메모리 인덱스를 미리 만듭니다. (시작 시 워밍업용)
+     * @return 인덱스에 포함된 지식 수
+     */
+    @Override
+    public int loadIndex() {
+        return index.load();
+    }
+    
+    /**
+     * 지식 변경 알림 (메모리 인덱스를 비우고 해당 게임의 캐시 응답 무효화)
+     */
+    private void publishKnowledgeChanged() {
+        index.invalidate();
+        eventPublisher.publishEvent(new KnowledgeChangedEvent(GAME_NAME));
+    }
     
     // MasterDuel 특화 통계 메서드
     public long countByArchetype(String archetype) {
@@ -309,6 +234,7 @@ public class MasterDuelVectorRepository implements GameVectorRepository<MasterDu
         String sql = "DELETE FROM vector_knowledge_masterduel";
         jdbcTemplate.update(sql);
         log.info("MasterDuel 모든 데이터 삭제 완료");
+        publishKnowledgeChanged();
     }
     
     private class MasterDuelKnowledgeRowMapper implements RowMapper<MasterDuelKnowledge> {
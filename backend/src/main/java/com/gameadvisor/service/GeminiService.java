@@ -4,29 +4,87 @@ import com.gameadvisor.model.*;
 import com.gameadvisor.model.vector.VectorSearchResult;
 import com.gameadvisor.service.vector.GameVectorServiceFactory;
 import com.gameadvisor.service.vector.GameVectorService;
+import com.gameadvisor.service.cache.AdviceResponseCache;
+import com.gameadvisor.service.cache.SemanticAdviceCache;
+import com.gameadvisor.service.image.DecodedScreen;
+import com.gameadvisor.service.image.PreparedImage;
+import com.gameadvisor.service.image.ScreenImageNormalizer;
+import com.gameadvisor.service.metrics.AdviceMetrics;
+import com.gameadvisor.service.prompt.ContextFragment;
+import com.gameadvisor.service.prompt.PromptContextAssembler;
+import com.gameadvisor.service.resilience.GeminiCallGuard;
+import com.gameadvisor.service.resilience.GeminiUnavailableException;
+import com.gameadvisor.util.AnalyzedText;
+import com.gameadvisor.util.KeywordSet;
+import com.gameadvisor.util.RequestFingerprint;
+import com.gameadvisor.util.SingleFlight;
+import com.gameadvisor.util.TextAnalyzer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
 public class GeminiService {
     
+    private static final KeywordSet ROUND_KEYWORDS = KeywordSet.of("라운드", "round");
+    private static final KeywordSet TOWER_KEYWORDS = KeywordSet.of("타워", "tower");
+    private static final KeywordSet UPGRADE_KEYWORDS = KeywordSet.of("업그레이드", "upgrade");
+    private static final KeywordSet CARD_KEYWORDS = KeywordSet.of("카드", "card");
+    private static final KeywordSet DECK_KEYWORDS = KeywordSet.of("덱", "deck");
+    private static final KeywordSet DUEL_KEYWORDS = KeywordSet.of("듀얼", "duel");
+    private static final KeywordSet STRATEGY_KEYWORDS = KeywordSet.of("전략", "strategy");
+    private static final KeywordSet GUIDE_KEYWORDS = KeywordSet.of("공략", "guide");
+    
     private final RestTemplate restTemplate;
     private final WebSearchService webSearchService;
     private final ObjectMapper objectMapper;
+    private final MappingJackson2HttpMessageConverter requestConverter;
     private final GameVectorServiceFactory vectorServiceFactory;
+    private final ThreadPoolTaskExecutor fanOutExecutor;
+    private final ScreenContextCache screenContextCache;
+    private final AdviceMetrics adviceMetrics;
+    private final AdviceResponseCache adviceResponseCache;
+    private final SemanticAdviceCache semanticAdviceCache;
+    private final GeminiCallGuard geminiCallGuard;
+    private final ScreenImageNormalizer screenImageNormalizer;
+    private final PromptContextAssembler promptContextAssembler;
+    private final SingleFlight<String, GeminiResponse> geminiCalls = new SingleFlight<>();
+    
+    private static final String SITUATION_PREFIX = "상황:";
+    private static final String ADVICE_UNAVAILABLE = "죄송합니다. 조언을 생성할 수 없습니다.";
+    private static final String SECTION_KNOWLEDGE = "knowledge";
+    private static final String SECTION_WEB = "web";
+    // 웹 스니펫 1순위의 가치 (벡터 지식 유사도와 같은 척도)
+    private static final double WEB_SNIPPET_VALUE = 0.6;
     
     @Value("${gemini.api.key}")
     private String apiKey;
@@ -37,37 +95,131 @@ public class GeminiService {
     @Value("${gemini.api.timeout:30000}")
     private long timeoutMs;
     
+    @Value("${advice.fanout.vector-timeout-ms:1500}")
+    private long vectorSearchTimeoutMs;
+    
+    @Value("${advice.fanout.web-timeout-ms:2500}")
+    private long webSearchTimeoutMs;
+    
+    @Value("${advice.screen.mode:auto}")
+    private String screenMode;
+    
+    @Value("${advice.screen.single-pass-min-confidence:0.45}")
+    private double singlePassMinConfidence;
+    
     @Autowired
-    public GeminiService(WebSearchService webSearchService, GameVectorServiceFactory vectorServiceFactory) {
-        this.restTemplate = new RestTemplate();
+    public GeminiService(@Qualifier("geminiRestTemplate") RestTemplate restTemplate,
+                         WebSearchService webSearchService, GameVectorServiceFactory vectorServiceFactory,
+                         @Qualifier("adviceFanOutExecutor") ThreadPoolTaskExecutor fanOutExecutor,
+                         ScreenContextCache screenContextCache, AdviceMetrics adviceMetrics,
+                         AdviceResponseCache adviceResponseCache, SemanticAdviceCache semanticAdviceCache,
+                         GeminiCallGuard geminiCallGuard, ScreenImageNormalizer screenImageNormalizer,
+                         PromptContextAssembler promptContextAssembler) {
+        this.restTemplate = restTemplate;
         this.webSearchService = webSearchService;
-        this.objectMapper = new ObjectMapper();
+        this.objectMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.requestConverter = new MappingJackson2HttpMessageConverter(objectMapper);
         this.vectorServiceFactory = vectorServiceFactory;
+        this.fanOutExecutor = fanOutExecutor;
+        this.screenContextCache = screenContextCache;
+        this.adviceMetrics = adviceMetrics;
+        this.adviceResponseCache = adviceResponseCache;
+        this.semanticAdviceCache = semanticAdviceCache;
+        this.geminiCallGuard = geminiCallGuard;
+        this.screenImageNormalizer = screenImageNormalizer;
+        this.promptContextAssembler = promptContextAssembler;
+        adviceMetrics.bindGeminiCoalescing(geminiCalls);
+        adviceMetrics.bindFanOutExecutor(fanOutExecutor::getActiveCount, fanOutExecutor::getQueueSize);
     }
     
     public GameAdviceResponse getGameAdvice(GameAdviceRequest request) {
+        return getGameAdvice(request, geminiRequest -> callGeminiForText(geminiRequest, request.getGameName()),
+                advice -> { });
+    }
+    
+    /**
+     * 게임 조언을 스트리밍으로 생성합니다. 생성되는 텍스트 조각은 onChunk로 즉시 전달되고,
+     * 완료 후 전체 응답을 반환합니다.
+     */
+    public GameAdviceResponse streamGameAdvice(GameAdviceRequest request, Consumer<String> onChunk) {
+        return getGameAdvice(request,
+                geminiRequest -> streamGeminiApi(geminiRequest, request.getGameName(), onChunk), onChunk);
+    }
+    
+    /**
+     * @param onCachedAdvice 캐시 적중/대체 조언 시 조언 전체를 전달받음 (스트리밍 응답용)
+     */
+    private GameAdviceResponse getGameAdvice(GameAdviceRequest request, Function<GeminiRequest, String> finalCall,
+                                             Consumer<String> onCachedAdvice) {
         try {
             log.info("게임 조언 요청: 게임={}, 상황={}", request.getGameName(), request.getCurrentSituation());
             
+            // 0단계: 최근에 답한 유사 상황이 있으면 검색과 Gemini 호출 없이 바로 반환
+            String knowledgeGame = knowledgeGameOf(request.getGameName());
+            String adviceScope = adviceScopeOf(request);
+            String similarAdvice = semanticAdviceCache.lookup(
+                    SemanticAdviceCache.KIND_ADVICE, knowledgeGame, adviceScope, request.getCurrentSituation());
+            if (similarAdvice != null) {
+                onCachedAdvice.accept(similarAdvice);
+                return GameAdviceResponse.builder()
+                        .advice(similarAdvice)
+                        .characterName("게임 어드바이저")
+                        .gameContext(request.getGameName())
+                        .timestamp(LocalDateTime.now())
+                        .success(true)
+                        .cached(true)
+                        .build();
+            }
+            
             // 1단계: 벡터 DB에서 유사한 상황 검색
-            List<VectorSearchResult> vectorResults = searchVectorKnowledge(request);
+            List<VectorSearchResult> vectorResults = adviceMetrics.timeStage(AdviceMetrics.PIPELINE_ADVICE,
+                    AdviceMetrics.STAGE_VECTOR_SEARCH, () -> searchVectorKnowledge(request));
             
             // 2단계: 벡터 검색 결과와 함께 프롬프트 구성
-            String prompt;
-            if (!vectorResults.isEmpty()) {
-                prompt = buildEnhancedGameAdvicePrompt(request, vectorResults);
-                log.info("벡터 DB에서 {} 개의 유사 상황 발견", vectorResults.size());
+            GeminiRequest geminiRequest = adviceMetrics.timeStage(AdviceMetrics.PIPELINE_ADVICE,
+                    AdviceMetrics.STAGE_PROMPT_ASSEMBLY, () -> {
+                        String prompt;
+                        if (!vectorResults.isEmpty()) {
+                            prompt = buildEnhancedGameAdvicePrompt(request, vectorResults);
+                            log.info("벡터 DB에서 {} 개의 유사 상황 발견", vectorResults.size());
+                        } else {
+                            prompt = buildGameAdvicePrompt(request);
+                            log.info("벡터 DB에서 유사 상황을 찾지 못함. 기본 프롬프트 사용");
+                        }
+                        return buildGeminiRequest(prompt);
+                    });
+            
+            // 같은 프롬프트로 만든 응답이 캐시에 있으면 Gemini 호출 생략
+            String cacheKey = adviceResponseCache.keyOf(apiUrl, geminiRequest);
+            String advice = adviceResponseCache.get(cacheKey);
+            boolean cached = advice != null;
+            if (cached) {
+                log.info("조언 캐시 적중: 게임={}", request.getGameName());
+                onCachedAdvice.accept(advice);
             } else {
-                prompt = buildGameAdvicePrompt(request);
-                log.info("벡터 DB에서 유사 상황을 찾지 못함. 기본 프롬프트 사용");
+                try {
+                    advice = adviceMetrics.timeStage(AdviceMetrics.PIPELINE_ADVICE,
+                            AdviceMetrics.STAGE_FINAL_GEMINI, () -> finalCall.apply(geminiRequest));
+                    if (!ADVICE_UNAVAILABLE.equals(advice)) {
+                        adviceResponseCache.put(cacheKey, knowledgeGame, advice);
+                        semanticAdviceCache.put(SemanticAdviceCache.KIND_ADVICE, knowledgeGame, adviceScope,
+                                request.getCurrentSituation(), advice);
+                    }
+                } catch (GeminiUnavailableException e) {
+                    // Gemini를 호출할 수 없으면 검색된 지식으로 대체 조언 구성 (캐시에는 저장하지 않음)
+                    if (vectorResults.isEmpty()) {
+                        throw e;
+                    }
+                    advice = buildFallbackAdvice(vectorResults);
+                    adviceMetrics.recordFallbackAdvice(SemanticAdviceCache.KIND_ADVICE);
+                    onCachedAdvice.accept(advice);
+                }
             }
             
-            GeminiRequest geminiRequest = buildGeminiRequest(prompt);
-            GeminiResponse geminiResponse = callGeminiApi(geminiRequest);
-            String advice = extractAdviceFromResponse(geminiResponse);
-            
             // 3단계: 사용된 벡터 지식의 사용량 증가
-            updateVectorKnowledgeUsage(vectorResults);
+            adviceMetrics.timeStage(AdviceMetrics.PIPELINE_ADVICE, AdviceMetrics.STAGE_USAGE_UPDATE,
+                    () -> updateVectorKnowledgeUsage(vectorResults));
             
             return GameAdviceResponse.builder()
                     .advice(advice)
@@ -75,6 +227,7 @@ public class GeminiService {
                     .gameContext(request.getGameName())
                     .timestamp(LocalDateTime.now())
                     .success(true)
+                    .cached(cached)
                     .build();
                     
         } catch (Exception e) {
@@ -93,75 +246,352 @@ public class GeminiService {
     
     /**
      * 화면 분석 및 조언 제공 (벡터 DB + 웹 검색 포함)
+     * 직전 프레임 분석이나 HUD 텍스트 같은 저비용 신호로 충분한 검색 결과를 얻으면
+     * 이미지를 한 번만 전송하는 단일 호출(single-pass)로 처리하고,
+     * 신호가 없거나 검색 신뢰도가 낮으면 기존 2단계(two-pass) 흐름으로 처리합니다.
      */
     public ScreenAnalysisResponse analyzeScreen(ScreenAnalysisRequest request) {
+        return analyzeScreen(request, geminiRequest -> callGeminiForText(geminiRequest, request.getGameName()),
+                null, advice -> { });
+    }
+    
+    /**
+     * 화면 분석을 스트리밍으로 수행합니다. 최종 조언 호출의 텍스트 조각이 onChunk로 즉시 전달됩니다.
+     * (단일 호출 모드의 첫 줄 상황 요약은 클라이언트에 전달하지 않습니다.)
+     */
+    public ScreenAnalysisResponse streamScreenAnalysis(ScreenAnalysisRequest request, Consumer<String> onChunk) {
+        return analyzeScreen(request,
+                geminiRequest -> streamGeminiApi(geminiRequest, request.getGameName(), onChunk),
+                geminiRequest -> {
+                    SituationLineFilter filter = new SituationLineFilter(onChunk);
+                    String output = streamGeminiApi(geminiRequest, request.getGameName(), filter);
+                    filter.finish();
+                    return output;
+                },
+                onChunk);
+    }
+    
+    /**
+     * @param finalCall 최종 조언 호출 (일반/스트리밍)
+     * @param singlePassCall 단일 호출 모드의 호출 (null이면 finalCall 사용)
+     * @param onCachedAdvice 유사 상황 캐시 적중/대체 조언 시 조언 전체를 전달받음 (스트리밍 응답용)
+     */
+    private ScreenAnalysisResponse analyzeScreen(ScreenAnalysisRequest request,
+                                                 Function<GeminiRequest, String> finalCall,
+                                                 Function<GeminiRequest, String> singlePassCall,
+                                                 Consumer<String> onCachedAdvice) {
+        long startedAt = System.nanoTime();
+        String mode = AdviceMetrics.MODE_TWO_PASS;
+        String cheapSignal = null;
+        RetrievedContext signalContext = null;
+        
         try {
             log.info("화면 분석 요청: 게임={}", request.getGameName());
             
-            // 1단계: 기본 화면 분석으로 현재 상황 파악
-            String initialPrompt = buildInitialAnalysisPrompt(request);
-            GeminiRequest initialRequest = buildGeminiImageRequest(initialPrompt, request.getImageBase64());
-            GeminiResponse initialResponse = callGeminiApi(initialRequest);
-            String initialAnalysis = extractAdviceFromResponse(initialResponse);
+            String contextKey = screenContextCache.keyOf(request);
             
-            log.info("화면 분석 완료: {}", initialAnalysis.substring(0, Math.min(100, initialAnalysis.length())));
+            // 이미지는 한 번만 디코딩하여 dHash를 계산
+            DecodedScreen screen = adviceMetrics.timeStage(AdviceMetrics.PIPELINE_SCREEN,
+                    AdviceMetrics.STAGE_IMAGE_DECODE, () -> screenImageNormalizer.decode(request));
+            
+            // 직전 프레임과 사실상 같은 화면이면 축소/인코딩과 검색/Gemini 호출 없이 이전 응답 재사용
+            ScreenAnalysisResponse previous = screenContextCache.similarFrame(contextKey, screen.getPerceptualHash());
+            if (previous != null) {
+                onCachedAdvice.accept(previous.getAdvice());
+                return ScreenAnalysisResponse.builder()
+                        .analysis(previous.getAnalysis())
+                        .advice(previous.getAdvice())
+                        .characterName(previous.getCharacterName())
+                        .gameContext(previous.getGameContext())
+                        .timestamp(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                        .success(true)
+                        .pipelineMode(previous.getPipelineMode())
+                        .cached(true)
+                        .build();
+            }
             
-            // 2단계: 화면 분석 결과를 바탕으로 벡터 DB에서 유사한 상황 검색
-            List<VectorSearchResult> vectorResults = searchVectorKnowledgeForScreen(request.getGameName(), initialAnalysis);
+            // 새 화면만 축소/인코딩하여 이후 모든 Gemini 호출에서 재사용
+            PreparedImage image = adviceMetrics.timeStage(AdviceMetrics.PIPELINE_SCREEN,
+                    AdviceMetrics.STAGE_IMAGE_PREPARE, () -> screenImageNormalizer.prepare(screen));
             
-            // 3단계: 화면 분석 결과를 바탕으로 웹 검색 키워드 추출
-            List<String> searchQueries = extractSearchQueries(initialAnalysis, request.getGameName());
+            cheapSignal = resolveCheapSignal(request, contextKey);
             
-            // 4단계: 웹 검색 수행
-            List<WebSearchResponse.SearchResult> searchResults = new ArrayList<>();
-            for (String query : searchQueries) {
-                WebSearchRequest searchRequest = WebSearchRequest.builder()
-                        .query(query)
-                        .gameName(request.getGameName())
-                        .searchType("strategy")
-                        .maxResults(3)
-                        .build();
+            String reason;
+            if ("two-pass".equalsIgnoreCase(screenMode)) {
+                reason = "forced";
+            } else if (cheapSignal == null) {
+                reason = "no_signal";
+            } else {
+                // 저비용 신호로 벡터/웹 검색을 먼저 수행하고 신뢰도(최고 유사도)를 평가
+                signalContext = retrieveContext(request.getGameName(), cheapSignal);
+                double confidence = signalContext.topSimilarity();
+                adviceMetrics.recordRetrievalConfidence(confidence);
                 
-                WebSearchResponse searchResponse = webSearchService.searchWeb(searchRequest);
-                if (searchResponse.isSuccess()) {
-                    searchResults.addAll(searchResponse.getResults());
+                if ("single-pass".equalsIgnoreCase(screenMode)) {
+                    mode = AdviceMetrics.MODE_SINGLE_PASS;
+                    reason = "forced";
+                } else if (confidence >= singlePassMinConfidence) {
+                    mode = AdviceMetrics.MODE_SINGLE_PASS;
+                    reason = "confident";
+                } else {
+                    reason = "low_confidence";
                 }
+                log.info("저비용 신호 검색 신뢰도: {} (기준 {}) → {}", 
+                        String.format("%.2f", confidence), singlePassMinConfidence, mode);
             }
+            adviceMetrics.recordScreenModeDecision(mode, reason);
             
-            // 5단계: 화면 분석 + 벡터 검색 결과 + 웹 검색 결과를 조합한 최종 분석
-            String enhancedPrompt = buildComprehensiveAnalysisPrompt(request, initialAnalysis, vectorResults, searchResults);
-            GeminiRequest enhancedRequest = buildGeminiImageRequest(enhancedPrompt, request.getImageBase64());
-            GeminiResponse enhancedResponse = callGeminiApi(enhancedRequest);
-            String finalAnalysis = extractAdviceFromResponse(enhancedResponse);
-            
-            // 6단계: 사용된 벡터 지식의 사용량 증가
-            updateVectorKnowledgeUsage(vectorResults);
+            ScreenAnalysisResponse response = null;
+            if (AdviceMetrics.MODE_SINGLE_PASS.equals(mode)) {
+                response = analyzeScreenSinglePass(request, image, contextKey, cheapSignal, signalContext,
+                                                   singlePassCall != null ? singlePassCall : finalCall);
+                if (response == null) {
+                    // 상황 요약만 있고 조언이 없으면 새 상황 요약을 신호로 남기고 2단계 흐름으로 조언 생성
+                    mode = AdviceMetrics.MODE_TWO_PASS;
+                    adviceMetrics.recordScreenModeDecision(mode, "single_pass_no_advice");
+                }
+            }
+            if (response == null) {
+                response = analyzeScreenTwoPass(request, image, contextKey, finalCall, onCachedAdvice);
+            }
+            screenContextCache.rememberFrame(contextKey, image.getPerceptualHash(), response);
             
-            log.info("최종 분석 완료 - 벡터 검색: {}개, 웹 검색: {}개 결과 활용", 
-                    vectorResults.size(), searchResults.size());
+            adviceMetrics.recordScreenLatency(mode, true, System.nanoTime() - startedAt);
+            return response;
             
+        } catch (GeminiUnavailableException e) {
+            // Gemini를 호출할 수 없으면 저비용 신호로 검색한 지식으로 대체 조언 구성
+            List<VectorSearchResult> fallbackResults = signalContext != null
+                    ? signalContext.getVectorResults()
+                    : cheapSignal != null ? searchVectorKnowledgeForScreen(request.getGameName(), cheapSignal) : List.of();
+            adviceMetrics.recordScreenLatency(mode, false, System.nanoTime() - startedAt);
+            if (fallbackResults.isEmpty()) {
+                return screenErrorResponse(request, mode, e);
+            }
+            String fallbackAdvice = buildFallbackAdvice(fallbackResults);
+            adviceMetrics.recordFallbackAdvice(SemanticAdviceCache.KIND_SCREEN);
+            onCachedAdvice.accept(fallbackAdvice);
             return ScreenAnalysisResponse.builder()
-                    .analysis(finalAnalysis)
-                    .advice(finalAnalysis)
+                    .analysis(fallbackAdvice)
+                    .advice(fallbackAdvice)
                     .characterName("게임 어드바이저")
                     .gameContext(request.getGameName())
                     .timestamp(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
                     .success(true)
+                    .pipelineMode(mode)
                     .build();
                     
         } catch (Exception e) {
             log.error("화면 분석 중 오류 발생", e);
+            adviceMetrics.recordScreenLatency(mode, false, System.nanoTime() - startedAt);
             
+            return screenErrorResponse(request, mode, e);
+        }
+    }
+    
+    private ScreenAnalysisResponse screenErrorResponse(ScreenAnalysisRequest request, String mode, Exception e) {
+        return ScreenAnalysisResponse.builder()
+                .analysis("죄송합니다. 현재 화면을 분석할 수 없습니다.")
+                .advice("다시 시도해 주세요.")
+                .characterName("게임 어드바이저")
+                .gameContext(request.getGameName())
+                .timestamp(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                .success(false)
+                .errorMessage(e.getMessage())
+                .pipelineMode(mode)
+                .build();
+    }
+    
+    /**
+     * 단일 호출 화면 분석: 저비용 신호로 얻은 검색 결과와 이미지를 한 번에 전송
+     * @return 응답에 조언이 없으면 (상황 요약 줄만 있는 경우) null - 호출자가 2단계 흐름으로 대체
+     */
+    private ScreenAnalysisResponse analyzeScreenSinglePass(ScreenAnalysisRequest request, PreparedImage image,
+                                                           String contextKey, String cheapSignal, RetrievedContext context,
+                                                           Function<GeminiRequest, String> call) {
+        GeminiRequest geminiRequest = adviceMetrics.timeStage(AdviceMetrics.PIPELINE_SCREEN,
+                AdviceMetrics.STAGE_PROMPT_ASSEMBLY, () -> buildGeminiImageRequest(
+                        buildSinglePassPrompt(request, cheapSignal, context.getVectorResults(), context.getSearchResults()),
+                        image));
+        String output = adviceMetrics.timeStage(AdviceMetrics.PIPELINE_SCREEN,
+                AdviceMetrics.STAGE_FINAL_GEMINI, () -> call.apply(geminiRequest));
+        
+        // 첫 줄의 상황 요약은 다음 프레임의 저비용 신호로 저장하고, 나머지를 조언으로 사용
+        // (줄바꿈 없이 상황 요약만 온 경우 조언은 비어 있음)
+        String situation = null;
+        String advice = output.trim();
+        if (output.startsWith(SITUATION_PREFIX)) {
+            int lineEnd = output.indexOf('\n');
+            situation = (lineEnd >= 0 ? output.substring(SITUATION_PREFIX.length(), lineEnd) : output.substring(SITUATION_PREFIX.length())).trim();
+            advice = lineEnd >= 0 ? output.substring(lineEnd + 1).trim() : "";
+        }
+        screenContextCache.remember(contextKey, situation != null && !situation.isEmpty() ? situation : cheapSignal);
+        if (advice.isEmpty()) {
+            log.warn("단일 호출 응답에 조언 없음 (상황 요약만 수신) - 2단계 흐름으로 대체");
+            return null;
+        }
+        if (situation != null) {
+            semanticAdviceCache.put(SemanticAdviceCache.KIND_SCREEN, knowledgeGameOf(request.getGameName()),
+                    SemanticAdviceCache.scopeOf(request.getAdditionalContext()), situation, advice);
+        }
+        
+        adviceMetrics.timeStage(AdviceMetrics.PIPELINE_SCREEN, AdviceMetrics.STAGE_USAGE_UPDATE,
+                () -> updateVectorKnowledgeUsage(context.getVectorResults()));
+        
+        log.info("단일 호출 분석 완료 - 벡터 검색: {}개, 웹 검색: {}개 결과 활용", 
+                context.getVectorResults().size(), context.getSearchResults().size());
+        
+        return ScreenAnalysisResponse.builder()
+                .analysis(advice)
+                .advice(advice)
+                .characterName("게임 어드바이저")
+                .gameContext(request.getGameName())
+                .timestamp(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                .success(true)
+                .pipelineMode(AdviceMetrics.MODE_SINGLE_PASS)
+                .build();
+    }
+    
+    /**
+     * 2단계 화면 분석: 초기 상황 분석 → 검색 → 최종 분석
+     */
+    private ScreenAnalysisResponse analyzeScreenTwoPass(ScreenAnalysisRequest request, PreparedImage image,
+                                                        String contextKey,
+                                                        Function<GeminiRequest, String> finalCall,
+                                                        Consumer<String> onCachedAdvice) {
+        // 1단계: 기본 화면 분석으로 현재 상황 파악
+        String initialPrompt = buildInitialAnalysisPrompt(request);
+        GeminiRequest initialRequest = buildGeminiImageRequest(initialPrompt, image);
+        GeminiResponse initialResponse = adviceMetrics.timeStage(AdviceMetrics.PIPELINE_SCREEN,
+                AdviceMetrics.STAGE_INITIAL_GEMINI, () -> callGeminiApi(initialRequest, request.getGameName()));
+        String initialAnalysis = extractAdviceFromResponse(initialResponse);
+        
+        log.info("화면 분석 완료: {}", initialAnalysis.substring(0, Math.min(100, initialAnalysis.length())));
+        screenContextCache.remember(contextKey, initialAnalysis);
+        
+        // 최근에 답한 유사 상황이면 검색과 최종 분석 호출 생략
+        String knowledgeGame = knowledgeGameOf(request.getGameName());
+        String similarAdvice = semanticAdviceCache.lookup(SemanticAdviceCache.KIND_SCREEN, knowledgeGame,
+                SemanticAdviceCache.scopeOf(request.getAdditionalContext()), initialAnalysis);
+        if (similarAdvice != null) {
+            onCachedAdvice.accept(similarAdvice);
             return ScreenAnalysisResponse.builder()
-                    .analysis("죄송합니다. 현재 화면을 분석할 수 없습니다.")
-                    .advice("다시 시도해 주세요.")
+                    .analysis(similarAdvice)
+                    .advice(similarAdvice)
                     .characterName("게임 어드바이저")
                     .gameContext(request.getGameName())
                     .timestamp(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
-                    .success(false)
-                    .errorMessage(e.getMessage())
+                    .success(true)
+                    .pipelineMode(AdviceMetrics.MODE_TWO_PASS)
+                    .cached(true)
+                    .build();
+        }
+        
+        // 2~4단계: 초기 분석 결과로 벡터 검색과 웹 검색을 병렬 실행
+        RetrievedContext context = retrieveContext(request.getGameName(), initialAnalysis);
+        List<VectorSearchResult> vectorResults = context.getVectorResults();
+        List<WebSearchResponse.SearchResult> searchResults = context.getSearchResults();
+        
+        // 5단계: 화면 분석 + 벡터 검색 결과 + 웹 검색 결과를 조합한 최종 분석
+        GeminiRequest enhancedRequest = adviceMetrics.timeStage(AdviceMetrics.PIPELINE_SCREEN,
+                AdviceMetrics.STAGE_PROMPT_ASSEMBLY, () -> buildGeminiImageRequest(
+                        buildComprehensiveAnalysisPrompt(request, initialAnalysis, vectorResults, searchResults),
+                        image));
+        String finalAnalysis;
+        try {
+            finalAnalysis = adviceMetrics.timeStage(AdviceMetrics.PIPELINE_SCREEN,
+                    AdviceMetrics.STAGE_FINAL_GEMINI, () -> finalCall.apply(enhancedRequest));
+            if (!ADVICE_UNAVAILABLE.equals(finalAnalysis)) {
+                semanticAdviceCache.put(SemanticAdviceCache.KIND_SCREEN, knowledgeGame,
+                        SemanticAdviceCache.scopeOf(request.getAdditionalContext()), initialAnalysis, finalAnalysis);
+            }
+        } catch (GeminiUnavailableException e) {
+            if (vectorResults.isEmpty()) {
+                throw e;
+            }
+            finalAnalysis = buildFallbackAdvice(vectorResults);
+            adviceMetrics.recordFallbackAdvice(SemanticAdviceCache.KIND_SCREEN);
+            onCachedAdvice.accept(finalAnalysis);
+        }
+        
+        // 6단계: 사용된 벡터 지식의 사용량 증가
+        adviceMetrics.timeStage(AdviceMetrics.PIPELINE_SCREEN, AdviceMetrics.STAGE_USAGE_UPDATE,
+                () -> updateVectorKnowledgeUsage(vectorResults));
+        
+        log.info("최종 분석 완료 - 벡터 검색: {}개, 웹 검색: {}개 결과 활용", 
+                vectorResults.size(), searchResults.size());
+        
+        return ScreenAnalysisResponse.builder()
+                .analysis(finalAnalysis)
+                .advice(finalAnalysis)
+                .characterName("게임 어드바이저")
+                .gameContext(request.getGameName())
+                .timestamp(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                .success(true)
+                .pipelineMode(AdviceMetrics.MODE_TWO_PASS)
+                .build();
+    }
+    
+    /**
+     * 초기 분석 호출 없이 사용할 수 있는 저비용 신호 (HUD 텍스트 우선, 없으면 직전 프레임 분석)
+     */
+    private String resolveCheapSignal(ScreenAnalysisRequest request, String contextKey) {
+        String recent = screenContextCache.recentSituation(contextKey);
+        boolean hasHud = request.getHudText() != null && !request.getHudText().isBlank();
+        
+        if (hasHud && recent != null) {
+            return request.getHudText().trim() + "\n" + recent;
+        }
+        if (hasHud) {
+            return request.getHudText().trim();
+        }
+        return recent;
+    }
+    
+    /**
+     * 상황 텍스트로 벡터 검색과 웹 검색을 병렬 실행합니다.
+     * 각 분기는 개별 마감 시간을 가지며, 지연/실패 시 빈 결과로 대체되어 최종 호출을 지연시키지 않습니다.
+     */
+    private RetrievedContext retrieveContext(String gameName, String situation) {
+        return adviceMetrics.timeStage(AdviceMetrics.PIPELINE_SCREEN, AdviceMetrics.STAGE_RETRIEVAL,
+                () -> retrieveContextInParallel(gameName, situation));
+    }
+    
+    private RetrievedContext retrieveContextInParallel(String gameName, String situation) {
+        CompletableFuture<List<VectorSearchResult>> vectorFuture = submitWithDeadline(
+                AdviceMetrics.STAGE_VECTOR_SEARCH, "벡터 검색",
+                () -> adviceMetrics.timeStage(AdviceMetrics.PIPELINE_SCREEN, AdviceMetrics.STAGE_VECTOR_SEARCH,
+                        () -> searchVectorKnowledgeForScreen(gameName, situation)),
+                List.of(),
+                vectorSearchTimeoutMs);
+        
+        List<String> searchQueries = extractSearchQueries(situation, gameName);
+        List<CompletableFuture<List<WebSearchResponse.SearchResult>>> webFutures = new ArrayList<>();
+        for (String query : searchQueries) {
+            WebSearchRequest searchRequest = WebSearchRequest.builder()
+                    .query(query)
+                    .gameName(gameName)
+                    .searchType("strategy")
+                    .maxResults(3)
                     .build();
+            
+            webFutures.add(submitWithDeadline(
+                    AdviceMetrics.STAGE_WEB_SEARCH, "웹 검색(" + query + ")",
+                    () -> adviceMetrics.timeStage(AdviceMetrics.PIPELINE_SCREEN, AdviceMetrics.STAGE_WEB_SEARCH, () -> {
+                        WebSearchResponse searchResponse = webSearchService.searchWeb(searchRequest);
+                        return searchResponse.isSuccess() ? searchResponse.getResults() : List.<WebSearchResponse.SearchResult>of();
+                    }),
+                    List.of(),
+                    webSearchTimeoutMs));
+        }
+        
+        // 각 분기는 마감 시간 내에 반드시 완료되므로 join은 가장 느린 분기의 마감 시간 이상 대기하지 않음
+        List<VectorSearchResult> vectorResults = vectorFuture.join();
+        List<WebSearchResponse.SearchResult> searchResults = new ArrayList<>();
+        for (CompletableFuture<List<WebSearchResponse.SearchResult>> webFuture : webFutures) {
+            searchResults.addAll(webFuture.join());
         }
+        return new RetrievedContext(vectorResults, searchResults);
     }
     
     /**
@@ -190,39 +620,39 @@ public class GeminiService {
     private List<String> extractSearchQueries(String analysis, String gameName) {
         List<String> queries = new ArrayList<>();
         
-        // 분석 결과에서 검색 키워드 추출 로직
-        String lowerAnalysis = analysis.toLowerCase();
+        // 분석 결과는 한 번만 토큰화하여 모든 키워드 판정에 재사용
+        AnalyzedText analyzed = TextAnalyzer.analyze(analysis);
         
         // 게임별 특정 키워드 검색
         if (gameName != null) {
             if (gameName.toLowerCase().contains("bloon") || gameName.toLowerCase().contains("td")) {
-                if (lowerAnalysis.contains("라운드") || lowerAnalysis.contains("round")) {
+                if (analyzed.containsAny(ROUND_KEYWORDS)) {
                     queries.add("round strategy");
                 }
-                if (lowerAnalysis.contains("타워") || lowerAnalysis.contains("tower")) {
+                if (analyzed.containsAny(TOWER_KEYWORDS)) {
                     queries.add("tower guide");
                 }
-                if (lowerAnalysis.contains("업그레이드")) {
+                if (analyzed.containsAny(UPGRADE_KEYWORDS)) {
                     queries.add("upgrade guide");
                 }
             } else if (gameName.toLowerCase().contains("master duel")) {
-                if (lowerAnalysis.contains("카드") || lowerAnalysis.contains("card")) {
+                if (analyzed.containsAny(CARD_KEYWORDS)) {
                     queries.add("card combo guide");
                 }
-                if (lowerAnalysis.contains("덱") || lowerAnalysis.contains("deck")) {
+                if (analyzed.containsAny(DECK_KEYWORDS)) {
                     queries.add("deck build guide");
                 }
-                if (lowerAnalysis.contains("듀얼") || lowerAnalysis.contains("duel")) {
+                if (analyzed.containsAny(DUEL_KEYWORDS)) {
                     queries.add("duel strategy");
                 }
             }
         }
         
         // 일반적인 게임 키워드
-        if (lowerAnalysis.contains("전략") || lowerAnalysis.contains("strategy")) {
+        if (analyzed.containsAny(STRATEGY_KEYWORDS)) {
             queries.add("strategy tips");
         }
-        if (lowerAnalysis.contains("공략") || lowerAnalysis.contains("guide")) {
+        if (analyzed.containsAny(GUIDE_KEYWORDS)) {
             queries.add("walkthrough guide");
         }
         
@@ -235,7 +665,7 @@ public class GeminiService {
         return queries.subList(0, Math.min(queries.size(), 3));
     }
     
-    private GeminiRequest buildGeminiImageRequest(String prompt, String imageBase64) {
+    private GeminiRequest buildGeminiImageRequest(String prompt, PreparedImage image) {
         return GeminiRequest.builder()
                 .contents(List.of(
                         GeminiRequest.Content.builder()
@@ -245,8 +675,8 @@ public class GeminiService {
                                                 .build(),
                                         GeminiRequest.Part.builder()
                                                 .inlineData(GeminiRequest.InlineData.builder()
-                                                        .mimeType("image/png")
-                                                        .data(imageBase64)
+                                                        .mimeType(image.getMimeType())
+                                                        .data(image.getData())
                                                         .build())
                                                 .build()
                                 ))
@@ -319,15 +749,171 @@ public class GeminiService {
                 .build();
     }
     
-    private GeminiResponse callGeminiApi(GeminiRequest request) {
-        String url = apiUrl + "?key=" + apiKey;
+    /**
+     * Gemini 호출 - 동시에 들어온 동일 요청은 한 번만 호출하고 결과를 공유합니다.
+     * 실제 호출은 보호 장치(브레이커, 속도 제한, 동시 호출 제한)를 거칩니다.
+     */
+    private GeminiResponse callGeminiApi(GeminiRequest request, String gameName) {
+        return geminiCalls.execute(RequestFingerprint.of(apiUrl, request), () -> geminiCallGuard.call(() -> {
+            String url = apiUrl + "?key=" + apiKey;
+            
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            
+            HttpEntity<GeminiRequest> entity = new HttpEntity<>(request, headers);
+            
+            GeminiResponse response = restTemplate.postForObject(url, entity, GeminiResponse.class);
+            if (response != null) {
+                recordUsage(request, gameName, response.getUsageMetadata(), finishReasonOf(response));
+            }
+            return response;
+        }));
+    }
+    
+    private String callGeminiForText(GeminiRequest request, String gameName) {
+        return extractAdviceFromResponse(callGeminiApi(request, gameName));
+    }
+    
+    /**
+     * 응답의 토큰 사용량을 게임/종료 사유별 토큰 지표와 프롬프트 예산 보정에 반영합니다.
+     */
+    private void recordUsage(GeminiRequest request, String gameName,
+                             GeminiResponse.UsageMetadata usage, String finishReason) {
+        String game = vectorServiceFactory.isSupported(gameName) ? knowledgeGameOf(gameName) : "other";
+        String outcome = finishReason != null ? finishReason.toLowerCase() : "unknown";
+        promptContextAssembler.recordUsage(request, usage, game, outcome);
+    }
+    
+    private static String finishReasonOf(GeminiResponse response) {
+        if (response.getCandidates() == null || response.getCandidates().isEmpty()) {
+            return null;
+        }
+        return response.getCandidates().get(0).getFinishReason();
+    }
+    
+    /**
+     * streamGenerateContent(SSE)로 Gemini를 호출하여 텍스트 조각을 도착 즉시 onChunk로 전달합니다.
+     * 전체 텍스트를 이어 붙여 반환합니다.
+     */
+    private String streamGeminiApi(GeminiRequest request, String gameName, Consumer<String> onChunk) {
+        String url = streamApiUrl() + "?alt=sse&key=" + apiKey;
+        StringBuilder fullText = new StringBuilder();
+        // 토큰 사용량은 마지막 조각에 누적값으로 담겨 옴
+        AtomicReference<GeminiResponse.UsageMetadata> usage = new AtomicReference<>();
+        AtomicReference<String> finishReason = new AtomicReference<>();
         
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+        geminiCallGuard.call(() -> restTemplate.execute(url, HttpMethod.POST,
+                clientRequest -> {
+                    clientRequest.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+                    // 중간 바이트 배열 없이 연결 스트림에 바로 직렬화 (이미지 Base64 포함)
+                    requestConverter.write(request, MediaType.APPLICATION_JSON, clientRequest);
+                },
+                clientResponse -> {
+                    try (BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(clientResponse.getBody(), StandardCharsets.UTF_8))) {
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            if (!line.startsWith("data:")) {
+                                continue;
+                            }
+                            String payload = line.substring("data:".length()).trim();
+                            if (payload.isEmpty()) {
+                                continue;
+                            }
+                            GeminiResponse chunk = objectMapper.readValue(payload, GeminiResponse.class);
+                            if (chunk.getUsageMetadata() != null) {
+                                usage.set(chunk.getUsageMetadata());
+                            }
+                            if (finishReasonOf(chunk) != null) {
+                                finishReason.set(finishReasonOf(chunk));
+                            }
+                            String text = extractChunkText(chunk);
+                            if (!text.isEmpty()) {
+                                fullText.append(text);
+                                onChunk.accept(text);
+                            }
+                        }
+                    }
+                    return null;
+                }));
+        recordUsage(request, gameName, usage.get(), finishReason.get());
         
-        HttpEntity<GeminiRequest> entity = new HttpEntity<>(request, headers);
+        if (fullText.length() == 0) {
+            return ADVICE_UNAVAILABLE;
+        }
+        return fullText.toString();
+    }
+    
+    /**
+     * generateContent URL에서 streamGenerateContent URL을 유도합니다.
+     */
+    private String streamApiUrl() {
+        return apiUrl.replace(":generateContent", ":streamGenerateContent");
+    }
+    
+    /**
+     * 스트리밍 조각의 텍스트 (모든 part 연결, 없으면 빈 문자열)
+     */
+    private String extractChunkText(GeminiResponse chunk) {
+        if (chunk == null || chunk.getCandidates() == null || chunk.getCandidates().isEmpty()) {
+            return "";
+        }
+        GeminiResponse.Content content = chunk.getCandidates().get(0).getContent();
+        if (content == null || content.getParts() == null) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder();
+        for (GeminiResponse.Part part : content.getParts()) {
+            if (part.getText() != null) {
+                text.append(part.getText());
+            }
+        }
+        return text.toString();
+    }
+    
+    /**
+     * 분기 작업을 병렬 실행기에 제출하고 마감 시간을 적용합니다.
+     * 실행기 포화(거부), 예외, 마감 시간 초과 시 모두 대체값으로 완료됩니다.
+     * 마감 시간을 넘긴 분기는 취소(인터럽트)하여, 대기열에 남은 분기는 실행되지 않고 실행 중인 분기도
+     * 느린 벡터/웹 호출이 끝날 때까지 실행기 스레드를 붙잡아 두지 않도록 합니다.
+     * @param stage 메트릭 태그용 분기 이름 (AdviceMetrics.STAGE_*)
+     */
+    private <T> CompletableFuture<T> submitWithDeadline(String stage, String branch, Supplier<T> task, T fallback,
+                                                        long timeoutMs) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Future<?> running;
+        try {
+            running = fanOutExecutor.submit(() -> {
+                try {
+                    future.complete(task.get());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("{} 분기 실행 거부 (실행기 포화) - 빈 결과로 대체", branch);
+            adviceMetrics.recordFanOutBranch(stage, "rejected");
+            return CompletableFuture.completedFuture(fallback);
+        }
         
-        return restTemplate.postForObject(url, entity, GeminiResponse.class);
+        return future
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .handle((result, ex) -> {
+                    if (ex == null) {
+                        adviceMetrics.recordFanOutBranch(stage, "completed");
+                        return result;
+                    }
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof TimeoutException) {
+                        running.cancel(true);
+                        log.warn("{} 분기 마감 시간 초과 ({}ms) - 취소 후 빈 결과로 대체", branch, timeoutMs);
+                        adviceMetrics.recordFanOutBranch(stage, "timeout");
+                    } else {
+                        log.warn("{} 분기 실패 - 빈 결과로 대체: {}", branch, cause.getMessage());
+                        adviceMetrics.recordFanOutBranch(stage, "error");
+                    }
+                    return fallback;
+                });
     }
     
     // 벡터 DB 관련 메서드들
@@ -343,7 +929,7 @@ public class GeminiService {
             }
             
             GameVectorService vectorService = vectorServiceFactory.getService(request.getGameName());
-            return vectorService.searchSimilar(request.getCurrentSituation(), 3);
+            return recordReportedSearchTime(vectorService, vectorService.searchSimilar(request.getCurrentSituation(), 3));
             
         } catch (Exception e) {
             log.warn("벡터 검색 중 오류 발생: {}", e.getMessage());
@@ -351,6 +937,34 @@ public class GeminiService {
         }
     }
 
+    /**
+     * 벡터 저장소가 결과에 담아 보낸 검색 시간을 기록합니다. (모든 결과에 같은 값이 담김)
+     */
+    private List<VectorSearchResult> recordReportedSearchTime(GameVectorService vectorService,
+                                                              List<VectorSearchResult> results) {
+        if (!results.isEmpty() && results.get(0).getSearchTimeMs() != null) {
+            adviceMetrics.recordVectorSearchReported(vectorService.getGameName(), results.get(0).getSearchTimeMs());
+        }
+        return results;
+    }
+
+    /**
+     * 유사 상황 캐시에서 상황과 함께 정확히 일치해야 하는 조언 요청 조건
+     */
+    private static String adviceScopeOf(GameAdviceRequest request) {
+        return SemanticAdviceCache.scopeOf(request.getSpecificQuestion(), request.getPlayerLevel(), request.getGameGenre());
+    }
+    
+    /**
+     * 요청 게임 이름을 벡터 지식의 게임 이름으로 변환 (캐시 무효화 단위)
+     */
+    private String knowledgeGameOf(String gameName) {
+        if (vectorServiceFactory.isSupported(gameName)) {
+            return vectorServiceFactory.getService(gameName).getGameName();
+        }
+        return gameName;
+    }
+    
     /**
      * 화면 분석 결과를 바탕으로 벡터 DB에서 유사한 상황 검색
      */
@@ -362,7 +976,7 @@ public class GeminiService {
             }
 
             GameVectorService vectorService = vectorServiceFactory.getService(gameName);
-            return vectorService.searchSimilar(currentSituation, 3);
+            return recordReportedSearchTime(vectorService, vectorService.searchSimilar(currentSituation, 3));
         } catch (Exception e) {
             log.warn("벡터 검색 중 오류 발생: {}", e.getMessage());
             return List.of();
@@ -387,17 +1001,23 @@ public class GeminiService {
             prompt.append("구체적 질문: ").append(request.getSpecificQuestion()).append("\n");
         }
         
-        // 벡터 검색 결과 추가
-        prompt.append("\n참고할 만한 검증된 전략들:\n");
-        for (int i = 0; i < vectorResults.size(); i++) {
-            VectorSearchResult result = vectorResults.get(i);
-            prompt.append(String.format("%d. %s\n", i + 1, result.getKnowledge().getTitle()));
-            prompt.append(String.format("   전략: %s\n", result.getKnowledge().getAdvice()));
-            prompt.append(String.format("   유사도: %.2f\n", result.getSimilarity()));
+        // 벡터 검색 결과 추가 (토큰 예산 안에서 유사도가 높은 전략부터)
+        List<ContextFragment> candidates = new ArrayList<>();
+        for (VectorSearchResult result : vectorResults) {
+            StringBuilder fragment = new StringBuilder();
+            fragment.append(String.format("%s\n", result.getKnowledge().getTitle()));
+            fragment.append(String.format("   전략: %s\n", result.getKnowledge().getAdvice()));
+            fragment.append(String.format("   유사도: %.2f", result.getSimilarity()));
             if (result.getKnowledge().getSuccessMetric() != null) {
-                prompt.append(String.format("   성공률: %.1f%%\n", result.getKnowledge().getSuccessMetric() * 100));
+                fragment.append(String.format("\n   성공률: %.1f%%", result.getKnowledge().getSuccessMetric() * 100));
             }
-            prompt.append("\n");
+            candidates.add(new ContextFragment(SECTION_KNOWLEDGE, fragment.toString(), result.getSimilarity()));
+        }
+        List<ContextFragment> selected = promptContextAssembler.assemble(PromptContextAssembler.CALL_ADVICE, candidates);
+        
+        prompt.append("\n참고할 만한 검증된 전략들:\n");
+        for (int i = 0; i < selected.size(); i++) {
+            prompt.append(i + 1).append(". ").append(selected.get(i).getText()).append("\n\n");
         }
         
         prompt.append("위 검증된 전략들을 참고하여 현재 상황에 최적화된 조언을 제공해주세요. ");
@@ -421,25 +1041,7 @@ public class GeminiService {
         prompt.append("\n현재 화면 상황:\n");
         prompt.append(initialAnalysis).append("\n\n");
         
-        if (!vectorResults.isEmpty()) {
-            prompt.append("검증된 전략:\n");
-            for (int i = 0; i < Math.min(vectorResults.size(), 3); i++) {
-                VectorSearchResult result = vectorResults.get(i);
-                prompt.append(String.format("• %s: %s\n", 
-                    result.getKnowledge().getTitle(), 
-                    result.getKnowledge().getAdvice()));
-            }
-            prompt.append("\n");
-        }
-        
-        if (!searchResults.isEmpty()) {
-            prompt.append("추가 전략 정보:\n");
-            for (int i = 0; i < Math.min(searchResults.size(), 3); i++) {
-                WebSearchResponse.SearchResult result = searchResults.get(i);
-                prompt.append("• ").append(result.getSnippet()).append("\n");
-            }
-            prompt.append("\n");
-        }
+        appendScreenContext(prompt, PromptContextAssembler.CALL_SCREEN, vectorResults, searchResults);
         
         prompt.append("다음 규칙을 엄격히 따라 조언해주세요:\n");
         prompt.append("1. 게임 내에서 바로 실행할 수 있는 구체적 행동만 제시\n");
@@ -452,6 +1054,76 @@ public class GeminiService {
         return prompt.toString();
     }
     
+    /**
+     * 단일 호출용 프롬프트 생성 (상황 파악과 조언을 한 번에 요청)
+     */
+    private String buildSinglePassPrompt(ScreenAnalysisRequest request, String cheapSignal, List<VectorSearchResult> vectorResults, List<WebSearchResponse.SearchResult> searchResults) {
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("당신은 전문 게임 전략가입니다. ");
+        prompt.append("첨부된 게임 화면을 직접 확인하여 현재 상황을 파악하고, 즉시 실행 가능한 게임 내 행동만 제시해주세요.\n\n");
+        
+        if (request.getGameName() != null && !request.getGameName().isEmpty()) {
+            prompt.append("게임: ").append(request.getGameName()).append("\n");
+        }
+        
+        prompt.append("\n참고용 최근 상황 정보 (화면과 다르면 화면을 우선):\n");
+        prompt.append(cheapSignal).append("\n\n");
+        
+        appendScreenContext(prompt, PromptContextAssembler.CALL_SINGLE_PASS, vectorResults, searchResults);
+        
+        prompt.append("다음 형식과 규칙을 엄격히 따라 답변해주세요:\n");
+        prompt.append("첫 줄: '").append(SITUATION_PREFIX).append("'로 시작하여 현재 라운드/자원/배치 상황을 한 문장(100자 이내)으로 요약\n");
+        prompt.append("둘째 줄부터: 조언\n");
+        prompt.append("1. 게임 내에서 바로 실행할 수 있는 구체적 행동만 제시\n");
+        prompt.append("2. 어떤 유닛/건물/아이템을 어디에 배치/구매/사용할지 명확히 지시\n");
+        prompt.append("3. 우선순위가 높은 순서로 번호를 매겨 제시\n");
+        prompt.append("4. 커뮤니티, 가이드 확인, 연습 등 게임 외부 행동은 절대 언급 금지\n");
+        prompt.append("5. 조언은 300자 이내로 간결하게 작성");
+        
+        return prompt.toString();
+    }
+    
+    /**
+     * 화면 분석 프롬프트에 검증된 전략과 웹 스니펫을 호출 종류의 토큰 예산 안에서 추가합니다.
+     * 같은 내용을 담은 지식/스니펫은 한 번만 들어갑니다.
+     */
+    private void appendScreenContext(StringBuilder prompt, String callType,
+                                     List<VectorSearchResult> vectorResults,
+                                     List<WebSearchResponse.SearchResult> searchResults) {
+        List<ContextFragment> candidates = new ArrayList<>();
+        for (VectorSearchResult result : vectorResults) {
+            candidates.add(new ContextFragment(SECTION_KNOWLEDGE,
+                    String.format("• %s: %s", result.getKnowledge().getTitle(), result.getKnowledge().getAdvice()),
+                    result.getSimilarity()));
+        }
+        for (int i = 0; i < searchResults.size(); i++) {
+            // 웹 스니펫은 점수가 없으므로 검색 순위로 가치를 매김
+            candidates.add(new ContextFragment(SECTION_WEB,
+                    "• " + searchResults.get(i).getSnippet(), WEB_SNIPPET_VALUE / (i + 1)));
+        }
+        List<ContextFragment> selected = promptContextAssembler.assemble(callType, candidates);
+        
+        appendSection(prompt, "검증된 전략:", SECTION_KNOWLEDGE, selected);
+        appendSection(prompt, "추가 전략 정보:", SECTION_WEB, selected);
+    }
+    
+    private void appendSection(StringBuilder prompt, String header, String section, List<ContextFragment> selected) {
+        boolean started = false;
+        for (ContextFragment fragment : selected) {
+            if (!section.equals(fragment.getSection())) {
+                continue;
+            }
+            if (!started) {
+                prompt.append(header).append("\n");
+                started = true;
+            }
+            prompt.append(fragment.getText()).append("\n");
+        }
+        if (started) {
+            prompt.append("\n");
+        }
+    }
+    
     /**
      * 사용된 벡터 지식의 사용량 업데이트
      */
@@ -471,6 +1143,23 @@ public class GeminiService {
         }
     }
     
+    /**
+     * Gemini를 호출할 수 없을 때 검색된 지식의 전략을 그대로 묶어 대체 조언을 만듭니다.
+     */
+    private String buildFallbackAdvice(List<VectorSearchResult> vectorResults) {
+        StringBuilder advice = new StringBuilder("지금은 AI 분석이 혼잡해서 저장된 공략으로 안내해 드릴게요.\n\n");
+        List<VectorSearchResult> top = vectorResults.stream()
+                .sorted(VectorSearchResult::compareTo)
+                .limit(3)
+                .toList();
+        for (int i = 0; i < top.size(); i++) {
+            VectorSearchResult result = top.get(i);
+            advice.append(String.format("%d. %s\n   %s\n", i + 1,
+                    result.getKnowledge().getTitle(), result.getKnowledge().getAdvice()));
+        }
+        return advice.toString().trim();
+    }
+    
     private String extractAdviceFromResponse(GeminiResponse response) {
         if (response != null && 
             response.getCandidates() != null && 
@@ -485,6 +1174,93 @@ public class GeminiService {
             }
         }
         
-        return "죄송합니다. 조언을 생성할 수 없습니다.";
+        return ADVICE_UNAVAILABLE;
+    }
+    
+    /**
+     * 단일 호출 모드 스트림에서 첫 줄의 "상황:" 요약을 걸러내고 나머지 조언만 전달하는 필터
+     * 스트림이 끝나면 {@link #finish()}로 판단을 보류하던 앞부분을 정리합니다.
+     */
+    private static class SituationLineFilter implements Consumer<String> {
+        private final Consumer<String> downstream;
+        private final StringBuilder head = new StringBuilder();
+        private boolean passThrough = false;
+        
+        SituationLineFilter(Consumer<String> downstream) {
+            this.downstream = downstream;
+        }
+        
+        @Override
+        public void accept(String chunk) {
+            if (passThrough) {
+                downstream.accept(chunk);
+                return;
+            }
+            head.append(chunk);
+            String buffered = head.toString();
+            
+            if (!buffered.startsWith(SITUATION_PREFIX)) {
+                // 접두어가 완성될 때까지는 판단 보류, 접두어와 다르면 그대로 전달
+                if (buffered.length() < SITUATION_PREFIX.length() && SITUATION_PREFIX.startsWith(buffered)) {
+                    return;
+                }
+                passThrough = true;
+                downstream.accept(buffered);
+                return;
+            }
+            
+            int lineEnd = buffered.indexOf('\n');
+            if (lineEnd >= 0) {
+                passThrough = true;
+                String rest = buffered.substring(lineEnd + 1).stripLeading();
+                if (!rest.isEmpty()) {
+                    downstream.accept(rest);
+                }
+            }
+        }
+        
+        /**
+         * 스트림 종료 시 호출: 접두어 판단을 위해 보류하던 짧은 앞부분은 조언이므로 전달합니다.
+         * 줄바꿈 없이 끝난 "상황:" 줄은 상황 요약뿐이므로 전달하지 않습니다. (조언은 2단계 흐름이 이어서 전달)
+         */
+        void finish() {
+            if (passThrough || head.length() == 0) {
+                return;
+            }
+            passThrough = true;
+            String buffered = head.toString();
+            if (!buffered.startsWith(SITUATION_PREFIX)) {
+                downstream.accept(buffered);
+            }
+        }
+    }
+    
+    /**
+     * 상황 텍스트로 병렬 검색한 결과
+     */
+    private static class RetrievedContext {
+        private final List<VectorSearchResult> vectorResults;
+        private final List<WebSearchResponse.SearchResult> searchResults;
+        
+        RetrievedContext(List<VectorSearchResult> vectorResults, List<WebSearchResponse.SearchResult> searchResults) {
+            this.vectorResults = vectorResults;
+            this.searchResults = searchResults;
+        }
+        
+        List<VectorSearchResult> getVectorResults() { return vectorResults; }
+        List<WebSearchResponse.SearchResult> getSearchResults() { return searchResults; }
+        
+        /**
+         * 검색 신뢰도: 벡터 검색 최고 유사도 (결과가 없으면 0)
+         */
+        double topSimilarity() {
+            double top = 0.0;
+            for (VectorSearchResult result : vectorResults) {
+                if (result.getSimilarity() != null && result.getSimilarity() > top) {
+                    top = result.getSimilarity();
+                }
+            }
+            return top;
+        }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,186 @@
+package com.gameadvisor.service;
+
+import com.gameadvisor.model.ScreenAnalysisRequest;
+import com.gameadvisor.model.ScreenAnalysisResponse;
+import com.gameadvisor.service.metrics.AdviceMetrics;
+import com.gameadvisor.util.PerceptualHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 클라이언트/게임별 최근 화면 상황 캐시
+ * 직전 프레임의 상황 분석을 보관하여, 다음 프레임에서 초기 분석 호출 없이
+ * 검색 컨텍스트를 구성하는 저비용 신호로 사용합니다.
+ * 최근 몇 프레임의 지각 해시(dHash)와 응답도 함께 보관하여, 거의 같은 화면이 다시 들어오면
+ * Gemini를 다시 호출하지 않고 이전 응답을 재사용합니다.
+ */
+@Slf4j
+@Component
+public class ScreenContextCache {
+
+    private final AdviceMetrics adviceMetrics;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Deque<Frame>> frames = new ConcurrentHashMap<>();
+
+    @Value("${advice.screen.context-ttl-ms:30000}")
+    private long ttlMs;
+
+    @Value("${advice.screen.context-max-entries:1000}")
+    private int maxEntries;
+
+    // 이전 프레임과 같은 화면으로 보는 최대 해밍 거리 (64비트 중, 음수면 비활성화)
+    @Value("${advice.screen.duplicate-max-distance:5}")
+    private int duplicateMaxDistance;
+
+    @Value("${advice.screen.duplicate-ttl-ms:20000}")
+    private long duplicateTtlMs;
+
+    @Value("${advice.screen.duplicate-history:4}")
+    private int duplicateHistory;
+
+    @Autowired
+    public ScreenContextCache(AdviceMetrics adviceMetrics) {
+        this.adviceMetrics = adviceMetrics;
+    }
+
+    /**
+     * 요청의 캐시 키 (클라이언트 ID가 없으면 게임 이름 기준)
+     */
+    public String keyOf(ScreenAnalysisRequest request) {
+        String client = request.getClientId() != null && !request.getClientId().isBlank()
+                ? request.getClientId() : "anonymous";
+        String game = request.getGameName() != null ? request.getGameName().toLowerCase() : "unknown";
+        return client + "|" + game;
+    }
+
+    /**
+     * 유효 시간 내의 최근 상황 분석, 없으면 null
+     */
+    public String recentSituation(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - entry.storedAt > ttlMs) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.situation;
+    }
+
+    /**
+     * 현재 프레임의 상황 분석을 저장합니다.
+     */
+    public void remember(String key, String situation) {
+        if (situation == null || situation.isBlank()) {
+            return;
+        }
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            evictExpired();
+            if (entries.size() >= maxEntries) {
+                log.debug("화면 상황 캐시 용량 초과 - 저장 생략: {}", key);
+                return;
+            }
+        }
+        entries.put(key, new Entry(situation, System.currentTimeMillis()));
+    }
+
+    /**
+     * 최근 프레임 중 지각 해시가 충분히 가까운 프레임의 응답, 없으면 null
+     */
+    public ScreenAnalysisResponse similarFrame(String key, Long perceptualHash) {
+        if (duplicateMaxDistance < 0 || perceptualHash == null) {
+            return null;
+        }
+        Deque<Frame> history = frames.get(key);
+        if (history == null) {
+            adviceMetrics.recordDuplicateFrame(false, -1);
+            return null;
+        }
+
+        Frame nearest = null;
+        int nearestDistance = Integer.MAX_VALUE;
+        long notBefore = System.currentTimeMillis() - duplicateTtlMs;
+        synchronized (history) {
+            history.removeIf(frame -> frame.storedAt < notBefore);
+            for (Frame frame : history) {
+                int distance = PerceptualHash.distance(frame.hash, perceptualHash);
+                if (distance < nearestDistance) {
+                    nearest = frame;
+                    nearestDistance = distance;
+                }
+            }
+        }
+
+        boolean hit = nearest != null && nearestDistance <= duplicateMaxDistance;
+        adviceMetrics.recordDuplicateFrame(hit, nearest != null ? nearestDistance : -1);
+        if (hit) {
+            log.info("이전 프레임과 같은 화면 - 응답 재사용: {} (거리 {})", key, nearestDistance);
+            return nearest.response;
+        }
+        return null;
+    }
+
+    /**
+     * 프레임의 지각 해시와 성공한 응답을 저장합니다. (키별 최근 advice.screen.duplicate-history 개)
+     */
+    public void rememberFrame(String key, Long perceptualHash, ScreenAnalysisResponse response) {
+        if (duplicateMaxDistance < 0 || perceptualHash == null || response == null || !response.isSuccess()) {
+            return;
+        }
+        if (frames.size() >= maxEntries && !frames.containsKey(key)) {
+            evictExpired();
+            if (frames.size() >= maxEntries) {
+                log.debug("화면 프레임 캐시 용량 초과 - 저장 생략: {}", key);
+                return;
+            }
+        }
+        Deque<Frame> history = frames.computeIfAbsent(key, k -> new ArrayDeque<>());
+        synchronized (history) {
+            history.addLast(new Frame(perceptualHash, response, System.currentTimeMillis()));
+            while (history.size() > Math.max(1, duplicateHistory)) {
+                history.removeFirst();
+            }
+        }
+    }
+
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.entrySet().removeIf(e -> now - e.getValue().storedAt > ttlMs);
+        frames.entrySet().removeIf(e -> {
+            synchronized (e.getValue()) {
+                Frame last = e.getValue().peekLast();
+                return last == null || now - last.storedAt > duplicateTtlMs;
+            }
+        });
+    }
+
+    private static class Entry {
+        private final String situation;
+        private final long storedAt;
+
+        Entry(String situation, long storedAt) {
+            this.situation = situation;
+            this.storedAt = storedAt;
+        }
+    }
+
+    private static class Frame {
+        private final long hash;
+        private final ScreenAnalysisResponse response;
+        private final long storedAt;
+
+        Frame(long hash, ScreenAnalysisResponse response, long storedAt) {
+            this.hash = hash;
+            this.response = response;
+            this.storedAt = storedAt;
+        }
+    }
+}
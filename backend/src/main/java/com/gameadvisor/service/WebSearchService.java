@@ -1,55 +1,115 @@
 package com.gameadvisor.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gameadvisor.model.CrawledPage;
 import com.gameadvisor.model.WebSearchRequest;
 import com.gameadvisor.model.WebSearchResponse;
+import com.gameadvisor.repository.CrawledPageRepository;
+import com.gameadvisor.service.cache.WebSearchResultCache;
+import com.gameadvisor.service.metrics.AdviceMetrics;
+import com.gameadvisor.service.search.FederatedSearchResult;
+import com.gameadvisor.service.search.FederatedWebSearch;
+import com.gameadvisor.service.search.LocalIndexSearchSource;
+import com.gameadvisor.service.search.SearchHit;
+import com.gameadvisor.service.vector.GameVectorServiceFactory;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * 웹 검색
+ * 외부 검색 API 대신 크롤러가 이미 받아온 페이지(crawled_pages)의 로컬 인덱스와 커뮤니티 덤프 등
+ * 설정된 검색 소스를 {@link FederatedWebSearch}로 병렬 검색하여 합친 결과를 반환합니다.
+ * 같은 질의의 결과는 {@link WebSearchResultCache}에서 재사용합니다. (모든 소스가 완료된 결과만 저장)
+ * 질의가 "site:주소"로 시작하면 해당 주소로 시작하는 페이지로 결과를 제한합니다.
+ */
 @Slf4j
 @Service
 public class WebSearchService {
-    
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
-    
-    // 수정된 웹사이트 목록
-    private static final List<String> BTD_WEBSITES = new ArrayList<>();
-    static {
-        BTD_WEBSITES.add("https://www.reddit.com/r/btd6/");
-        BTD_WEBSITES.add("https://gall.dcinside.com/mgallery/board/lists/?id=btd");
-        BTD_WEBSITES.add("https://namu.wiki/w/%EB%B8%94%EB%A3%AC%EC%8A%A4%20TD%206");
-        BTD_WEBSITES.add("https://steamcommunity.com/app/960090/guides/");
-    }
-    
-    public WebSearchService() {
-        this.restTemplate = new RestTemplate();
-        this.objectMapper = new ObjectMapper();
+
+    private static final String SITE_PREFIX = "site:";
+    private static final int MAX_TITLE_LENGTH = 500;
+
+    private final CrawledPageRepository pageRepository;
+    private final GameVectorServiceFactory vectorServiceFactory;
+    private final AdviceMetrics adviceMetrics;
+    private final FederatedWebSearch federatedSearch;
+    private final LocalIndexSearchSource localSource;
+    private final WebSearchResultCache resultCache;
+
+    @Value("${web.search.default-max-results:4}")
+    private int defaultMaxResults;
+
+    @Autowired
+    public WebSearchService(CrawledPageRepository pageRepository,
+                            GameVectorServiceFactory vectorServiceFactory,
+                            AdviceMetrics adviceMetrics,
+                            FederatedWebSearch federatedSearch,
+                            LocalIndexSearchSource localSource,
+                            WebSearchResultCache resultCache) {
+        this.pageRepository = pageRepository;
+        this.vectorServiceFactory = vectorServiceFactory;
+        this.adviceMetrics = adviceMetrics;
+        this.federatedSearch = federatedSearch;
+        this.localSource = localSource;
+        this.resultCache = resultCache;
     }
-    
+
     public WebSearchResponse searchWeb(WebSearchRequest request) {
+        long startedAt = System.nanoTime();
         try {
             log.info("웹 검색 요청: 쿼리={}, 게임={}", request.getQuery(), request.getGameName());
-            
-            // 웹사이트 정보를 결과로 반환 (API 문제 우회)
-            List<WebSearchResponse.SearchResult> results = createMockResults(request);
-            
+
+            String query = request.getQuery() != null ? request.getQuery().trim() : "";
+            String site = null;
+            if (query.startsWith(SITE_PREFIX)) {
+                int end = query.indexOf(' ');
+                site = end > 0 ? query.substring(SITE_PREFIX.length(), end) : query.substring(SITE_PREFIX.length());
+                query = end > 0 ? query.substring(end + 1) : "";
+            }
+            int limit = request.getMaxResults() > 0 ? request.getMaxResults() : defaultMaxResults;
+            String partition = partitionOf(request.getGameName());
+
+            String cacheKey = resultCache.keyOf(partition, site, query, request.getSearchType(), limit);
+            List<WebSearchResponse.SearchResult> cached = resultCache.get(cacheKey);
+            if (cached != null) {
+                return WebSearchResponse.builder()
+                        .query(request.getQuery())
+                        .results(cached)
+                        .success(true)
+                        .build();
+            }
+
+            FederatedSearchResult searched = federatedSearch.search(partition, query, site, limit);
+            List<WebSearchResponse.SearchResult> results = new ArrayList<>();
+            for (SearchHit hit : searched.getHits()) {
+                results.add(WebSearchResponse.SearchResult.builder()
+                        .title(hit.getTitle())
+                        .snippet(hit.getSnippet())
+                        .url(hit.getUrl())
+                        .displayUrl(extractDisplayUrl(hit.getUrl()))
+                        .build());
+            }
+            adviceMetrics.recordWebSearch(!results.isEmpty(), System.nanoTime() - startedAt);
+            if (searched.isComplete()) {
+                resultCache.put(cacheKey, partition, results);
+            } else {
+                // 소스 일부가 빠진 결과를 캐시하면 일시적 지연이 유효 시간 동안 고정되므로 저장하지 않음
+                log.debug("부분 검색 결과 - 캐시 생략: {}", request.getQuery());
+            }
+
             return WebSearchResponse.builder()
                     .query(request.getQuery())
                     .results(results)
                     .success(true)
                     .build();
-                    
+
         } catch (Exception e) {
             log.error("웹 검색 중 오류 발생: {}", e.getMessage(), e);
-            
+
             return WebSearchResponse.builder()
                     .query(request.getQuery())
                     .results(new ArrayList<>())
@@ -58,90 +118,51 @@ public class WebSearchService {
                     .build();
         }
     }
-    
-    private List<WebSearchResponse.SearchResult> createMockResults(WebSearchRequest request) {
-        List<WebSearchResponse.SearchResult> results = new ArrayList<>();
-        
-        // BTD 관련 웹사이트들을 검색 결과로 반환
-        for (String url : BTD_WEBSITES) {
-            String title = "BTD6 " + request.getQuery() + " 정보";
-            String snippet = "BTD6 관련 " + request.getQuery() + " 전략과 공략 정보";
-            
-            if (url.contains("reddit")) {
-                title = "Reddit BTD6 커뮤니티 - " + request.getQuery();
-                snippet = "BTD6 플레이어들이 공유하는 " + request.getQuery() + " 관련 토론과 팁";
-            } else if (url.contains("namu.wiki")) {
-                title = "나무위키 BTD6 - " + request.getQuery();
-                snippet = "BTD6 " + request.getQuery() + "에 대한 상세한 설명과 전략";
-            } else if (url.contains("dcinside")) {
-                title = "디시인사이드 BTD 갤러리 - " + request.getQuery();
-                snippet = "BTD " + request.getQuery() + " 관련 한국 커뮤니티 정보";
-            } else if (url.contains("steam")) {
-                title = "Steam 커뮤니티 가이드 - " + request.getQuery();
-                snippet = "플레이어들이 작성한 " + request.getQuery() + " 공략 가이드";
-            }
-            
-            results.add(WebSearchResponse.SearchResult.builder()
-                    .title(title)
-                    .snippet(snippet)
+
+    /**
+     * 크롤링한 페이지를 저장하고 검색 인덱스에 바로 추가합니다.
+     * @param gameName 페이지가 속한 게임 (검색 파티션)
+     */
+    public void indexPage(String gameName, String url, String title, String content) {
+        if (url == null || content == null || content.isBlank()) {
+            return;
+        }
+        String safeTitle = title != null && title.length() > MAX_TITLE_LENGTH ? title.substring(0, MAX_TITLE_LENGTH) : title;
+        String partition = partitionOf(gameName);
+        try {
+            pageRepository.save(CrawledPage.builder()
                     .url(url)
-                    .displayUrl(extractDisplayUrl(url))
+                    .gameName(partition)
+                    .title(safeTitle)
+                    .content(content)
                     .build());
+        } catch (Exception e) {
+            // 저장에 실패해도 이번 실행 동안은 검색되도록 인덱스에는 추가
+            log.warn("크롤링 페이지 저장 실패: {} - {}", url, e.getMessage());
         }
-        
-        return results;
-    }
-    
-    // 기존 DuckDuckGo 메서드들은 호환성을 위해 유지하되 사용하지 않음
-    private String buildEnhancedQuery(WebSearchRequest request) {
-        StringBuilder query = new StringBuilder();
-        
-        // 게임 이름 추가
-        if (request.getGameName() != null && !request.getGameName().isEmpty()) {
-            query.append(request.getGameName()).append(" ");
-        }
-        
-        // 검색 유형에 따른 키워드 추가
-        if (request.getSearchType() != null) {
-            switch (request.getSearchType().toLowerCase()) {
-                case "strategy":
-                    query.append("strategy guide ");
-                    break;
-                case "guide":
-                    query.append("guide tutorial ");
-                    break;
-                case "tips":
-                    query.append("tips tricks ");
-                    break;
-                case "meta":
-                    query.append("meta build ");
-                    break;
-                default:
-                    query.append("guide ");
-                    break;
-            }
-        }
-        
-        // 원본 쿼리 추가
-        query.append(request.getQuery());
-        
-        return query.toString().trim();
+        localSource.add(partition, url, safeTitle, content);
+        resultCache.invalidatePartition(partition);
     }
-    
-    private String buildSearchUrl(String query) throws Exception {
-        String encodedQuery = URLEncoder.encode(query, StandardCharsets.UTF_8);
-        return "";
-    }
-    
-    private List<WebSearchResponse.SearchResult> parseSearchResponse(String response) {
-        return new ArrayList<>();
+
+    /**
+     * 저장된 페이지로 검색 인덱스를 만듭니다. (첫 검색 시 또는 시작 워밍업에서 호출)
+     * @return 색인된 페이지 수
+     */
+    public int loadIndex() {
+        return localSource.loadIndex();
     }
-    
-    private String extractTitle(String text) {
-        return text;
+
+    /**
+     * 게임 이름을 검색 파티션 이름으로 변환 (BTD6, Bloons TD 6 → BloonsTD)
+     */
+    private String partitionOf(String gameName) {
+        if (vectorServiceFactory.isSupported(gameName)) {
+            return vectorServiceFactory.getService(gameName).getGameName();
+        }
+        return gameName != null ? gameName.trim().toLowerCase() : "unknown";
     }
-    
+
     private String extractDisplayUrl(String url) {
-        return url;
+        return url.replaceFirst("^https?://", "");
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,198 @@
+package com.gameadvisor.service.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gameadvisor.model.GeminiRequest;
+import com.gameadvisor.repository.vector.KnowledgeChangedEvent;
+import com.gameadvisor.service.metrics.AdviceMetrics;
+import com.gameadvisor.util.RequestFingerprint;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gemini 조언 응답 캐시 (정확히 같은 요청만 적중)
+ * 최종 GeminiRequest(프롬프트, 생성 설정)와 모델 URL의 해시를 키로 사용하므로,
+ * 같은 상황/같은 검색 결과로 만들어진 프롬프트에 대해서만 이전 응답을 재사용합니다.
+ * 크기(LRU)와 유효 시간으로 제한되며, 게임 지식이 바뀌면 해당 게임의 항목을 비웁니다.
+ */
+@Slf4j
+@Component
+public class AdviceResponseCache {
+
+    private final AdviceMetrics adviceMetrics;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Value("${advice.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${advice.cache.max-entries:500}")
+    private int maxEntries;
+
+    @Value("${advice.cache.ttl-ms:600000}")
+    private long ttlMs;
+
+    @Value("${advice.cache.persist-file:}")
+    private String persistFile;
+
+    @Autowired
+    public AdviceResponseCache(AdviceMetrics adviceMetrics) {
+        this.adviceMetrics = adviceMetrics;
+    }
+
+    /**
+     * 캐시 키 (모델 URL + 정규화된 요청 JSON의 SHA-256)
+     */
+    public String keyOf(String modelUrl, GeminiRequest request) {
+        return RequestFingerprint.of(modelUrl, request);
+    }
+
+    /**
+     * 유효한 캐시 응답, 없으면 null
+     */
+    public String get(String key) {
+        if (!enabled) {
+            return null;
+        }
+        String advice = null;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (System.currentTimeMillis() - entry.storedAt > ttlMs) {
+                    entries.remove(key);
+                } else {
+                    advice = entry.advice;
+                }
+            }
+        }
+        adviceMetrics.recordAdviceCache(advice != null);
+        return advice;
+    }
+
+    /**
+     * 응답을 저장합니다.
+     * @param gameName 응답을 만드는 데 사용된 지식의 게임 이름 (무효화 단위)
+     */
+    public void put(String key, String gameName, String advice) {
+        if (!enabled || advice == null || advice.isBlank()) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, new Entry(gameName, advice, System.currentTimeMillis()));
+            while (entries.size() > maxEntries) {
+                // 접근 순서 LinkedHashMap이므로 첫 항목이 가장 오래 사용되지 않은 항목
+                entries.remove(entries.keySet().iterator().next());
+            }
+        }
+    }
+
+    /**
+     * 게임 지식이 바뀌면 해당 게임으로 만든 응답을 모두 제거합니다.
+     */
+    @EventListener
+    public void onKnowledgeChanged(KnowledgeChangedEvent event) {
+        invalidateGame(event.getGameName());
+    }
+
+    public void invalidateGame(String gameName) {
+        int removed;
+        synchronized (entries) {
+            int before = entries.size();
+            entries.values().removeIf(entry -> entry.gameName != null && entry.gameName.equalsIgnoreCase(gameName));
+            removed = before - entries.size();
+        }
+        if (removed > 0) {
+            log.info("게임 지식 변경으로 조언 캐시 무효화: 게임={}, 제거={} 개", gameName, removed);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * 저장된 캐시 파일이 있으면 유효 시간이 남은 항목만 복원합니다.
+     */
+    @PostConstruct
+    void load() {
+        if (!enabled || persistFile == null || persistFile.isBlank()) {
+            return;
+        }
+        File file = new File(persistFile);
+        if (!file.isFile()) {
+            return;
+        }
+        try {
+            List<Map<String, Object>> saved = objectMapper.readValue(file, new TypeReference<List<Map<String, Object>>>() {});
+            long now = System.currentTimeMillis();
+            synchronized (entries) {
+                for (Map<String, Object> item : saved) {
+                    long storedAt = ((Number) item.get("storedAt")).longValue();
+                    if (now - storedAt <= ttlMs && entries.size() < maxEntries) {
+                        entries.put((String) item.get("key"),
+                                new Entry((String) item.get("game"), (String) item.get("advice"), storedAt));
+                    }
+                }
+            }
+            log.info("조언 캐시 복원 완료: {} 개 ({})", size(), persistFile);
+        } catch (Exception e) {
+            log.warn("조언 캐시 복원 실패 - 빈 캐시로 시작: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 종료 시 캐시를 파일로 저장합니다. (advice.cache.persist-file 설정 시)
+     */
+    @PreDestroy
+    void persist() {
+        if (!enabled || persistFile == null || persistFile.isBlank()) {
+            return;
+        }
+        List<Map<String, Object>> snapshot = new ArrayList<>();
+        synchronized (entries) {
+            entries.forEach((key, entry) -> {
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("key", key);
+                item.put("game", entry.gameName);
+                item.put("advice", entry.advice);
+                item.put("storedAt", entry.storedAt);
+                snapshot.add(item);
+            });
+        }
+        try {
+            File file = new File(persistFile);
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+            objectMapper.writeValue(file, snapshot);
+            log.info("조언 캐시 저장 완료: {} 개 ({})", snapshot.size(), persistFile);
+        } catch (Exception e) {
+            log.warn("조언 캐시 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    private static class Entry {
+        private final String gameName;
+        private final String advice;
+        private final long storedAt;
+
+        Entry(String gameName, String advice, long storedAt) {
+            this.gameName = gameName;
+            this.advice = advice;
+            this.storedAt = storedAt;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.gameadvisor.service.cache;
+
+import com.gameadvisor.repository.vector.KnowledgeChangedEvent;
+import com.gameadvisor.service.metrics.AdviceMetrics;
+import com.gameadvisor.util.AnalyzedText;
+import com.gameadvisor.util.TextAnalyzer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 유사 상황 조언 캐시 (의미 기반)
+ * 최근에 답한 상황 설명을 게임별 소형 ANN 인덱스(SimHash LSH)에 보관하고,
+ * 새 상황이 임계값 이상으로 유사하면 저장된 조언을 재사용하여 검색과 Gemini 호출을 모두 생략합니다.
+ * 상황 텍스트는 {@link TextAnalyzer#analyzeCanonical(String)}로 분석하므로 한국어/영어 표현 차이는 무시됩니다.
+ * 질문/수준 등 요청 범위(scope)와 상황 속 숫자(라운드, 자원 등)는 유사도와 별개로 정확히 같아야 적중합니다.
+ * (숫자 하나는 수십 개 토큰 중 하나라 코사인 유사도만으로는 구분되지 않음)
+ */
+@Slf4j
+@Component
+public class SemanticAdviceCache {
+
+    public static final String KIND_ADVICE = "advice";
+    public static final String KIND_SCREEN = "screen";
+
+    private static final int DIMENSION = 256;
+    private static final int SIGNATURE_BITS = 64;
+    private static final int BANDS = 8;
+    private static final int BITS_PER_BAND = SIGNATURE_BITS / BANDS;
+
+    // 라운드, 자원 등 상황 속 숫자 (천 단위 구분 기호 포함)
+    private static final Pattern NUMBER = Pattern.compile("\\d+(?:[.,]\\d+)*");
+
+    // SimHash 초평면 (고정 시드 - 재시작해도 같은 서명)
+    private static final double[][] HYPERPLANES = new double[SIGNATURE_BITS][DIMENSION];
+
+    static {
+        Random random = new Random(0x5EED_CAFEL);
+        for (double[] plane : HYPERPLANES) {
+            for (int d = 0; d < DIMENSION; d++) {
+                plane[d] = random.nextGaussian();
+            }
+        }
+    }
+
+    private final AdviceMetrics adviceMetrics;
+    private final Map<String, GameIndex> indexes = new ConcurrentHashMap<>();
+
+    @Value("${advice.semantic-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${advice.semantic-cache.min-similarity:0.9}")
+    private double minSimilarity;
+
+    @Value("${advice.semantic-cache.max-entries-per-game:200}")
+    private int maxEntriesPerGame;
+
+    @Value("${advice.semantic-cache.ttl-ms:600000}")
+    private long ttlMs;
+
+    @Autowired
+    public SemanticAdviceCache(AdviceMetrics adviceMetrics) {
+        this.adviceMetrics = adviceMetrics;
+    }
+
+    /**
+     * 유사한 상황에 대해 저장된 조언, 없으면 null
+     * @param kind 조언 종류 (텍스트 조언/화면 분석은 응답 형식이 달라 따로 보관)
+     * @param gameName 지식 기준 게임 이름
+     * @param scope 상황 외에 조언을 바꾸는 요청 조건 ({@link #scopeOf(String...)}) - 정확히 같아야 적중
+     */
+    public String lookup(String kind, String gameName, String scope, String situation) {
+        if (!enabled || situation == null || situation.isBlank()) {
+            return null;
+        }
+        GameIndex index = indexes.get(indexKey(kind, gameName));
+        if (index == null) {
+            adviceMetrics.recordSemanticCacheLookup(kind, false, Double.NaN);
+            return null;
+        }
+
+        double[] query = vectorOf(situation);
+        Match best = index.nearest(query, signatureOf(query), exactKeyOf(scope, situation),
+                System.currentTimeMillis() - ttlMs);
+        boolean hit = best != null && best.similarity >= minSimilarity;
+        adviceMetrics.recordSemanticCacheLookup(kind, hit, best != null ? best.similarity : Double.NaN);
+
+        if (hit) {
+            log.info("유사 상황 캐시 적중: 게임={}, 유사도={}", gameName, String.format("%.3f", best.similarity));
+            return best.entry.advice;
+        }
+        return null;
+    }
+
+    /**
+     * 답변한 상황과 조언을 저장합니다.
+     */
+    public void put(String kind, String gameName, String scope, String situation, String advice) {
+        if (!enabled || situation == null || situation.isBlank() || advice == null || advice.isBlank()) {
+            return;
+        }
+        double[] vector = vectorOf(situation);
+        indexes.computeIfAbsent(indexKey(kind, gameName), k -> new GameIndex(gameName))
+                .add(new Entry(vector, signatureOf(vector), exactKeyOf(scope, situation), advice,
+                        System.currentTimeMillis()), maxEntriesPerGame);
+    }
+
+    /**
+     * 게임 지식이 바뀌면 해당 게임의 모든 종류 인덱스를 비웁니다.
+     */
+    @EventListener
+    public void onKnowledgeChanged(KnowledgeChangedEvent event) {
+        indexes.values().removeIf(index -> index.gameName != null && index.gameName.equalsIgnoreCase(event.getGameName()));
+    }
+
+    private static String indexKey(String kind, String gameName) {
+        return kind + "|" + (gameName != null ? gameName.toLowerCase() : "unknown");
+    }
+
+    /**
+     * 상황 외에 조언을 바꾸는 요청 조건들 (질문, 플레이어 수준, 장르 등)을 정규화하여 합친 범위 키
+     */
+    public static String scopeOf(String... parts) {
+        StringBuilder scope = new StringBuilder();
+        for (String part : parts) {
+            scope.append(TextAnalyzer.normalizeForKey(part)).append('|');
+        }
+        return scope.toString();
+    }
+
+    /**
+     * 유사도와 관계없이 일치해야 하는 부분: 요청 범위와 상황 속 숫자들 (순서 무관)
+     */
+    static String exactKeyOf(String scope, String situation) {
+        List<String> numbers = new ArrayList<>();
+        Matcher matcher = NUMBER.matcher(situation);
+        while (matcher.find()) {
+            numbers.add(matcher.group().replace(",", ""));
+        }
+        numbers.sort(null);
+        return (scope != null ? scope : "") + "#" + String.join(" ", numbers);
+    }
+
+    private static double[] vectorOf(String situation) {
+        AnalyzedText analyzed = TextAnalyzer.analyzeCanonical(situation);
+        List<Double> embedding = TextAnalyzer.embed(analyzed, DIMENSION);
+        double[] vector = new double[DIMENSION];
+        for (int d = 0; d < DIMENSION; d++) {
+            vector[d] = embedding.get(d);
+        }
+        return vector;
+    }
+
+    private static long signatureOf(double[] vector) {
+        long signature = 0L;
+        for (int bit = 0; bit < SIGNATURE_BITS; bit++) {
+            double dot = 0.0;
+            double[] plane = HYPERPLANES[bit];
+            for (int d = 0; d < DIMENSION; d++) {
+                dot += plane[d] * vector[d];
+            }
+            if (dot >= 0) {
+                signature |= 1L << bit;
+            }
+        }
+        return signature;
+    }
+
+    private static int bandOf(long signature, int band) {
+        return (int) ((signature >>> (band * BITS_PER_BAND)) & ((1L << BITS_PER_BAND) - 1));
+    }
+
+    private static double cosine(double[] a, double[] b) {
+        // 두 벡터 모두 L2 정규화되어 있으므로 내적이 곧 코사인 유사도
+        double dot = 0.0;
+        for (int d = 0; d < a.length; d++) {
+            dot += a[d] * b[d];
+        }
+        return dot;
+    }
+
+    /**
+     * 게임(및 조언 종류)별 LSH 인덱스 - 밴드별 버킷으로 후보를 모은 뒤 코사인 유사도로 재정렬
+     */
+    private static class GameIndex {
+        private final String gameName;
+        private final Deque<Entry> insertionOrder = new ArrayDeque<>();
+        private final List<Map<Integer, List<Entry>>> buckets = new ArrayList<>(BANDS);
+
+        GameIndex(String gameName) {
+            this.gameName = gameName;
+            for (int band = 0; band < BANDS; band++) {
+                buckets.add(new HashMap<>());
+            }
+        }
+
+        synchronized void add(Entry entry, int maxEntries) {
+            insertionOrder.addLast(entry);
+            for (int band = 0; band < BANDS; band++) {
+                buckets.get(band).computeIfAbsent(bandOf(entry.signature, band), k -> new ArrayList<>()).add(entry);
+            }
+            while (insertionOrder.size() > maxEntries) {
+                remove(insertionOrder.removeFirst());
+            }
+        }
+
+        synchronized Match nearest(double[] query, long signature, String exactKey, long notBefore) {
+            // 만료된 항목은 가장 오래된 것부터 정리
+            while (!insertionOrder.isEmpty() && insertionOrder.peekFirst().storedAt < notBefore) {
+                remove(insertionOrder.removeFirst());
+            }
+
+            Map<Entry, Boolean> seen = new IdentityHashMap<>();
+            Match best = null;
+            for (int band = 0; band < BANDS; band++) {
+                List<Entry> bucket = buckets.get(band).get(bandOf(signature, band));
+                if (bucket == null) {
+                    continue;
+                }
+                for (Entry candidate : bucket) {
+                    if (seen.put(candidate, Boolean.TRUE) != null || !candidate.exactKey.equals(exactKey)) {
+                        continue;
+                    }
+                    double similarity = cosine(query, candidate.vector);
+                    if (best == null || similarity > best.similarity) {
+                        best = new Match(candidate, similarity);
+                    }
+                }
+            }
+            return best;
+        }
+
+        private void remove(Entry entry) {
+            for (int band = 0; band < BANDS; band++) {
+                Map<Integer, List<Entry>> bandBuckets = buckets.get(band);
+                int key = bandOf(entry.signature, band);
+                List<Entry> bucket = bandBuckets.get(key);
+                if (bucket != null) {
+                    bucket.remove(entry);
+                    if (bucket.isEmpty()) {
+                        bandBuckets.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    private static class Entry {
+        private final double[] vector;
+        private final long signature;
+        private final String exactKey;
+        private final String advice;
+        private final long storedAt;
+
+        Entry(double[] vector, long signature, String exactKey, String advice, long storedAt) {
+            this.vector = vector;
+            this.signature = signature;
+            this.exactKey = exactKey;
+            this.advice = advice;
+            this.storedAt = storedAt;
+        }
+    }
+
+    private static class Match {
+        private final Entry entry;
+        private final double similarity;
+
+        Match(Entry entry, double similarity) {
+            this.entry = entry;
+            this.similarity = similarity;
+        }
+    }
+}
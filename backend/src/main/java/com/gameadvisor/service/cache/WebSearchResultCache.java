@@ -0,0 +1,137 @@
+package com.gameadvisor.service.cache;
+
+import com.gameadvisor.model.WebSearchResponse;
+import com.gameadvisor.service.metrics.AdviceMetrics;
+import com.gameadvisor.util.TextAnalyzer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 웹 검색 결과 캐시
+ * 화면 분석은 상황에서 뽑은 비슷한 질의("라운드 공략", "타워 가이드" 등)를 반복해서 만들므로,
+ * 정규화된 (게임 파티션, 질의, 검색 유형, 결과 수)를 키로 검색 결과를 재사용합니다.
+ * 빈 결과도 짧은 유효 시간으로 저장하여(네거티브 캐시) 결과가 없는 질의를 매번 검색하지 않습니다.
+ * 크기(LRU)와 유효 시간으로 제한되며, 게임에 새 페이지가 색인되면 해당 게임의 항목을 비웁니다.
+ */
+@Slf4j
+@Component
+public class WebSearchResultCache {
+
+    private final AdviceMetrics adviceMetrics;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Value("${web.search.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${web.search.cache.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${web.search.cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    @Value("${web.search.cache.empty-ttl-ms:60000}")
+    private long emptyTtlMs;
+
+    @Autowired
+    public WebSearchResultCache(AdviceMetrics adviceMetrics) {
+        this.adviceMetrics = adviceMetrics;
+    }
+
+    /**
+     * 캐시 키 (질의는 검색과 같은 규칙으로 정규화하여 대소문자/문장부호/공백 차이 무시, 검색 유형 없으면 빈 값)
+     * @param site site: 조건 (없으면 null)
+     */
+    public String keyOf(String partition, String site, String query, String searchType, int maxResults) {
+        String normalizedSite = site != null ? site.trim().toLowerCase(Locale.ROOT) : "";
+        String normalizedType = searchType != null ? searchType.trim().toLowerCase(Locale.ROOT) : "";
+        return partition + '\u0000' + normalizedSite + '\u0000' + TextAnalyzer.normalizeForKey(query)
+                + '\u0000' + normalizedType + '\u0000' + maxResults;
+    }
+
+    /**
+     * 유효한 캐시 결과의 복사본, 없으면 null
+     */
+    public List<WebSearchResponse.SearchResult> get(String key) {
+        if (!enabled) {
+            return null;
+        }
+        List<WebSearchResponse.SearchResult> results = null;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                long ttl = entry.results.isEmpty() ? emptyTtlMs : ttlMs;
+                if (System.currentTimeMillis() - entry.storedAt > ttl) {
+                    entries.remove(key);
+                } else {
+                    results = entry.results;
+                }
+            }
+        }
+        if (results == null) {
+            adviceMetrics.recordWebSearchCache("miss");
+            return null;
+        }
+        adviceMetrics.recordWebSearchCache(results.isEmpty() ? "negative_hit" : "hit");
+        return new ArrayList<>(results);
+    }
+
+    /**
+     * 성공한 검색 결과를 저장합니다. (빈 결과 포함)
+     * @param partition 결과를 만든 게임 파티션 (무효화 단위)
+     */
+    public void put(String key, String partition, List<WebSearchResponse.SearchResult> results) {
+        if (!enabled || results == null) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, new Entry(partition, List.copyOf(results), System.currentTimeMillis()));
+            while (entries.size() > maxEntries) {
+                // 접근 순서 LinkedHashMap이므로 첫 항목이 가장 오래 사용되지 않은 항목
+                entries.remove(entries.keySet().iterator().next());
+            }
+        }
+    }
+
+    /**
+     * 게임에 새 페이지가 색인되면 해당 게임의 결과(빈 결과 포함)를 모두 제거합니다.
+     */
+    public void invalidatePartition(String partition) {
+        int removed;
+        synchronized (entries) {
+            if (entries.isEmpty()) {
+                return;
+            }
+            int before = entries.size();
+            entries.values().removeIf(entry -> entry.partition.equals(partition));
+            removed = before - entries.size();
+        }
+        if (removed > 0) {
+            log.debug("새 페이지 색인으로 웹 검색 캐시 무효화: 게임={}, 제거={} 개", partition, removed);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static class Entry {
+        private final String partition;
+        private final List<WebSearchResponse.SearchResult> results;
+        private final long storedAt;
+
+        Entry(String partition, List<WebSearchResponse.SearchResult> results, long storedAt) {
+            this.partition = partition;
+            this.results = results;
+            this.storedAt = storedAt;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.gameadvisor.service.crawler;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 호스트별 예의(politeness) 규칙을 지키는 병렬 크롤링 엔진
+ * 페이지 작업은 URL의 호스트별 대기열에 들어가고, 호스트마다
+ * <ul>
+ *   <li>동시에 실행되는 작업 수는 crawler.politeness.max-per-host 이하</li>
+ *   <li>다음 작업은 직전 작업 시작 후 최소 간격(min-interval-ms)이 지나야 시작</li>
+ *   <li>작업이 끝나면 응답 시간 × response-time-factor 만큼 더 쉬어, 느려진 서버에는 자동으로 간격을 넓힘 (max-interval-ms 상한)</li>
+ * </ul>
+ * 조건을 만족한 작업만 작업자 풀(crawlerExecutor)로 넘기고, 아직 때가 아닌 호스트는 타이머로 깨우므로
+ * 한 호스트를 기다리는 동안 작업자 스레드가 묶이지 않고 다른 호스트는 병렬로 진행됩니다.
+ * 전체 수집 시간은 고정 sleep의 합이 아니라 가장 붐비는 호스트의 예의 간격으로 결정됩니다.
+ * 실행/대기 작업이 없고 예의 간격도 지난 호스트의 대기열은 제거해, 방문한 호스트 수만큼 상태가 쌓이지 않게 합니다.
+ */
+@Slf4j
+@Component
+public class CrawlerEngine {
+
+    private final Executor workers;
+    private final ScheduledExecutorService timer;
+    private final Map<String, HostQueue> hosts = new ConcurrentHashMap<>();
+
+    @Value("${crawler.politeness.max-per-host:1}")
+    private int maxPerHost;
+
+    @Value("${crawler.politeness.min-interval-ms:1000}")
+    private long minIntervalMs;
+
+    @Value("${crawler.politeness.max-interval-ms:10000}")
+    private long maxIntervalMs;
+
+    @Value("${crawler.politeness.response-time-factor:1.0}")
+    private double responseTimeFactor;
+
+    @Autowired
+    public CrawlerEngine(@Qualifier("crawlerExecutor") Executor workers) {
+        this.workers = workers;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "crawler-politeness");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * URL 호스트의 예의 규칙에 맞춰 작업을 실행합니다.
+     * @return 작업 결과 (작업 예외는 예외 완료로 전달)
+     */
+    public <T> CompletableFuture<T> submit(String url, Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        PendingTask pending = new PendingTask(
+                () -> {
+                    try {
+                        future.complete(task.get());
+                    } catch (Throwable e) {
+                        future.completeExceptionally(e);
+                    }
+                },
+                future::completeExceptionally);
+        String name = hostOf(url);
+        while (true) {
+            HostQueue host = hosts.computeIfAbsent(name, HostQueue::new);
+            synchronized (host) {
+                // 방금 제거된 대기열이면 새 대기열로 다시 시도 (한 호스트에 대기열이 둘 생기지 않도록)
+                if (host.retired) {
+                    continue;
+                }
+                host.pending.add(pending);
+            }
+            dispatch(host);
+            return future;
+        }
+    }
+
+    /**
+     * 모든 작업이 끝날 때까지 기다려 결과를 제출 순서대로 반환합니다. (실패한 작업은 fallback)
+     */
+    public <T> List<T> awaitAll(List<CompletableFuture<T>> futures, T fallback) {
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (Exception e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.warn("크롤링 작업 실패: {}", cause.getMessage());
+                results.add(fallback);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 실행 가능한 작업을 작업자 풀로 넘기고, 최소 간격이 남았으면 그 시점에 다시 시도하도록 예약합니다.
+     */
+    private void dispatch(HostQueue host) {
+        List<PendingTask> ready = new ArrayList<>();
+        synchronized (host) {
+            long now = System.nanoTime();
+            while (host.active < maxPerHost && !host.pending.isEmpty()) {
+                if (now < host.nextStartAt) {
+                    if (!host.wakeUpScheduled) {
+                        host.wakeUpScheduled = true;
+                        timer.schedule(() -> wakeUp(host), host.nextStartAt - now, TimeUnit.NANOSECONDS);
+                    }
+                    break;
+                }
+                host.active++;
+                host.nextStartAt = now + TimeUnit.MILLISECONDS.toNanos(minIntervalMs);
+                ready.add(host.pending.poll());
+            }
+            if (host.active == 0 && host.pending.isEmpty()) {
+                if (now >= host.nextStartAt) {
+                    // 할 일이 없고 예의 간격도 지났으므로 제거 (다음 작업은 새 대기열에서 바로 시작해도 규칙 위반 아님)
+                    host.retired = true;
+                    hosts.remove(host.name, host);
+                } else if (!host.wakeUpScheduled) {
+                    // 간격이 끝나는 시점에 다시 확인해 제거
+                    host.wakeUpScheduled = true;
+                    timer.schedule(() -> wakeUp(host), host.nextStartAt - now, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+        for (PendingTask task : ready) {
+            start(host, task);
+        }
+    }
+
+    private void wakeUp(HostQueue host) {
+        synchronized (host) {
+            host.wakeUpScheduled = false;
+        }
+        dispatch(host);
+    }
+
+    private void start(HostQueue host, PendingTask task) {
+        try {
+            workers.execute(() -> {
+                long startedAt = System.nanoTime();
+                try {
+                    task.run.run();
+                } finally {
+                    finish(host, System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("크롤링 작업 실행 거부 (작업자 풀 종료/포화): 호스트={}", host.name);
+            task.fail.accept(e);
+            finish(host, 0);
+        }
+    }
+
+    /**
+     * 작업이 끝나면 응답 시간에 비례한 추가 간격을 적용하고 다음 작업을 진행합니다.
+     */
+    private void finish(HostQueue host, long elapsedNanos) {
+        synchronized (host) {
+            host.active--;
+            long backoff = (long) (elapsedNanos * responseTimeFactor);
+            long delay = Math.min(Math.max(TimeUnit.MILLISECONDS.toNanos(minIntervalMs), backoff),
+                    TimeUnit.MILLISECONDS.toNanos(maxIntervalMs));
+            host.nextStartAt = Math.max(host.nextStartAt, System.nanoTime() + delay);
+        }
+        dispatch(host);
+    }
+
+    static String hostOf(String url) {
+        try {
+            String host = url != null ? URI.create(url.trim()).getHost() : null;
+            return host != null ? host.toLowerCase(Locale.ROOT) : "";
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    int hostCount() {
+        return hosts.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdownNow();
+    }
+
+    /**
+     * 한 호스트의 대기열과 예의 상태 (호스트 객체 잠금으로 보호)
+     */
+    private static class HostQueue {
+        private final String name;
+        private final Queue<PendingTask> pending = new ArrayDeque<>();
+        private int active;
+        private long nextStartAt = System.nanoTime();
+        private boolean wakeUpScheduled;
+        private boolean retired;
+
+        HostQueue(String name) {
+            this.name = name;
+        }
+    }
+
+    private static class PendingTask {
+        private final Runnable run;
+        private final Consumer<Throwable> fail;
+
+        PendingTask(Runnable run, Consumer<Throwable> fail) {
+            this.run = run;
+            this.fail = fail;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.gameadvisor.service.crawler;
+
+import org.jsoup.nodes.Document;
+
+/**
+ * 조건부 요청 결과 (304이면 문서 없음)
+ */
+public class FetchedPage {
+
+    private final boolean notModified;
+    private final Document document;
+    private final String etag;
+    private final String lastModified;
+
+    private FetchedPage(boolean notModified, Document document, String etag, String lastModified) {
+        this.notModified = notModified;
+        this.document = document;
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    static FetchedPage notModified(String etag, String lastModified) {
+        return new FetchedPage(true, null, etag, lastModified);
+    }
+
+    static FetchedPage modified(Document document, String etag, String lastModified) {
+        return new FetchedPage(false, document, etag, lastModified);
+    }
+
+    /**
+     * 서버가 304 Not Modified로 응답했는지
+     */
+    public boolean isNotModified() {
+        return notModified;
+    }
+
+    public Document getDocument() {
+        return document;
+    }
+
+    /**
+     * 다음 조건부 요청에 보낼 ETag (없으면 null)
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * 다음 조건부 요청에 보낼 Last-Modified 원문 (없으면 null)
+     */
+    public String getLastModified() {
+        return lastModified;
+    }
+}
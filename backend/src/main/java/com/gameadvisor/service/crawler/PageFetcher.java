@@ -0,0 +1,120 @@
+package com.gameadvisor.service.crawler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 크롤링용 웹 페이지 조회기
+ * 모든 페이지 요청은 크롤러 전용 연결 풀(crawlerRestTemplate)을 거치며,
+ * Jsoup은 네트워크 접근 없이 받아온 바이트만 파싱합니다.
+ */
+@Slf4j
+@Component
+public class PageFetcher {
+
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36";
+
+    private final RestTemplate restTemplate;
+
+    @Autowired
+    public PageFetcher(@Qualifier("crawlerRestTemplate") RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    /**
+     * 페이지를 받아 Jsoup 문서로 파싱합니다. (문자셋은 응답 헤더 → meta 태그 순으로 판별)
+     */
+    public Document fetchDocument(String url) throws IOException {
+        ResponseEntity<byte[]> response = fetch(url);
+        Charset charset = charsetOf(response);
+        return Jsoup.parse(new ByteArrayInputStream(response.getBody()),
+                charset != null ? charset.name() : null, url);
+    }
+
+    /**
+     * 페이지 원문 HTML을 문자열로 받아옵니다.
+     */
+    public String fetchHtml(String url) throws IOException {
+        ResponseEntity<byte[]> response = fetch(url);
+        Charset charset = charsetOf(response);
+        return new String(response.getBody(), charset != null ? charset : StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 이전 응답의 검증값으로 조건부 요청(If-None-Match / If-Modified-Since)을 보냅니다.
+     * 서버가 304로 응답하면 본문 없이 변경 없음을 반환하며, 새 검증값이 없으면 이전 값을 유지합니다.
+     * @param etag 이전 ETag (없으면 null)
+     * @param lastModified 이전 Last-Modified 원문 (없으면 null)
+     */
+    public FetchedPage fetchConditional(String url, String etag, String lastModified) throws IOException {
+        HttpHeaders headers = requestHeaders();
+        if (etag != null && !etag.isBlank()) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, etag);
+        }
+        if (lastModified != null && !lastModified.isBlank()) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        }
+
+        ResponseEntity<byte[]> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        String newEtag = response.getHeaders().getETag();
+        String newLastModified = response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            log.debug("페이지 변경 없음 (304): {}", url);
+            return FetchedPage.notModified(newEtag != null ? newEtag : etag,
+                    newLastModified != null ? newLastModified : lastModified);
+        }
+        checkBody(url, response);
+
+        Charset charset = charsetOf(response);
+        Document document = Jsoup.parse(new ByteArrayInputStream(response.getBody()),
+                charset != null ? charset.name() : null, url);
+        return FetchedPage.modified(document, newEtag, newLastModified);
+    }
+
+    private ResponseEntity<byte[]> fetch(String url) throws IOException {
+        ResponseEntity<byte[]> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(requestHeaders()), byte[].class);
+        checkBody(url, response);
+        return response;
+    }
+
+    private HttpHeaders requestHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.USER_AGENT, USER_AGENT);
+        headers.set(HttpHeaders.ACCEPT, "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8");
+        headers.set(HttpHeaders.ACCEPT_LANGUAGE, "ko-KR,ko;q=0.8,en-US;q=0.5,en;q=0.3");
+        return headers;
+    }
+
+    private void checkBody(String url, ResponseEntity<byte[]> response) throws IOException {
+        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            throw new IOException("페이지 조회 실패: " + url + " - 상태코드: " + response.getStatusCode());
+        }
+        log.debug("페이지 조회 완료: {} ({} bytes)", url, response.getBody().length);
+    }
+
+    private Charset charsetOf(ResponseEntity<byte[]> response) {
+        MediaType contentType = response.getHeaders().getContentType();
+        try {
+            return contentType != null ? contentType.getCharset() : null;
+        } catch (Exception e) {
+            // 잘못된 charset 표기는 무시하고 meta 태그/UTF-8 판별에 맡김
+            return null;
+        }
+    }
+}
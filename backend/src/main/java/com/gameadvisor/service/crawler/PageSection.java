@@ -0,0 +1,23 @@
+package com.gameadvisor.service.crawler;
+
+/**
+ * 페이지에서 나눈 섹션 한 개 (제목과 본문)
+ */
+public class PageSection {
+
+    private final String title;
+    private final String content;
+
+    public PageSection(String title, String content) {
+        this.title = title;
+        this.content = content;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getContent() {
+        return content;
+    }
+}
@@ -0,0 +1,233 @@
+package com.gameadvisor.service.crawler;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.NodeFilter;
+import org.jsoup.select.NodeTraversor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 페이지 본문을 섹션으로 나누는 분할기
+ * 문서(DOM)는 제목 태그(h1~h6)를 경계로, 텍스트는 제목으로 보이는 줄을 경계로 한 번만 훑어서 나누므로
+ * 페이지 길이에 비례하는 시간에 끝납니다. (섹션 제목마다 정규식을 만들어 본문을 다시 찾지 않음)
+ * 너무 긴 섹션은 줄 경계에서 여러 섹션으로 나누고, 이어지는 조각은 같은 제목을 씁니다.
+ */
+public final class SectionSplitter {
+
+    // 섹션 본문 최대 길이
+    private static final int MAX_SECTION_CHARS = 1500;
+
+    // 텍스트에서 제목으로 볼 수 있는 줄의 최대 길이
+    private static final int MAX_HEADING_CHARS = 100;
+
+    // 이보다 짧은 줄은 버림 (편집 링크, 구분 기호 등)
+    private static final int MIN_LINE_CHARS = 3;
+
+    private static final Set<String> HEADING_TAGS = Set.of("h1", "h2", "h3", "h4", "h5", "h6");
+    private static final Set<String> NOISE_TAGS = Set.of(
+            "script", "style", "noscript", "nav", "footer", "aside", "form", "iframe", "svg", "button");
+    private static final Set<String> NOISE_CLASSES = Set.of("toc", "navbox", "mw-editsection", "reference");
+
+    // 줄바꿈 태그는 줄로 바꾸고, 나머지 인라인 태그(<b>, <a> 등)는 글자 사이에 공백이 생기지 않도록 그냥 제거
+    private static final Pattern LINE_BREAK_TAG = Pattern.compile("(?i)<br\\s*/?>");
+    private static final Pattern TAG = Pattern.compile("<[^>]+>");
+    private static final Pattern HORIZONTAL_SPACE = Pattern.compile("[ \\t\\x0B\\f\\r\\u00A0]+");
+    private static final Pattern CONTENTS_LINE = Pattern.compile("(?i)(table of )?contents|목차");
+    // "1.2 Main gameplay"처럼 번호가 붙을 수 있는 짧은 대문자 시작 줄 (마침표로 끝나는 문장 제외)
+    private static final Pattern HEADING_LINE = Pattern.compile("(?:\\d+(?:\\.\\d+)*\\s+)?\\p{Lu}[\\p{L}\\p{N} '&:()/-]{1,79}");
+    private static final Pattern NUMBERING = Pattern.compile("^\\d+(?:\\.\\d+)*\\s+");
+
+    private SectionSplitter() {
+    }
+
+    /**
+     * 문서 본문을 제목 태그 기준으로 나눕니다.
+     * 첫 제목 이전의 본문은 페이지 제목을 섹션 제목으로 사용하고, 목차/탐색 영역은 건너뜁니다.
+     */
+    public static List<PageSection> split(Element root, String pageTitle) {
+        Builder builder = new Builder(pageTitle);
+        if (root == null) {
+            return builder.finish();
+        }
+        NodeTraversor.filter(new NodeFilter() {
+            @Override
+            public FilterResult head(Node node, int depth) {
+                if (node instanceof TextNode) {
+                    builder.appendText(((TextNode) node).getWholeText());
+                    return FilterResult.CONTINUE;
+                }
+                if (!(node instanceof Element)) {
+                    return FilterResult.CONTINUE;
+                }
+                Element element = (Element) node;
+                String tag = element.normalName();
+                if (NOISE_TAGS.contains(tag) || isNoise(element)) {
+                    return FilterResult.SKIP_ENTIRELY;
+                }
+                if (HEADING_TAGS.contains(tag)) {
+                    Element headline = element.selectFirst(".mw-headline");
+                    builder.startSection((headline != null ? headline : element).text());
+                    return FilterResult.SKIP_ENTIRELY;
+                }
+                if (element.isBlock() || "br".equals(tag)) {
+                    builder.endLine();
+                }
+                return FilterResult.CONTINUE;
+            }
+
+            @Override
+            public FilterResult tail(Node node, int depth) {
+                if (node instanceof Element && ((Element) node).isBlock()) {
+                    builder.endLine();
+                }
+                return FilterResult.CONTINUE;
+            }
+        }, root);
+        return builder.finish();
+    }
+
+    /**
+     * 줄 단위 텍스트를 제목으로 보이는 줄 기준으로 나눕니다. (HTML 태그는 제거)
+     * 제목 줄이 하나도 없으면 "페이지 제목 - Part n" 조각으로 나눕니다.
+     */
+    public static List<PageSection> split(String text, String pageTitle) {
+        Builder builder = new Builder(pageTitle);
+        if (text == null || text.isEmpty()) {
+            return builder.finish();
+        }
+        String clean = TAG.matcher(LINE_BREAK_TAG.matcher(text).replaceAll("\n")).replaceAll("");
+        int start = 0;
+        while (start <= clean.length()) {
+            int end = clean.indexOf('\n', start);
+            if (end < 0) {
+                end = clean.length();
+            }
+            String line = normalizeLine(clean.substring(start, end));
+            if (!line.isEmpty() && !CONTENTS_LINE.matcher(line).matches()) {
+                if (line.length() <= MAX_HEADING_CHARS && HEADING_LINE.matcher(line).matches()) {
+                    builder.startSection(NUMBERING.matcher(line).replaceFirst(""));
+                } else {
+                    builder.appendText(line);
+                    builder.endLine();
+                }
+            }
+            start = end + 1;
+        }
+        return builder.finish();
+    }
+
+    /**
+     * 섹션들을 "제목 줄 + 본문" 텍스트로 합칩니다. (문서 순서 유지)
+     */
+    public static String render(List<PageSection> sections) {
+        StringBuilder text = new StringBuilder();
+        String lastTitle = null;
+        for (PageSection section : sections) {
+            if (!section.getTitle().equals(lastTitle)) {
+                text.append(section.getTitle()).append('\n');
+                lastTitle = section.getTitle();
+            }
+            text.append(section.getContent()).append('\n');
+        }
+        return text.toString().trim();
+    }
+
+    private static boolean isNoise(Element element) {
+        if ("toc".equals(element.id())) {
+            return true;
+        }
+        for (String className : element.classNames()) {
+            if (NOISE_CLASSES.contains(className)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String normalizeLine(String line) {
+        return HORIZONTAL_SPACE.matcher(line).replaceAll(" ").trim();
+    }
+
+    /**
+     * 줄과 섹션을 모으는 누적기
+     */
+    private static class Builder {
+        private final String pageTitle;
+        private final List<PageSection> sections = new ArrayList<>();
+        private final StringBuilder line = new StringBuilder();
+        private final StringBuilder body = new StringBuilder();
+        private String title;
+        private boolean sawHeading;
+
+        Builder(String pageTitle) {
+            this.pageTitle = pageTitle != null && !pageTitle.isBlank() ? pageTitle : "본문";
+        }
+
+        void appendText(String text) {
+            line.append(text);
+        }
+
+        void endLine() {
+            if (line.length() == 0) {
+                return;
+            }
+            String text = normalizeLine(line.toString());
+            line.setLength(0);
+            if (text.length() < MIN_LINE_CHARS) {
+                return;
+            }
+            if (body.length() > 0 && body.length() + 1 + text.length() > MAX_SECTION_CHARS) {
+                flush();
+            }
+            // 한 줄이 최대 길이보다 길면 잘라서 담음
+            int offset = 0;
+            while (text.length() - offset > MAX_SECTION_CHARS) {
+                body.append(text, offset, offset + MAX_SECTION_CHARS);
+                flush();
+                offset += MAX_SECTION_CHARS;
+            }
+            if (body.length() > 0) {
+                body.append('\n');
+            }
+            body.append(text, offset, text.length());
+        }
+
+        void startSection(String heading) {
+            String normalized = normalizeLine(heading);
+            if (normalized.isEmpty()) {
+                return;
+            }
+            endLine();
+            flush();
+            title = normalized;
+            sawHeading = true;
+        }
+
+        private void flush() {
+            if (body.length() == 0) {
+                return;
+            }
+            sections.add(new PageSection(title != null ? title : pageTitle, body.toString()));
+            body.setLength(0);
+        }
+
+        List<PageSection> finish() {
+            endLine();
+            flush();
+            if (sawHeading || sections.size() < 2) {
+                return sections;
+            }
+            // 제목 없이 길이로만 나뉜 본문은 조각 번호를 붙임
+            List<PageSection> parts = new ArrayList<>();
+            for (PageSection section : sections) {
+                parts.add(new PageSection(pageTitle + " - Part " + (parts.size() + 1), section.getContent()));
+            }
+            return parts;
+        }
+    }
+}
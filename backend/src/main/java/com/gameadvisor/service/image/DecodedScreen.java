@@ -0,0 +1,53 @@
+package com.gameadvisor.service.image;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * 디코딩하고 관심 영역으로 자른 화면 이미지와 그 dHash
+ * 중복 화면 판별은 이 단계에서 끝나므로, 중복이면 축소/JPEG 인코딩 비용을 치르지 않습니다.
+ */
+public class DecodedScreen {
+
+    private final byte[] original;
+    private final int length;
+    private final BufferedImage image;
+    private final Long perceptualHash;
+    private final long decodeNanos;
+
+    DecodedScreen(byte[] original, int length, BufferedImage image, Long perceptualHash, long decodeNanos) {
+        this.original = original;
+        this.length = length;
+        this.image = image;
+        this.perceptualHash = perceptualHash;
+        this.decodeNanos = decodeNanos;
+    }
+
+    /**
+     * 원본 이미지 바이트 (앞 length 바이트만 유효, 업로드 버퍼일 수 있으므로 요청 처리 중에만 사용)
+     */
+    byte[] getOriginal() {
+        return original;
+    }
+
+    int getLength() {
+        return length;
+    }
+
+    /**
+     * 관심 영역으로 자른 이미지 (디코딩하지 못한 경우 null)
+     */
+    BufferedImage getImage() {
+        return image;
+    }
+
+    long getDecodeNanos() {
+        return decodeNanos;
+    }
+
+    /**
+     * 화면 dHash (디코딩하지 못한 경우 null)
+     */
+    public Long getPerceptualHash() {
+        return perceptualHash;
+    }
+}
@@ -0,0 +1,115 @@
+package com.gameadvisor.service.image;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 화면 업로드 수신 버퍼 풀
+ * 바이너리 업로드 이미지를 재사용 버퍼에 바로 읽어 들여, 요청마다 수 MB 배열을 새로 할당하지 않습니다.
+ * 버퍼는 분석이 끝난 뒤 반드시 {@link #release(UploadBuffer)}로 반환해야 합니다.
+ */
+@Slf4j
+@Component
+public class ImageUploadBuffers {
+
+    private static final int INITIAL_CAPACITY = 512 * 1024;
+
+    private final BlockingQueue<UploadBuffer> pool;
+    private final int maxBytes;
+    private final int maxRetainedBytes;
+
+    public ImageUploadBuffers(@Value("${advice.upload.pool-size:16}") int poolSize,
+                              @Value("${advice.upload.max-bytes:16777216}") int maxBytes,
+                              @Value("${advice.upload.max-retained-bytes:8388608}") int maxRetainedBytes) {
+        this.pool = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+        this.maxBytes = maxBytes;
+        this.maxRetainedBytes = maxRetainedBytes;
+    }
+
+    /**
+     * 입력 스트림 전체를 풀 버퍼로 읽습니다.
+     * @throws UploadTooLargeException advice.upload.max-bytes를 넘는 경우 (버퍼는 반환된 상태)
+     */
+    public UploadBuffer read(InputStream in, long sizeHint) throws IOException {
+        UploadBuffer buffer = pool.poll();
+        if (buffer == null) {
+            buffer = new UploadBuffer(INITIAL_CAPACITY);
+        }
+        try {
+            buffer.fill(in, sizeHint, maxBytes);
+            return buffer;
+        } catch (IOException | RuntimeException e) {
+            release(buffer);
+            throw e;
+        }
+    }
+
+    /**
+     * 버퍼를 풀에 반환합니다. (너무 커진 버퍼는 버림)
+     */
+    public void release(UploadBuffer buffer) {
+        if (buffer == null) {
+            return;
+        }
+        buffer.reset();
+        if (buffer.capacity() <= maxRetainedBytes) {
+            pool.offer(buffer);
+        }
+    }
+
+    /**
+     * 내부 배열을 복사 없이 노출하는 수신 버퍼 (앞 {@link #length()} 바이트만 유효)
+     */
+    public static class UploadBuffer extends ByteArrayOutputStream {
+
+        UploadBuffer(int capacity) {
+            super(capacity);
+        }
+
+        public byte[] array() {
+            return buf;
+        }
+
+        public int length() {
+            return count;
+        }
+
+        int capacity() {
+            return buf.length;
+        }
+
+        void fill(InputStream in, long sizeHint, int maxBytes) throws IOException {
+            if (sizeHint > maxBytes) {
+                throw new UploadTooLargeException(sizeHint, maxBytes);
+            }
+            if (sizeHint > buf.length) {
+                // 크기를 미리 알면 한 번에 확보하여 증가 복사를 피함
+                buf = new byte[(int) sizeHint];
+            }
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                if (count + read > maxBytes) {
+                    throw new UploadTooLargeException(count + read, maxBytes);
+                }
+                write(chunk, 0, read);
+            }
+        }
+    }
+
+    /**
+     * 업로드 크기 제한 초과
+     */
+    public static class UploadTooLargeException extends IOException {
+        public UploadTooLargeException(long size, int maxBytes) {
+            super("이미지가 너무 큽니다: " + size + " bytes (최대 " + maxBytes + " bytes)");
+        }
+    }
+}
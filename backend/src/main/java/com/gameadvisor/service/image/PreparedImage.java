@@ -0,0 +1,61 @@
+package com.gameadvisor.service.image;
+
+/**
+ * Gemini 전송용으로 정규화된 화면 이미지
+ * 한 번 인코딩한 결과를 같은 요청의 모든 Gemini 호출에서 재사용합니다.
+ */
+public class PreparedImage {
+
+    private final String mimeType;
+    private final byte[] data;
+    private final int width;
+    private final int height;
+    private final int originalBytes;
+    private final int encodedBytes;
+    private final Long perceptualHash;
+
+    public PreparedImage(String mimeType, byte[] data, int width, int height,
+                         int originalBytes, int encodedBytes, Long perceptualHash) {
+        this.mimeType = mimeType;
+        this.data = data;
+        this.width = width;
+        this.height = height;
+        this.originalBytes = originalBytes;
+        this.encodedBytes = encodedBytes;
+        this.perceptualHash = perceptualHash;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    /**
+     * 인코딩된 이미지 바이트 (Base64 변환은 Gemini 요청 직렬화 시 한 번만 수행)
+     */
+    public byte[] getData() {
+        return data;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getOriginalBytes() {
+        return originalBytes;
+    }
+
+    public int getEncodedBytes() {
+        return encodedBytes;
+    }
+
+    /**
+     * 화면 dHash (디코딩하지 못한 경우 null)
+     */
+    public Long getPerceptualHash() {
+        return perceptualHash;
+    }
+}
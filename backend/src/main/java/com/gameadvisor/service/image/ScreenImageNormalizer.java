@@ -0,0 +1,274 @@
+package com.gameadvisor.service.image;
+
+import com.gameadvisor.model.ScreenAnalysisRequest;
+import com.gameadvisor.service.metrics.AdviceMetrics;
+import com.gameadvisor.util.PerceptualHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 화면 캡처 이미지 정규화
+ * 클라이언트가 보낸 원본 PNG(바이너리 업로드 또는 Base64)를 한 번만 디코딩하여 게임별 관심 영역(ROI)으로 자르고
+ * 중복 화면 판별용 dHash를 계산하고(decode), 중복이 아닌 화면만 최대 변 길이에 맞춰 축소하여 JPEG으로 다시 인코딩합니다(prepare).
+ * 1440p/4K 캡처도 Gemini가 읽기에 충분한 해상도로 줄어들어 전송량과 모델 처리 시간이 감소합니다.
+ */
+@Slf4j
+@Component
+public class ScreenImageNormalizer {
+
+    private static final String MIME_PNG = "image/png";
+    private static final String MIME_JPEG = "image/jpeg";
+
+    private final AdviceMetrics adviceMetrics;
+    private final List<RegionOfInterest> regions;
+
+    @Value("${advice.image.enabled:true}")
+    private boolean enabled;
+
+    @Value("${advice.image.max-edge:1280}")
+    private int maxEdge;
+
+    @Value("${advice.image.jpeg-quality:0.8}")
+    private float jpegQuality;
+
+    @Autowired
+    public ScreenImageNormalizer(AdviceMetrics adviceMetrics,
+                                 @Value("${advice.image.roi:}") String roiConfig) {
+        this.adviceMetrics = adviceMetrics;
+        this.regions = parseRegions(roiConfig);
+    }
+
+    /**
+     * 요청의 화면 이미지를 Gemini 전송용으로 정규화합니다. ({@link #decode} 후 {@link #prepare(DecodedScreen)})
+     */
+    public PreparedImage prepare(ScreenAnalysisRequest request) {
+        return prepare(decode(request));
+    }
+
+    /**
+     * 요청의 화면 이미지를 한 번만 디코딩하여 관심 영역으로 자르고 dHash를 계산합니다.
+     * 바이너리 업로드가 있으면 그 바이트를, 없으면 Base64 문자열을 디코딩하여 사용합니다.
+     * 정규화가 비활성화되어도 중복 화면 판별을 위해 디코딩과 해시 계산은 수행합니다.
+     */
+    public DecodedScreen decode(ScreenAnalysisRequest request) {
+        if (request.getImageBytes() != null) {
+            return decode(request.getImageBytes(), request.getImageLength(), request.getGameName());
+        }
+        String imageBase64 = request.getImageBase64();
+        if (imageBase64 == null || imageBase64.isEmpty()) {
+            return new DecodedScreen(null, 0, null, null, 0);
+        }
+        try {
+            byte[] original = Base64.getDecoder().decode(imageBase64);
+            return decode(original, original.length, request.getGameName());
+        } catch (IllegalArgumentException e) {
+            log.warn("이미지 Base64 디코딩 실패: {}", e.getMessage());
+            return new DecodedScreen(null, 0, null, null, 0);
+        }
+    }
+
+    /**
+     * 원본 이미지 바이트(앞 length 바이트)를 디코딩합니다. 실패하면 이미지와 해시 없이 원본만 보관합니다.
+     */
+    public DecodedScreen decode(byte[] original, int length, String gameName) {
+        if (length <= 0) {
+            return new DecodedScreen(null, 0, null, null, 0);
+        }
+        long startedAt = System.nanoTime();
+        try {
+            BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(original, 0, length));
+            if (decoded == null) {
+                log.warn("이미지 디코딩 실패 (지원하지 않는 형식) - 원본 전송, 중복 화면 판별 생략");
+                return new DecodedScreen(original, length, null, null, System.nanoTime() - startedAt);
+            }
+            BufferedImage cropped = crop(decoded, gameName);
+            // 표본 픽셀만 읽으므로 원본 해상도와 무관하게 일정한 비용
+            long hash = PerceptualHash.dHash(cropped);
+            return new DecodedScreen(original, length, cropped, hash, System.nanoTime() - startedAt);
+        } catch (IllegalArgumentException | IOException e) {
+            log.warn("이미지 디코딩 실패 - 원본 전송, 중복 화면 판별 생략: {}", e.getMessage());
+            return new DecodedScreen(original, length, null, null, System.nanoTime() - startedAt);
+        }
+    }
+
+    /**
+     * 디코딩한 화면을 최대 변 길이에 맞춰 축소한 뒤 JPEG으로 인코딩합니다.
+     * 디코딩에 실패했거나 정규화가 비활성화된 경우 원본을 그대로 사용합니다.
+     */
+    public PreparedImage prepare(DecodedScreen screen) {
+        if (screen.getLength() <= 0) {
+            return new PreparedImage(MIME_PNG, null, 0, 0, 0, 0, null);
+        }
+        if (!enabled || screen.getImage() == null) {
+            return passthrough(screen);
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            BufferedImage scaled = scaleToRgb(screen.getImage(), maxEdge);
+            byte[] encoded = encodeJpeg(scaled, jpegQuality);
+            int length = screen.getLength();
+
+            adviceMetrics.recordImageNormalization(length, encoded.length,
+                    screen.getDecodeNanos() + System.nanoTime() - startedAt);
+            log.info("화면 이미지 정규화: {}x{} ({} KB) → {}x{} ({} KB)",
+                    screen.getImage().getWidth(), screen.getImage().getHeight(), length / 1024,
+                    scaled.getWidth(), scaled.getHeight(), encoded.length / 1024);
+
+            return new PreparedImage(MIME_JPEG, encoded,
+                    scaled.getWidth(), scaled.getHeight(), length, encoded.length, screen.getPerceptualHash());
+
+        } catch (IllegalArgumentException | IOException e) {
+            log.warn("이미지 정규화 실패 - 원본 전송: {}", e.getMessage());
+            return passthrough(screen);
+        }
+    }
+
+    private PreparedImage passthrough(DecodedScreen screen) {
+        // 업로드 버퍼는 요청이 끝나면 재사용되므로 유효 범위만 복사
+        byte[] copy = Arrays.copyOf(screen.getOriginal(), screen.getLength());
+        return new PreparedImage(sniffMimeType(copy), copy, 0, 0, screen.getLength(), screen.getLength(),
+                screen.getPerceptualHash());
+    }
+
+    private static String sniffMimeType(byte[] data) {
+        if (data.length > 2 && (data[0] & 0xFF) == 0xFF && (data[1] & 0xFF) == 0xD8) {
+            return MIME_JPEG;
+        }
+        return MIME_PNG;
+    }
+
+    /**
+     * 게임에 설정된 관심 영역으로 자릅니다. (설정이 없으면 원본)
+     */
+    private BufferedImage crop(BufferedImage image, String gameName) {
+        if (gameName == null) {
+            return image;
+        }
+        String game = gameName.toLowerCase();
+        for (RegionOfInterest region : regions) {
+            if (game.contains(region.gameKey)) {
+                int x = Math.max(0, Math.min(image.getWidth() - 1, (int) Math.round(region.x * image.getWidth())));
+                int y = Math.max(0, Math.min(image.getHeight() - 1, (int) Math.round(region.y * image.getHeight())));
+                int w = Math.min(image.getWidth() - x, (int) Math.round(region.width * image.getWidth()));
+                int h = Math.min(image.getHeight() - y, (int) Math.round(region.height * image.getHeight()));
+                if (w > 0 && h > 0) {
+                    return image.getSubimage(x, y, w, h);
+                }
+            }
+        }
+        return image;
+    }
+
+    /**
+     * 최대 변 길이에 맞춰 축소하고 JPEG용 RGB 이미지로 변환합니다.
+     * 큰 비율 축소는 절반씩 단계적으로 줄여 계단 현상을 줄입니다.
+     */
+    private BufferedImage scaleToRgb(BufferedImage image, int maxEdge) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = image;
+        int currentWidth = width;
+        int currentHeight = height;
+        do {
+            int nextWidth = Math.max(targetWidth, currentWidth / 2);
+            int nextHeight = Math.max(targetHeight, currentHeight / 2);
+            BufferedImage next = new BufferedImage(nextWidth, nextHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, nextWidth, nextHeight, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+            currentWidth = nextWidth;
+            currentHeight = nextHeight;
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+        return current;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (MemoryCacheImageOutputStream stream = new MemoryCacheImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * "게임키:x,y,너비,높이;..." 형식 (모두 0~1 비율) 파싱
+     * 예) bloons:0,0,0.85,1 → 오른쪽 15% 타워 목록 패널을 제외
+     */
+    private static List<RegionOfInterest> parseRegions(String config) {
+        List<RegionOfInterest> parsed = new ArrayList<>();
+        if (config == null || config.isBlank()) {
+            return parsed;
+        }
+        for (String entry : config.split(";")) {
+            String[] keyAndRect = entry.split(":");
+            if (keyAndRect.length != 2) {
+                continue;
+            }
+            String[] rect = keyAndRect[1].split(",");
+            if (rect.length != 4) {
+                log.warn("잘못된 관심 영역 설정 무시: {}", entry);
+                continue;
+            }
+            try {
+                parsed.add(new RegionOfInterest(keyAndRect[0].trim().toLowerCase(),
+                        Double.parseDouble(rect[0].trim()), Double.parseDouble(rect[1].trim()),
+                        Double.parseDouble(rect[2].trim()), Double.parseDouble(rect[3].trim())));
+            } catch (NumberFormatException e) {
+                log.warn("잘못된 관심 영역 설정 무시: {}", entry);
+            }
+        }
+        return parsed;
+    }
+
+    private static class RegionOfInterest {
+        private final String gameKey;
+        private final double x;
+        private final double y;
+        private final double width;
+        private final double height;
+
+        RegionOfInterest(String gameKey, double x, double y, double width, double height) {
+            this.gameKey = gameKey;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.gameadvisor.service.job;
+
+import com.gameadvisor.model.AdviceJobResponse;
+import com.gameadvisor.model.ScreenAnalysisResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * 비동기 화면 분석 작업 한 건
+ * 결과는 {@link #completion()}으로 완료를 기다리는 쪽(롱 폴링/SSE)에 전달됩니다.
+ */
+public class AdviceJob {
+
+    public enum Status {
+        PENDING, RUNNING, DONE, FAILED, CANCELLED
+    }
+
+    private final String id;
+    private final String ownerKey;
+    private final long createdAt;
+    private final CompletableFuture<AdviceJob> completion = new CompletableFuture<>();
+    private volatile Status status = Status.PENDING;
+    private volatile ScreenAnalysisResponse result;
+    private volatile String errorMessage;
+    private volatile long finishedAt;
+    private volatile Future<?> task;
+
+    AdviceJob(String id, String ownerKey, long createdAt) {
+        this.id = id;
+        this.ownerKey = ownerKey;
+        this.createdAt = createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isFinished() {
+        return completion.isDone();
+    }
+
+    /**
+     * 작업이 끝나면(완료/실패/취소) 완료되는 future
+     */
+    public CompletableFuture<AdviceJob> completion() {
+        return completion;
+    }
+
+    public AdviceJobResponse toResponse() {
+        return AdviceJobResponse.builder()
+                .jobId(id)
+                .status(status.name())
+                .result(result)
+                .errorMessage(errorMessage)
+                .build();
+    }
+
+    String getOwnerKey() {
+        return ownerKey;
+    }
+
+    long getCreatedAt() {
+        return createdAt;
+    }
+
+    long getFinishedAt() {
+        return finishedAt;
+    }
+
+    void attach(Future<?> task) {
+        this.task = task;
+    }
+
+    /**
+     * 실행 시작 (이미 취소된 작업이면 false)
+     */
+    synchronized boolean start() {
+        if (status != Status.PENDING) {
+            return false;
+        }
+        status = Status.RUNNING;
+        return true;
+    }
+
+    synchronized void succeed(ScreenAnalysisResponse response) {
+        if (finish(Status.DONE, null)) {
+            this.result = response;
+            completion.complete(this);
+        }
+    }
+
+    synchronized void fail(String message) {
+        if (finish(Status.FAILED, message)) {
+            completion.complete(this);
+        }
+    }
+
+    /**
+     * 작업을 취소합니다. 대기 중이면 실행되지 않고, 실행 중이면 결과만 버려집니다.
+     */
+    synchronized boolean cancel(String reason) {
+        if (!finish(Status.CANCELLED, reason)) {
+            return false;
+        }
+        Future<?> running = task;
+        if (running != null) {
+            // 진행 중인 Gemini 호출은 중단하지 않음 (병합된 다른 요청이 같은 호출을 기다릴 수 있음)
+            running.cancel(false);
+        }
+        completion.complete(this);
+        return true;
+    }
+
+    private boolean finish(Status finalStatus, String message) {
+        if (completion.isDone()) {
+            return false;
+        }
+        this.status = finalStatus;
+        this.errorMessage = message;
+        this.finishedAt = System.currentTimeMillis();
+        return true;
+    }
+}
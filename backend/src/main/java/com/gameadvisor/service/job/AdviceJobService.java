@@ -0,0 +1,125 @@
+package com.gameadvisor.service.job;
+
+import com.gameadvisor.model.ScreenAnalysisRequest;
+import com.gameadvisor.model.ScreenAnalysisResponse;
+import com.gameadvisor.service.GeminiService;
+import com.gameadvisor.service.ScreenContextCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 비동기 화면 분석 작업 관리
+ * 요청 스레드는 작업을 제한된 작업 실행기에 등록하고 작업 ID만 즉시 반환합니다.
+ * 같은 클라이언트/게임의 새 캡처가 들어오면 이전 작업은 취소되며,
+ * 끝난 작업과 오래된 작업은 주기적으로 정리됩니다.
+ */
+@Slf4j
+@Service
+public class AdviceJobService {
+
+    private final GeminiService geminiService;
+    private final ScreenContextCache screenContextCache;
+    private final ThreadPoolTaskExecutor jobExecutor;
+    private final Map<String, AdviceJob> jobs = new ConcurrentHashMap<>();
+    // 클라이언트/게임별 최신 작업 ID
+    private final Map<String, String> latestByOwner = new ConcurrentHashMap<>();
+
+    @Value("${advice.job.ttl-ms:120000}")
+    private long ttlMs;
+
+    @Value("${advice.job.max-run-ms:90000}")
+    private long maxRunMs;
+
+    @Autowired
+    public AdviceJobService(GeminiService geminiService, ScreenContextCache screenContextCache,
+                            @Qualifier("adviceJobExecutor") ThreadPoolTaskExecutor jobExecutor) {
+        this.geminiService = geminiService;
+        this.screenContextCache = screenContextCache;
+        this.jobExecutor = jobExecutor;
+    }
+
+    /**
+     * 화면 분석 작업을 등록합니다.
+     * @throws RejectedExecutionException 작업 실행기가 포화된 경우
+     */
+    public AdviceJob submitScreenAnalysis(ScreenAnalysisRequest request) {
+        String ownerKey = screenContextCache.keyOf(request);
+        AdviceJob job = new AdviceJob(UUID.randomUUID().toString(), ownerKey, System.currentTimeMillis());
+        jobs.put(job.getId(), job);
+
+        String previousId = latestByOwner.put(ownerKey, job.getId());
+        if (previousId != null) {
+            AdviceJob previous = jobs.get(previousId);
+            if (previous != null && previous.cancel("새 화면 캡처로 대체됨")) {
+                log.info("이전 화면 분석 작업 취소 (새 캡처로 대체): {}", previousId);
+            }
+        }
+
+        try {
+            job.attach(jobExecutor.submit(() -> run(job, request)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            latestByOwner.remove(ownerKey, job.getId());
+            job.fail("서버가 혼잡합니다. 잠시 후 다시 시도해주세요.");
+            throw e;
+        }
+        return job;
+    }
+
+    public AdviceJob find(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    /**
+     * 작업을 취소합니다. (없거나 이미 끝난 작업이면 false)
+     */
+    public boolean cancel(String jobId) {
+        AdviceJob job = jobs.get(jobId);
+        return job != null && job.cancel("사용자 요청으로 취소됨");
+    }
+
+    private void run(AdviceJob job, ScreenAnalysisRequest request) {
+        if (!job.start()) {
+            return;
+        }
+        try {
+            ScreenAnalysisResponse response = geminiService.analyzeScreen(request);
+            job.succeed(response);
+        } catch (Exception e) {
+            log.error("화면 분석 작업 처리 중 오류 발생: {}", job.getId(), e);
+            job.fail(e.getMessage());
+        }
+    }
+
+    /**
+     * 끝난 지 유효 시간이 지난 작업을 제거하고, 너무 오래 실행 중인 작업은 취소합니다.
+     */
+    @Scheduled(fixedDelayString = "${advice.job.cleanup-interval-ms:30000}")
+    public void cleanup() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        for (AdviceJob job : jobs.values()) {
+            if (!job.isFinished() && now - job.getCreatedAt() > maxRunMs) {
+                job.cancel("처리 시간 초과");
+            }
+            if (job.isFinished() && now - job.getFinishedAt() > ttlMs) {
+                jobs.remove(job.getId(), job);
+                latestByOwner.remove(job.getOwnerKey(), job.getId());
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            log.debug("만료된 화면 분석 작업 정리: {} 개 (남은 작업 {} 개)", removed, jobs.size());
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package com.gameadvisor.service.metrics;
+
+import com.gameadvisor.util.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 조언 생성 파이프라인 메트릭
+ * /actuator/metrics 에서 조회할 수 있으며, /actuator/prometheus 로 Prometheus 형식으로도 수집됩니다.
+ */
+@Component
+public class AdviceMetrics {
+
+    public static final String MODE_SINGLE_PASS = "single-pass";
+    public static final String MODE_TWO_PASS = "two-pass";
+
+    public static final String PIPELINE_ADVICE = "advice";
+    public static final String PIPELINE_SCREEN = "screen";
+
+    public static final String STAGE_IMAGE_DECODE = "image_decode";
+    public static final String STAGE_IMAGE_PREPARE = "image_prepare";
+    public static final String STAGE_INITIAL_GEMINI = "initial_gemini";
+    public static final String STAGE_VECTOR_SEARCH = "vector_search";
+    public static final String STAGE_WEB_SEARCH = "web_search";
+    public static final String STAGE_RETRIEVAL = "retrieval";
+    public static final String STAGE_PROMPT_ASSEMBLY = "prompt_assembly";
+    public static final String STAGE_FINAL_GEMINI = "final_gemini";
+    public static final String STAGE_USAGE_UPDATE = "usage_update";
+
+    private final MeterRegistry registry;
+
+    @Autowired
+    public AdviceMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 파이프라인 단계 실행 시간 측정 (예외로 끝나도 outcome=error로 기록)
+     * Prometheus에서 단계별 분위수를 합산할 수 있도록 히스토그램 버킷을 함께 게시합니다.
+     */
+    public <T> T timeStage(String pipeline, String stage, Supplier<T> task) {
+        long startedAt = System.nanoTime();
+        boolean success = false;
+        try {
+            T result = task.get();
+            success = true;
+            return result;
+        } finally {
+            recordStage(pipeline, stage, success, System.nanoTime() - startedAt);
+        }
+    }
+
+    public void timeStage(String pipeline, String stage, Runnable task) {
+        timeStage(pipeline, stage, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public void recordStage(String pipeline, String stage, boolean success, long elapsedNanos) {
+        Timer.builder("gameadvisor.pipeline.stage")
+                .description("조언 파이프라인 단계별 실행 시간")
+                .tag("pipeline", pipeline)
+                .tag("stage", stage)
+                .tag("outcome", success ? "success" : "error")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 벡터 저장소가 보고한 검색 시간 (VectorSearchResult.searchTimeMs, 호출 측 측정과 비교용)
+     */
+    public void recordVectorSearchReported(String game, long searchTimeMs) {
+        Timer.builder("gameadvisor.vector.search.reported")
+                .description("벡터 저장소 내부 검색 시간")
+                .tag("game", game)
+                .register(registry)
+                .record(searchTimeMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 화면 분석 파이프라인 모드 선택 기록
+     * @param reason 선택 이유 (confident, low_confidence, no_signal, forced)
+     */
+    public void recordScreenModeDecision(String mode, String reason) {
+        Counter.builder("gameadvisor.screen.mode")
+                .description("화면 분석 파이프라인 모드 선택 횟수")
+                .tag("mode", mode)
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * 화면 분석 모드별 전체 지연 시간 기록
+     */
+    public void recordScreenLatency(String mode, boolean success, long elapsedNanos) {
+        Timer.builder("gameadvisor.screen.latency")
+                .description("화면 분석 모드별 전체 지연 시간")
+                .tag("mode", mode)
+                .tag("outcome", success ? "success" : "error")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 저비용 신호 기반 검색의 최고 유사도 (신뢰도) 분포 기록
+     */
+    public void recordRetrievalConfidence(double confidence) {
+        registry.summary("gameadvisor.screen.retrieval.confidence").record(confidence);
+    }
+
+    /**
+     * 화면 분석 병렬 분기 결과 기록 (timeout/rejected가 늘면 분기 실행기 포화)
+     * @param branch vector_search, web_search
+     * @param outcome completed, timeout, error, rejected
+     */
+    public void recordFanOutBranch(String branch, String outcome) {
+        Counter.builder("gameadvisor.advice.fanout.branch")
+                .description("화면 분석 병렬 분기 결과")
+                .tag("branch", branch)
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * 화면 분석 병렬 분기 실행기 상태 등록 (실행 중인 분기 수, 대기 중인 분기 수)
+     */
+    public void bindFanOutExecutor(Supplier<Number> active, Supplier<Number> queued) {
+        Gauge.builder("gameadvisor.advice.fanout.active", active)
+                .description("실행 중인 화면 분석 병렬 분기 수")
+                .register(registry);
+        Gauge.builder("gameadvisor.advice.fanout.queued", queued)
+                .description("실행 대기 중인 화면 분석 병렬 분기 수")
+                .register(registry);
+    }
+
+    /**
+     * 로컬 웹 검색 인덱스 질의 기록
+     * @param found 결과가 한 건 이상인지
+     */
+    public void recordWebSearch(boolean found, long elapsedNanos) {
+        Timer.builder("gameadvisor.web.search")
+                .description("로컬 웹 검색 인덱스 질의 시간")
+                .tag("result", found ? "found" : "empty")
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 연합 웹 검색의 소스별 질의 기록
+     * @param outcome found, empty, timeout, error, rejected
+     */
+    public void recordWebSearchSource(String source, String outcome, long elapsedNanos) {
+        Timer.builder("gameadvisor.web.search.source")
+                .description("웹 검색 소스별 질의 시간 (마감 시간 초과 포함)")
+                .tag("source", source)
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 웹 검색 결과 캐시 조회 기록 (적중률 = hit + negative_hit / 전체)
+     * @param result hit, negative_hit (빈 결과 적중), miss
+     */
+    public void recordWebSearchCache(String result) {
+        Counter.builder("gameadvisor.web.search.cache")
+                .description("웹 검색 결과 캐시 조회 결과")
+                .tag("result", result)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * 조언 응답 캐시 적중/미적중 기록
+     */
+    public void recordAdviceCache(boolean hit) {
+        Counter.builder("gameadvisor.advice.cache")
+                .description("조언 응답 캐시 조회 결과")
+                .tag("result", hit ? "hit" : "miss")
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * 유사 상황 캐시 조회 기록
+     * @param bestSimilarity 가장 가까운 후보의 유사도 (후보가 없으면 NaN - 분포에 기록하지 않음)
+     */
+    public void recordSemanticCacheLookup(String kind, boolean hit, double bestSimilarity) {
+        Counter.builder("gameadvisor.advice.semantic.cache")
+                .description("유사 상황 캐시 조회 결과")
+                .tag("kind", kind)
+                .tag("result", hit ? "hit" : "miss")
+                .register(registry)
+                .increment();
+        if (!Double.isNaN(bestSimilarity)) {
+            DistributionSummary.builder("gameadvisor.advice.semantic.similarity")
+                    .description("유사 상황 캐시 최근접 후보 유사도 (임계값 조정용)")
+                    .tag("kind", kind)
+                    .publishPercentiles(0.5, 0.75, 0.9, 0.95)
+                    .register(registry)
+                    .record(bestSimilarity);
+        }
+    }
+
+    /**
+     * Gemini 동일 요청 병합 상태 등록 (진행 중인 호출 수, 합류한 누적 호출 수)
+     */
+    public void bindGeminiCoalescing(SingleFlight<?, ?> geminiCalls) {
+        Gauge.builder("gameadvisor.gemini.inflight", geminiCalls, SingleFlight::inFlightCount)
+                .description("진행 중인 Gemini 호출 수 (병합 후)")
+                .register(registry);
+        FunctionCounter.builder("gameadvisor.gemini.coalesced", geminiCalls, SingleFlight::coalescedCount)
+                .description("진행 중인 동일 요청에 합류하여 생략된 Gemini 호출 수")
+                .register(registry);
+    }
+
+    /**
+     * Gemini 보호 장치 상태 등록 (동시 호출 여유분, 남은 토큰, 브레이커 상태 0=CLOSED 1=HALF_OPEN 2=OPEN)
+     */
+    public void bindGeminiGuard(Supplier<Number> bulkheadAvailable, Supplier<Number> rateTokens,
+                                Supplier<Number> breakerState) {
+        Gauge.builder("gameadvisor.gemini.bulkhead.available", bulkheadAvailable)
+                .description("남은 Gemini 동시 호출 허용 수")
+                .register(registry);
+        Gauge.builder("gameadvisor.gemini.ratelimit.tokens", rateTokens)
+                .description("Gemini 속도 제한 남은 토큰 수")
+                .register(registry);
+        Gauge.builder("gameadvisor.gemini.breaker.state", breakerState)
+                .description("Gemini 서킷 브레이커 상태 (0=CLOSED, 1=HALF_OPEN, 2=OPEN)")
+                .register(registry);
+    }
+
+    /**
+     * 서킷 브레이커 상태 전환 기록
+     */
+    public void recordBreakerTransition(String from, String to) {
+        Counter.builder("gameadvisor.gemini.breaker.transitions")
+                .description("Gemini 서킷 브레이커 상태 전환 횟수")
+                .tag("from", from)
+                .tag("to", to)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * 보호 장치에 의해 거부된 Gemini 호출 기록
+     * @param reason bulkhead_full, rate_limited, circuit_open
+     */
+    public void recordGeminiRejected(String reason) {
+        Counter.builder("gameadvisor.gemini.rejected")
+                .description("보호 장치에 의해 거부된 Gemini 호출 수")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Gemini 대신 저장된 지식으로 만든 대체 조언 응답 기록
+     */
+    public void recordFallbackAdvice(String kind) {
+        Counter.builder("gameadvisor.advice.fallback")
+                .description("저장된 지식 기반 대체 조언 응답 수")
+                .tag("kind", kind)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * 화면 이미지 정규화 결과 기록 (원본/전송 크기, 처리 시간)
+     */
+    public void recordImageNormalization(int originalBytes, int encodedBytes, long elapsedNanos) {
+        DistributionSummary.builder("gameadvisor.screen.image.bytes")
+                .description("화면 이미지 크기 (정규화 전/후)")
+                .baseUnit("bytes")
+                .tag("stage", "original")
+                .register(registry)
+                .record(originalBytes);
+        DistributionSummary.builder("gameadvisor.screen.image.bytes")
+                .description("화면 이미지 크기 (정규화 전/후)")
+                .baseUnit("bytes")
+                .tag("stage", "encoded")
+                .register(registry)
+                .record(encodedBytes);
+        Timer.builder("gameadvisor.screen.image.normalize")
+                .description("화면 이미지 정규화 시간")
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 중복 화면 판별 기록
+     * @param nearestDistance 가장 가까운 최근 프레임과의 해밍 거리 (비교할 프레임이 없으면 음수 - 분포에 기록하지 않음)
+     */
+    public void recordDuplicateFrame(boolean hit, int nearestDistance) {
+        Counter.builder("gameadvisor.screen.duplicate")
+                .description("이전 프레임 응답 재사용 여부")
+                .tag("result", hit ? "hit" : "miss")
+                .register(registry)
+                .increment();
+        if (nearestDistance >= 0) {
+            DistributionSummary.builder("gameadvisor.screen.duplicate.distance")
+                    .description("최근접 프레임 dHash 해밍 거리 (임계값 조정용)")
+                    .publishPercentiles(0.5, 0.75, 0.9, 0.95)
+                    .register(registry)
+                    .record(nearestDistance);
+        }
+    }
+
+    /**
+     * 프롬프트 컨텍스트 구성 결과 기록 (후보/선택/중복 제외 조각 수, 추정 토큰 수)
+     */
+    public void recordPromptContext(String callType, int candidates, int selected, int duplicates, int estimatedTokens) {
+        DistributionSummary.builder("gameadvisor.prompt.context.tokens")
+                .description("프롬프트에 넣은 컨텍스트의 추정 토큰 수")
+                .baseUnit("tokens")
+                .tag("call", callType)
+                .register(registry)
+                .record(estimatedTokens);
+        Counter.builder("gameadvisor.prompt.context.fragments")
+                .description("프롬프트 컨텍스트 조각 수")
+                .tag("call", callType)
+                .tag("result", "selected")
+                .register(registry)
+                .increment(selected);
+        Counter.builder("gameadvisor.prompt.context.fragments")
+                .description("프롬프트 컨텍스트 조각 수")
+                .tag("call", callType)
+                .tag("result", "duplicate")
+                .register(registry)
+                .increment(duplicates);
+        Counter.builder("gameadvisor.prompt.context.fragments")
+                .description("프롬프트 컨텍스트 조각 수")
+                .tag("call", callType)
+                .tag("result", "dropped")
+                .register(registry)
+                .increment(Math.max(0, candidates - selected - duplicates));
+    }
+
+    /**
+     * Gemini 응답의 토큰 사용량 기록 (usageMetadata, 합계는 게임/종료 사유별 누적 사용량)
+     * @param requestType 이미지 포함 여부 (image / text)
+     * @param game 지식 기준 게임 이름 (지원하지 않는 게임은 other)
+     * @param outcome 응답 종료 사유 (stop, max_tokens, safety 등)
+     */
+    public void recordGeminiTokens(String requestType, String game, String outcome,
+                                   int promptTokens, int candidatesTokens) {
+        DistributionSummary.builder("gameadvisor.gemini.tokens")
+                .description("Gemini 호출당 토큰 수")
+                .baseUnit("tokens")
+                .tag("request", requestType)
+                .tag("game", game)
+                .tag("outcome", outcome)
+                .tag("kind", "prompt")
+                .register(registry)
+                .record(promptTokens);
+        DistributionSummary.builder("gameadvisor.gemini.tokens")
+                .description("Gemini 호출당 토큰 수")
+                .baseUnit("tokens")
+                .tag("request", requestType)
+                .tag("game", game)
+                .tag("outcome", outcome)
+                .tag("kind", "candidates")
+                .register(registry)
+                .record(candidatesTokens);
+    }
+}
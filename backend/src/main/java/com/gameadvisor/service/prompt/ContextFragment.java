@@ -0,0 +1,38 @@
+package com.gameadvisor.service.prompt;
+
+/**
+ * 프롬프트에 넣을 후보 컨텍스트 조각 (벡터 지식 한 건, 웹 검색 스니펫 한 건 등)
+ */
+public class ContextFragment {
+
+    private final String section;
+    private final String text;
+    private final double value;
+
+    /**
+     * @param section 조각이 들어갈 프롬프트 구역 (구역별로 묶어서 출력)
+     * @param text 프롬프트에 그대로 들어갈 텍스트
+     * @param value 조각의 가치 (높을수록 먼저 예산을 배정)
+     */
+    public ContextFragment(String section, String text, double value) {
+        this.section = section;
+        this.text = text;
+        this.value = value;
+    }
+
+    public String getSection() {
+        return section;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    ContextFragment withText(String trimmed) {
+        return new ContextFragment(section, trimmed, value);
+    }
+}
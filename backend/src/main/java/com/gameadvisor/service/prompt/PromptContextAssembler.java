@@ -0,0 +1,246 @@
+package com.gameadvisor.service.prompt;
+
+import com.gameadvisor.model.GeminiRequest;
+import com.gameadvisor.model.GeminiResponse;
+import com.gameadvisor.service.metrics.AdviceMetrics;
+import com.gameadvisor.util.TextAnalyzer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 토큰 예산 기반 프롬프트 컨텍스트 구성
+ * 벡터 지식/웹 스니펫 후보의 토큰 수를 추정하고, 내용이 겹치는 조각은 제외한 뒤
+ * 가치가 높은 조각부터 호출 종류별 토큰 예산 안에 채워 넣습니다.
+ * Gemini 응답의 usageMetadata로 실제 프롬프트 토큰 수를 받아 추정치를 보정합니다.
+ */
+@Slf4j
+@Component
+public class PromptContextAssembler {
+
+    public static final String CALL_ADVICE = "advice";
+    public static final String CALL_SCREEN = "screen";
+    public static final String CALL_SINGLE_PASS = "single-pass";
+
+    // 잘라낸 조각이 이보다 짧아지면 넣지 않음 (토큰)
+    private static final int MIN_TRIMMED_TOKENS = 24;
+    // 보정 계수 이동 평균 가중치
+    private static final double CALIBRATION_ALPHA = 0.1;
+
+    private final AdviceMetrics adviceMetrics;
+    private volatile double calibration = 1.0;
+
+    @Value("${advice.prompt.budget.advice:700}")
+    private int adviceBudget;
+
+    @Value("${advice.prompt.budget.screen:500}")
+    private int screenBudget;
+
+    @Value("${advice.prompt.budget.single-pass:450}")
+    private int singlePassBudget;
+
+    @Value("${advice.prompt.max-fragment-tokens:180}")
+    private int maxFragmentTokens;
+
+    // 이미 선택된 조각과 토큰이 이 비율 이상 겹치면 중복으로 보고 제외
+    @Value("${advice.prompt.max-overlap:0.7}")
+    private double maxOverlap;
+
+    @Autowired
+    public PromptContextAssembler(AdviceMetrics adviceMetrics) {
+        this.adviceMetrics = adviceMetrics;
+    }
+
+    /**
+     * 호출 종류의 예산 안에서 후보 조각을 선택합니다.
+     * 결과는 후보 목록의 원래 순서를 유지하며, 예산을 넘는 조각은 문장 단위로 잘라 넣습니다.
+     */
+    public List<ContextFragment> assemble(String callType, List<ContextFragment> candidates) {
+        int budget = budgetOf(callType);
+        List<ContextFragment> ranked = new ArrayList<>(candidates);
+        ranked.sort(Comparator.comparingDouble(ContextFragment::getValue).reversed());
+
+        Map<ContextFragment, ContextFragment> chosen = new IdentityHashMap<>();
+        List<int[]> chosenTokens = new ArrayList<>();
+        int used = 0;
+        int duplicates = 0;
+        for (ContextFragment candidate : ranked) {
+            if (candidate.getText() == null || candidate.getText().isBlank()) {
+                continue;
+            }
+            int[] tokens = TextAnalyzer.analyzeCanonical(candidate.getText()).distinctTokens();
+            if (overlapsAny(tokens, chosenTokens)) {
+                duplicates++;
+                continue;
+            }
+
+            int limit = Math.min(maxFragmentTokens, budget - used);
+            ContextFragment fitted = candidate;
+            int cost = estimateTokens(candidate.getText());
+            if (cost > limit) {
+                if (limit < MIN_TRIMMED_TOKENS) {
+                    continue;
+                }
+                fitted = candidate.withText(trimToTokens(candidate.getText(), limit));
+                cost = estimateTokens(fitted.getText());
+            }
+            chosen.put(candidate, fitted);
+            chosenTokens.add(tokens);
+            used += cost;
+        }
+
+        List<ContextFragment> selected = new ArrayList<>(chosen.size());
+        for (ContextFragment candidate : candidates) {
+            ContextFragment fitted = chosen.get(candidate);
+            if (fitted != null) {
+                selected.add(fitted);
+            }
+        }
+        adviceMetrics.recordPromptContext(callType, candidates.size(), selected.size(), duplicates, used);
+        log.debug("프롬프트 컨텍스트 구성: 종류={}, 후보={}, 선택={}, 중복 제외={}, 추정 토큰={}/{}",
+                callType, candidates.size(), selected.size(), duplicates, used, budget);
+        return selected;
+    }
+
+    /**
+     * 텍스트의 추정 토큰 수
+     * 한글은 음절 1.5개당, 그 밖의 문자는 4자당 1토큰으로 계산하고 보정 계수를 곱합니다.
+     */
+    public int estimateTokens(String text) {
+        return (int) Math.ceil(rawEstimate(text) * calibration);
+    }
+
+    /**
+     * Gemini 응답의 토큰 사용량을 기록하고, 텍스트만 보낸 요청이면 추정치 보정 계수를 갱신합니다.
+     * @param game 지식 기준 게임 이름 (지원하지 않는 게임은 other)
+     * @param outcome 응답 종료 사유
+     */
+    public void recordUsage(GeminiRequest request, GeminiResponse.UsageMetadata usage, String game, String outcome) {
+        if (usage == null || usage.getPromptTokenCount() == null) {
+            return;
+        }
+        boolean hasImage = false;
+        double estimated = 0;
+        if (request.getContents() != null) {
+            for (GeminiRequest.Content content : request.getContents()) {
+                if (content.getParts() == null) {
+                    continue;
+                }
+                for (GeminiRequest.Part part : content.getParts()) {
+                    hasImage |= part.getInlineData() != null;
+                    estimated += rawEstimate(part.getText());
+                }
+            }
+        }
+        int candidatesTokens = usage.getCandidatesTokenCount() != null ? usage.getCandidatesTokenCount() : 0;
+        adviceMetrics.recordGeminiTokens(hasImage ? "image" : "text", game, outcome,
+                usage.getPromptTokenCount(), candidatesTokens);
+
+        // 이미지 토큰은 텍스트 추정과 무관하므로 텍스트 전용 요청만 보정에 사용
+        if (!hasImage && estimated > 0) {
+            double ratio = Math.max(0.5, Math.min(2.0, usage.getPromptTokenCount() / estimated));
+            calibration = calibration + CALIBRATION_ALPHA * (ratio - calibration);
+        }
+    }
+
+    public double getCalibration() {
+        return calibration;
+    }
+
+    private int budgetOf(String callType) {
+        if (CALL_SCREEN.equals(callType)) {
+            return screenBudget;
+        }
+        if (CALL_SINGLE_PASS.equals(callType)) {
+            return singlePassBudget;
+        }
+        return adviceBudget;
+    }
+
+    private boolean overlapsAny(int[] tokens, List<int[]> chosenTokens) {
+        for (int[] other : chosenTokens) {
+            if (overlap(tokens, other) >= maxOverlap) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 두 정렬된 토큰 집합의 포함도 (교집합 / 작은 집합 크기)
+     */
+    private static double overlap(int[] a, int[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return 0.0;
+        }
+        int i = 0;
+        int j = 0;
+        int common = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) common / Math.min(a.length, b.length);
+    }
+
+    private static double rawEstimate(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int hangul = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch >= '가' && ch <= '힣') {
+                hangul++;
+            } else {
+                other++;
+            }
+        }
+        return hangul / 1.5 + other / 4.0;
+    }
+
+    /**
+     * 추정 토큰 수가 limit 이하가 되도록 자르고, 가능하면 문장 끝에서 끊습니다.
+     */
+    private String trimToTokens(String text, int limit) {
+        double allowed = limit / calibration;
+        double spent = 0;
+        int end = 0;
+        while (end < text.length()) {
+            char ch = text.charAt(end);
+            double cost = ch >= '가' && ch <= '힣' ? 1 / 1.5 : 1 / 4.0;
+            if (spent + cost > allowed - 1) {
+                break;
+            }
+            spent += cost;
+            end++;
+        }
+        int sentenceEnd = -1;
+        for (int i = end - 1; i > end / 2; i--) {
+            char ch = text.charAt(i);
+            if (ch == '.' || ch == '!' || ch == '?' || ch == '\n') {
+                sentenceEnd = i + 1;
+                break;
+            }
+        }
+        if (sentenceEnd > 0) {
+            return text.substring(0, sentenceEnd).trim();
+        }
+        return text.substring(0, end).trim() + "…";
+    }
+}
@@ -0,0 +1,134 @@
+package com.gameadvisor.service.resilience;
+
+import com.gameadvisor.service.metrics.AdviceMetrics;
+import com.gameadvisor.util.CircuitBreaker;
+import com.gameadvisor.util.TokenBucket;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Gemini 호출 보호 장치
+ * 1. 서킷 브레이커: Gemini 장애가 이어지면 일정 시간 호출을 차단하고 시험 호출로 복구 여부 확인
+ * 2. 속도 제한(토큰 버킷): API 할당량을 넘지 않도록 호출 속도 제한
+ * 3. 동시 호출 제한(bulkhead): Gemini가 느려져도 요청 스레드가 모두 묶이지 않도록 동시 호출 수 제한
+ * 거부된 호출은 짧게 대기한 뒤 {@link GeminiUnavailableException}으로 즉시 실패합니다.
+ */
+@Slf4j
+@Component
+public class GeminiCallGuard {
+
+    private final AdviceMetrics adviceMetrics;
+    private final Semaphore bulkhead;
+    private final long bulkheadWaitMs;
+    private final TokenBucket rateLimiter;
+    private final long rateLimitWaitMs;
+    private final CircuitBreaker circuitBreaker;
+
+    @Autowired
+    public GeminiCallGuard(AdviceMetrics adviceMetrics,
+                           @Value("${advice.gemini.max-concurrent:8}") int maxConcurrent,
+                           @Value("${advice.gemini.bulkhead-wait-ms:500}") long bulkheadWaitMs,
+                           @Value("${advice.gemini.rate-per-minute:60}") double ratePerMinute,
+                           @Value("${advice.gemini.rate-burst:10}") int rateBurst,
+                           @Value("${advice.gemini.rate-wait-ms:1000}") long rateLimitWaitMs,
+                           @Value("${advice.gemini.breaker.window-size:20}") int breakerWindowSize,
+                           @Value("${advice.gemini.breaker.minimum-calls:10}") int breakerMinimumCalls,
+                           @Value("${advice.gemini.breaker.failure-rate-threshold:50}") double breakerFailureRate,
+                           @Value("${advice.gemini.breaker.open-ms:30000}") long breakerOpenMs,
+                           @Value("${advice.gemini.breaker.half-open-calls:3}") int breakerHalfOpenCalls) {
+        this.adviceMetrics = adviceMetrics;
+        this.bulkhead = new Semaphore(maxConcurrent, true);
+        this.bulkheadWaitMs = bulkheadWaitMs;
+        this.rateLimiter = new TokenBucket(ratePerMinute / 60.0, rateBurst);
+        this.rateLimitWaitMs = rateLimitWaitMs;
+        this.circuitBreaker = new CircuitBreaker(breakerWindowSize, breakerMinimumCalls, breakerFailureRate,
+                breakerOpenMs, breakerHalfOpenCalls, (from, to) -> {
+                    log.warn("Gemini 서킷 브레이커 상태 전환: {} → {}", from, to);
+                    adviceMetrics.recordBreakerTransition(from.name(), to.name());
+                });
+        adviceMetrics.bindGeminiGuard(bulkhead::availablePermits, rateLimiter::availableTokens,
+                () -> circuitBreaker.getState().ordinal());
+    }
+
+    /**
+     * 보호 장치를 거쳐 Gemini 호출을 수행합니다.
+     * @throws GeminiUnavailableException 브레이커 차단, 속도 제한 또는 동시 호출 한도 초과 시
+     */
+    public <T> T call(Supplier<T> upstreamCall) {
+        CircuitBreaker.Permission permission = circuitBreaker.tryAcquirePermission();
+        if (permission == null) {
+            throw reject(GeminiUnavailableException.REASON_CIRCUIT_OPEN, "Gemini 서킷 브레이커가 열려 있습니다.");
+        }
+
+        // 동시 호출 자리를 먼저 확보한 뒤 속도 제한 토큰을 소비 (bulkhead에서 거부된 호출이 할당량을 쓰지 않도록)
+        boolean slotAcquired = false;
+        boolean permitted = false;
+        try {
+            if (!bulkhead.tryAcquire(bulkheadWaitMs, TimeUnit.MILLISECONDS)) {
+                throw reject(GeminiUnavailableException.REASON_BULKHEAD_FULL, "Gemini 동시 호출 한도를 초과했습니다.");
+            }
+            slotAcquired = true;
+            if (!rateLimiter.tryAcquire(rateLimitWaitMs)) {
+                throw reject(GeminiUnavailableException.REASON_RATE_LIMITED, "Gemini 호출 속도 제한을 초과했습니다.");
+            }
+            permitted = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject(slotAcquired ? GeminiUnavailableException.REASON_RATE_LIMITED
+                    : GeminiUnavailableException.REASON_BULKHEAD_FULL, "Gemini 호출 대기 중 인터럽트되었습니다.");
+        } finally {
+            if (!permitted) {
+                // 호출하지 못한 경우 브레이커 판정에는 반영하지 않고 허가와 동시 호출 자리만 반납
+                circuitBreaker.releasePermission(permission);
+                if (slotAcquired) {
+                    bulkhead.release();
+                }
+            }
+        }
+
+        try {
+            T result = upstreamCall.get();
+            circuitBreaker.onSuccess(permission);
+            return result;
+        } catch (RuntimeException e) {
+            if (isUpstreamFailure(e)) {
+                circuitBreaker.onFailure(permission);
+            } else {
+                // 응답 파싱 오류 등 로컬 예외는 Gemini 상태와 무관하므로 결과 없이 허가만 반납
+                // (HALF_OPEN에서 복구 근거 없이 브레이커가 닫히지 않도록)
+                circuitBreaker.releasePermission(permission);
+            }
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public CircuitBreaker.State getBreakerState() {
+        return circuitBreaker.getState();
+    }
+
+    private GeminiUnavailableException reject(String reason, String message) {
+        adviceMetrics.recordGeminiRejected(reason);
+        log.warn("Gemini 호출 거부: {}", message);
+        return new GeminiUnavailableException(reason, message);
+    }
+
+    /**
+     * Gemini 장애로 볼 예외인지 판단 (타임아웃/연결 실패, 5xx, 429 - 요청 자체의 4xx 오류는 제외)
+     */
+    private boolean isUpstreamFailure(RuntimeException e) {
+        if (e instanceof HttpClientErrorException clientError) {
+            return clientError.getStatusCode().value() == 429;
+        }
+        return e instanceof RestClientException;
+    }
+}
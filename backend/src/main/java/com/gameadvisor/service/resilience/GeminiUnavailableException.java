@@ -0,0 +1,23 @@
+package com.gameadvisor.service.resilience;
+
+/**
+ * Gemini 호출이 보호 장치(동시 호출 제한, 속도 제한, 서킷 브레이커)에 의해 거부되었을 때 발생
+ * 호출자는 저장된 지식 기반의 대체 조언으로 응답할 수 있습니다.
+ */
+public class GeminiUnavailableException extends RuntimeException {
+
+    public static final String REASON_BULKHEAD_FULL = "bulkhead_full";
+    public static final String REASON_RATE_LIMITED = "rate_limited";
+    public static final String REASON_CIRCUIT_OPEN = "circuit_open";
+
+    private final String reason;
+
+    public GeminiUnavailableException(String reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,97 @@
+package com.gameadvisor.service.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 미리 받아 둔 커뮤니티 덤프(위키/포럼 글 모음) 검색 소스
+ * web.search.dump-dir 아래의 *.jsonl 파일을 첫 검색 때 읽어 별도 로컬 인덱스로 만듭니다.
+ * 한 줄이 한 문서이며 형식은 {"game":"BloonsTD","url":"...","title":"...","content":"..."} 입니다.
+ * (game은 검색 파티션 이름) 디렉터리를 설정하지 않으면 항상 빈 결과를 반환합니다.
+ */
+@Slf4j
+@Component
+public class CommunityDumpSearchSource implements WebSearchSource {
+
+    private final ObjectMapper objectMapper;
+    private final LocalSearchIndex index;
+    private final String dumpDir;
+    private volatile boolean loaded;
+
+    @Autowired
+    public CommunityDumpSearchSource(ObjectMapper objectMapper,
+                                     @Value("${web.search.snippet-chars:240}") int snippetChars,
+                                     @Value("${web.search.dump-dir:}") String dumpDir) {
+        this.objectMapper = objectMapper;
+        this.index = new LocalSearchIndex(snippetChars);
+        this.dumpDir = dumpDir;
+    }
+
+    @Override
+    public String getName() {
+        return "dump";
+    }
+
+    @Override
+    public List<SearchHit> search(String partition, String query, String sitePrefix, int limit) {
+        if (!loaded) {
+            load();
+        }
+        return index.search(partition, query, sitePrefix, limit);
+    }
+
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (dumpDir == null || dumpDir.isBlank()) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        try (Stream<Path> files = Files.list(Paths.get(dumpDir))) {
+            files.filter(file -> file.toString().endsWith(".jsonl"))
+                    .sorted()
+                    .forEach(this::loadFile);
+            log.info("커뮤니티 덤프 인덱스 생성 완료: {} 문서, {}ms", index.size(), System.currentTimeMillis() - startedAt);
+        } catch (IOException e) {
+            log.warn("커뮤니티 덤프 디렉터리 읽기 실패: {} - {}", dumpDir, e.getMessage());
+        }
+    }
+
+    private void loadFile(Path file) {
+        int lineNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode node = objectMapper.readTree(line);
+                String game = node.path("game").asText("");
+                String url = node.path("url").asText("");
+                String content = node.path("content").asText("");
+                if (game.isEmpty() || url.isEmpty() || content.isEmpty()) {
+                    continue;
+                }
+                index.add(game, url, node.path("title").asText(""), content);
+            }
+        } catch (IOException e) {
+            log.warn("커뮤니티 덤프 파일 읽기 실패: {} ({}행) - {}", file, lineNumber, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.gameadvisor.service.search;
+
+import java.util.List;
+
+/**
+ * 연합 웹 검색 결과
+ * 마감 시간 초과, 실행 거부, 예외로 빠진 소스가 있으면 부분 결과이며, 부분 결과는 캐시하지 않아야 합니다.
+ */
+public class FederatedSearchResult {
+
+    private final List<SearchHit> hits;
+    private final boolean complete;
+
+    public FederatedSearchResult(List<SearchHit> hits, boolean complete) {
+        this.hits = hits;
+        this.complete = complete;
+    }
+
+    /**
+     * RRF 점수 순으로 합친 결과
+     */
+    public List<SearchHit> getHits() {
+        return hits;
+    }
+
+    /**
+     * 활성화된 모든 소스가 마감 시간 안에 정상 완료되었는지
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+}
@@ -0,0 +1,165 @@
+package com.gameadvisor.service.search;
+
+import com.gameadvisor.service.metrics.AdviceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 연합 웹 검색
+ * 설정된 모든 검색 소스({@link WebSearchSource})를 병렬로 호출하고, 소스마다 개별 마감 시간을 적용합니다.
+ * 마감 시간을 넘기거나 실패한 소스는 제외하고 나머지 결과만으로 응답하므로 (부분 결과, {@link FederatedSearchResult#isComplete()} = false)
+ * 전체 지연은 소스 지연의 합이 아니라 가장 늦은 소스의 마감 시간을 넘지 않습니다.
+ * 결과는 URL(스킴/www 제외) 기준으로 중복을 제거하고, 소스 간 점수 척도가 달라
+ * 순위 기반 융합(RRF: 소스별 1 / (60 + 순위)의 합)으로 합칩니다.
+ *
+ * 소스별 설정: web.search.sources.{이름}.enabled (기본 true), web.search.sources.{이름}.timeout-ms
+ */
+@Slf4j
+@Component
+public class FederatedWebSearch {
+
+    private static final double RRF_K = 60.0;
+
+    private final List<WebSearchSource> sources;
+    private final Executor executor;
+    private final AdviceMetrics adviceMetrics;
+    private final Environment environment;
+
+    @Value("${web.search.source-timeout-ms:800}")
+    private long defaultTimeoutMs;
+
+    @Autowired
+    public FederatedWebSearch(List<WebSearchSource> sources,
+                              @Qualifier("webSearchExecutor") Executor executor,
+                              AdviceMetrics adviceMetrics,
+                              Environment environment) {
+        this.sources = sources;
+        this.executor = executor;
+        this.adviceMetrics = adviceMetrics;
+        this.environment = environment;
+    }
+
+    /**
+     * 모든 소스를 병렬로 검색하여 합친 상위 limit 개를 반환합니다.
+     */
+    public FederatedSearchResult search(String partition, String query, String sitePrefix, int limit) {
+        List<CompletableFuture<SourceResult>> pending = new ArrayList<>();
+        for (WebSearchSource source : sources) {
+            if (environment.getProperty(propertyOf(source, "enabled"), Boolean.class, true)) {
+                pending.add(submit(source, partition, query, sitePrefix, limit));
+            }
+        }
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+
+        List<List<SearchHit>> rankedLists = new ArrayList<>();
+        boolean complete = true;
+        for (CompletableFuture<SourceResult> future : pending) {
+            SourceResult result = future.join();
+            rankedLists.add(result.hits);
+            complete &= result.completed;
+        }
+        return new FederatedSearchResult(merge(rankedLists, limit), complete);
+    }
+
+    /**
+     * 소스 검색을 실행기에 제출하고 마감 시간을 적용합니다.
+     * 실행기 포화(거부), 예외, 마감 시간 초과 시 모두 빈 미완료 결과로 완료됩니다.
+     */
+    private CompletableFuture<SourceResult> submit(WebSearchSource source, String partition, String query,
+                                                   String sitePrefix, int limit) {
+        long timeoutMs = environment.getProperty(propertyOf(source, "timeout-ms"), Long.class, defaultTimeoutMs);
+        long startedAt = System.nanoTime();
+        CompletableFuture<List<SearchHit>> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> source.search(partition, query, sitePrefix, limit), executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("웹 검색 소스 {} 실행 거부 (실행기 포화) - 제외", source.getName());
+            adviceMetrics.recordWebSearchSource(source.getName(), "rejected", 0);
+            return CompletableFuture.completedFuture(SourceResult.FAILED);
+        }
+
+        return future
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .handle((hits, ex) -> {
+                    long elapsed = System.nanoTime() - startedAt;
+                    if (ex == null) {
+                        adviceMetrics.recordWebSearchSource(source.getName(), hits.isEmpty() ? "empty" : "found", elapsed);
+                        return new SourceResult(hits, true);
+                    }
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof TimeoutException) {
+                        log.warn("웹 검색 소스 {} 마감 시간 초과 ({}ms) - 부분 결과로 응답", source.getName(), timeoutMs);
+                        adviceMetrics.recordWebSearchSource(source.getName(), "timeout", elapsed);
+                    } else {
+                        log.warn("웹 검색 소스 {} 실패 - 제외: {}", source.getName(), cause.getMessage());
+                        adviceMetrics.recordWebSearchSource(source.getName(), "error", elapsed);
+                    }
+                    return SourceResult.FAILED;
+                });
+    }
+
+    /**
+     * 소스별 순위 목록을 URL 기준으로 합치고 RRF 점수 순으로 정렬합니다.
+     * 같은 URL이 여러 소스에 있으면 점수를 더하고, 제목/스니펫은 가장 높은 순위의 결과를 사용합니다.
+     */
+    private static List<SearchHit> merge(List<List<SearchHit>> rankedLists, int limit) {
+        Map<String, SearchHit> best = new LinkedHashMap<>();
+        Map<String, Integer> bestRank = new LinkedHashMap<>();
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (List<SearchHit> hits : rankedLists) {
+            for (int rank = 0; rank < hits.size(); rank++) {
+                SearchHit hit = hits.get(rank);
+                String key = LocalSearchIndex.stripScheme(hit.getUrl());
+                scores.merge(key, 1.0 / (RRF_K + rank + 1), Double::sum);
+                Integer previous = bestRank.get(key);
+                if (previous == null || rank < previous) {
+                    best.put(key, hit);
+                    bestRank.put(key, rank);
+                }
+            }
+        }
+
+        List<SearchHit> merged = new ArrayList<>();
+        for (Map.Entry<String, SearchHit> entry : best.entrySet()) {
+            SearchHit hit = entry.getValue();
+            merged.add(new SearchHit(hit.getUrl(), hit.getTitle(), hit.getSnippet(), scores.get(entry.getKey())));
+        }
+        merged.sort(Comparator.comparingDouble(SearchHit::getScore).reversed());
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    private static String propertyOf(WebSearchSource source, String key) {
+        return "web.search.sources." + source.getName() + "." + key;
+    }
+
+    /**
+     * 소스 하나의 결과와 정상 완료 여부
+     */
+    private static class SourceResult {
+        private static final SourceResult FAILED = new SourceResult(List.of(), false);
+
+        private final List<SearchHit> hits;
+        private final boolean completed;
+
+        SourceResult(List<SearchHit> hits, boolean completed) {
+            this.hits = hits;
+            this.completed = completed;
+        }
+    }
+}
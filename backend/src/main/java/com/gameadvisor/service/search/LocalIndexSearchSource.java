@@ -0,0 +1,67 @@
+package com.gameadvisor.service.search;
+
+import com.gameadvisor.model.CrawledPage;
+import com.gameadvisor.repository.CrawledPageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 크롤러가 받아온 페이지(crawled_pages)의 로컬 인덱스 검색 소스
+ * 인덱스는 첫 검색(또는 시작 워밍업) 때 테이블에서 한 번 만들고, 이후 크롤링한 페이지는 즉시 추가됩니다.
+ */
+@Slf4j
+@Component
+public class LocalIndexSearchSource implements WebSearchSource {
+
+    private final CrawledPageRepository pageRepository;
+    private final LocalSearchIndex index;
+    private volatile boolean loaded;
+
+    @Autowired
+    public LocalIndexSearchSource(CrawledPageRepository pageRepository,
+                                  @Value("${web.search.snippet-chars:240}") int snippetChars) {
+        this.pageRepository = pageRepository;
+        this.index = new LocalSearchIndex(snippetChars);
+    }
+
+    @Override
+    public String getName() {
+        return "local";
+    }
+
+    @Override
+    public List<SearchHit> search(String partition, String query, String sitePrefix, int limit) {
+        if (!loaded) {
+            loadIndex();
+        }
+        return index.search(partition, query, sitePrefix, limit);
+    }
+
+    /**
+     * 페이지를 인덱스에 추가합니다. 인덱스 생성 중이면 끝날 때까지 대기합니다.
+     * (같은 URL은 교체되므로 생성 전에 추가해도 중복되지 않음)
+     */
+    public synchronized void add(String partition, String url, String title, String content) {
+        index.add(partition, url, title, content);
+    }
+
+    /**
+     * 저장된 페이지로 검색 인덱스를 만듭니다.
+     * @return 색인된 페이지 수
+     */
+    public synchronized int loadIndex() {
+        if (!loaded) {
+            long startedAt = System.currentTimeMillis();
+            for (CrawledPage page : pageRepository.findAll()) {
+                index.add(page.getGameName(), page.getUrl(), page.getTitle(), page.getContent());
+            }
+            loaded = true;
+            log.info("웹 검색 인덱스 생성 완료: {} 페이지, {}ms", index.size(), System.currentTimeMillis() - startedAt);
+        }
+        return index.size();
+    }
+}
@@ -0,0 +1,404 @@
+package com.gameadvisor.service.search;
+
+import com.gameadvisor.util.AnalyzedText;
+import com.gameadvisor.util.TextAnalyzer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 크롤링한 웹 페이지의 로컬 전문 검색 인덱스 (게임별 파티션)
+ * 문서는 공용 분석기({@link TextAnalyzer})로 토큰화하여 위치 정보가 있는 역색인에 보관하고,
+ * BM25로 순위를 매긴 뒤 질의어가 가장 많이 모인 구간을 스니펫으로 잘라 반환합니다.
+ * 질의는 원문 토큰과 표준 용어 토큰({@link TextAnalyzer#analyzeCanonical(String)})을 함께 사용하므로
+ * 한국어 질의로 영어 문서도 찾을 수 있습니다.
+ */
+public class LocalSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // 제목에 나온 질의어는 본문보다 가중치를 높게 (빈도에 더하는 배수)
+    private static final double TITLE_BOOST = 2.0;
+    // 질의의 연속된 두 토큰이 문서에서도 연속으로 나올 때의 보너스
+    private static final double PHRASE_WEIGHT = 0.5;
+    private static final int SNIPPET_WINDOW_TOKENS = 24;
+
+    private final int snippetChars;
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+
+    /**
+     * @param snippetChars 스니펫 최대 길이 (문자)
+     */
+    public LocalSearchIndex(int snippetChars) {
+        this.snippetChars = snippetChars;
+    }
+
+    /**
+     * 페이지를 색인합니다. 같은 파티션에 같은 URL이 있으면 교체합니다.
+     */
+    public void add(String partition, String url, String title, String content) {
+        partitions.computeIfAbsent(partition, k -> new Partition())
+                .add(url, title != null ? title : "", content != null ? content : "");
+    }
+
+    /**
+     * @param sitePrefix 결과를 이 URL 접두어(스킴 제외)로 시작하는 문서로 제한 (null이면 제한 없음)
+     * @return 점수 내림차순 상위 limit 개
+     */
+    public List<SearchHit> search(String partition, String query, String sitePrefix, int limit) {
+        Partition target = partitions.get(partition);
+        if (target == null || limit <= 0) {
+            return List.of();
+        }
+        return target.search(query != null ? query : "", sitePrefix, limit, snippetChars);
+    }
+
+    /**
+     * 전체 파티션의 문서 수
+     */
+    public int size() {
+        int total = 0;
+        for (Partition partition : partitions.values()) {
+            total += partition.size();
+        }
+        return total;
+    }
+
+    static String stripScheme(String url) {
+        return url.toLowerCase().replaceFirst("^https?://", "").replaceFirst("^www\\.", "");
+    }
+
+    /**
+     * 한 게임의 위치 역색인
+     * 문서 ID는 documents 목록의 인덱스이며, 교체된 문서의 자리는 null로 남깁니다.
+     */
+    private static class Partition {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final List<Document> documents = new ArrayList<>();
+        private final Map<String, Integer> idsByUrl = new HashMap<>();
+        private final Map<Integer, List<Posting>> postings = new HashMap<>();
+        private int liveDocuments;
+        private long totalLength;
+
+        void add(String url, String title, String content) {
+            // 분석은 잠금 밖에서 수행
+            String text = title.isEmpty() ? content : title + " " + content;
+            AnalyzedText analyzed = TextAnalyzer.analyze(title, content);
+
+            int streamLength = analyzed.streamLength();
+            int[] offsets = new int[streamLength];
+            int titleEnd = 0;
+            for (int pos = 0; pos < streamLength; pos++) {
+                offsets[pos] = analyzed.offsetAt(pos);
+                if (offsets[pos] < 0 && titleEnd == 0 && !title.isEmpty()) {
+                    titleEnd = pos;
+                }
+            }
+
+            Map<Integer, Posting> documentPostings = new HashMap<>();
+            analyzed.forEachTermFrequency((token, frequency) ->
+                    documentPostings.put(token, new Posting(frequency)));
+            for (int pos = 0; pos < streamLength; pos++) {
+                if (offsets[pos] < 0) {
+                    continue;
+                }
+                documentPostings.get(analyzed.tokenAt(pos)).addPosition(pos, pos < titleEnd);
+            }
+
+            lock.writeLock().lock();
+            try {
+                Integer previous = idsByUrl.get(url);
+                if (previous != null) {
+                    remove(previous);
+                }
+                int docId = documents.size();
+                documents.add(new Document(url, title, text, analyzed.size(), offsets,
+                        documentPostings.keySet().stream().mapToInt(Integer::intValue).toArray()));
+                idsByUrl.put(url, docId);
+                for (Map.Entry<Integer, Posting> entry : documentPostings.entrySet()) {
+                    entry.getValue().docId = docId;
+                    postings.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).add(entry.getValue());
+                }
+                liveDocuments++;
+                totalLength += analyzed.size();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void remove(int docId) {
+            Document document = documents.get(docId);
+            for (int term : document.terms) {
+                List<Posting> list = postings.get(term);
+                if (list != null) {
+                    list.removeIf(posting -> posting.docId == docId);
+                    if (list.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+            documents.set(docId, null);
+            liveDocuments--;
+            totalLength -= document.length;
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return liveDocuments;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        List<SearchHit> search(String query, String sitePrefix, int limit, int snippetChars) {
+            AnalyzedText raw = TextAnalyzer.analyze(query);
+            int[] terms = union(raw.distinctTokens(), TextAnalyzer.analyzeCanonical(query).distinctTokens());
+            String site = sitePrefix != null ? stripScheme(sitePrefix) : null;
+
+            lock.readLock().lock();
+            try {
+                if (liveDocuments == 0) {
+                    return List.of();
+                }
+                Map<Integer, Candidate> candidates = new HashMap<>();
+                if (terms.length == 0 && site != null) {
+                    // 사이트 조건만 있는 질의: 해당 사이트 문서를 색인 순서대로
+                    for (int docId = 0; docId < documents.size(); docId++) {
+                        if (documents.get(docId) != null) {
+                            candidates.put(docId, new Candidate(docId));
+                        }
+                    }
+                }
+
+                double averageLength = Math.max(1.0, (double) totalLength / liveDocuments);
+                for (int term : terms) {
+                    List<Posting> list = postings.get(term);
+                    if (list == null) {
+                        continue;
+                    }
+                    double idf = Math.log(1.0 + (liveDocuments - list.size() + 0.5) / (list.size() + 0.5));
+                    for (Posting posting : list) {
+                        Document document = documents.get(posting.docId);
+                        double tf = posting.size + (TITLE_BOOST - 1.0) * posting.titleFrequency;
+                        double norm = K1 * (1.0 - B + B * document.length / averageLength);
+                        Candidate candidate = candidates.computeIfAbsent(posting.docId, Candidate::new);
+                        candidate.score += idf * tf * (K1 + 1.0) / (tf + norm);
+                        candidate.matched.put(term, posting);
+                    }
+                }
+                addPhraseBonus(raw, candidates);
+
+                List<Candidate> ranked = new ArrayList<>(candidates.size());
+                for (Candidate candidate : candidates.values()) {
+                    if (site == null || stripScheme(documents.get(candidate.docId).url).startsWith(site)) {
+                        ranked.add(candidate);
+                    }
+                }
+                ranked.sort((a, b) -> a.score != b.score ? Double.compare(b.score, a.score)
+                        : Integer.compare(a.docId, b.docId));
+
+                List<SearchHit> hits = new ArrayList<>(Math.min(limit, ranked.size()));
+                for (Candidate candidate : ranked.subList(0, Math.min(limit, ranked.size()))) {
+                    Document document = documents.get(candidate.docId);
+                    hits.add(new SearchHit(document.url, document.title,
+                            snippet(document, candidate.matched.values(), snippetChars), candidate.score));
+                }
+                return hits;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * 질의에서 연속된 두 토큰이 문서에서도 연속으로 나오면 점수를 더합니다.
+         */
+        private void addPhraseBonus(AnalyzedText raw, Map<Integer, Candidate> candidates) {
+            for (int pos = 0; pos + 1 < raw.streamLength(); pos++) {
+                if (raw.offsetAt(pos) < 0 || raw.offsetAt(pos + 1) < 0) {
+                    continue;
+                }
+                int first = raw.tokenAt(pos);
+                int second = raw.tokenAt(pos + 1);
+                for (Candidate candidate : candidates.values()) {
+                    Posting a = candidate.matched.get(first);
+                    Posting b = candidate.matched.get(second);
+                    if (a != null && b != null) {
+                        int adjacent = countAdjacent(a, b);
+                        if (adjacent > 0) {
+                            candidate.score += PHRASE_WEIGHT * Math.log(1.0 + adjacent);
+                        }
+                    }
+                }
+            }
+        }
+
+        private static int countAdjacent(Posting first, Posting second) {
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < first.size && j < second.size) {
+                int expected = first.positions[i] + 1;
+                if (second.positions[j] == expected) {
+                    count++;
+                    i++;
+                    j++;
+                } else if (second.positions[j] < expected) {
+                    j++;
+                } else {
+                    i++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * 서로 다른 질의어가 가장 많이 모인 토큰 구간을 찾아 단어 경계에 맞춰 자릅니다.
+         */
+        private static String snippet(Document document, Iterable<Posting> matched, int snippetChars) {
+            List<long[]> hits = new ArrayList<>();
+            int termIndex = 0;
+            for (Posting posting : matched) {
+                for (int k = 0; k < posting.size; k++) {
+                    hits.add(new long[]{posting.positions[k], termIndex});
+                }
+                termIndex++;
+            }
+
+            String text = document.text;
+            int start = 0;
+            int end = Math.min(text.length(), snippetChars);
+            if (!hits.isEmpty()) {
+                hits.sort((a, b) -> Long.compare(a[0], b[0]));
+                int[] termCounts = new int[termIndex];
+                int distinct = 0;
+                int bestDistinct = -1;
+                int bestCount = 0;
+                int bestFrom = 0;
+                int bestTo = 0;
+                int from = 0;
+                for (int to = 0; to < hits.size(); to++) {
+                    if (termCounts[(int) hits.get(to)[1]]++ == 0) {
+                        distinct++;
+                    }
+                    while (hits.get(to)[0] - hits.get(from)[0] >= SNIPPET_WINDOW_TOKENS) {
+                        if (--termCounts[(int) hits.get(from)[1]] == 0) {
+                            distinct--;
+                        }
+                        from++;
+                    }
+                    int count = to - from + 1;
+                    if (distinct > bestDistinct || (distinct == bestDistinct && count > bestCount)) {
+                        bestDistinct = distinct;
+                        bestCount = count;
+                        bestFrom = from;
+                        bestTo = to;
+                    }
+                }
+
+                int firstPos = (int) hits.get(bestFrom)[0];
+                int lastPos = (int) hits.get(bestTo)[0];
+                int matchStart = clamp(document.offsets[firstPos], text.length());
+                int matchEnd = clamp(nextOffset(document, lastPos, text.length()), text.length());
+                // 일치 구간을 가운데 두고 스니펫 길이만큼 양쪽으로 넓힘
+                int slack = Math.max(0, snippetChars - (matchEnd - matchStart));
+                start = Math.max(0, matchStart - slack / 2);
+                end = Math.min(text.length(), Math.max(matchEnd, start + snippetChars));
+                start = Math.max(0, Math.min(start, end - snippetChars));
+            }
+            return trimToWords(text, start, end);
+        }
+
+        private static int nextOffset(Document document, int position, int textLength) {
+            for (int next = position + 1; next < document.offsets.length; next++) {
+                if (document.offsets[next] > document.offsets[position]) {
+                    return document.offsets[next];
+                }
+            }
+            return textLength;
+        }
+
+        private static String trimToWords(String text, int start, int end) {
+            int s = start;
+            int e = end;
+            if (s > 0) {
+                int space = text.indexOf(' ', s);
+                if (space >= 0 && space < e) {
+                    s = space + 1;
+                }
+            }
+            if (e < text.length()) {
+                int space = text.lastIndexOf(' ', e);
+                if (space > s) {
+                    e = space;
+                }
+            }
+            String snippet = text.substring(s, e).replaceAll("\\s+", " ").trim();
+            return (s > 0 ? "…" : "") + snippet + (e < text.length() ? "…" : "");
+        }
+
+        private static int clamp(int offset, int length) {
+            return Math.max(0, Math.min(length, offset));
+        }
+
+        private static int[] union(int[] a, int[] b) {
+            int[] merged = Arrays.copyOf(a, a.length + b.length);
+            System.arraycopy(b, 0, merged, a.length, b.length);
+            return Arrays.stream(merged).distinct().toArray();
+        }
+    }
+
+    private static class Document {
+        private final String url;
+        private final String title;
+        private final String text;
+        private final int length;
+        private final int[] offsets;
+        private final int[] terms;
+
+        Document(String url, String title, String text, int length, int[] offsets, int[] terms) {
+            this.url = url;
+            this.title = title;
+            this.text = text;
+            this.length = length;
+            this.offsets = offsets;
+            this.terms = terms;
+        }
+    }
+
+    /**
+     * 한 문서에서 한 토큰이 나온 위치 목록 (오름차순)
+     */
+    private static class Posting {
+        private int docId;
+        private final int[] positions;
+        private int size;
+        private int titleFrequency;
+
+        Posting(int frequency) {
+            this.positions = new int[frequency];
+        }
+
+        void addPosition(int position, boolean inTitle) {
+            positions[size++] = position;
+            if (inTitle) {
+                titleFrequency++;
+            }
+        }
+    }
+
+    private static class Candidate {
+        private final int docId;
+        private final Map<Integer, Posting> matched = new HashMap<>();
+        private double score;
+
+        Candidate(int docId) {
+            this.docId = docId;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.gameadvisor.service.search;
+
+/**
+ * 로컬 웹 검색 결과 한 건
+ */
+public class SearchHit {
+
+    private final String url;
+    private final String title;
+    private final String snippet;
+    private final double score;
+
+    public SearchHit(String url, String title, String snippet, double score) {
+        this.url = url;
+        this.title = title;
+        this.snippet = snippet;
+        this.score = score;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * 질의어가 가장 많이 모인 본문 구간
+     */
+    public String getSnippet() {
+        return snippet;
+    }
+
+    /**
+     * 순위 점수 (로컬 인덱스는 구문 일치 보너스를 포함한 BM25, 연합 검색 결과는 RRF 점수)
+     */
+    public double getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,22 @@
+package com.gameadvisor.service.search;
+
+import java.util.List;
+
+/**
+ * 연합 웹 검색({@link FederatedWebSearch})에 참여하는 검색 소스
+ * 모든 소스는 병렬 실행기에서 동시에 호출되며, 마감 시간을 넘기면 결과 없이 제외됩니다.
+ */
+public interface WebSearchSource {
+
+    /**
+     * 소스 이름 (설정 키 web.search.sources.{이름}.* 와 메트릭 태그에 사용)
+     */
+    String getName();
+
+    /**
+     * @param partition 게임별 검색 파티션 이름 (예: BloonsTD)
+     * @param sitePrefix 결과를 이 URL 접두어로 시작하는 문서로 제한 (null이면 제한 없음)
+     * @return 소스 내 순위 순 상위 limit 개
+     */
+    List<SearchHit> search(String partition, String query, String sitePrefix, int limit);
+}
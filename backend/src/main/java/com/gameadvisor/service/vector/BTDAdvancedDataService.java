@@ -2,6 +2,7 @@ package com.gameadvisor.service.vector;
 
 import com.gameadvisor.model.vector.BloonsTDKnowledge;
 import com.gameadvisor.repository.vector.BloonsTDVectorRepository;
+import com.gameadvisor.util.TextAnalyzer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -219,34 +220,10 @@ public class BTDAdvancedDataService {
     }
     
     /**
-     * 고급 임베딩 생성 (더 정교한 벡터 생성)
+     * 고급 임베딩 생성 (검색 쿼리와 같은 분석기/차원을 사용)
      */
     private List<Double> generateAdvancedEmbedding(String text) {
-        List<Double> embedding = new ArrayList<>();
-        
-        // 텍스트를 단어별로 분리하여 더 정교한 임베딩 생성
-        String[] words = text.toLowerCase().split("\\s+");
-        int baseHash = text.hashCode();
-        
-        for (int i = 0; i < 768; i++) {
-            double value = 0.0;
-            
-            // 각 단어의 영향을 임베딩에 반영
-            for (int j = 0; j < words.length; j++) {
-                int wordHash = words[j].hashCode();
-                value += Math.sin((baseHash + wordHash + i * 13 + j * 7) / 1000.0) * (0.3 + 0.4 / (j + 1));
-            }
-            
-            // 정규화
-            value = value / words.length;
-            
-            // 범위를 [-1, 1]로 제한
-            value = Math.max(-1.0, Math.min(1.0, value));
-            
-            embedding.add(value);
-        }
-        
-        return embedding;
+        return TextAnalyzer.embed(TextAnalyzer.analyze(text), 768);
     }
     
     /**
@@ -2,6 +2,7 @@ package com.gameadvisor.service.vector;
 
 import com.gameadvisor.model.vector.BloonsTDKnowledge;
 import com.gameadvisor.repository.vector.BloonsTDVectorRepository;
+import com.gameadvisor.util.TextAnalyzer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -145,18 +146,9 @@ public class BloonsTDSampleDataService {
         return knowledgeList;
     }
     
-    // 샘플 임베딩 생성 (실제로는 AI 모델 사용)
+    // 샘플 임베딩 생성 (검색 쿼리와 같은 분석기/차원을 사용)
     private List<Double> generateSampleEmbedding(String text) {
-        List<Double> embedding = new ArrayList<>();
-        int hash = text.hashCode();
-        
-        for (int i = 0; i < 768; i++) {
-            // 텍스트 해시를 기반으로 의사 임베딩 생성
-            double value = Math.sin((hash + i * 7) / 1000.0) * 0.5;
-            embedding.add(value);
-        }
-        
-        return embedding;
+        return TextAnalyzer.embed(TextAnalyzer.analyze(text), 768);
     }
     
     /**
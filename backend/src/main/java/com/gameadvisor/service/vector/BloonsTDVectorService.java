@@ -4,6 +4,9 @@ import com.gameadvisor.model.vector.BaseGameKnowledge;
 import com.gameadvisor.model.vector.BloonsTDKnowledge;
 import com.gameadvisor.model.vector.VectorSearchResult;
 import com.gameadvisor.repository.vector.BloonsTDVectorRepository;
+import com.gameadvisor.util.AnalyzedText;
+import com.gameadvisor.util.KeywordSet;
+import com.gameadvisor.util.TextAnalyzer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -16,6 +19,22 @@ import java.util.regex.Pattern;
 @Service
 public class BloonsTDVectorService implements GameVectorService {
     
+    private static final int EMBEDDING_DIMENSION = 768;
+    private static final Pattern ROUND_PATTERN = Pattern.compile("라운드\\s*(\\d+)|round\\s*(\\d+)", Pattern.CASE_INSENSITIVE);
+    
+    private static final KeywordSet CERAMIC_KEYWORDS = KeywordSet.of("세라믹", "ceramic");
+    private static final KeywordSet MOAB_KEYWORDS = KeywordSet.of("moab", "모압");
+    private static final KeywordSet CAMO_KEYWORDS = KeywordSet.of("camo", "카모", "위장");
+    private static final KeywordSet LEAD_KEYWORDS = KeywordSet.of("lead", "리드", "납");
+    private static final KeywordSet BOSS_KEYWORDS = KeywordSet.of("boss", "보스");
+    private static final KeywordSet COMBO_KEYWORDS = KeywordSet.of("combo", "조합");
+    private static final KeywordSet ECONOMY_KEYWORDS = KeywordSet.of("economy", "경제", "돈");
+    
+    private static final KeywordSet EXPERT_KEYWORDS = KeywordSet.of("expert", "전문가");
+    private static final KeywordSet HARD_KEYWORDS = KeywordSet.of("hard", "어려움");
+    private static final KeywordSet MEDIUM_KEYWORDS = KeywordSet.of("medium", "보통");
+    private static final KeywordSet EASY_KEYWORDS = KeywordSet.of("easy", "쉬움");
+    
     private final BloonsTDVectorRepository repository;
     
     @Autowired
@@ -28,17 +47,20 @@ public class BloonsTDVectorService implements GameVectorService {
         log.info("BloonsTD 상황 검색: {}", situation);
         
         try {
+            // 상황 텍스트는 한 번만 분석하여 분류와 임베딩에 재사용
+            AnalyzedText analyzed = TextAnalyzer.analyze(situation);
+            
             // 상황에서 정보 추출
             int round = extractRoundNumber(situation);
             String roundRange = BloonsTDKnowledge.getRoundRange(round);
-            String situationType = extractSituationType(situation);
-            String difficulty = extractDifficulty(situation);
+            String situationType = extractSituationType(analyzed);
+            String difficulty = extractDifficulty(analyzed);
             
             log.info("추출된 정보 - 라운드: {}, 범위: {}, 유형: {}, 난이도: {}", 
                     round, roundRange, situationType, difficulty);
             
-            // 상황을 임베딩으로 변환 (현재는 가상의 임베딩 사용)
-            List<Double> queryEmbedding = generateQueryEmbedding(situation);
+            // 상황을 임베딩으로 변환
+            List<Double> queryEmbedding = generateQueryEmbedding(analyzed);
             
             // 우선 상황 유형으로 필터링하여 검색
             List<VectorSearchResult> results;
@@ -90,6 +112,11 @@ public class BloonsTDVectorService implements GameVectorService {
         }
     }
     
+    @Override
+    public int getEmbeddingDimension() {
+        return EMBEDDING_DIMENSION;
+    }
+    
     @Override
     public String getGameName() {
         return "BloonsTD";
@@ -103,23 +130,14 @@ public class BloonsTDVectorService implements GameVectorService {
                 gameName.toLowerCase().contains("bloonstd"));
     }
     
-    // 상황을 벡터로 변환하는 임시 메서드 (실제로는 임베딩 API 사용)
-    private List<Double> generateQueryEmbedding(String situation) {
-        // 임시로 간단한 해시 기반 벡터 생성 (실제로는 제미나이나 다른 임베딩 API 사용)
-        int hash = situation.hashCode();
-        List<Double> embedding = new java.util.ArrayList<>();
-        
-        for (int i = 0; i < 768; i++) { // 일반적인 임베딩 차원
-            embedding.add((double) ((hash + i) % 1000) / 1000.0);
-        }
-        
-        return embedding;
+    // 상황을 벡터로 변환 (공용 분석기의 토큰 스트림을 feature hashing)
+    private List<Double> generateQueryEmbedding(AnalyzedText analyzed) {
+        return TextAnalyzer.embed(analyzed, EMBEDDING_DIMENSION);
     }
     
     // 상황에서 라운드 번호 추출
     private int extractRoundNumber(String situation) {
-        Pattern pattern = Pattern.compile("라운드\\s*(\\d+)|round\\s*(\\d+)", Pattern.CASE_INSENSITIVE);
-        Matcher matcher = pattern.matcher(situation);
+        Matcher matcher = ROUND_PATTERN.matcher(situation);
         
         if (matcher.find()) {
             String roundStr = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
@@ -134,28 +152,26 @@ public class BloonsTDVectorService implements GameVectorService {
     }
     
     // 상황 유형 추출
-    private String extractSituationType(String situation) {
-        String lower = situation.toLowerCase();
-        
-        if (lower.contains("세라믹") || lower.contains("ceramic")) {
+    private String extractSituationType(AnalyzedText analyzed) {
+        if (analyzed.containsAny(CERAMIC_KEYWORDS)) {
             return BloonsTDKnowledge.SituationType.CERAMIC_DEFENSE;
         }
-        if (lower.contains("moab") || lower.contains("모압")) {
+        if (analyzed.containsAny(MOAB_KEYWORDS)) {
             return BloonsTDKnowledge.SituationType.MOAB_BATTLE;
         }
-        if (lower.contains("camo") || lower.contains("카모") || lower.contains("위장")) {
+        if (analyzed.containsAny(CAMO_KEYWORDS)) {
             return BloonsTDKnowledge.SituationType.CAMO_DETECTION;
         }
-        if (lower.contains("lead") || lower.contains("리드") || lower.contains("납")) {
+        if (analyzed.containsAny(LEAD_KEYWORDS)) {
             return BloonsTDKnowledge.SituationType.LEAD_POPPING;
         }
-        if (lower.contains("boss") || lower.contains("보스")) {
+        if (analyzed.containsAny(BOSS_KEYWORDS)) {
             return BloonsTDKnowledge.SituationType.BOSS_BATTLE;
         }
-        if (lower.contains("combo") || lower.contains("조합")) {
+        if (analyzed.containsAny(COMBO_KEYWORDS)) {
             return BloonsTDKnowledge.SituationType.TOWER_COMBO;
         }
-        if (lower.contains("economy") || lower.contains("경제") || lower.contains("돈")) {
+        if (analyzed.containsAny(ECONOMY_KEYWORDS)) {
             return BloonsTDKnowledge.SituationType.ECONOMY_BUILD;
         }
         
@@ -163,22 +179,20 @@ public class BloonsTDVectorService implements GameVectorService {
     }
     
     // 난이도 추출
-    private String extractDifficulty(String situation) {
-        String lower = situation.toLowerCase();
-        
-        if (lower.contains("expert") || lower.contains("전문가")) {
+    private String extractDifficulty(AnalyzedText analyzed) {
+        if (analyzed.containsAny(EXPERT_KEYWORDS)) {
             return "expert";
         }
-        if (lower.contains("hard") || lower.contains("어려움")) {
+        if (analyzed.containsAny(HARD_KEYWORDS)) {
             return "hard";
         }
-        if (lower.contains("medium") || lower.contains("보통")) {
+        if (analyzed.containsAny(MEDIUM_KEYWORDS)) {
             return "medium";
         }
-        if (lower.contains("easy") || lower.contains("쉬움")) {
+        if (analyzed.containsAny(EASY_KEYWORDS)) {
             return "easy";
         }
         
         return "medium"; // 기본값
     }
-} 
\ No newline at end of file
+}
@@ -34,6 +34,11 @@ public interface GameVectorService {
      */
     void updateSuccessMetric(String knowledgeId, double successMetric);
     
+    /**
+     * 검색 쿼리 임베딩 차원 (저장된 지식 임베딩과 같아야 함)
+     */
+    int getEmbeddingDimension();
+    
     /**
      * 게임 이름 반환
      * @return 게임 이름
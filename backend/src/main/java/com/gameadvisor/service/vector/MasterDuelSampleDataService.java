@@ -2,6 +2,7 @@ package com.gameadvisor.service.vector;
 
 import com.gameadvisor.model.vector.MasterDuelKnowledge;
 import com.gameadvisor.repository.vector.MasterDuelVectorRepository;
+import com.gameadvisor.util.TextAnalyzer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -16,6 +17,8 @@ import java.util.UUID;
 @Service
 public class MasterDuelSampleDataService {
     
+    private static final int EMBEDDING_DIMENSION = 384; // MasterDuelVectorService의 쿼리 임베딩과 같은 차원
+    
     private final MasterDuelVectorRepository repository;
     
     @Autowired
@@ -65,6 +68,11 @@ public class MasterDuelSampleDataService {
         knowledgeList.add(createDragonMaidKnowledge());
         knowledgeList.add(createEldlichKnowledge());
         
+        // 검색 쿼리와 같은 공간에서 비교되도록 제목과 본문으로 임베딩 생성
+        for (MasterDuelKnowledge knowledge : knowledgeList) {
+            knowledge.setEmbedding(generateSampleEmbedding(knowledge.getTitle() + " " + knowledge.getContent()));
+        }
+        
         return knowledgeList;
     }
     
@@ -79,7 +87,6 @@ public class MasterDuelSampleDataService {
             .content("게임 초반에 안정적인 콤보 설정을 위한 기본 전략입니다. 서치 카드를 우선적으로 사용하고, 핵심 콤보 피스를 모으는 것이 중요합니다.")
             .advice("🎯 초반에는 안정성을 우선시하세요. 서치 카드로 핵심 콤보 피스를 모으고, 상대의 방해를 최소화하는 것이 중요합니다.")
             .tags(Arrays.asList("콤보", "서치", "초반", "안정성"))
-            .embedding(generateRandomEmbedding())
             .confidence(0.85)
             .winRate(0.72)
             .usageCount(150)
@@ -99,7 +106,6 @@ public class MasterDuelSampleDataService {
             .content("상대의 함정 카드를 효과적으로 대응하는 방법입니다. 타이밍을 잘 맞춰서 카운터하거나, 미리 제거하는 것이 중요합니다.")
             .advice("🛡️ 함정 카드는 미리 제거하거나 타이밍을 맞춰 카운터하세요. 상대의 백덱을 읽고 대응하는 것이 중요합니다.")
             .tags(Arrays.asList("함정", "카운터", "타이밍", "백덱"))
-            .embedding(generateRandomEmbedding())
             .confidence(0.78)
             .winRate(0.65)
             .usageCount(120)
@@ -119,7 +125,6 @@ public class MasterDuelSampleDataService {
             .content("몬스터 간의 전투에서 우위를 점하는 전략입니다. 공격력, 효과, 위치 등을 고려해서 최적의 전투를 진행하세요.")
             .advice("⚔️ 몬스터 전투에서는 공격력뿐만 아니라 효과와 위치도 중요합니다. 상대의 몬스터 효과를 파악하고 대응하세요.")
             .tags(Arrays.asList("전투", "몬스터", "공격력", "효과"))
-            .embedding(generateRandomEmbedding())
             .confidence(0.82)
             .winRate(0.69)
             .usageCount(200)
@@ -139,7 +144,6 @@ public class MasterDuelSampleDataService {
             .content("마법 카드들을 연계해서 사용하는 고급 전략입니다. 체인 순서와 타이밍을 잘 맞춰서 최대 효과를 노리세요.")
             .advice("🔮 마법 카드 체인은 순서가 중요합니다. 상대의 대응을 예측하고 최적의 순서로 체인을 구성하세요.")
             .tags(Arrays.asList("마법", "체인", "순서", "타이밍"))
-            .embedding(generateRandomEmbedding())
             .confidence(0.88)
             .winRate(0.76)
             .usageCount(180)
@@ -159,7 +163,6 @@ public class MasterDuelSampleDataService {
             .content("핸드 어드밴티지를 유지하고 확보하는 전략입니다. 드로우 카드 활용과 자원 관리가 핵심입니다.")
             .advice("📋 핸드 어드밴티지는 게임의 승부를 가릅니다. 드로우 카드를 적절히 활용하고 자원을 아껴 사용하세요.")
             .tags(Arrays.asList("핸드", "어드밴티지", "드로우", "자원"))
-            .embedding(generateRandomEmbedding())
             .confidence(0.90)
             .winRate(0.80)
             .usageCount(250)
@@ -179,7 +182,6 @@ public class MasterDuelSampleDataService {
             .content("효율적인 덱 구성을 위한 기본 원리입니다. 시너지, 안정성, 메타 대응을 고려해서 덱을 구성하세요.")
             .advice("🏗️ 덱 구성은 시너지와 안정성의 균형이 중요합니다. 현재 메타를 분석하고 대응 카드를 포함시키세요.")
             .tags(Arrays.asList("덱구성", "시너지", "안정성", "메타"))
-            .embedding(generateRandomEmbedding())
             .confidence(0.85)
             .winRate(0.73)
             .usageCount(300)
@@ -199,7 +201,6 @@ public class MasterDuelSampleDataService {
             .content("사이드 덱을 활용해서 메타 대응력을 높이는 전략입니다. 상대 덱에 따라 적절한 카드를 교체하세요.")
             .advice("🔄 사이드 덱은 메타 대응의 핵심입니다. 상대 덱의 약점을 파악하고 적절한 카드를 교체하세요.")
             .tags(Arrays.asList("사이드", "메타", "대응", "교체"))
-            .embedding(generateRandomEmbedding())
             .confidence(0.82)
             .winRate(0.70)
             .usageCount(160)
@@ -219,7 +220,6 @@ public class MasterDuelSampleDataService {
             .content("엘리멘탈 히어로 덱의 기본 콤보와 융합 패턴을 설명합니다. 스파크맨, 버스터맨 등을 활용한 융합 전략이 핵심입니다.")
             .advice("🦸 엘리멘탈 히어로는 융합이 핵심입니다. 미라클 퓨전과 폴리머라이제이션을 적절히 활용하세요.")
             .tags(Arrays.asList("엘리멘탈", "히어로", "융합", "콤보"))
-            .embedding(generateRandomEmbedding())
             .confidence(0.87)
             .winRate(0.74)
             .usageCount(140)
@@ -239,7 +239,6 @@ public class MasterDuelSampleDataService {
             .content("블루아이즈 덱의 기본 전개 패턴과 서치 루트를 설명합니다. 블루아이즈의 강력한 공격력을 최대한 활용하세요.")
             .advice("🐉 블루아이즈는 고화력이 장점입니다. 서치 카드로 안정적으로 전개하고 상대를 압도하세요.")
             .tags(Arrays.asList("블루아이즈", "전개", "서치", "고화력"))
-            .embedding(generateRandomEmbedding())
             .confidence(0.83)
             .winRate(0.71)
             .usageCount(180)
@@ -259,7 +258,6 @@ public class MasterDuelSampleDataService {
             .content("드래곤메이드의 변신 시스템을 활용한 순환 전략입니다. 메이드와 드래곤 형태를 적절히 변환하며 어드밴티지를 확보하세요.")
             .advice("🏠 드래곤메이드는 변신이 핵심입니다. 상황에 맞춰 메이드와 드래곤 형태를 변환하며 순환하세요.")
             .tags(Arrays.asList("드래곤메이드", "변신", "순환", "어드밴티지"))
-            .embedding(generateRandomEmbedding())
             .confidence(0.86)
             .winRate(0.75)
             .usageCount(120)
@@ -279,7 +277,6 @@ public class MasterDuelSampleDataService {
             .content("엘드리치의 함정 카드 중심 컨트롤 전략입니다. 자원 순환과 상대 견제를 통해 게임을 장기화하며 승리하세요.")
             .advice("👑 엘드리치는 컨트롤이 핵심입니다. 함정 카드로 상대를 견제하며 자원 순환을 통해 우위를 점하세요.")
             .tags(Arrays.asList("엘드리치", "컨트롤", "함정", "견제"))
-            .embedding(generateRandomEmbedding())
             .confidence(0.89)
             .winRate(0.77)
             .usageCount(200)
@@ -288,15 +285,9 @@ public class MasterDuelSampleDataService {
             .build();
     }
     
-    /**
-     * 랜덤 임베딩 벡터 생성 (테스트용)
-     */
-    private List<Double> generateRandomEmbedding() {
-        List<Double> embedding = new ArrayList<>();
-        for (int i = 0; i < 384; i++) {
-            embedding.add(Math.random() * 2 - 1); // -1 ~ 1 사이의 랜덤 값
-        }
-        return embedding;
+    // 샘플 임베딩 생성 (검색 쿼리와 같은 분석기/차원을 사용)
+    private List<Double> generateSampleEmbedding(String text) {
+        return TextAnalyzer.embed(TextAnalyzer.analyze(text), EMBEDDING_DIMENSION);
     }
     
     /**
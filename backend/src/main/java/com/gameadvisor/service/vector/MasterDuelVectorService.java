@@ -4,6 +4,9 @@ import com.gameadvisor.model.vector.BaseGameKnowledge;
 import com.gameadvisor.model.vector.MasterDuelKnowledge;
 import com.gameadvisor.model.vector.VectorSearchResult;
 import com.gameadvisor.repository.vector.MasterDuelVectorRepository;
+import com.gameadvisor.util.AnalyzedText;
+import com.gameadvisor.util.KeywordSet;
+import com.gameadvisor.util.TextAnalyzer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -14,6 +17,26 @@ import java.util.List;
 @Service
 public class MasterDuelVectorService implements GameVectorService {
     
+    private static final int EMBEDDING_DIMENSION = 384;
+    
+    private static final KeywordSet COMBO_KEYWORDS = KeywordSet.of("combo", "콤보");
+    private static final KeywordSet TRAP_KEYWORDS = KeywordSet.of("trap", "트랩");
+    private static final KeywordSet MONSTER_BATTLE_KEYWORDS = KeywordSet.of("monster", "몬스터", "battle", "전투");
+    private static final KeywordSet SPELL_CHAIN_KEYWORDS = KeywordSet.of("spell", "마법", "chain", "체인");
+    private static final KeywordSet HAND_KEYWORDS = KeywordSet.of("hand", "핸드", "어드밴티지");
+    private static final KeywordSet DECK_BUILD_KEYWORDS = KeywordSet.of("deck", "덱", "build", "구성");
+    private static final KeywordSet SIDE_DECK_KEYWORDS = KeywordSet.of("side", "사이드");
+    private static final KeywordSet TURN_KEYWORDS = KeywordSet.of("turn", "턴", "최적화");
+    
+    private static final KeywordSet ELEMENTAL_HERO_KEYWORDS = KeywordSet.of("elemental", "hero", "히어로");
+    private static final KeywordSet BLUE_EYES_KEYWORDS = KeywordSet.of("blue", "eyes", "블루아이즈");
+    private static final KeywordSet DRAGON_MAID_KEYWORDS = KeywordSet.of("dragon", "maid", "드래곤메이드");
+    private static final KeywordSet ELDLICH_KEYWORDS = KeywordSet.of("eldlich", "엘드리치");
+    
+    private static final KeywordSet RANKED_KEYWORDS = KeywordSet.of("ranked", "랭크");
+    private static final KeywordSet CASUAL_KEYWORDS = KeywordSet.of("casual", "캐주얼");
+    private static final KeywordSet EVENT_KEYWORDS = KeywordSet.of("event", "이벤트");
+    
     private final MasterDuelVectorRepository repository;
     
     @Autowired
@@ -25,20 +48,23 @@ public class MasterDuelVectorService implements GameVectorService {
     public List<VectorSearchResult> searchSimilar(String situation, int limit) {
         log.info("Master Duel 상황 검색: {}", situation);
         
+        // 상황 텍스트는 한 번만 분석하여 분류와 임베딩에 재사용
+        AnalyzedText analyzed = TextAnalyzer.analyze(situation);
+        
         // 상황 유형 추출
-        String situationType = extractSituationType(situation);
+        String situationType = extractSituationType(analyzed);
         
         // 아키타입 추출
-        String archetype = extractArchetype(situation);
+        String archetype = extractArchetype(analyzed);
         
         // 포맷 유형 추출
-        String formatType = extractFormatType(situation);
+        String formatType = extractFormatType(analyzed);
         
         log.info("추출된 정보 - 유형: {}, 아키타입: {}, 포맷: {}", 
                 situationType, archetype, formatType);
         
-        // 임베딩 벡터 생성 (실제로는 Gemini API 등을 사용해야 함)
-        List<Double> queryEmbedding = generateQueryEmbedding(situation);
+        // 임베딩 벡터 생성
+        List<Double> queryEmbedding = generateQueryEmbedding(analyzed);
         
         // 상황 유형별 검색 시도
         if (situationType != null) {
@@ -90,6 +116,11 @@ public class MasterDuelVectorService implements GameVectorService {
         repository.updateSuccessMetric(knowledgeId, successMetric);
     }
     
+    @Override
+    public int getEmbeddingDimension() {
+        return EMBEDDING_DIMENSION;
+    }
+    
     @Override
     public String getGameName() {
         return "MasterDuel";
@@ -106,31 +137,29 @@ public class MasterDuelVectorService implements GameVectorService {
     }
     
     // 상황 유형 추출
-    private String extractSituationType(String situation) {
-        String lower = situation.toLowerCase();
-        
-        if (lower.contains("combo") || lower.contains("콤보")) {
+    private String extractSituationType(AnalyzedText analyzed) {
+        if (analyzed.containsAny(COMBO_KEYWORDS)) {
             return MasterDuelKnowledge.SituationType.COMBO_SETUP;
         }
-        if (lower.contains("trap") || lower.contains("트랩")) {
+        if (analyzed.containsAny(TRAP_KEYWORDS)) {
             return MasterDuelKnowledge.SituationType.TRAP_COUNTER;
         }
-        if (lower.contains("monster") || lower.contains("몬스터") || lower.contains("battle") || lower.contains("전투")) {
+        if (analyzed.containsAny(MONSTER_BATTLE_KEYWORDS)) {
             return MasterDuelKnowledge.SituationType.MONSTER_BATTLE;
         }
-        if (lower.contains("spell") || lower.contains("마법") || lower.contains("chain") || lower.contains("체인")) {
+        if (analyzed.containsAny(SPELL_CHAIN_KEYWORDS)) {
             return MasterDuelKnowledge.SituationType.SPELL_CHAIN;
         }
-        if (lower.contains("hand") || lower.contains("핸드") || lower.contains("어드밴티지")) {
+        if (analyzed.containsAny(HAND_KEYWORDS)) {
             return MasterDuelKnowledge.SituationType.HAND_ADVANTAGE;
         }
-        if (lower.contains("deck") || lower.contains("덱") || lower.contains("build") || lower.contains("구성")) {
+        if (analyzed.containsAny(DECK_BUILD_KEYWORDS)) {
             return MasterDuelKnowledge.SituationType.DECK_BUILD;
         }
-        if (lower.contains("side") || lower.contains("사이드")) {
+        if (analyzed.containsAny(SIDE_DECK_KEYWORDS)) {
             return MasterDuelKnowledge.SituationType.SIDE_DECK;
         }
-        if (lower.contains("turn") || lower.contains("턴") || lower.contains("최적화")) {
+        if (analyzed.containsAny(TURN_KEYWORDS)) {
             return MasterDuelKnowledge.SituationType.TURN_OPTIMIZATION;
         }
         
@@ -138,19 +167,17 @@ public class MasterDuelVectorService implements GameVectorService {
     }
     
     // 아키타입 추출
-    private String extractArchetype(String situation) {
-        String lower = situation.toLowerCase();
-        
-        if (lower.contains("elemental") || lower.contains("hero") || lower.contains("히어로")) {
+    private String extractArchetype(AnalyzedText analyzed) {
+        if (analyzed.containsAny(ELEMENTAL_HERO_KEYWORDS)) {
             return MasterDuelKnowledge.Archetype.ELEMENTAL_HERO;
         }
-        if (lower.contains("blue") || lower.contains("eyes") || lower.contains("블루아이즈")) {
+        if (analyzed.containsAny(BLUE_EYES_KEYWORDS)) {
             return MasterDuelKnowledge.Archetype.BLUE_EYES;
         }
-        if (lower.contains("dragon") || lower.contains("maid") || lower.contains("드래곤메이드")) {
+        if (analyzed.containsAny(DRAGON_MAID_KEYWORDS)) {
             return MasterDuelKnowledge.Archetype.DRAGON_MAID;
         }
-        if (lower.contains("eldlich") || lower.contains("엘드리치")) {
+        if (analyzed.containsAny(ELDLICH_KEYWORDS)) {
             return MasterDuelKnowledge.Archetype.ELDLICH;
         }
         
@@ -158,44 +185,33 @@ public class MasterDuelVectorService implements GameVectorService {
     }
     
     // 포맷 유형 추출
-    private String extractFormatType(String situation) {
-        String lower = situation.toLowerCase();
-        
-        if (lower.contains("ranked") || lower.contains("랭크")) {
+    private String extractFormatType(AnalyzedText analyzed) {
+        if (analyzed.containsAny(RANKED_KEYWORDS)) {
             return "ranked";
         }
-        if (lower.contains("casual") || lower.contains("캐주얼")) {
+        if (analyzed.containsAny(CASUAL_KEYWORDS)) {
             return "casual";
         }
-        if (lower.contains("event") || lower.contains("이벤트")) {
+        if (analyzed.containsAny(EVENT_KEYWORDS)) {
             return "event";
         }
         
         return "ranked"; // 기본값
     }
     
-    // 임시 임베딩 생성 (실제로는 Gemini API나 다른 임베딩 모델 사용)
-    private List<Double> generateQueryEmbedding(String query) {
-        // 간단한 해시 기반 임베딩 (실제 구현시에는 AI 모델 사용)
-        List<Double> embedding = new java.util.ArrayList<>();
-        int hash = query.hashCode();
-        
-        for (int i = 0; i < 384; i++) {
-            double value = Math.sin(hash * (i + 1) * 0.1) * 0.5;
-            embedding.add(value);
-        }
-        
-        return embedding;
+    // 쿼리 임베딩 생성 (공용 분석기의 토큰 스트림을 feature hashing)
+    private List<Double> generateQueryEmbedding(AnalyzedText analyzed) {
+        return TextAnalyzer.embed(analyzed, EMBEDDING_DIMENSION);
     }
     
     // MasterDuel 특화 검색 메서드들
     public List<VectorSearchResult> searchByArchetype(String archetype, int limit) {
-        List<Double> queryEmbedding = generateQueryEmbedding(archetype);
+        List<Double> queryEmbedding = generateQueryEmbedding(TextAnalyzer.analyze(archetype));
         return repository.findSimilarByArchetype(queryEmbedding, archetype, limit);
     }
     
     public List<VectorSearchResult> searchByFormatType(String formatType, int limit) {
-        List<Double> queryEmbedding = generateQueryEmbedding(formatType);
+        List<Double> queryEmbedding = generateQueryEmbedding(TextAnalyzer.analyze(formatType));
         return repository.findSimilarByFormatType(queryEmbedding, formatType, limit);
     }
     
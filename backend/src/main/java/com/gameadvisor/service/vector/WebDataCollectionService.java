@@ -1,18 +1,24 @@
 package com.gameadvisor.service.vector;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
-import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -22,18 +28,30 @@ import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import com.gameadvisor.model.CrawlJob;
+import com.gameadvisor.model.FrontierEntry;
+import com.gameadvisor.model.PageFetchState;
 import com.gameadvisor.model.WebSearchRequest;
 import com.gameadvisor.model.WebSearchResponse;
 import com.gameadvisor.model.vector.BloonsTDKnowledge;
+import com.gameadvisor.repository.CrawlFrontierRepository;
+import com.gameadvisor.repository.PageFetchStateRepository;
 import com.gameadvisor.repository.vector.BloonsTDVectorRepository;
 import com.gameadvisor.service.WebSearchService;
+import com.gameadvisor.service.crawler.CrawlerEngine;
+import com.gameadvisor.service.crawler.FetchedPage;
+import com.gameadvisor.service.crawler.PageFetcher;
+import com.gameadvisor.service.crawler.PageSection;
+import com.gameadvisor.service.crawler.SectionSplitter;
+import com.gameadvisor.util.AnalyzedText;
+import com.gameadvisor.util.KeywordSet;
+import com.gameadvisor.util.TextAnalyzer;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -41,9 +59,40 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class WebDataCollectionService {
     
+    // 수집한 페이지를 로컬 웹 검색 인덱스에 넣을 때 사용하는 게임 이름
+    private static final String GAME_NAME = "BloonsTD";
+    
     private final WebSearchService webSearchService;
     private final BloonsTDVectorRepository repository;
-    private final RestTemplate restTemplate;
+    private final PageFetcher pageFetcher;
+    private final CrawlerEngine crawlerEngine;
+    private final PageFetchStateRepository fetchStateRepository;
+    private final CrawlFrontierRepository frontierRepository;
+    private final Executor crawlResumeExecutor;
+    
+    // 대기열 임대 소유자 (노드 구분용 "pid@호스트")
+    private static final String NODE_ID = ManagementFactory.getRuntimeMXBean().getName();
+    
+    @Value("${crawler.frontier.lease-ms:300000}")
+    private long leaseMs;
+    
+    @Value("${crawler.frontier.lease-batch:8}")
+    private int leaseBatch;
+    
+    @Value("${crawler.frontier.max-attempts:3}")
+    private int maxAttempts;
+    
+    @Value("${crawler.frontier.retry-delay-ms:30000}")
+    private long retryDelayMs;
+    
+    @Value("${crawler.frontier.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+    
+    @Value("${crawler.frontier.max-urls-per-crawl:1000}")
+    private int maxUrlsPerCrawl;
+    
+    @Value("${crawler.frontier.resume-on-start:true}")
+    private boolean resumeOnStart;
     
     // BTD 관련 검색 키워드
     private static final List<String> BTD_KEYWORDS = Arrays.asList(
@@ -89,16 +138,114 @@ public class WebDataCollectionService {
         "gamepress.gg"
     );
     
+    private static final int EMBEDDING_DIMENSION = 768;
+    
+    // 본문 분석용 정규식 (호출마다 컴파일하지 않도록 미리 컴파일)
+    private static final Pattern ROUND_PATTERN = Pattern.compile("round\\s+(\\d+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern HTML_HEADER_PATTERN = Pattern.compile("<h[1-6][^>]*>([^<]+)</h[1-6]>", Pattern.CASE_INSENSITIVE);
+    
+    // 분류용 키워드 집합 (클래스 로딩 시 한 번만 토큰화)
+    private static final KeywordSet BTD_RELATED_KEYWORDS = KeywordSet.of(
+        "bloons", "btd", "tower defense", "monkey", "dart monkey", "boomerang", 
+        "tack shooter", "bomb shooter", "ice monkey", "glue gunner", "sniper",
+        "monkey sub", "buccaneer", "ace", "heli", "mortar", "dartling", 
+        "wizard", "super monkey", "ninja", "alchemist", "druid", "banana farm",
+        "spike factory", "village", "engineer", "hero", "quincy", "gwendolin",
+        "striker jones", "obyn", "captain churchill", "benjamin", "ezili",
+        "pat fusty", "adora", "brickell", "etienne", "sauda", "psi", "geraldo",
+        "moab", "ceramic", "lead", "camo", "regrow", "fortified", "ddt", "bad",
+        "round", "pop", "popping", "pierce", "damage", "upgrade", "tier", "paragon"
+    );
+    
+    private static final KeywordSet HERO_CATEGORY_KEYWORDS = KeywordSet.of(
+        "hero", "quincy", "gwendolin", "striker", "obyn", "churchill", "benjamin", "ezili", "pat",
+        "adora", "brickell", "etienne", "sauda", "psi", "geraldo"
+    );
+    private static final KeywordSet TOWER_CATEGORY_KEYWORDS = KeywordSet.of(
+        "tower", "monkey", "dart", "boomerang", "tack", "bomb", "ice", "glue", "sniper", "sub",
+        "buccaneer", "ace", "heli", "mortar", "dartling", "wizard", "super", "ninja", "alchemist",
+        "druid", "spike", "village", "engineer"
+    );
+    private static final KeywordSet STRATEGY_CATEGORY_KEYWORDS = KeywordSet.of(
+        "strategy", "strategies", "guide", "tip", "combo", "build"
+    );
+    private static final KeywordSet MAP_CATEGORY_KEYWORDS = KeywordSet.of(
+        "map", "beginner", "intermediate", "advanced", "expert"
+    );
+    private static final KeywordSet BLOON_CATEGORY_KEYWORDS = KeywordSet.of(
+        "bloon", "moab", "ceramic", "lead", "camo", "regrow", "fortified", "ddt", "bad"
+    );
+    private static final KeywordSet UPGRADE_CATEGORY_KEYWORDS = KeywordSet.of(
+        "upgrade", "tier", "paragon"
+    );
+    private static final KeywordSet ECONOMY_CATEGORY_KEYWORDS = KeywordSet.of(
+        "economy", "banana", "farm", "farming", "money", "income"
+    );
+    
+    private static final KeywordSet EARLY_SITUATION_KEYWORDS = KeywordSet.of(
+        "round 1", "round 2", "round 3", "round 4", "round 5", "early", "beginner", "start", "starting"
+    );
+    private static final KeywordSet MID_SITUATION_KEYWORDS = KeywordSet.of(
+        "round 6", "round 7", "round 8", "round 9", "round 10", "ceramic", "middle", "mid"
+    );
+    private static final KeywordSet LATE_SITUATION_KEYWORDS = KeywordSet.of(
+        "round 80", "round 90", "round 100", "late", "endgame", "freeplay"
+    );
+    private static final KeywordSet BOSS_SITUATION_KEYWORDS = KeywordSet.of(
+        "boss", "bloonarius", "lych", "vortex", "dreadbloon", "phayze"
+    );
+    private static final KeywordSet MOAB_SITUATION_KEYWORDS = KeywordSet.of(
+        "moab", "bfb", "zomg", "bad", "ddt"
+    );
+    
+    private static final KeywordSet EARLY_ROUND_KEYWORDS = KeywordSet.of(
+        "early", "round 1", "round 2", "round 3", "round 4", "round 5"
+    );
+    private static final KeywordSet LATE_ROUND_KEYWORDS = KeywordSet.of(
+        "late", "round 80", "round 90", "round 100", "freeplay"
+    );
+    private static final KeywordSet FREEPLAY_ROUND_KEYWORDS = KeywordSet.of(
+        "boss", "beyond 100"
+    );
+    
+    private static final KeywordSet EASY_DIFFICULTY_KEYWORDS = KeywordSet.of(
+        "beginner", "easy", "simple", "기초", "초보", "쉬운"
+    );
+    private static final KeywordSet HARD_DIFFICULTY_KEYWORDS = KeywordSet.of(
+        "expert", "hard", "difficult", "advanced", "complex", "어려운", "고급", "전문"
+    );
+    
+    // 타워 ID와 표시 이름 (인덱스로 대응, dart_monkey와 dart monkey는 같은 토큰열로 분석됨)
+    private static final String[] TOWER_IDS = {
+        "dart_monkey", "boomerang_monkey", "bomb_shooter", "tack_shooter", "ice_monkey", "glue_gunner",
+        "sniper_monkey", "monkey_sub", "monkey_buccaneer", "monkey_ace", "heli_pilot", "mortar_monkey",
+        "dartling_gunner", "wizard_monkey", "super_monkey", "ninja_monkey", "alchemist", "druid",
+        "banana_farm", "spike_factory", "monkey_village", "engineer_monkey"
+    };
+    private static final KeywordSet TOWER_NAME_KEYWORDS = KeywordSet.of(
+        Arrays.stream(TOWER_IDS).map(id -> id.replace("_", " ")).toArray(String[]::new)
+    );
+    
     @Autowired
     public WebDataCollectionService(WebSearchService webSearchService, 
-                                  BloonsTDVectorRepository repository) {
+                                  BloonsTDVectorRepository repository,
+                                  PageFetcher pageFetcher,
+                                  CrawlerEngine crawlerEngine,
+                                  PageFetchStateRepository fetchStateRepository,
+                                  CrawlFrontierRepository frontierRepository,
+                                  @Qualifier("crawlResumeExecutor") Executor crawlResumeExecutor) {
         this.webSearchService = webSearchService;
         this.repository = repository;
-        this.restTemplate = new RestTemplate();
+        this.pageFetcher = pageFetcher;
+        this.crawlerEngine = crawlerEngine;
+        this.fetchStateRepository = fetchStateRepository;
+        this.frontierRepository = frontierRepository;
+        this.crawlResumeExecutor = crawlResumeExecutor;
     }
     
     /**
      * 인터넷에서 BTD 관련 자료를 수집하고 벡터 DB에 학습시킵니다.
+     * 검색은 로컬 인덱스라 바로 실행하고, 결과 페이지 수집은 크롤링 엔진에서 호스트별로 병렬 진행합니다.
      */
     public void collectAndLearnFromWeb() {
         log.info("웹에서 BTD 자료 수집 및 학습 시작");
@@ -107,6 +254,7 @@ public class WebDataCollectionService {
         int totalLearned = 0;
         
         try {
+            List<CompletableFuture<Integer>> pages = new ArrayList<>();
             for (String keyword : BTD_KEYWORDS) {
                 log.info("키워드로 검색 중: {}", keyword);
                 
@@ -123,34 +271,16 @@ public class WebDataCollectionService {
                     for (WebSearchResponse.SearchResult result : response.getResults()) {
                         totalCollected++;
                         
-                        try {
-                            // 신뢰할 수 있는 도메인인지 확인
-                            if (isTrustedDomain(result.getUrl())) {
-                                // 웹 페이지 내용 수집
-                                String content = extractWebContent(result);
-                                
-                                if (content != null && content.length() > 100) {
-                                    // BTD 지식으로 변환하여 저장
-                                    List<BloonsTDKnowledge> knowledgeList = convertToMultipleKnowledge(result, content, keyword);
-                                    for (BloonsTDKnowledge knowledge : knowledgeList) {
-                                    repository.save(knowledge);
-                                    totalLearned++;
-                                    }
-                                    
-                                    log.info("웹 자료 학습 완료: {}", result.getTitle());
-                                }
-                            }
-                        } catch (Exception e) {
-                            log.warn("개별 자료 처리 실패: {} - {}", result.getUrl(), e.getMessage());
+                        // 신뢰할 수 있는 도메인만 수집
+                        if (isTrustedDomain(result.getUrl())) {
+                            pages.add(crawlerEngine.submit(result.getUrl(), () -> learnFromSearchResult(result, keyword)));
                         }
-                        
-                        // API 호출 제한을 위한 대기
-                        Thread.sleep(1000);
                     }
                 }
-                
-                // 검색 간 대기
-                Thread.sleep(2000);
+            }
+            
+            for (int learned : crawlerEngine.awaitAll(pages, 0)) {
+                totalLearned += learned;
             }
             
             log.info("웹 자료 수집 완료 - 수집: {} 개, 학습: {} 개", totalCollected, totalLearned);
@@ -178,26 +308,13 @@ public class WebDataCollectionService {
             WebSearchResponse response = webSearchService.searchWeb(request);
             
             if (response.isSuccess()) {
+                List<CompletableFuture<Integer>> pages = new ArrayList<>();
                 for (WebSearchResponse.SearchResult result : response.getResults()) {
-                    try {
-                        if (isTrustedDomain(result.getUrl())) {
-                            String content = extractWebContent(result);
-                            
-                            if (content != null && content.length() > 100) {
-                                List<BloonsTDKnowledge> knowledgeList = convertToMultipleKnowledge(result, content, topic);
-                                for (BloonsTDKnowledge knowledge : knowledgeList) {
-                                repository.save(knowledge);
-                                }
-                                
-                                log.info("주제별 자료 학습 완료: {} - {}", topic, result.getTitle());
-                            }
-                        }
-                    } catch (Exception e) {
-                        log.warn("주제별 자료 처리 실패: {}", e.getMessage());
+                    if (isTrustedDomain(result.getUrl())) {
+                        pages.add(crawlerEngine.submit(result.getUrl(), () -> learnFromSearchResult(result, topic)));
                     }
-                    
-                    Thread.sleep(1000);
                 }
+                crawlerEngine.awaitAll(pages, 0);
             }
             
         } catch (Exception e) {
@@ -211,29 +328,19 @@ public class WebDataCollectionService {
     public void collectAllStrategyGuides() {
         log.info("전략 가이드 URL 전체 수집 시작 - 총 {} 개 URL", STRATEGY_GUIDE_URLS.size());
         
-        int successCount = 0;
-        int failCount = 0;
-        
+        List<CompletableFuture<SyncOutcome>> guides = new ArrayList<>();
         for (String url : STRATEGY_GUIDE_URLS) {
-            try {
-                // URL에서 카테고리 추출
-                String category = extractCategoryFromUrl(url);
-                
+            // URL에서 카테고리 추출
+            String category = extractCategoryFromUrl(url);
+            
+            guides.add(crawlerEngine.submit(url, () -> {
                 log.info("전략 가이드 수집 중: {} (카테고리: {})", url, category);
-                
-                collectFromSpecificUrl(url, category);
-                successCount++;
-                
-                // 각 URL 처리 간 대기 (서버 부하 방지)
-                Thread.sleep(2000);
-                
-            } catch (Exception e) {
-                log.warn("전략 가이드 수집 실패: {} - {}", url, e.getMessage());
-                failCount++;
-            }
+                return syncQuietly(url, category);
+            }));
         }
         
-        log.info("전략 가이드 수집 완료 - 성공: {} 개, 실패: {} 개", successCount, failCount);
+        Map<SyncOutcome, Integer> outcomes = countOutcomes(crawlerEngine.awaitAll(guides, SyncOutcome.FAILED));
+        log.info("전략 가이드 수집 완료 - {}", outcomes);
     }
     
     /**
@@ -248,88 +355,196 @@ public class WebDataCollectionService {
                 return;
             }
             
-            // URL로 직접 접근하여 내용 추출
-            Document doc = Jsoup.connect(url)
-                    .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
-                    .timeout(15000)
-                    .get();
-            
-            // 페이지 제목 추출
-            String title = doc.title();
-            if (title == null || title.isEmpty()) {
-                title = "사용자 지정 페이지";
-            }
+            // URL로 직접 접근하여 바뀐 내용만 학습
+            syncPage(url, category);
             
-            // 메타 설명 추출
-            String description = "";
-            Element metaDesc = doc.selectFirst("meta[name=description]");
-            if (metaDesc != null) {
-                description = metaDesc.attr("content");
-            }
-            
-            // 본문 내용 추출
-            StringBuilder content = new StringBuilder();
-            
-            // 제목들 추가
-            Elements headings = doc.select("h1, h2, h3, h4, h5, h6");
-            for (Element heading : headings) {
-                content.append(heading.text()).append("\n");
+        } catch (Exception e) {
+            log.error("사용자 지정 URL 자료 수집 실패: {} - {}", url, e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 페이지를 동기화하고 실패는 FAILED로 반환합니다.
+     */
+    private SyncOutcome syncQuietly(String url, String category) {
+        try {
+            return syncPage(url, category).outcome;
+        } catch (Exception e) {
+            log.warn("페이지 동기화 실패: {} - {}", url, e.getMessage());
+            return SyncOutcome.FAILED;
+        }
+    }
+    
+    /**
+     * 페이지를 조건부 요청으로 받아 바뀐 부분만 다시 학습합니다.
+     * <ol>
+     *   <li>이전 상태의 ETag/Last-Modified로 조건부 요청 → 304면 확인 시각만 갱신하고 종료</li>
+     *   <li>추출한 본문 텍스트의 해시가 이전과 같으면 검증값만 갱신하고 종료</li>
+     *   <li>바뀐 페이지는 섹션 키(제목#순번)별 해시를 비교하여 새 섹션은 추가, 달라진 섹션은 수정,
+     *       사라진 섹션은 삭제 (그대로인 섹션은 분석/임베딩도 다시 하지 않음)</li>
+     * </ol>
+     * 하위 링크는 받아온 문서에서 함께 추출하여 상태에 저장하므로 304 응답에도 깊이 크롤링을 이어갈 수 있습니다.
+     */
+    private PageSync syncPage(String url, String category) throws IOException {
+        PageFetchState previous = fetchStateRepository.findByUrl(url).orElse(null);
+        FetchedPage fetched = previous != null
+                ? pageFetcher.fetchConditional(url, previous.getEtag(), previous.getLastModified())
+                : pageFetcher.fetchConditional(url, null, null);
+        if (fetched.isNotModified()) {
+            if (previous == null) {
+                throw new IOException("조건 없는 요청에 304 응답: " + url);
             }
-            
-            // 본문 내용 추가
-            Elements paragraphs = doc.select("p, div.content, div.post, article, div.main-content, main");
-            for (Element p : paragraphs) {
-                String text = p.text();
-                if (text.length() > 30) { // 의미있는 내용만 수집
-                    content.append(text).append("\n");
+            fetchStateRepository.markChecked(url);
+            log.info("페이지 변경 없음 (304): {}", url);
+            return new PageSync(SyncOutcome.NOT_MODIFIED, previous.getLinks());
+        }
+        
+        Document doc = fetched.getDocument();
+        List<String> links = extractSubLinks(doc, extractDomain(url));
+        PageContent page = extractPageContent(doc);
+        String contentHash = hashOf(page.content);
+        Map<String, PageFetchState.SectionState> previousSections =
+                previous != null && previous.getSections() != null ? previous.getSections() : Map.of();
+        
+        if (previous != null && contentHash.equals(previous.getContentHash())) {
+            fetchStateRepository.save(fetchStateOf(url, fetched, contentHash, previousSections, links));
+            log.info("페이지 본문 변경 없음 (해시 일치): {}", url);
+            return new PageSync(SyncOutcome.UNCHANGED, links);
+        }
+        
+        Map<String, PageFetchState.SectionState> sections = new LinkedHashMap<>();
+        int inserted = 0;
+        int updated = 0;
+        if (page.content.length() > 100) {
+            // 로컬 웹 검색에서 바로 찾을 수 있도록 페이지 본문 색인
+            webSearchService.indexPage(GAME_NAME, url, page.title, page.content);
+            
+            // 웹 검색 결과 형태로 변환
+            WebSearchResponse.SearchResult result = new WebSearchResponse.SearchResult();
+            result.setTitle(page.title);
+            result.setSnippet(page.description.isEmpty() ? page.content.substring(0, Math.min(200, page.content.length())) : page.description);
+            result.setUrl(url);
+            
+            // 달라진 섹션만 BTD 지식으로 변환하여 저장
+            for (SectionKnowledge section : convertToSectionKnowledge(result, page.content, page.sections, category, previousSections)) {
+                PageFetchState.SectionState old = previousSections.get(section.key);
+                if (section.knowledge == null) {
+                    sections.put(section.key, old);
+                    continue;
                 }
-            }
-            
-            String fullContent = content.toString().trim();
-            
-            if (fullContent.length() > 100) {
-                // 웹 검색 결과 형태로 변환
-                WebSearchResponse.SearchResult result = new WebSearchResponse.SearchResult();
-                result.setTitle(title);
-                result.setSnippet(description.isEmpty() ? fullContent.substring(0, Math.min(200, fullContent.length())) : description);
-                result.setUrl(url);
-                
-                // BTD 지식으로 변환하여 저장
-                List<BloonsTDKnowledge> knowledgeList = convertToMultipleKnowledge(result, fullContent, category);
-                for (BloonsTDKnowledge knowledge : knowledgeList) {
+                BloonsTDKnowledge knowledge = section.knowledge;
                 knowledge.setSituationType("사용자지정"); // 사용자가 직접 지정한 자료임을 표시
-                repository.save(knowledge);
+                if (old != null) {
+                    knowledge.setId(old.getKnowledgeId());
                 }
-                
-                log.info("사용자 지정 URL 자료 학습 완료: {} - {}", category, title);
-            } else {
-                log.warn("수집된 내용이 너무 짧아 건너뜁니다: {}", url);
+                if (old != null && repository.update(knowledge) > 0) {
+                    updated++;
+                } else {
+                    // 새 섹션이거나, 기록된 지식이 그 사이 삭제된 경우 (같은 ID로 다시 저장)
+                    repository.save(knowledge);
+                    inserted++;
+                }
+                sections.put(section.key, new PageFetchState.SectionState(section.hash, knowledge.getId()));
             }
-            
-        } catch (Exception e) {
-            log.error("사용자 지정 URL 자료 수집 실패: {} - {}", url, e.getMessage(), e);
+        } else {
+            log.warn("수집된 내용이 너무 짧아 건너뜁니다: {}", url);
+        }
+        
+        int deleted = 0;
+        for (Map.Entry<String, PageFetchState.SectionState> entry : previousSections.entrySet()) {
+            if (!sections.containsKey(entry.getKey())) {
+                repository.deleteById(entry.getValue().getKnowledgeId());
+                deleted++;
+            }
+        }
+        fetchStateRepository.save(fetchStateOf(url, fetched, contentHash, sections, links));
+        
+        log.info("페이지 자료 학습 완료: {} - {} (추가 {}, 수정 {}, 유지 {}, 삭제 {})", category, page.title,
+                inserted, updated, sections.size() - inserted - updated, deleted);
+        return new PageSync(SyncOutcome.CHANGED, links);
+    }
+    
+    private static PageFetchState fetchStateOf(String url, FetchedPage fetched, String contentHash,
+                                               Map<String, PageFetchState.SectionState> sections, List<String> links) {
+        return PageFetchState.builder()
+                .url(url)
+                .etag(fetched.getEtag())
+                .lastModified(fetched.getLastModified())
+                .contentHash(contentHash)
+                .sections(sections)
+                .links(links)
+                .build();
+    }
+    
+    private static Map<SyncOutcome, Integer> countOutcomes(List<SyncOutcome> outcomes) {
+        Map<SyncOutcome, Integer> counts = new EnumMap<>(SyncOutcome.class);
+        for (SyncOutcome outcome : outcomes) {
+            counts.merge(outcome, 1, Integer::sum);
+        }
+        return counts;
+    }
+    
+    /**
+     * 텍스트의 SHA-256 (16진수, 여러 조각은 구분자로 이어 붙임)
+     */
+    private static String hashOf(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("해시 생성 실패", e);
         }
     }
     
+    /**
+     * 페이지 문서에서 제목, 메타 설명, 본문 섹션을 추출합니다.
+     */
+    private PageContent extractPageContent(Document doc) {
+        // 페이지 제목 추출
+        String title = doc.title();
+        if (title == null || title.isEmpty()) {
+            title = "사용자 지정 페이지";
+        }
+        
+        // 메타 설명 추출
+        String description = "";
+        Element metaDesc = doc.selectFirst("meta[name=description]");
+        if (metaDesc != null) {
+            description = metaDesc.attr("content");
+        }
+        
+        // 본문을 제목 태그 기준 섹션으로 나누고, 문서 순서대로 합친 텍스트를 본문으로 사용
+        List<PageSection> sections = SectionSplitter.split(doc.body(), title);
+        
+        return new PageContent(title, description, SectionSplitter.render(sections), sections);
+    }
+    
     /**
      * 여러 URL을 한 번에 수집합니다.
      */
     public void collectFromMultipleUrls(List<String> urls, String category) {
         log.info("다중 URL에서 자료 수집 시작: {} 개 URL (카테고리: {})", urls.size(), category);
         
+        List<CompletableFuture<Boolean>> pages = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            String url = urls.get(i);
+            String numberedCategory = category + "_" + (i + 1);
+            pages.add(crawlerEngine.submit(url, () -> {
+                collectFromSpecificUrl(url, numberedCategory);
+                return true;
+            }));
+        }
+        
         int successCount = 0;
         int failCount = 0;
-        
-        for (String url : urls) {
-            try {
-                collectFromSpecificUrl(url, category + "_" + (successCount + failCount + 1));
+        for (boolean success : crawlerEngine.awaitAll(pages, false)) {
+            if (success) {
                 successCount++;
-                
-                // 각 URL 처리 간 대기 (서버 부하 방지)
-                Thread.sleep(2000);
-                
-            } catch (Exception e) {
-                log.warn("다중 URL 중 개별 처리 실패: {} - {}", url, e.getMessage());
+            } else {
                 failCount++;
             }
         }
@@ -339,69 +554,140 @@ public class WebDataCollectionService {
     
     /**
      * 사이트를 깊이 크롤링하여 하위 페이지들도 함께 수집합니다.
+     * 방문할 URL은 DB 대기열(crawl_frontier)에 기록되고, 묶음 단위로 임대하여 크롤링 엔진에 넘깁니다.
+     * 요청 간격은 엔진의 호스트별 예의 규칙이 조절합니다.
+     * 같은 사이트/카테고리의 작업이 중단된 채 남아 있으면 처음부터가 아니라 남은 URL부터 이어서 진행합니다.
      */
     public void collectSiteDeep(String baseUrl, String category, int maxDepth, int maxPages) {
         log.info("사이트 깊이 크롤링 시작: {} (카테고리: {}, 최대 깊이: {}, 최대 페이지: {})", 
                 baseUrl, category, maxDepth, maxPages);
         
-        Set<String> visitedUrls = new HashSet<>();
-        Queue<UrlDepthPair> urlQueue = new LinkedList<>();
-        int collectedPages = 0;
-        
         try {
-            // 기본 도메인 추출
-            String baseDomain = extractDomain(baseUrl);
-            
-            // 시작 URL 추가
-            urlQueue.offer(new UrlDepthPair(baseUrl, 0));
-            
-            while (!urlQueue.isEmpty() && collectedPages < maxPages) {
-                UrlDepthPair current = urlQueue.poll();
-                String currentUrl = current.url;
-                int currentDepth = current.depth;
-                
-                // 이미 방문한 URL이면 건너뛰기
-                if (visitedUrls.contains(currentUrl)) {
-                    continue;
-                }
-                
-                // 최대 깊이 초과하면 건너뛰기
-                if (currentDepth > maxDepth) {
-                    continue;
+            CrawlJob job = CrawlJob.builder()
+                    .crawlId(hashOf(baseUrl, category).substring(0, 32))
+                    .baseUrl(baseUrl)
+                    .category(category)
+                    .maxDepth(maxDepth)
+                    .maxPages(maxPages)
+                    .build();
+            frontierRepository.startJob(job, maxDepth);
+            runCrawl(job);
+        } catch (Exception e) {
+            log.error("사이트 깊이 크롤링 중 오류 발생: {}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 재시작 전에 끝나지 않은(RUNNING) 깊이 크롤링 작업을 백그라운드(crawlResumeExecutor)에서 이어서 진행합니다.
+     * 대기열이 가득 차 거부된 작업은 RUNNING 상태로 남아 다음 재시작 때 다시 재개됩니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedCrawls() {
+        if (!resumeOnStart) {
+            return;
+        }
+        List<CrawlJob> jobs;
+        try {
+            jobs = frontierRepository.findRunningJobs();
+        } catch (Exception e) {
+            log.warn("미완료 크롤링 작업 조회 실패: {}", e.getMessage());
+            return;
+        }
+        for (CrawlJob job : jobs) {
+            log.info("미완료 크롤링 작업 재개: {} (카테고리: {})", job.getBaseUrl(), job.getCategory());
+            try {
+                crawlResumeExecutor.execute(() -> {
+                    try {
+                        runCrawl(job);
+                    } catch (Exception e) {
+                        log.error("크롤링 작업 재개 중 오류 발생: {} - {}", job.getBaseUrl(), e.getMessage(), e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                log.warn("크롤링 작업 재개 거부 (재개 실행기 포화): {}", job.getBaseUrl());
+            }
+        }
+    }
+    
+    /**
+     * 대기열에서 URL을 임대해 처리하는 것을 남은 URL이 없거나 최대 페이지 수에 도달할 때까지 반복합니다.
+     * 우선순위(얕은 깊이 우선)대로 임대하므로 진행 순서는 이전의 너비 우선 탐색과 같습니다.
+     */
+    private void runCrawl(CrawlJob job) {
+        String crawlId = job.getCrawlId();
+        String baseDomain = extractDomain(job.getBaseUrl());
+        String owner = leaseOwner();
+        Map<SyncOutcome, Integer> outcomes = new EnumMap<>(SyncOutcome.class);
+        
+        while (true) {
+            long remaining = job.getMaxPages() - frontierRepository.countStarted(crawlId);
+            if (remaining <= 0) {
+                break;
+            }
+            List<FrontierEntry> leased = frontierRepository.lease(crawlId, owner, (int) Math.min(remaining, leaseBatch), leaseMs);
+            if (leased.isEmpty()) {
+                if (!frontierRepository.hasOutstanding(crawlId)) {
+                    break;
                 }
-                
-                visitedUrls.add(currentUrl);
-                
+                // 다른 작업자가 임대 중이거나 재시도 대기 중인 URL이 남아 있음
                 try {
-                    // 현재 페이지 수집
-                    log.info("페이지 수집 중 (깊이 {}): {}", currentDepth, currentUrl);
-                    collectFromSpecificUrl(currentUrl, category + "_depth" + currentDepth);
-                    collectedPages++;
-                    
-                    // 하위 링크 추출 (깊이가 최대 깊이보다 작을 때만)
-                    if (currentDepth < maxDepth) {
-                        List<String> subLinks = extractSubLinks(currentUrl, baseDomain);
-                        
-                        for (String link : subLinks) {
-                            if (!visitedUrls.contains(link) && urlQueue.size() < 100) { // 큐 크기 제한
-                                urlQueue.offer(new UrlDepthPair(link, currentDepth + 1));
-                            }
-                        }
-                    }
-                    
-                    // 페이지 간 대기 (서버 부하 방지)
-                    Thread.sleep(3000);
-                    
-                } catch (Exception e) {
-                    log.warn("페이지 수집 실패: {} - {}", currentUrl, e.getMessage());
+                    Thread.sleep(pollIntervalMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.warn("깊이 크롤링 중단 (작업은 다음 실행에서 재개): {}", job.getBaseUrl());
+                    return;
                 }
+                continue;
             }
             
-            log.info("사이트 깊이 크롤링 완료 - 수집된 페이지: {} 개, 방문한 URL: {} 개", 
-                    collectedPages, visitedUrls.size());
-            
+            List<CompletableFuture<PageSync>> pages = new ArrayList<>();
+            for (FrontierEntry entry : leased) {
+                pages.add(crawlerEngine.submit(entry.getUrl(), () -> crawlEntry(job, entry, owner, baseDomain)));
+            }
+            for (PageSync page : crawlerEngine.awaitAll(pages, PageSync.FAILED)) {
+                outcomes.merge(page.outcome, 1, Integer::sum);
+            }
+        }
+        
+        frontierRepository.finishJob(crawlId);
+        log.info("사이트 깊이 크롤링 완료 - {} 이번 실행 결과: {}, 대기열: {}", 
+                job.getBaseUrl(), outcomes, frontierRepository.summarize(crawlId));
+    }
+    
+    /**
+     * 현재 노드/스레드의 임대 소유자 이름 (lease_owner 컬럼 길이 100자 이내)
+     */
+    private static String leaseOwner() {
+        String owner = NODE_ID + "/" + Thread.currentThread().getName();
+        return owner.length() > 100 ? owner.substring(0, 100) : owner;
+    }
+    
+    /**
+     * 임대한 URL 하나를 처리합니다.
+     * 하위 링크를 대기열에 넣은 뒤 완료를 기록하므로, 그 사이에 중단되어도 임대 만료 후 다시 처리될 뿐 링크는 잃지 않습니다.
+     */
+    private PageSync crawlEntry(CrawlJob job, FrontierEntry entry, String owner, String baseDomain) {
+        // 현재 페이지는 한 번만 받아 내용 수집과 하위 링크 추출에 함께 사용 (304면 저장된 링크 사용)
+        log.info("페이지 수집 중 (깊이 {}): {}", entry.getDepth(), entry.getUrl());
+        try {
+            PageSync page = syncPage(entry.getUrl(), job.getCategory() + "_depth" + entry.getDepth());
+            // 하위 링크 (깊이가 최대 깊이보다 작을 때만)
+            if (entry.getDepth() < job.getMaxDepth()) {
+                List<String> children = page.links.stream()
+                        .filter(link -> isValidSubLink(link, baseDomain))
+                        .distinct()
+                        .collect(Collectors.toList());
+                frontierRepository.enqueue(job.getCrawlId(), children, entry.getDepth() + 1,
+                        job.getMaxDepth() - entry.getDepth() - 1, maxUrlsPerCrawl);
+            }
+            frontierRepository.complete(job.getCrawlId(), entry.getUrl(), owner);
+            return page;
         } catch (Exception e) {
-            log.error("사이트 깊이 크롤링 중 오류 발생: {}", e.getMessage(), e);
+            boolean retry = entry.getAttempts() < maxAttempts;
+            log.warn("페이지 수집 실패 ({}/{}회{}): {} - {}", entry.getAttempts(), maxAttempts,
+                    retry ? ", 재시도 예정" : "", entry.getUrl(), e.getMessage());
+            frontierRepository.fail(job.getCrawlId(), entry.getUrl(), owner, retry, retryDelayMs * entry.getAttempts());
+            return PageSync.FAILED;
         }
     }
     
@@ -430,17 +716,12 @@ public class WebDataCollectionService {
     }
     
     /**
-     * 페이지에서 하위 링크들을 추출합니다.
+     * 페이지에서 하위 링크들을 추출합니다. (문서의 기준 URL로 상대 경로 변환)
      */
-    private List<String> extractSubLinks(String pageUrl, String baseDomain) {
+    private List<String> extractSubLinks(Document doc, String baseDomain) {
         List<String> links = new ArrayList<>();
         
         try {
-            Document doc = Jsoup.connect(pageUrl)
-                    .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
-                    .timeout(15000)
-                    .get();
-            
             // 모든 링크 추출
             Elements linkElements = doc.select("a[href]");
             
@@ -457,10 +738,10 @@ public class WebDataCollectionService {
                 }
             }
             
-            log.debug("페이지 {}에서 {} 개의 하위 링크 추출", pageUrl, links.size());
+            log.debug("페이지 {}에서 {} 개의 하위 링크 추출", doc.location(), links.size());
             
         } catch (Exception e) {
-            log.warn("하위 링크 추출 실패: {} - {}", pageUrl, e.getMessage());
+            log.warn("하위 링크 추출 실패: {} - {}", doc.location(), e.getMessage());
         }
         
         return links;
@@ -505,70 +786,56 @@ public class WebDataCollectionService {
     }
     
     /**
-     * URL과 깊이를 함께 저장하는 내부 클래스
+     * 검색 결과 페이지의 내용을 수집하여 지식으로 저장합니다.
+     * @return 저장된 지식 수
      */
-    private static class UrlDepthPair {
-        String url;
-        int depth;
-        
-        UrlDepthPair(String url, int depth) {
-            this.url = url;
-            this.depth = depth;
+    private int learnFromSearchResult(WebSearchResponse.SearchResult result, String keyword) {
+        try {
+            // 웹 페이지 내용 수집 (문서 순서대로 나눈 섹션)
+            List<PageSection> sections = extractWebSections(result);
+            String content = SectionSplitter.render(sections);
+            
+            if (content.length() > 100) {
+                // BTD 지식으로 변환하여 저장
+                List<BloonsTDKnowledge> knowledgeList = convertToMultipleKnowledge(result, content, sections, keyword);
+                for (BloonsTDKnowledge knowledge : knowledgeList) {
+                    repository.save(knowledge);
+                }
+                
+                log.info("웹 자료 학습 완료: {} - {}", keyword, result.getTitle());
+                return knowledgeList.size();
+            }
+        } catch (Exception e) {
+            log.warn("개별 자료 처리 실패: {} - {}", result.getUrl(), e.getMessage());
         }
+        return 0;
     }
     
     /**
-     * 웹 페이지에서 실제 내용을 추출합니다.
+     * 웹 페이지에서 실제 내용을 추출하여 제목 태그 기준 섹션으로 나눕니다. (사이트 크롤링과 같은 방식)
+     * 페이지를 받아오지 못했거나 본문이 너무 짧으면 검색 결과 요약을 사용합니다.
      */
-    private String extractWebContent(WebSearchResponse.SearchResult result) {
+    private List<PageSection> extractWebSections(WebSearchResponse.SearchResult result) {
+        String title = result.getTitle() != null && !result.getTitle().isEmpty() ? result.getTitle() : "웹 자료";
+        String snippet = result.getSnippet() != null ? result.getSnippet() : "";
         try {
             if (result.getUrl() == null || result.getUrl().isEmpty()) {
-                return result.getSnippet();
-            }
-            
-            // JSoup을 사용하여 웹 페이지 파싱
-            Document doc = Jsoup.connect(result.getUrl())
-                    .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
-                    .timeout(10000)
-                    .get();
-            
-            // 본문 내용 추출
-            StringBuilder content = new StringBuilder();
-            
-            // 제목 추가
-            Elements titles = doc.select("h1, h2, h3");
-            String lastTitle = "";
-            for (Element title : titles) {
-                lastTitle = title.text();
-                content.append(lastTitle).append("\n");
-            }
-            
-            // 본문 내용 추가
-            Elements paragraphs = doc.select("p, div.content, div.post, article");
-            for (Element p : paragraphs) {
-                String text = p.text();
-                if (text.length() > 50 && isBTDRelated(lastTitle, text)) {
-                    content.append(text).append("\n");
-                }
+                return SectionSplitter.split(snippet, title);
             }
             
-            String finalContent = content.toString();
+            // 크롤러 연결 풀로 받아온 페이지를 JSoup으로 파싱
+            Document doc = pageFetcher.fetchDocument(result.getUrl());
+            List<PageSection> sections = SectionSplitter.split(doc.body(), title);
             
             // 최소 길이 확인
-            if (finalContent.length() < 100) {
-                return result.getSnippet();
-            }
-            
-            // 최대 길이 제한 (너무 긴 내용은 잘라냄)
-            if (finalContent.length() > 2000) {
-                finalContent = finalContent.substring(0, 2000) + "...";
+            if (SectionSplitter.render(sections).length() < 100) {
+                return SectionSplitter.split(snippet, title);
             }
-            
-            return finalContent;
+            return sections;
             
         } catch (Exception e) {
             log.warn("웹 내용 추출 실패: {} - {}", result.getUrl(), e.getMessage());
-            return result.getSnippet();
+            return SectionSplitter.split(snippet, title);
         }
     }
     
@@ -577,38 +844,72 @@ public class WebDataCollectionService {
      */
     private List<BloonsTDKnowledge> convertToKnowledge(WebSearchResponse.SearchResult result, 
                                                String content, String keyword) {
-        return convertToMultipleKnowledge(result, content, keyword);
+        return convertToMultipleKnowledge(result, content, SectionSplitter.split(content, result.getTitle()), keyword);
     }
 
     /**
      * 하나의 웹페이지에서 여러 지식을 추출합니다. (개선된 버전)
+     * @param sections 페이지를 나눈 섹션 ({@link SectionSplitter})
      */
-    private List<BloonsTDKnowledge> convertToMultipleKnowledge(WebSearchResponse.SearchResult result, 
-                                                             String content, String keyword) {
+    private List<BloonsTDKnowledge> convertToMultipleKnowledge(WebSearchResponse.SearchResult result, String content,
+                                                             List<PageSection> sections, String keyword) {
         List<BloonsTDKnowledge> knowledgeList = new ArrayList<>();
+        for (SectionKnowledge section : convertToSectionKnowledge(result, content, sections, keyword, Map.of())) {
+            knowledgeList.add(section.knowledge);
+        }
+        return knowledgeList;
+    }
+    
+    /**
+     * 웹 검색 결과를 섹션 키별 BloonsTD 지식으로 변환합니다.
+     * 섹션 키는 "섹션 제목#같은 제목의 순번"이고, 요약/폴백 지식은 "#summary", "#fallback" 입니다.
+     * @param sections 페이지를 나눈 섹션 (문서는 제목 태그, 텍스트는 제목 줄 기준)
+     * @param previousSections 이전 수집의 섹션 상태 - 해시가 같은 섹션은 지식을 만들지 않고 knowledge를 null로 반환
+     */
+    private List<SectionKnowledge> convertToSectionKnowledge(WebSearchResponse.SearchResult result, String content,
+                                                             List<PageSection> sections, String keyword,
+                                                             Map<String, PageFetchState.SectionState> previousSections) {
+        List<SectionKnowledge> knowledgeList = new ArrayList<>();
         
         try {
-            // 1. 페이지를 의미 있는 섹션으로 분할
-            List<ContentSection> sections = splitContentIntoSections(content, result.getTitle());
-            
+            // 1. 섹션 수 확인
             log.info("📄 페이지 '{}' 에서 {} 개의 섹션 추출", result.getTitle(), sections.size());
             
             // 2. 각 섹션에서 독립적인 지식 추출
+            Map<String, Integer> titleOccurrences = new HashMap<>();
             for (int i = 0; i < sections.size(); i++) {
-                ContentSection section = sections.get(i);
+                PageSection section = sections.get(i);
+                String key = section.getTitle() + "#" + titleOccurrences.merge(section.getTitle(), 1, Integer::sum);
                 
                 // 섹션이 충분히 길고 유의미한지 확인
-                if (section.getContent().length() < 150 || !isBTDRelated(section.getTitle(), section.getContent())) {
+                if (section.getContent().length() < 150) {
                     log.debug("🔍 섹션 '{}' 스킵 - 길이: {} 글자", section.getTitle(), section.getContent().length());
                     continue;
                 }
+                
+                // 이전 수집과 같은 섹션은 다시 분석하지 않음
+                String hash = hashOf(section.getTitle(), section.getContent());
+                PageFetchState.SectionState previous = previousSections.get(key);
+                if (previous != null && hash.equals(previous.getHash())) {
+                    knowledgeList.add(new SectionKnowledge(key, hash, null));
+                    continue;
+                }
+                
+                // 섹션 제목/본문은 한 번만 분석하여 관련성 판정, 분류, 임베딩에 재사용
+                AnalyzedText analyzedTitle = TextAnalyzer.analyze(section.getTitle());
+                AnalyzedText analyzedContent = TextAnalyzer.analyze(section.getContent());
+                if (!isBTDRelated(analyzedTitle, analyzedContent)) {
+                    log.debug("🔍 섹션 '{}' 스킵 - BTD 무관", section.getTitle());
+                    continue;
+                }
 
                 try {
                     // 섹션별 지식 객체 생성
-                    BloonsTDKnowledge knowledge = createKnowledgeFromSection(result, section, keyword, i + 1);
+                    BloonsTDKnowledge knowledge = createKnowledgeFromSection(result, section, keyword, i + 1,
+                                                                             analyzedTitle, analyzedContent);
                     
                     if (knowledge != null) {
-                        knowledgeList.add(knowledge);
+                        knowledgeList.add(new SectionKnowledge(key, hash, knowledge));
                         log.info("✅ 섹션 지식 생성: '{}'", section.getTitle());
                     }
                     
@@ -621,7 +922,7 @@ public class WebDataCollectionService {
             if (content.length() > 500) {
                 BloonsTDKnowledge summaryKnowledge = createSummaryKnowledge(result, content, keyword, sections.size());
                 if (summaryKnowledge != null) {
-                    knowledgeList.add(summaryKnowledge);
+                    knowledgeList.add(new SectionKnowledge("#summary", hashOf(content), summaryKnowledge));
                     log.info("✅ 페이지 전체 요약 지식 생성");
                 }
             }
@@ -632,7 +933,7 @@ public class WebDataCollectionService {
             // 실패 시 기존 방식으로 폴백
             BloonsTDKnowledge fallbackKnowledge = createFallbackKnowledge(result, content, keyword);
             if (fallbackKnowledge != null) {
-                knowledgeList.add(fallbackKnowledge);
+                knowledgeList.add(new SectionKnowledge("#fallback", hashOf(content), fallbackKnowledge));
                 log.info("🔄 폴백 지식 생성");
             }
         }
@@ -641,201 +942,33 @@ public class WebDataCollectionService {
         return knowledgeList;
     }
 
-    /**
-     * 컨텐츠를 의미 있는 섹션으로 분할합니다.
-     */
-    private List<ContentSection> splitContentIntoSections(String content, String pageTitle) {
-        List<ContentSection> sections = new ArrayList<>();
-        
-        // HTML 태그 제거 후 텍스트만 추출
-        String cleanContent = content.replaceAll("<[^>]+>", " ")
-                                    .replaceAll("\\s+", " ")
-                                    .trim();
-        
-        // 1. Contents 목차 기반 분할 시도
-        sections.addAll(extractContentsSections(cleanContent, pageTitle));
-        
-        // 2. 헤더 기반 분할 시도 (목차가 없는 경우)
-        if (sections.isEmpty()) {
-            sections.addAll(extractHeaderSections(cleanContent, pageTitle));
-        }
-        
-        // 3. 길이 기반 분할 (다른 방법이 실패한 경우)
-        if (sections.isEmpty()) {
-            sections.addAll(extractLengthBasedSections(cleanContent, pageTitle));
-        }
-        
-        return sections;
-    }
-
-    /**
-     * Contents 목차를 기준으로 섹션을 추출합니다.
-     */
-    private List<ContentSection> extractContentsSections(String content, String pageTitle) {
-        List<ContentSection> sections = new ArrayList<>();
-        
-        // Contents 패턴 찾기
-        String[] contentsPatterns = {
-            "Contents\\s*\\n([\\s\\S]*?)(?:\\n\\n|$)",
-            "목차\\s*\\n([\\s\\S]*?)(?:\\n\\n|$)",
-            "Table of Contents\\s*\\n([\\s\\S]*?)(?:\\n\\n|$)"
-        };
-        
-        String contentsText = null;
-        for (String pattern : contentsPatterns) {
-            Pattern p = Pattern.compile(pattern, Pattern.CASE_INSENSITIVE);
-            Matcher m = p.matcher(content);
-            if (m.find()) {
-                contentsText = m.group(1);
-                break;
-            }
-        }
-        
-        if (contentsText != null) {
-            log.debug("📑 Contents 목차 발견: {} 글자", contentsText.length());
-            
-            // 목차 항목 추출 (예: "1 Gameplay", "1.1 Main gameplay" 등)
-            String[] lines = contentsText.split("\\n");
-            List<String> sectionTitles = new ArrayList<>();
-            
-            for (String line : lines) {
-                line = line.trim();
-                // 숫자로 시작하는 목차 항목 추출
-                if (line.matches("^\\d+(\\.\\d+)?\\s+.+$")) {
-                    String title = line.replaceFirst("^\\d+(\\.\\d+)?\\s+", "").trim();
-                    if (title.length() > 2) {
-                        sectionTitles.add(title);
-                    }
-                }
-            }
-            
-            log.debug("📋 추출된 섹션 제목: {}", sectionTitles);
-            
-            // 각 섹션별로 컨텐츠 추출
-            for (String sectionTitle : sectionTitles) {
-                String sectionContent = extractSectionContent(content, sectionTitle);
-                if (sectionContent != null && sectionContent.length() > 100) {
-                    sections.add(new ContentSection(sectionTitle, sectionContent));
-                }
-            }
-        }
-        
-        return sections;
-    }
-
-    /**
-     * 특정 섹션의 컨텐츠를 추출합니다.
-     */
-    private String extractSectionContent(String content, String sectionTitle) {
-        try {
-            // 섹션 제목을 다양한 형태로 찾기
-            String[] titlePatterns = {
-                "(?i)" + Pattern.quote(sectionTitle) + "\\s*\\n([\\s\\S]*?)(?=\\n\\d+(\\.\\d+)?\\s+\\w+|$)",
-                "(?i)" + Pattern.quote(sectionTitle) + "\\s*([\\s\\S]*?)(?=\\n[A-Z][\\w\\s]+\\s*\\n|$)",
-                "(?i)" + Pattern.quote(sectionTitle) + "([\\s\\S]{0,2000}?)(?=\\n\\w+\\s*\\n|$)"
-            };
-            
-            for (String pattern : titlePatterns) {
-                Pattern p = Pattern.compile(pattern);
-                Matcher m = p.matcher(content);
-                if (m.find()) {
-                    String sectionContent = m.group(1).trim();
-                    if (sectionContent.length() > 50) {
-                        return sectionContent.substring(0, Math.min(sectionContent.length(), 1500));
-                    }
-                }
-            }
-            
-        } catch (Exception e) {
-            log.warn("섹션 '{}' 컨텐츠 추출 실패: {}", sectionTitle, e.getMessage());
-        }
-        
-        return null;
-    }
-
-    /**
-     * 헤더 기반으로 섹션을 추출합니다.
-     */
-    private List<ContentSection> extractHeaderSections(String content, String pageTitle) {
-        List<ContentSection> sections = new ArrayList<>();
-        
-        // 대문자로 시작하는 헤더 찾기
-        String[] paragraphs = content.split("\\n\\n");
-        String currentSection = "";
-        String currentTitle = "";
-        
-        for (String paragraph : paragraphs) {
-            paragraph = paragraph.trim();
-            
-            // 헤더로 보이는 텍스트 (짧고 대문자로 시작)
-            if (paragraph.length() < 100 && paragraph.matches("^[A-Z][\\w\\s]+$")) {
-                // 이전 섹션 저장
-                if (!currentSection.isEmpty() && currentSection.length() > 150) {
-                    sections.add(new ContentSection(currentTitle, currentSection));
-                }
-                
-                currentTitle = paragraph;
-                currentSection = "";
-            } else {
-                currentSection += paragraph + "\\n\\n";
-            }
-        }
-        
-        // 마지막 섹션 저장
-        if (!currentSection.isEmpty() && currentSection.length() > 150) {
-            sections.add(new ContentSection(currentTitle, currentSection));
-        }
-        
-        return sections;
-    }
-
-    /**
-     * 길이 기반으로 섹션을 분할합니다.
-     */
-    private List<ContentSection> extractLengthBasedSections(String content, String pageTitle) {
-        List<ContentSection> sections = new ArrayList<>();
-        
-        int sectionLength = 800; // 섹션당 권장 길이
-        int overlap = 100; // 섹션 간 겹치는 부분
-        
-        for (int i = 0; i < content.length(); i += (sectionLength - overlap)) {
-            int endIndex = Math.min(i + sectionLength, content.length());
-            String sectionContent = content.substring(i, endIndex);
-            
-            if (sectionContent.length() > 200) {
-                String sectionTitle = pageTitle + " - Part " + (sections.size() + 1);
-                sections.add(new ContentSection(sectionTitle, sectionContent));
-            }
-        }
-        
-        return sections;
-    }
-
     /**
      * 섹션에서 지식 객체를 생성합니다.
      */
     private BloonsTDKnowledge createKnowledgeFromSection(WebSearchResponse.SearchResult result, 
-                                                        ContentSection section, 
-                                                        String keyword, int sectionIndex) {
+                                                        PageSection section, 
+                                                        String keyword, int sectionIndex,
+                                                        AnalyzedText analyzedTitle,
+                                                        AnalyzedText analyzedContent) {
         try {
             // 섹션별 제목과 설명
             String combinedTitle = result.getTitle() + " - " + section.getTitle();
             
             return BloonsTDKnowledge.builder()
                 .id(UUID.randomUUID().toString())
-                .situationType(classifySituationType(section.getTitle(), section.getContent()))
+                .situationType(classifySituationType(analyzedTitle, analyzedContent))
                 .title(combinedTitle)
                 .content(section.getContent())
                 .advice("섹션 " + sectionIndex + ": " + section.getTitle())
-                .tags(Arrays.asList(keyword, classifyCategory(section.getTitle(), section.getContent())))
-                .embedding(new ArrayList<>()) // 임베딩은 나중에 설정
+                .tags(Arrays.asList(keyword, classifyCategory(analyzedTitle, analyzedContent)))
+                .embedding(generateWebContentEmbedding(analyzedTitle, analyzedContent))
                 .confidence(calculateSectionConfidence(result, section))
                 .usageCount(0)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
-                .roundRange(getRoundRangeFromContent(section.getContent()))
-                .difficulty(classifyDifficulty(section.getContent()))
-                .towerTypes(extractTowerTypes(section.getContent()))
+                .roundRange(getRoundRangeFromContent(analyzedContent))
+                .difficulty(classifyDifficulty(analyzedContent))
+                .towerTypes(extractTowerTypes(analyzedContent))
                 .successRate(0.7) // 기본 성공률
                 .sourceUrl(result.getUrl())
                 .build();
@@ -861,6 +994,8 @@ public class WebDataCollectionService {
                 summary = content;
             }
             
+            AnalyzedText analyzedContent = TextAnalyzer.analyze(content);
+            
             return BloonsTDKnowledge.builder()
                 .id(UUID.randomUUID().toString())
                 .situationType("일반")
@@ -868,14 +1003,14 @@ public class WebDataCollectionService {
                 .content(summary)
                 .advice("전체 페이지 요약 - " + sectionCount + "개 섹션 포함")
                 .tags(Arrays.asList(keyword, "종합정보", "페이지요약"))
-                .embedding(new ArrayList<>())
+                .embedding(TextAnalyzer.embed(analyzedContent, EMBEDDING_DIMENSION))
                 .confidence(0.8)
                 .usageCount(0)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
-                .roundRange(getRoundRangeFromContent(content))
+                .roundRange(getRoundRangeFromContent(analyzedContent))
                 .difficulty("중급")
-                .towerTypes(extractTowerTypes(content))
+                .towerTypes(extractTowerTypes(analyzedContent))
                 .successRate(0.7)
                 .sourceUrl(result.getUrl())
                 .build();
@@ -893,6 +1028,8 @@ public class WebDataCollectionService {
                                                     String content, String keyword) {
         try {
             String shortContent = content.length() > 1000 ? content.substring(0, 1000) + "..." : content;
+            AnalyzedText analyzedTitle = TextAnalyzer.analyze(result.getTitle());
+            AnalyzedText analyzedContent = TextAnalyzer.analyze(content);
             
             return BloonsTDKnowledge.builder()
                 .id(UUID.randomUUID().toString())
@@ -900,15 +1037,15 @@ public class WebDataCollectionService {
                 .title(result.getTitle())
                 .content(shortContent)
                 .advice("폴백 처리된 지식")
-                .tags(Arrays.asList(keyword, classifyCategory(result.getTitle(), content)))
-                .embedding(new ArrayList<>())
+                .tags(Arrays.asList(keyword, classifyCategory(analyzedTitle, analyzedContent)))
+                .embedding(generateWebContentEmbedding(analyzedTitle, analyzedContent))
                 .confidence(0.6)
                 .usageCount(0)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
-                .roundRange(getRoundRangeFromContent(content))
+                .roundRange(getRoundRangeFromContent(analyzedContent))
                 .difficulty("중급")
-                .towerTypes(extractTowerTypes(content))
+                .towerTypes(extractTowerTypes(analyzedContent))
                 .successRate(0.6)
                 .sourceUrl(result.getUrl())
                 .build();
@@ -922,22 +1059,16 @@ public class WebDataCollectionService {
     /**
      * 컨텐츠에서 라운드 범위를 추출합니다.
      */
-    private String getRoundRangeFromContent(String content) {
-        if (content == null) return "mid_game";
-        
-        String lower = content.toLowerCase();
-        
-        if (lower.contains("early") || lower.contains("round 1") || lower.contains("round 2") ||
-            lower.contains("round 3") || lower.contains("round 4") || lower.contains("round 5")) {
+    private String getRoundRangeFromContent(AnalyzedText content) {
+        if (content.containsAny(EARLY_ROUND_KEYWORDS)) {
             return "early_game";
         }
         
-        if (lower.contains("late") || lower.contains("round 80") || lower.contains("round 90") ||
-            lower.contains("round 100") || lower.contains("freeplay")) {
+        if (content.containsAny(LATE_ROUND_KEYWORDS)) {
             return "late_game";
         }
         
-        if (lower.contains("boss") || lower.contains("beyond 100")) {
+        if (content.containsAny(FREEPLAY_ROUND_KEYWORDS)) {
             return "freeplay";
         }
         
@@ -947,23 +1078,12 @@ public class WebDataCollectionService {
     /**
      * 컨텐츠에서 타워 타입들을 추출합니다.
      */
-    private List<String> extractTowerTypes(String content) {
-        if (content == null) return new ArrayList<>();
-        
+    private List<String> extractTowerTypes(AnalyzedText content) {
         List<String> towerTypes = new ArrayList<>();
-        String lower = content.toLowerCase();
-        
-        String[] towers = {
-            "dart_monkey", "boomerang_monkey", "bomb_shooter", "tack_shooter", "ice_monkey", "glue_gunner",
-            "sniper_monkey", "monkey_sub", "monkey_buccaneer", "monkey_ace", "heli_pilot", "mortar_monkey",
-            "dartling_gunner", "wizard_monkey", "super_monkey", "ninja_monkey", "alchemist", "druid",
-            "banana_farm", "spike_factory", "monkey_village", "engineer_monkey"
-        };
         
-        for (String tower : towers) {
-            String displayName = tower.replace("_", " ");
-            if (lower.contains(displayName) || lower.contains(tower)) {
-                towerTypes.add(tower);
+        for (int i = 0; i < TOWER_IDS.length; i++) {
+            if (content.contains(TOWER_NAME_KEYWORDS, i)) {
+                towerTypes.add(TOWER_IDS[i]);
             }
         }
         
@@ -978,7 +1098,7 @@ public class WebDataCollectionService {
     /**
      * 섹션의 신뢰도를 계산합니다.
      */
-    private double calculateSectionConfidence(WebSearchResponse.SearchResult result, ContentSection section) {
+    private double calculateSectionConfidence(WebSearchResponse.SearchResult result, PageSection section) {
         double confidence = 0.7; // 기본 신뢰도
         
         // URL 기반 보정
@@ -1003,80 +1123,86 @@ public class WebDataCollectionService {
     }
 
     /**
-     * 컨텐츠 섹션을 나타내는 내부 클래스
+     * 페이지 동기화 결과
+     */
+    private enum SyncOutcome {
+        NOT_MODIFIED,   // 304 응답
+        UNCHANGED,      // 본문 해시 일치
+        CHANGED,        // 달라진 섹션 반영
+        FAILED
+    }
+    
+    /**
+     * 페이지 동기화 결과와 페이지의 하위 링크
+     */
+    private static class PageSync {
+        private static final PageSync FAILED = new PageSync(SyncOutcome.FAILED, List.of());
+        
+        private final SyncOutcome outcome;
+        private final List<String> links;
+        
+        PageSync(SyncOutcome outcome, List<String> links) {
+            this.outcome = outcome;
+            this.links = links != null ? links : List.of();
+        }
+    }
+    
+    /**
+     * 페이지 문서에서 추출한 제목, 메타 설명, 본문 텍스트와 섹션
      */
-    private static class ContentSection {
+    private static class PageContent {
         private final String title;
+        private final String description;
         private final String content;
+        private final List<PageSection> sections;
         
-        public ContentSection(String title, String content) {
+        PageContent(String title, String description, String content, List<PageSection> sections) {
             this.title = title;
+            this.description = description;
             this.content = content;
+            this.sections = sections;
         }
+    }
+    
+    /**
+     * 섹션 키와 해시, 섹션에서 만든 지식 (이전과 같은 섹션이면 null)
+     */
+    private static class SectionKnowledge {
+        private final String key;
+        private final String hash;
+        private final BloonsTDKnowledge knowledge;
         
-        public String getTitle() { return title; }
-        public String getContent() { return content; }
+        SectionKnowledge(String key, String hash, BloonsTDKnowledge knowledge) {
+            this.key = key;
+            this.hash = hash;
+            this.knowledge = knowledge;
+        }
     }
     
     /**
      * 웹 내용을 벡터로 변환합니다.
-     * TODO: 실제 임베딩 API(OpenAI, Google 등) 연동 필요
+     * 검색 쿼리와 같은 분석기/차원을 사용하므로 BloonsTDVectorService의 쿼리 임베딩과 직접 비교됩니다.
      */
-    private List<Double> generateWebContentEmbedding(String content) {
-        // TF-IDF 기반 의미 있는 임베딩 생성
-        List<Double> embedding = new ArrayList<>();
-        
-        // BTD 관련 핵심 키워드들로 특성 벡터 생성
-        String[] keywords = {
-            "bloons", "btd", "tower", "defense", "monkey", "dart", "bomb", "ice", "sniper",
-            "moab", "ceramic", "lead", "camo", "strategy", "round", "upgrade", "path",
-            "primary", "military", "magic", "support", "hero", "village", "farm", "spike",
-            "quincy", "gwendolin", "striker", "obyn", "churchill", "benjamin", "pat", "ezili",
-            "combo", "synergy", "early", "mid", "late", "game", "difficult", "expert",
-            "beginner", "easy", "medium", "hard", "ceramic", "fortified", "regrow", "shield"
-        };
-        
-        String lowerContent = content.toLowerCase();
-        
-        // 각 키워드의 출현 빈도와 위치 기반으로 벡터 생성
-        for (String keyword : keywords) {
-            double frequency = 0.0;
-            int lastIndex = 0;
-            int count = 0;
-            
-            // 키워드 출현 빈도 계산
-            while ((lastIndex = lowerContent.indexOf(keyword, lastIndex)) != -1) {
-                count++;
-                lastIndex += keyword.length();
-            }
-            
-            if (count > 0) {
-                frequency = Math.log(1 + count) / Math.log(content.length() + 1);
-                // 키워드가 제목이나 앞부분에 있으면 가중치 추가
-                if (content.length() > 100 && lowerContent.substring(0, 100).contains(keyword)) {
-                    frequency *= 1.5;
-                }
-            }
-            
-            embedding.add(Math.min(frequency, 1.0));
+    private List<Double> generateWebContentEmbedding(AnalyzedText title, AnalyzedText content) {
+        if (title.isEmpty()) {
+            return TextAnalyzer.embed(content, EMBEDDING_DIMENSION);
         }
+        // 제목과 본문을 하나의 스트림으로 다시 합치지 않고 본문 임베딩에 제목 임베딩을 더해 정규화
+        List<Double> contentEmbedding = TextAnalyzer.embed(content, EMBEDDING_DIMENSION);
+        List<Double> titleEmbedding = TextAnalyzer.embed(title, EMBEDDING_DIMENSION);
         
-        // 벡터를 768차원으로 확장 (패딩 또는 반복)
-        while (embedding.size() < 768) {
-            // 기존 벡터를 변형하여 확장
-            int index = embedding.size() % keywords.length;
-            double baseValue = embedding.get(index);
-            // 약간의 노이즈를 추가하여 다양성 확보
-            double noise = (Math.random() - 0.5) * 0.1;
-            embedding.add(Math.max(0.0, Math.min(1.0, baseValue + noise)));
+        double[] combined = new double[EMBEDDING_DIMENSION];
+        double norm = 0.0;
+        for (int i = 0; i < EMBEDDING_DIMENSION; i++) {
+            combined[i] = contentEmbedding.get(i) + titleEmbedding.get(i);
+            norm += combined[i] * combined[i];
         }
+        norm = Math.sqrt(norm);
         
-        // 벡터 정규화 (L2 norm)
-        double norm = Math.sqrt(embedding.stream().mapToDouble(x -> x * x).sum());
-        if (norm > 0) {
-            embedding = embedding.stream().map(x -> x / norm).collect(java.util.stream.Collectors.toList());
+        List<Double> embedding = new ArrayList<>(EMBEDDING_DIMENSION);
+        for (double v : combined) {
+            embedding.add(norm > 0 ? v / norm : 0.0);
         }
-        
         return embedding;
     }
 
@@ -1167,6 +1293,8 @@ public class WebDataCollectionService {
             
             long deletedCount = repository.count();
             repository.deleteAll();
+            // 재수집 상태도 비워 다음 수집에서 모든 페이지를 다시 학습하도록 함
+            fetchStateRepository.deleteAll();
             
             log.info("✅ BloonsTD 벡터 데이터 초기화 완료! 삭제된 지식 수: {}", deletedCount);
             
@@ -1250,25 +1378,27 @@ public class WebDataCollectionService {
     }
 
     /**
-     * 전체 재학습을 위한 완전한 초기화 및 재수집
+     * 전략 가이드와 위키를 다시 수집합니다.
+     * 기본은 증분 동기화로, 페이지마다 조건부 요청을 보내 바뀌지 않은 페이지(304/해시 일치)는 건너뛰고
+     * 바뀐 페이지는 달라진 섹션의 지식만 추가/수정/삭제합니다.
+     * @param fullReset true면 지식과 재수집 상태를 모두 지우고 처음부터 수집
      */
-    public CompletableFuture<Map<String, Object>> resetAndRelearn(boolean enhancedMode) {
+    public CompletableFuture<Map<String, Object>> resetAndRelearn(boolean fullReset) {
         return CompletableFuture.supplyAsync(() -> {
             Map<String, Object> result = new HashMap<>();
             
             try {
-                log.info("🔄 BloonsTD 벡터 DB 전체 재학습 시작 (개선모드: {})", enhancedMode);
+                log.info("🔄 BloonsTD 벡터 DB 재학습 시작 (전체 초기화: {})", fullReset);
                 
-                // 1. DB 초기화
-                clearAllBloonsTDData();
-                result.put("1단계_DB초기화", "완료");
-                
-                // 2. 향상된 수집 모드 설정
-                if (enhancedMode) {
-                    log.info("🚀 향상된 수집 모드 활성화 - 섹션별 세분화 처리");
+                // 1. DB 초기화 (전체 초기화 요청 시에만)
+                if (fullReset) {
+                    clearAllBloonsTDData();
+                    result.put("1단계_DB초기화", "완료");
+                } else {
+                    result.put("1단계_DB초기화", "건너뜀 (증분 동기화)");
                 }
                 
-                // 3. 전략 가이드 수집
+                // 2. 전략 가이드 수집
                 try {
                     collectAllStrategyGuides();
                     result.put("2단계_전략가이드", "완료");
@@ -1277,7 +1407,7 @@ public class WebDataCollectionService {
                     result.put("2단계_전략가이드", "실패: " + e.getMessage());
                 }
                 
-                // 4. 사이트 깊이 크롤링
+                // 3. 사이트 깊이 크롤링
                 try {
                     collectSiteDeep("https://bloons.fandom.com", "BloonsTD", 2, 30);
                     result.put("3단계_깊이크롤링", "완료");
@@ -1286,7 +1416,7 @@ public class WebDataCollectionService {
                     result.put("3단계_깊이크롤링", "실패: " + e.getMessage());
                 }
                 
-                // 5. 추가 수집 작업
+                // 4. 추가 수집 작업
                 try {
                     log.info("📚 추가 BloonsTD 지식 수집을 위해 더 많은 키워드로 검색합니다...");
                     
@@ -1299,7 +1429,7 @@ public class WebDataCollectionService {
                     result.put("4단계_추가수집", "실패: " + e.getMessage());
                 }
                 
-                // 6. 최종 통계
+                // 5. 최종 통계
                 Map<String, Object> finalStats = getKnowledgeStatistics();
                 result.put("최종_통계", finalStats);
                 
@@ -1338,6 +1468,8 @@ public class WebDataCollectionService {
                 }
                 
                 log.info("📄 페이지 컨텐츠 추출 완료: {} 문자", content.length());
+                Document page = Jsoup.parse(content, url);
+                webSearchService.indexPage(GAME_NAME, url, page.title(), page.body().text());
                 result.put("컨텐츠_크기", content.length() + " 문자");
                 
                 // 2. 컨텐츠를 의미 있는 섹션들로 분할
@@ -1351,11 +1483,18 @@ public class WebDataCollectionService {
                     DetailedSection section = sections.get(i);
                     
                     try {
-                        if (section.getContent().length() < 30 || !isBTDRelated(section.getTitle(), section.getContent())) {
-                            log.debug("섹션 건너뛰기 (내용 부족 또는 BTD 무관): {} / {}", section.getTitle(), section.getContent().substring(0, Math.min(50, section.getContent().length())));
+                        if (section.getContent().length() < 30) {
+                            log.debug("섹션 건너뛰기 (내용 부족): {}", section.getTitle());
                             continue;
                         }
-                        BloonsTDKnowledge knowledge = createKnowledgeFromDetailedSection(section, url, category, i);
+                        AnalyzedText analyzedTitle = TextAnalyzer.analyze(section.getTitle());
+                        AnalyzedText analyzedContent = TextAnalyzer.analyze(section.getContent());
+                        if (!isBTDRelated(analyzedTitle, analyzedContent)) {
+                            log.debug("섹션 건너뛰기 (BTD 무관): {} / {}", section.getTitle(), section.getContent().substring(0, Math.min(50, section.getContent().length())));
+                            continue;
+                        }
+                        BloonsTDKnowledge knowledge = createKnowledgeFromDetailedSection(section, url, category, i,
+                                                                                         analyzedTitle, analyzedContent);
                         if (knowledge != null) {
                             repository.save(knowledge);
                             totalKnowledgeCount++;
@@ -1402,30 +1541,10 @@ public class WebDataCollectionService {
         try {
             log.info("URL에서 컨텐츠 추출 시작: {}", url);
             
-            // RestTemplate을 사용한 직접 HTTP 요청
-            RestTemplate restTemplate = new RestTemplate();
-            
-            // HTTP 헤더 설정
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36");
-            headers.set("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8");
-            headers.set("Accept-Language", "ko-KR,ko;q=0.8,en-US;q=0.5,en;q=0.3");
-            headers.set("Accept-Encoding", "gzip, deflate");
-            headers.set("Connection", "keep-alive");
-            
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            
-            // HTTP GET 요청
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-            
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                String content = response.getBody();
-                log.info("컨텐츠 추출 성공: {} 문자", content.length());
-                return content;
-            } else {
-                log.warn("HTTP 요청 실패: {} - 상태코드: {}", url, response.getStatusCode());
-                return null;
-            }
+            // 크롤러 연결 풀을 통한 HTTP 요청
+            String content = pageFetcher.fetchHtml(url);
+            log.info("컨텐츠 추출 성공: {} 문자", content.length());
+            return content;
             
         } catch (Exception e) {
             log.error("URL 컨텐츠 추출 실패: {} - {}", url, e.getMessage());
@@ -1528,25 +1647,27 @@ public class WebDataCollectionService {
      * 상세 섹션에서 지식 객체를 생성합니다.
      */
     private BloonsTDKnowledge createKnowledgeFromDetailedSection(DetailedSection section, String sourceUrl, 
-                                                               String category, int index) {
+                                                               String category, int index,
+                                                               AnalyzedText analyzedTitle,
+                                                               AnalyzedText analyzedContent) {
         try {
             return BloonsTDKnowledge.builder()
                 .id(UUID.randomUUID().toString())
-                .situationType(classifySituationType(section.getTitle(), section.getContent()))
+                .situationType(classifySituationType(analyzedTitle, analyzedContent))
                 .title(section.getTitle())
                 .content(section.getContent())
                 .advice("섹션 " + (index + 1) + " - " + section.getExtractionMethod() + " 방식으로 추출")
                 .tags(Arrays.asList(category, 
-                                  classifyCategory(section.getTitle(), section.getContent()), 
+                                  classifyCategory(analyzedTitle, analyzedContent), 
                                   section.getExtractionMethod()))
-                .embedding(new ArrayList<>())
+                .embedding(generateWebContentEmbedding(analyzedTitle, analyzedContent))
                 .confidence(calculateDetailedSectionConfidence(section, sourceUrl))
                 .usageCount(0)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
-                .roundRange(getRoundRangeFromContent(section.getContent()))
-                .difficulty(classifyDifficulty(section.getContent()))
-                .towerTypes(extractTowerTypes(section.getContent()))
+                .roundRange(getRoundRangeFromContent(analyzedContent))
+                .difficulty(classifyDifficulty(analyzedContent))
+                .towerTypes(extractTowerTypes(analyzedContent))
                 .successRate(0.8) // 단일 페이지 깊이 분석이므로 높은 신뢰도
                 .sourceUrl(sourceUrl)
                 .build();
@@ -1574,7 +1695,7 @@ public class WebDataCollectionService {
                 .content(summary)
                 .advice("BTD6 메인 위키 페이지 전체 요약 - " + sectionCount + "개 세부 섹션 포함")
                 .tags(Arrays.asList(category, "메인페이지", "종합가이드", "전체요약"))
-                .embedding(new ArrayList<>())
+                .embedding(TextAnalyzer.embed(TextAnalyzer.analyze(summary), EMBEDDING_DIMENSION))
                 .confidence(0.95) // 공식 위키이므로 매우 높은 신뢰도
                 .usageCount(0)
                 .createdAt(LocalDateTime.now())
@@ -1674,82 +1795,41 @@ public class WebDataCollectionService {
     /**
      * BloonsTD 관련 컨텐츠인지 확인합니다.
      */
-    private boolean isBTDRelated(String title, String content) {
-        if ((content == null || content.length() < 30) && (title == null || title.length() < 5)) return false;
-        String lowerContent = (content == null ? "" : content.toLowerCase());
-        String lowerTitle = (title == null ? "" : title.toLowerCase());
-        String[] btdKeywords = {
-            "bloons", "btd", "tower defense", "monkey", "dart monkey", "boomerang", 
-            "tack shooter", "bomb shooter", "ice monkey", "glue gunner", "sniper",
-            "monkey sub", "buccaneer", "ace", "heli", "mortar", "dartling", 
-            "wizard", "super monkey", "ninja", "alchemist", "druid", "banana farm",
-            "spike factory", "village", "engineer", "hero", "quincy", "gwendolin",
-            "striker jones", "obyn", "captain churchill", "benjamin", "ezili",
-            "pat fusty", "adora", "brickell", "etienne", "sauda", "psi", "geraldo",
-            "moab", "ceramic", "lead", "camo", "regrow", "fortified", "ddt", "bad",
-            "round", "pop", "pierce", "damage", "upgrade", "tier", "paragon"
-        };
-        int matchCount = 0;
-        for (String keyword : btdKeywords) {
-            if (lowerContent.contains(keyword) || lowerTitle.contains(keyword)) {
-                matchCount++;
-            }
-        }
+    private boolean isBTDRelated(AnalyzedText title, AnalyzedText content) {
         // 1개 이상 키워드 포함 시 true
-        return matchCount >= 1;
+        return containsAny(BTD_RELATED_KEYWORDS, title, content);
     }
 
     /**
      * 카테고리를 분류합니다.
      */
-    private String classifyCategory(String title, String content) {
-        if (title == null) title = "";
-        if (content == null) content = "";
-        
-        String combined = (title + " " + content).toLowerCase();
-        
+    private String classifyCategory(AnalyzedText title, AnalyzedText content) {
         // 카테고리 분류 규칙
-        if (combined.contains("hero") || combined.contains("quincy") || combined.contains("gwendolin") ||
-            combined.contains("striker") || combined.contains("obyn") || combined.contains("churchill") ||
-            combined.contains("benjamin") || combined.contains("ezili") || combined.contains("pat") ||
-            combined.contains("adora") || combined.contains("brickell") || combined.contains("etienne") ||
-            combined.contains("sauda") || combined.contains("psi") || combined.contains("geraldo")) {
+        if (containsAny(HERO_CATEGORY_KEYWORDS, title, content)) {
             return "영웅";
         }
         
-        if (combined.contains("tower") || combined.contains("monkey") || combined.contains("dart") ||
-            combined.contains("boomerang") || combined.contains("tack") || combined.contains("bomb") ||
-            combined.contains("ice") || combined.contains("glue") || combined.contains("sniper") ||
-            combined.contains("sub") || combined.contains("buccaneer") || combined.contains("ace") ||
-            combined.contains("heli") || combined.contains("mortar") || combined.contains("dartling") ||
-            combined.contains("wizard") || combined.contains("super") || combined.contains("ninja") ||
-            combined.contains("alchemist") || combined.contains("druid") || combined.contains("spike") ||
-            combined.contains("village") || combined.contains("engineer")) {
+        if (containsAny(TOWER_CATEGORY_KEYWORDS, title, content)) {
             return "타워";
         }
         
-        if (combined.contains("strategy") || combined.contains("guide") || combined.contains("tip") ||
-            combined.contains("combo") || combined.contains("build")) {
+        if (containsAny(STRATEGY_CATEGORY_KEYWORDS, title, content)) {
             return "전략";
         }
         
-        if (combined.contains("map") || combined.contains("beginner") || combined.contains("intermediate") ||
-            combined.contains("advanced") || combined.contains("expert")) {
+        if (containsAny(MAP_CATEGORY_KEYWORDS, title, content)) {
             return "맵";
         }
         
-        if (combined.contains("bloon") || combined.contains("moab") || combined.contains("ceramic") ||
-            combined.contains("lead") || combined.contains("camo") || combined.contains("regrow") ||
-            combined.contains("fortified") || combined.contains("ddt") || combined.contains("bad")) {
+        if (containsAny(BLOON_CATEGORY_KEYWORDS, title, content)) {
             return "블룬";
         }
         
-        if (combined.contains("upgrade") || combined.contains("tier") || combined.contains("paragon")) {
+        if (containsAny(UPGRADE_CATEGORY_KEYWORDS, title, content)) {
             return "업그레이드";
         }
         
-        if (combined.contains("economy") || combined.contains("banana") || combined.contains("farm") ||
-            combined.contains("money") || combined.contains("income")) {
+        if (containsAny(ECONOMY_CATEGORY_KEYWORDS, title, content)) {
             return "경제";
         }
         
@@ -1759,37 +1839,25 @@ public class WebDataCollectionService {
     /**
      * 상황 타입을 분류합니다.
      */
-    private String classifySituationType(String title, String content) {
-        if (title == null) title = "";
-        if (content == null) content = "";
-        
-        String combined = (title + " " + content).toLowerCase();
-        
+    private String classifySituationType(AnalyzedText title, AnalyzedText content) {
         // 라운드 정보로 판단
-        if (combined.contains("round 1") || combined.contains("round 2") || combined.contains("round 3") ||
-            combined.contains("round 4") || combined.contains("round 5") || combined.contains("early") ||
-            combined.contains("beginner") || combined.contains("start")) {
+        if (containsAny(EARLY_SITUATION_KEYWORDS, title, content)) {
             return "초반";
         }
         
-        if (combined.contains("round 6") || combined.contains("round 7") || combined.contains("round 8") ||
-            combined.contains("round 9") || combined.contains("round 10") || combined.contains("ceramic") ||
-            combined.contains("middle") || combined.contains("mid")) {
+        if (containsAny(MID_SITUATION_KEYWORDS, title, content)) {
             return "중반";
         }
         
-        if (combined.contains("round 80") || combined.contains("round 90") || combined.contains("round 100") ||
-            combined.contains("late") || combined.contains("endgame") || combined.contains("freeplay")) {
+        if (containsAny(LATE_SITUATION_KEYWORDS, title, content)) {
             return "후반";
         }
         
-        if (combined.contains("boss") || combined.contains("bloonarius") || combined.contains("lych") ||
-            combined.contains("vortex") || combined.contains("dreadbloon") || combined.contains("phayze")) {
+        if (containsAny(BOSS_SITUATION_KEYWORDS, title, content)) {
             return "보스";
         }
         
-        if (combined.contains("moab") || combined.contains("bfb") || combined.contains("zomg") ||
-            combined.contains("bad") || combined.contains("ddt")) {
+        if (containsAny(MOAB_SITUATION_KEYWORDS, title, content)) {
             return "중반";
         }
         
@@ -1799,25 +1867,25 @@ public class WebDataCollectionService {
     /**
      * 난이도를 분류합니다.
      */
-    private String classifyDifficulty(String content) {
-        if (content == null) return "중급";
-        
-        String lower = content.toLowerCase();
-        
-        if (lower.contains("beginner") || lower.contains("easy") || lower.contains("simple") ||
-            lower.contains("기초") || lower.contains("초보") || lower.contains("쉬운")) {
+    private String classifyDifficulty(AnalyzedText content) {
+        if (content.containsAny(EASY_DIFFICULTY_KEYWORDS)) {
             return "초급";
         }
         
-        if (lower.contains("expert") || lower.contains("hard") || lower.contains("difficult") ||
-            lower.contains("advanced") || lower.contains("complex") || lower.contains("어려운") ||
-            lower.contains("고급") || lower.contains("전문")) {
+        if (content.containsAny(HARD_DIFFICULTY_KEYWORDS)) {
             return "고급";
         }
         
         return "중급";
     }
 
+    /**
+     * 제목 또는 본문 중 하나라도 키워드를 포함하는지 확인합니다.
+     */
+    private static boolean containsAny(KeywordSet keywords, AnalyzedText title, AnalyzedText content) {
+        return title.containsAny(keywords) || content.containsAny(keywords);
+    }
+
     /**
      * 라운드 시작점을 추출합니다.
      */
@@ -1825,8 +1893,7 @@ public class WebDataCollectionService {
         if (content == null) return null;
         
         // Round X 패턴 찾기
-        Pattern pattern = Pattern.compile("round\\s+(\\d+)", Pattern.CASE_INSENSITIVE);
-        Matcher matcher = pattern.matcher(content);
+        Matcher matcher = ROUND_PATTERN.matcher(content);
         
         if (matcher.find()) {
             try {
@@ -1862,8 +1929,7 @@ public class WebDataCollectionService {
         
         try {
             // HTML 헤더 태그에서 제목 추출
-            Pattern headerPattern = Pattern.compile("<h[1-6][^>]*>([^<]+)</h[1-6]>", Pattern.CASE_INSENSITIVE);
-            Matcher matcher = headerPattern.matcher(sectionContent);
+            Matcher matcher = HTML_HEADER_PATTERN.matcher(sectionContent);
             if (matcher.find()) {
                 return cleanText(matcher.group(1)).trim();
             }
@@ -0,0 +1,27 @@
+package com.gameadvisor.service.warmup;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 시작 워밍업 상태 (health 키: warmUp)
+ * readiness 그룹에 포함되어 있어 워밍업이 끝나기 전에는 /actuator/health/readiness 가 503을 반환합니다.
+ */
+@Component
+public class WarmUpHealthIndicator implements HealthIndicator {
+
+    private final WarmUpService warmUpService;
+
+    @Autowired
+    public WarmUpHealthIndicator(WarmUpService warmUpService) {
+        this.warmUpService = warmUpService;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = warmUpService.isCompleted() ? Health.up() : Health.outOfService();
+        return builder.withDetails(warmUpService.getDetails()).build();
+    }
+}
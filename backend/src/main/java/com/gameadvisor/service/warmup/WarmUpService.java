@@ -0,0 +1,249 @@
+package com.gameadvisor.service.warmup;
+
+import com.gameadvisor.model.vector.BaseGameKnowledge;
+import com.gameadvisor.repository.vector.GameVectorRepository;
+import com.gameadvisor.service.WebSearchService;
+import com.gameadvisor.service.prompt.PromptContextAssembler;
+import com.gameadvisor.service.vector.GameVectorService;
+import com.gameadvisor.service.vector.GameVectorServiceFactory;
+import com.gameadvisor.util.AnalyzedText;
+import com.gameadvisor.util.TextAnalyzer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 시작 워밍업
+ * 배포 직후 첫 요청들이 지식 로딩, 연결 수립, JIT 컴파일 비용을 떠안지 않도록
+ * 애플리케이션 시작 후 백그라운드에서 다음을 미리 수행합니다.
+ * <ol>
+ *   <li>게임별 지식 테이블(vector_knowledge_*)의 메모리 인덱스 생성 (DB 연결 풀도 이때 채워짐)</li>
+ *   <li>크롤링한 페이지(crawled_pages)의 로컬 웹 검색 인덱스 생성</li>
+ *   <li>사용량 상위 지식의 상황으로 검색을 실행하여 분석/임베딩/유사도 경로 예열 (결과는 캐시하지 않음)</li>
+ *   <li>Gemini 연결 풀에 연결을 미리 열어 둠 (TLS 핸드셰이크 포함)</li>
+ *   <li>합성 질의 세트를 반복 분석하여 텍스트 분석기/임베딩 코드의 JIT 컴파일 유도</li>
+ * </ol>
+ * 완료 전까지 {@link WarmUpHealthIndicator}가 readiness를 OUT_OF_SERVICE로 보고하므로
+ * 로드 밸런서는 워밍업이 끝난 노드에만 트래픽을 보냅니다.
+ * 단계가 실패해도 워밍업은 완료로 처리됩니다. (느린 노드가 영원히 준비되지 않는 상황 방지)
+ */
+@Slf4j
+@Service
+public class WarmUpService {
+
+    private final List<GameVectorRepository<?>> repositories;
+    private final GameVectorServiceFactory vectorServiceFactory;
+    private final WebSearchService webSearchService;
+    private final PromptContextAssembler promptContextAssembler;
+    private final RestTemplate restTemplate;
+    private final Map<String, Object> details = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private volatile boolean completed;
+
+    @Value("${advice.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${advice.warmup.top-situations:20}")
+    private int topSituations;
+
+    @Value("${advice.warmup.gemini-connections:2}")
+    private int geminiConnections;
+
+    @Value("${advice.warmup.iterations:200}")
+    private int iterations;
+
+    @Value("${advice.warmup.queries:}")
+    private String queryConfig;
+
+    @Value("${gemini.api.url}")
+    private String apiUrl;
+
+    @Autowired
+    public WarmUpService(List<GameVectorRepository<?>> repositories,
+                         GameVectorServiceFactory vectorServiceFactory,
+                         WebSearchService webSearchService,
+                         PromptContextAssembler promptContextAssembler,
+                         @Qualifier("geminiRestTemplate") RestTemplate restTemplate) {
+        this.repositories = repositories;
+        this.vectorServiceFactory = vectorServiceFactory;
+        this.webSearchService = webSearchService;
+        this.promptContextAssembler = promptContextAssembler;
+        this.restTemplate = restTemplate;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * 단계별 결과 (health 상세 정보용)
+     */
+    public Map<String, Object> getDetails() {
+        synchronized (details) {
+            return new LinkedHashMap<>(details);
+        }
+    }
+
+    /**
+     * 웹 서버가 뜬 뒤 백그라운드에서 워밍업을 시작합니다. (liveness는 그동안에도 정상)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            details.put("status", "disabled");
+            completed = true;
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "advice-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void warmUp() {
+        long startedAt = System.currentTimeMillis();
+        log.info("시작 워밍업 시작");
+        try {
+            runStep("indexes", this::loadIndexes);
+            runStep("webSearchIndex", () -> webSearchService.loadIndex() + " pages");
+            runStep("topSituations", this::searchTopSituations);
+            runStep("geminiConnections", this::openGeminiConnections);
+            runStep("syntheticQueries", this::runSyntheticQueries);
+        } finally {
+            long elapsed = System.currentTimeMillis() - startedAt;
+            details.put("durationMs", elapsed);
+            completed = true;
+            log.info("시작 워밍업 완료: {}ms {}", elapsed, getDetails());
+        }
+    }
+
+    private void runStep(String name, StepTask task) {
+        try {
+            details.put(name, task.run());
+        } catch (Exception e) {
+            log.warn("워밍업 단계 실패 ({}): {}", name, e.getMessage());
+            details.put(name, "failed: " + e.getMessage());
+        }
+    }
+
+    private Object loadIndexes() {
+        int total = 0;
+        for (GameVectorRepository<?> repository : repositories) {
+            total += repository.loadIndex();
+        }
+        return total + " knowledge";
+    }
+
+    /**
+     * 게임별 사용량 상위 지식의 제목을 실제 상황 질의처럼 검색합니다.
+     * 실제 요청의 상황 텍스트는 지식 제목과 거의 일치하지 않으므로 임베딩/결과를 보관하지 않고,
+     * 게임별 검색 경로(분류, 임베딩, 인덱스 유사도 계산)를 실제 데이터로 예열하는 데만 사용합니다.
+     */
+    private Object searchTopSituations() {
+        int searched = 0;
+        for (GameVectorRepository<?> repository : repositories) {
+            for (BaseGameKnowledge knowledge : repository.findTopByUsageCount(topSituations)) {
+                if (knowledge.getTitle() == null || !vectorServiceFactory.isSupported(knowledge.getGameName())) {
+                    continue;
+                }
+                vectorServiceFactory.getService(knowledge.getGameName()).searchSimilar(knowledge.getTitle(), 3);
+                searched++;
+            }
+        }
+        return searched + " situations";
+    }
+
+    /**
+     * Gemini 호스트에 가벼운 HEAD 요청을 동시에 보내 풀에 연결을 열어 둡니다.
+     * 응답 상태(401/404 등)와 관계없이 응답을 받으면 연결은 풀로 반환되어 재사용됩니다.
+     */
+    private Object openGeminiConnections() {
+        URI root = URI.create(apiUrl).resolve("/");
+        List<CompletableFuture<Boolean>> opens = new ArrayList<>();
+        for (int i = 0; i < geminiConnections; i++) {
+            opens.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    restTemplate.execute(root, HttpMethod.HEAD, null, response -> null);
+                    return true;
+                } catch (RestClientResponseException e) {
+                    return true;
+                } catch (Exception e) {
+                    log.debug("Gemini 연결 예열 실패: {}", e.getMessage());
+                    return false;
+                }
+            }));
+        }
+        long opened = opens.stream().filter(CompletableFuture::join).count();
+        return opened + "/" + geminiConnections + " connections";
+    }
+
+    /**
+     * 합성 질의를 한 번씩 검색하고, 요청마다 실행되는 분석/임베딩 코드는 반복 실행하여 컴파일을 유도합니다.
+     * 임베딩은 질의 게임의 검색 서비스와 같은 차원으로 생성합니다. (지원하지 않는 게임의 질의는 분석만 반복)
+     */
+    private Object runSyntheticQueries() {
+        List<String[]> queries = parseQueries(queryConfig);
+        int[] dimensions = new int[queries.size()];
+        for (int q = 0; q < queries.size(); q++) {
+            String[] query = queries.get(q);
+            if (vectorServiceFactory.isSupported(query[0])) {
+                GameVectorService service = vectorServiceFactory.getService(query[0]);
+                service.searchSimilar(query[1], 3);
+                dimensions[q] = service.getEmbeddingDimension();
+            }
+        }
+
+        long checksum = 0;
+        for (int i = 0; i < iterations; i++) {
+            for (int q = 0; q < queries.size(); q++) {
+                String[] query = queries.get(q);
+                AnalyzedText analyzed = TextAnalyzer.analyze(query[1]);
+                if (dimensions[q] > 0) {
+                    checksum += TextAnalyzer.embed(analyzed, dimensions[q]).size();
+                }
+                checksum += TextAnalyzer.analyzeCanonical(query[1]).distinctTokens().length;
+                checksum += promptContextAssembler.estimateTokens(query[1]);
+            }
+        }
+        log.debug("합성 질의 예열 checksum={}", checksum);
+        return queries.size() + " queries x " + iterations;
+    }
+
+    /**
+     * "게임:질의;게임:질의" 형식 파싱
+     */
+    private static List<String[]> parseQueries(String config) {
+        List<String[]> parsed = new ArrayList<>();
+        if (config == null || config.isBlank()) {
+            return parsed;
+        }
+        for (String entry : config.split(";")) {
+            int separator = entry.indexOf(':');
+            if (separator <= 0 || separator == entry.length() - 1) {
+                log.warn("잘못된 워밍업 질의 설정 무시: {}", entry);
+                continue;
+            }
+            parsed.add(new String[]{entry.substring(0, separator).trim(), entry.substring(separator + 1).trim()});
+        }
+        return parsed;
+    }
+
+    @FunctionalInterface
+    private interface StepTask {
+        Object run() throws Exception;
+    }
+}
@@ -0,0 +1,231 @@
+package com.gameadvisor.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * {@link TextAnalyzer}가 생성한 문서 단위 토큰 스트림
+ * 토큰 ID 배열과 (토큰 ID, 위치) 정렬 인덱스를 함께 보관하여
+ * 키워드/구문 포함 여부를 원문 재스캔 없이 이진 탐색으로 판정합니다.
+ */
+public final class AnalyzedText {
+
+    /** 필드 경계를 나타내는 예약 토큰 */
+    static final int BOUNDARY = 0;
+
+    private final int[] tokens;
+    private final int[] offsets;
+    private final long[] index;
+    private final BitSet syllables;
+
+    AnalyzedText(int[] tokens, int[] offsets, BitSet syllables) {
+        this.tokens = tokens;
+        this.offsets = offsets;
+        this.syllables = syllables;
+
+        int count = 0;
+        for (int token : tokens) {
+            if (token != BOUNDARY) {
+                count++;
+            }
+        }
+        long[] packed = new long[count];
+        int j = 0;
+        for (int pos = 0; pos < tokens.length; pos++) {
+            if (tokens[pos] != BOUNDARY) {
+                packed[j++] = pack(tokens[pos], pos);
+            }
+        }
+        Arrays.sort(packed);
+        this.index = packed;
+    }
+
+    /**
+     * 경계 토큰을 제외한 토큰 수
+     */
+    public int size() {
+        return index.length;
+    }
+
+    public boolean isEmpty() {
+        return index.length == 0;
+    }
+
+    /**
+     * 키워드 집합 중 하나라도 포함하는지 확인
+     */
+    public boolean containsAny(KeywordSet keywords) {
+        for (int i = 0; i < keywords.size(); i++) {
+            if (contains(keywords, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 포함된 서로 다른 키워드 수
+     */
+    public int countMatched(KeywordSet keywords) {
+        int matched = 0;
+        for (int i = 0; i < keywords.size(); i++) {
+            if (contains(keywords, i)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * 포함된 키워드 목록 (원래 키워드 문자열)
+     */
+    public List<String> matchedKeywords(KeywordSet keywords) {
+        List<String> matched = new ArrayList<>();
+        for (int i = 0; i < keywords.size(); i++) {
+            if (contains(keywords, i)) {
+                matched.add(keywords.keyword(i));
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * 키워드 집합의 i번째 키워드 포함 여부
+     */
+    public boolean contains(KeywordSet keywords, int i) {
+        char syllable = keywords.syllable(i);
+        if (syllable != 0) {
+            return syllables.get(syllable - TextAnalyzer.HANGUL_FIRST);
+        }
+        return firstPhrasePosition(keywords.phrase(i)) >= 0;
+    }
+
+    /**
+     * 구문(연속 토큰 ID)의 첫 등장 위치, 없으면 -1
+     */
+    int firstPhrasePosition(int[] phrase) {
+        if (phrase.length == 0) {
+            return -1;
+        }
+        int first = phrase[0];
+        int i = lowerBound(first);
+        while (i < index.length && tokenOf(index[i]) == first) {
+            int pos = positionOf(index[i]);
+            if (matchesAt(phrase, pos)) {
+                return pos;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * 토큰 ID의 등장 횟수
+     */
+    public int frequency(int tokenId) {
+        int i = lowerBound(tokenId);
+        int count = 0;
+        while (i < index.length && tokenOf(index[i]) == tokenId) {
+            count++;
+            i++;
+        }
+        return count;
+    }
+
+    /**
+     * 서로 다른 토큰별 (ID, 빈도)를 순회합니다.
+     */
+    public void forEachTermFrequency(TermFrequencyConsumer consumer) {
+        int i = 0;
+        while (i < index.length) {
+            int token = tokenOf(index[i]);
+            int start = i;
+            while (i < index.length && tokenOf(index[i]) == token) {
+                i++;
+            }
+            consumer.accept(token, i - start);
+        }
+    }
+
+    /**
+     * 위치별 토큰 ID (경계 토큰 포함)
+     */
+    public int tokenAt(int position) {
+        return tokens[position];
+    }
+
+    /**
+     * 위치별 원문 오프셋 (경계 토큰은 -1)
+     */
+    public int offsetAt(int position) {
+        return offsets[position];
+    }
+
+    /**
+     * 경계 토큰을 포함한 전체 스트림 길이
+     */
+    public int streamLength() {
+        return tokens.length;
+    }
+
+    /**
+     * 서로 다른 토큰 ID 목록 (오름차순)
+     */
+    public int[] distinctTokens() {
+        int[] distinct = new int[index.length];
+        int n = 0;
+        for (int i = 0; i < index.length; i++) {
+            int token = tokenOf(index[i]);
+            if (n == 0 || distinct[n - 1] != token) {
+                distinct[n++] = token;
+            }
+        }
+        return Arrays.copyOf(distinct, n);
+    }
+
+    private boolean matchesAt(int[] phrase, int pos) {
+        if (pos + phrase.length > tokens.length) {
+            return false;
+        }
+        for (int k = 1; k < phrase.length; k++) {
+            if (tokens[pos + k] != phrase[k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int lowerBound(int token) {
+        long key = pack(token, 0);
+        int lo = 0;
+        int hi = index.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (index[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static long pack(int token, int position) {
+        return ((long) token << 32) | (position & 0xFFFFFFFFL);
+    }
+
+    private static int tokenOf(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    private static int positionOf(long packed) {
+        return (int) packed;
+    }
+
+    @FunctionalInterface
+    public interface TermFrequencyConsumer {
+        void accept(int tokenId, int frequency);
+    }
+}
@@ -0,0 +1,169 @@
+package com.gameadvisor.util;
+
+import java.util.function.BiConsumer;
+
+/**
+ * 실패율 기반 서킷 브레이커
+ * CLOSED: 최근 windowSize 건의 실패율이 임계값을 넘으면 OPEN으로 전환
+ * OPEN: openDurationMs 동안 모든 호출을 거부한 뒤 HALF_OPEN으로 전환
+ * HALF_OPEN: 최대 halfOpenCalls 건의 시험 호출만 허용하여, 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN
+ * 허가에는 발급 당시의 세대(상태 전환마다 증가)가 찍혀 있어, 이전 상태에서 허가받은 호출이 늦게 끝나도
+ * 현재 상태의 판정(예: HALF_OPEN 시험 호출 결과)에 반영되지 않습니다.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    /**
+     * 호출 허가 (발급 당시의 세대)
+     */
+    public static final class Permission {
+        private final long generation;
+
+        private Permission(long generation) {
+            this.generation = generation;
+        }
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationMs;
+    private final int halfOpenCalls;
+    private final BiConsumer<State, State> onTransition;
+
+    // 최근 호출 결과 순환 버퍼 (true = 실패)
+    private final boolean[] window;
+    private int windowPosition;
+    private int recordedCalls;
+    private int failuresInWindow;
+
+    private State state = State.CLOSED;
+    private long generation;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    /**
+     * @param failureRateThreshold 실패율 임계값 (0~100, %)
+     * @param onTransition 상태 전환 알림 (이전 상태, 새 상태)
+     */
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                          long openDurationMs, int halfOpenCalls, BiConsumer<State, State> onTransition) {
+        this.windowSize = Math.max(1, windowSize);
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, this.windowSize));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationMs = openDurationMs;
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.onTransition = onTransition;
+        this.window = new boolean[this.windowSize];
+    }
+
+    /**
+     * 호출 허가, 허용되지 않으면 null
+     * 받은 허가로는 반드시 onSuccess, onFailure 또는 releasePermission 중 하나를 호출해야 합니다.
+     */
+    public synchronized Permission tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openDurationMs) {
+                return null;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits >= halfOpenCalls) {
+                return null;
+            }
+            halfOpenPermits++;
+        }
+        return new Permission(generation);
+    }
+
+    public synchronized void onSuccess(Permission permission) {
+        if (isStale(permission)) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            halfOpenSuccesses++;
+            if (halfOpenSuccesses >= halfOpenCalls) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure(Permission permission) {
+        if (isStale(permission)) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recordedCalls >= minimumCalls
+                && failuresInWindow * 100.0 / recordedCalls >= failureRateThreshold) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    /**
+     * 허용받은 호출을 실행하지 않았거나 결과를 판정할 수 없을 때 허가를 반납합니다. (결과는 기록하지 않음)
+     */
+    public synchronized void releasePermission(Permission permission) {
+        if (isStale(permission)) {
+            return;
+        }
+        if (state == State.HALF_OPEN && halfOpenPermits > 0) {
+            halfOpenPermits--;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * 허가 이후 상태가 바뀌었으면 그 결과는 현재 상태와 무관 (이전 세대의 결과는 무시)
+     */
+    private boolean isStale(Permission permission) {
+        return permission.generation != generation;
+    }
+
+    private void record(boolean failure) {
+        if (recordedCalls == windowSize) {
+            if (window[windowPosition]) {
+                failuresInWindow--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        window[windowPosition] = failure;
+        if (failure) {
+            failuresInWindow++;
+        }
+        windowPosition = (windowPosition + 1) % windowSize;
+    }
+
+    private void transitionTo(State next) {
+        State previous = state;
+        state = next;
+        generation++;
+        halfOpenPermits = 0;
+        halfOpenSuccesses = 0;
+        if (next == State.OPEN) {
+            openedAt = System.currentTimeMillis();
+        }
+        if (next == State.CLOSED) {
+            recordedCalls = 0;
+            failuresInWindow = 0;
+            windowPosition = 0;
+        }
+        if (onTransition != null && previous != next) {
+            onTransition.accept(previous, next);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.gameadvisor.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 미리 토큰화된 키워드 집합
+ * 키워드는 클래스 로딩 시 한 번만 분석되며, 문서 쪽 {@link AnalyzedText}와 같은 규칙으로 비교됩니다.
+ * 한 음절 한글 키워드(예: "돈", "덱")는 음절 포함 여부로 판정합니다.
+ */
+public final class KeywordSet {
+
+    private final String[] keywords;
+    private final int[][] phrases;
+    private final char[] syllables;
+
+    private KeywordSet(String[] keywords) {
+        this.keywords = keywords;
+        this.phrases = new int[keywords.length][];
+        this.syllables = new char[keywords.length];
+
+        for (int i = 0; i < keywords.length; i++) {
+            String keyword = keywords[i].trim();
+            if (keyword.length() == 1 && TextAnalyzer.isHangulSyllable(keyword.charAt(0))) {
+                syllables[i] = keyword.charAt(0);
+                phrases[i] = new int[0];
+                continue;
+            }
+
+            AnalyzedText analyzed = TextAnalyzer.analyze(keyword);
+            List<Integer> phrase = new ArrayList<>();
+            for (int pos = 0; pos < analyzed.streamLength(); pos++) {
+                int token = analyzed.tokenAt(pos);
+                if (token != AnalyzedText.BOUNDARY) {
+                    phrase.add(token);
+                }
+            }
+            phrases[i] = phrase.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    public static KeywordSet of(String... keywords) {
+        return new KeywordSet(keywords.clone());
+    }
+
+    public int size() {
+        return keywords.length;
+    }
+
+    public String keyword(int i) {
+        return keywords[i];
+    }
+
+    int[] phrase(int i) {
+        return phrases[i];
+    }
+
+    char syllable(int i) {
+        return syllables[i];
+    }
+}
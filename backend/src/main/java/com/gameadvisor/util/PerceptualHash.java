@@ -0,0 +1,63 @@
+package com.gameadvisor.util;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * 이미지 지각 해시 (dHash)
+ * 이미지를 9x8 격자로 나눠 각 칸의 평균 밝기를 구하고, 가로로 이웃한 칸의 밝기 증감을 64비트로 기록합니다.
+ * 칸마다 고정된 수의 픽셀만 표본으로 읽으므로 해상도와 관계없이 일정한 시간에 계산되며 추가 할당이 없습니다.
+ */
+public final class PerceptualHash {
+
+    private static final int COLUMNS = 9;
+    private static final int ROWS = 8;
+    // 칸당 표본 격자 (SAMPLES x SAMPLES)
+    private static final int SAMPLES = 4;
+
+    private PerceptualHash() {
+    }
+
+    /**
+     * 64비트 dHash
+     */
+    public static long dHash(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        long hash = 0L;
+        int bit = 0;
+        for (int row = 0; row < ROWS; row++) {
+            int previous = cellLuminance(image, 0, row, width, height);
+            for (int col = 1; col < COLUMNS; col++) {
+                int current = cellLuminance(image, col, row, width, height);
+                if (current > previous) {
+                    hash |= 1L << bit;
+                }
+                bit++;
+                previous = current;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * 두 해시의 해밍 거리 (0이면 동일, 최대 64)
+     */
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    private static int cellLuminance(BufferedImage image, int col, int row, int width, int height) {
+        int sum = 0;
+        for (int sy = 0; sy < SAMPLES; sy++) {
+            // 칸 내부의 균등 위치 (칸 경계에 치우치지 않도록 0.5 오프셋)
+            int y = (int) (((row * SAMPLES + sy + 0.5) * height) / (ROWS * SAMPLES));
+            for (int sx = 0; sx < SAMPLES; sx++) {
+                int x = (int) (((col * SAMPLES + sx + 0.5) * width) / (COLUMNS * SAMPLES));
+                int rgb = image.getRGB(x, y);
+                // ITU-R BT.601 근사 (정수 연산)
+                sum += (((rgb >> 16) & 0xFF) * 77 + ((rgb >> 8) & 0xFF) * 150 + (rgb & 0xFF) * 29) >> 8;
+            }
+        }
+        return sum;
+    }
+}
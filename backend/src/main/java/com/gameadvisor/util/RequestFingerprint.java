@@ -0,0 +1,46 @@
+package com.gameadvisor.util;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 외부 API 요청의 정규화 해시
+ * 속성 순서를 고정한 JSON으로 직렬화하므로 내용이 같은 요청은 항상 같은 값이 됩니다.
+ * 응답 캐시 키와 동일 요청 병합 키로 사용합니다.
+ */
+public final class RequestFingerprint {
+
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
+
+    private RequestFingerprint() {
+    }
+
+    /**
+     * 대상 URL + 요청 본문의 SHA-256 (16진수)
+     * 이미지가 포함된 요청도 JSON을 메모리에 만들지 않고 다이제스트로 바로 흘려 보냅니다.
+     */
+    public static String of(String targetUrl, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(targetUrl.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            CANONICAL_MAPPER.writeValue(new DigestOutputStream(OutputStream.nullOutputStream(), digest), request);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | IOException e) {
+            throw new IllegalStateException("요청 해시 생성 실패", e);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.gameadvisor.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한국어 게임 용어 → 영어 표준 용어 사전
+ * "라운드 63 세라믹 러시"와 "round 63 ceramic rush"처럼 언어만 다른 표현이
+ * 같은 토큰으로 분석되도록, 분석 전에 한국어 용어를 영어 표준 용어로 바꿉니다.
+ */
+public final class SynonymDictionary {
+
+    // 단어 선두 음절별 후보 (긴 용어 우선)
+    private static final Map<Character, List<String[]>> ENTRIES = new HashMap<>();
+
+    // 한 음절 용어 뒤에 붙어도 같은 단어로 보는 조사
+    private static final String PARTICLES = "을를이가은는의에도와과로";
+
+    static {
+        // 공통 / Bloons TD
+        add("라운드", "round");
+        add("웨이브", "round");
+        add("세라믹", "ceramic");
+        add("러시", "rush");
+        add("러쉬", "rush");
+        add("모압", "moab");
+        add("모아브", "moab");
+        add("보스", "boss");
+        add("카모", "camo");
+        add("위장", "camo");
+        add("납", "lead");
+        add("리드", "lead");
+        add("재생", "regen");
+        add("레겐", "regen");
+        add("풍선", "bloon");
+        add("블룬", "bloon");
+        add("타워", "tower");
+        add("원숭이", "monkey");
+        add("몽키", "monkey");
+        add("업그레이드", "upgrade");
+        add("업글", "upgrade");
+        add("영웅", "hero");
+        add("히어로", "hero");
+        add("다트", "dart");
+        add("부메랑", "boomerang");
+        add("폭탄", "bomb");
+        add("저격", "sniper");
+        add("스나이퍼", "sniper");
+        add("잠수함", "sub");
+        add("마법사", "wizard");
+        add("위자드", "wizard");
+        add("닌자", "ninja");
+        add("연금술사", "alchemist");
+        add("드루이드", "druid");
+        add("바나나", "banana");
+        add("농장", "farm");
+        add("마을", "village");
+        add("빌리지", "village");
+        add("엔지니어", "engineer");
+        add("돈", "money");
+        add("초반", "early");
+        add("중반", "mid");
+        add("후반", "late");
+        add("방어", "defense");
+        add("디펜스", "defense");
+        add("전략", "strategy");
+        add("공략", "guide");
+        add("가이드", "guide");
+        add("조합", "combo");
+        add("배치", "placement");
+
+        // Master Duel
+        add("카드", "card");
+        add("덱", "deck");
+        add("듀얼", "duel");
+        add("몬스터", "monster");
+        add("마법", "spell");
+        add("함정", "trap");
+        add("트랩", "trap");
+        add("특수소환", "special summon");
+        add("소환", "summon");
+        add("융합", "fusion");
+        add("싱크로", "synchro");
+        add("엑시즈", "xyz");
+        add("링크", "link");
+        add("펜듈럼", "pendulum");
+        add("패트랩", "handtrap");
+        add("패", "hand");
+        add("묘지", "graveyard");
+        add("제외", "banish");
+        add("체인", "chain");
+        add("선공", "first");
+        add("후공", "second");
+        add("드로우", "draw");
+
+        for (List<String[]> candidates : ENTRIES.values()) {
+            candidates.sort(Comparator.comparingInt((String[] e) -> e[0].length()).reversed());
+        }
+    }
+
+    private SynonymDictionary() {
+    }
+
+    private static void add(String korean, String english) {
+        ENTRIES.computeIfAbsent(korean.charAt(0), k -> new ArrayList<>()).add(new String[]{korean, english});
+    }
+
+    /**
+     * 한국어 용어를 영어 표준 용어로 바꾼 텍스트를 반환합니다.
+     * 용어는 한글 단어의 시작에서만 일치하며, 한 음절 용어는 단독이거나 조사가 붙은 경우에만 바꿉니다.
+     */
+    public static String canonicalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        StringBuilder sb = null;
+        int copied = 0;
+        int n = text.length();
+        int i = 0;
+        while (i < n) {
+            char ch = text.charAt(i);
+            boolean wordStart = TextAnalyzer.isHangulSyllable(ch)
+                    && (i == 0 || !TextAnalyzer.isHangulSyllable(text.charAt(i - 1)));
+            String[] match = wordStart ? longestMatch(text, i) : null;
+            if (match == null) {
+                i++;
+                continue;
+            }
+            if (sb == null) {
+                sb = new StringBuilder(n + 16);
+            }
+            sb.append(text, copied, i).append(' ').append(match[1]).append(' ');
+            i += match[0].length();
+            copied = i;
+        }
+        if (sb == null) {
+            return text;
+        }
+        sb.append(text, copied, n);
+        return sb.toString();
+    }
+
+    private static String[] longestMatch(String text, int start) {
+        List<String[]> candidates = ENTRIES.get(text.charAt(start));
+        if (candidates == null) {
+            return null;
+        }
+        for (String[] entry : candidates) {
+            String term = entry[0];
+            if (!text.startsWith(term, start)) {
+                continue;
+            }
+            if (term.length() > 1 || isStandaloneSyllable(text, start + 1)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 한 음절 용어 뒤가 단어 끝이거나 조사 한 음절로 끝나는지 확인 (예: "덱", "덱을" 일치 / "덱스" 불일치)
+     */
+    private static boolean isStandaloneSyllable(String text, int next) {
+        if (next >= text.length() || !TextAnalyzer.isHangulSyllable(text.charAt(next))) {
+            return true;
+        }
+        return PARTICLES.indexOf(text.charAt(next)) >= 0
+                && (next + 1 >= text.length() || !TextAnalyzer.isHangulSyllable(text.charAt(next + 1)));
+    }
+}
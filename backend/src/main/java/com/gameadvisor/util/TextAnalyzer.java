@@ -0,0 +1,243 @@
+package com.gameadvisor.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * 한국어/영어 혼합 텍스트 분석기
+ * 정규화와 토큰화(한글 음절 바이그램 + 영문/숫자 단어)를 한 번의 순회로 처리하고
+ * 문서당 한 번만 토큰 ID 스트림을 생성합니다.
+ * 키워드 분류, 검색, 임베딩은 모두 이 결과({@link AnalyzedText})를 재사용합니다.
+ */
+public final class TextAnalyzer {
+
+    static final char HANGUL_FIRST = '가';
+    static final char HANGUL_LAST = '힣';
+
+    private static final int FNV_OFFSET = 0x811C9DC5;
+    private static final int FNV_PRIME = 0x01000193;
+
+    private TextAnalyzer() {
+    }
+
+    /**
+     * 단일 텍스트 분석
+     */
+    public static AnalyzedText analyze(String text) {
+        return analyze(new String[]{text});
+    }
+
+    /**
+     * 여러 필드(제목, 본문 등)를 하나의 토큰 스트림으로 분석합니다.
+     * 필드 경계를 넘어서는 구문 매칭은 일어나지 않으며,
+     * 오프셋은 필드들을 공백 하나로 이어 붙인 텍스트 기준입니다.
+     */
+    public static AnalyzedText analyze(String... parts) {
+        int estimated = 0;
+        for (String part : parts) {
+            if (part != null) {
+                estimated += part.length();
+            }
+        }
+
+        TokenBuffer buffer = new TokenBuffer(Math.max(8, estimated / 3));
+        int base = 0;
+        for (String part : parts) {
+            if (part == null || part.isEmpty()) {
+                continue;
+            }
+            tokenize(normalize(part), base, buffer);
+            buffer.breakPhrase();
+            base += part.length() + 1;
+        }
+        return buffer.build();
+    }
+
+    /**
+     * 한국어 게임 용어를 영어 표준 용어로 바꾼 뒤 분석합니다. (언어가 다른 같은 표현 비교용)
+     * 키워드 분류에는 원문 분석({@link #analyze(String)})을 사용해야 합니다.
+     */
+    public static AnalyzedText analyzeCanonical(String text) {
+        return analyze(SynonymDictionary.canonicalize(text));
+    }
+
+    /**
+     * 분석 결과를 고정 차원의 임베딩 벡터로 변환합니다. (부호 있는 feature hashing + L2 정규화)
+     */
+    public static List<Double> embed(AnalyzedText text, int dimension) {
+        double[] vector = new double[dimension];
+        text.forEachTermFrequency((tokenId, frequency) -> {
+            int mixed = mix(tokenId);
+            int bucket = Math.floorMod(mixed, dimension);
+            double weight = 1.0 + Math.log(frequency);
+            vector[bucket] += (mixed & 0x80000000) == 0 ? weight : -weight;
+        });
+
+        double norm = 0.0;
+        for (double v : vector) {
+            norm += v * v;
+        }
+        norm = Math.sqrt(norm);
+
+        List<Double> embedding = new ArrayList<>(dimension);
+        for (double v : vector) {
+            embedding.add(norm > 0 ? v / norm : 0.0);
+        }
+        return embedding;
+    }
+
+    /**
+     * 검색/캐시 키용 정규화 문자열 (토큰화와 동일한 규칙으로 소문자화 및 공백 정리)
+     */
+    public static String normalizeForKey(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = normalize(text);
+        StringBuilder sb = new StringBuilder(normalized.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < normalized.length(); i++) {
+            char ch = normalized.charAt(i);
+            if (isHangulSyllable(ch) || Character.isLetterOrDigit(ch)) {
+                if (pendingSpace && sb.length() > 0) {
+                    sb.append(' ');
+                }
+                sb.append(Character.toLowerCase(ch));
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    static boolean isHangulSyllable(char ch) {
+        return ch >= HANGUL_FIRST && ch <= HANGUL_LAST;
+    }
+
+    private static String normalize(String text) {
+        // 전각 문자, 호환 자모 등은 NFKC로 정리 (이미 정규화된 경우 원본 유지 → 오프셋 보존)
+        if (Normalizer.isNormalized(text, Normalizer.Form.NFKC)) {
+            return text;
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFKC);
+    }
+
+    private static void tokenize(String s, int base, TokenBuffer buffer) {
+        int n = s.length();
+        int i = 0;
+        while (i < n) {
+            char ch = s.charAt(i);
+            if (isHangulSyllable(ch)) {
+                int start = i;
+                while (i < n && isHangulSyllable(s.charAt(i))) {
+                    i++;
+                }
+                emitHangulRun(s, start, i, base, buffer);
+            } else if (Character.isLetterOrDigit(ch)) {
+                int start = i;
+                boolean digit = Character.isDigit(ch);
+                while (i < n) {
+                    char c = s.charAt(i);
+                    if (isHangulSyllable(c) || !Character.isLetterOrDigit(c) || Character.isDigit(c) != digit) {
+                        break;
+                    }
+                    i++;
+                }
+                emitWord(s, start, i, digit, base, buffer);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private static void emitHangulRun(String s, int start, int end, int base, TokenBuffer buffer) {
+        for (int i = start; i < end; i++) {
+            buffer.syllables.set(s.charAt(i) - HANGUL_FIRST);
+        }
+        if (end - start == 1) {
+            int h = (FNV_OFFSET ^ s.charAt(start)) * FNV_PRIME;
+            buffer.add(h, base + start);
+            return;
+        }
+        for (int i = start; i < end - 1; i++) {
+            int h = (FNV_OFFSET ^ s.charAt(i)) * FNV_PRIME;
+            h = (h ^ s.charAt(i + 1)) * FNV_PRIME;
+            buffer.add(h, base + i);
+        }
+    }
+
+    private static void emitWord(String s, int start, int end, boolean digit, int base, TokenBuffer buffer) {
+        int stemEnd = digit ? end : stripPlural(s, start, end);
+        int h = FNV_OFFSET;
+        for (int i = start; i < stemEnd; i++) {
+            h = (h ^ Character.toLowerCase(s.charAt(i))) * FNV_PRIME;
+        }
+        buffer.add(h, base + start);
+    }
+
+    /**
+     * 영어 복수형 어미를 가볍게 제거합니다. (bloons → bloon, heroes → hero, boss는 유지)
+     */
+    private static int stripPlural(String s, int start, int end) {
+        int len = end - start;
+        if (len <= 3 || Character.toLowerCase(s.charAt(end - 1)) != 's') {
+            return end;
+        }
+        char prev = Character.toLowerCase(s.charAt(end - 2));
+        if (prev == 's') {
+            return end;
+        }
+        if (len > 4 && prev == 'e' && Character.toLowerCase(s.charAt(end - 3)) == 'o') {
+            return end - 2;
+        }
+        return end - 1;
+    }
+
+    static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * 토큰화 중간 버퍼
+     */
+    private static final class TokenBuffer {
+        private int[] tokens;
+        private int[] offsets;
+        private int size;
+        private final BitSet syllables = new BitSet();
+
+        TokenBuffer(int capacity) {
+            this.tokens = new int[capacity];
+            this.offsets = new int[capacity];
+        }
+
+        void add(int token, int offset) {
+            if (size == tokens.length) {
+                int newCapacity = size * 2;
+                tokens = Arrays.copyOf(tokens, newCapacity);
+                offsets = Arrays.copyOf(offsets, newCapacity);
+            }
+            tokens[size] = token;
+            offsets[size] = offset;
+            size++;
+        }
+
+        void breakPhrase() {
+            // 필드 경계 표시: 어떤 키워드와도 일치하지 않는 예약 토큰
+            add(AnalyzedText.BOUNDARY, -1);
+        }
+
+        AnalyzedText build() {
+            return new AnalyzedText(Arrays.copyOf(tokens, size), Arrays.copyOf(offsets, size), syllables);
+        }
+    }
+}
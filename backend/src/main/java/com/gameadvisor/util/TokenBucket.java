@@ -0,0 +1,66 @@
+package com.gameadvisor.util;
+
+/**
+ * 토큰 버킷 속도 제한기
+ * 초당 일정 속도로 토큰이 채워지고, 최대 burst 개까지 모아 둘 수 있습니다.
+ * 토큰이 부족하면 허용된 대기 시간 안에 채워지는 경우에만 예약합니다.
+ */
+public final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * @param ratePerSecond 초당 보충 토큰 수
+     * @param burst 최대 보관 토큰 수
+     */
+    public TokenBucket(double ratePerSecond, int burst) {
+        this.capacity = Math.max(1, burst);
+        this.tokensPerNano = ratePerSecond / 1_000_000_000.0;
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * 토큰 하나를 획득합니다. 필요하면 최대 maxWaitMs 동안 대기합니다.
+     * @return 획득 여부 (대기 시간 안에 토큰이 채워지지 않으면 false, 토큰은 소비되지 않음)
+     */
+    public boolean tryAcquire(long maxWaitMs) throws InterruptedException {
+        long waitNanos = reserve(maxWaitMs * 1_000_000L);
+        if (waitNanos < 0) {
+            return false;
+        }
+        if (waitNanos > 0) {
+            // 잠금 밖에서 대기 - 예약은 이미 반영되어 있음
+            Thread.sleep(waitNanos / 1_000_000L, (int) (waitNanos % 1_000_000L));
+        }
+        return true;
+    }
+
+    /**
+     * 현재 사용 가능한 토큰 수 (메트릭용)
+     */
+    public synchronized double availableTokens() {
+        refill(System.nanoTime());
+        return Math.max(0, tokens);
+    }
+
+    private synchronized long reserve(long maxWaitNanos) {
+        long now = System.nanoTime();
+        refill(now);
+        double deficit = 1.0 - tokens;
+        long waitNanos = deficit <= 0 ? 0 : (long) Math.ceil(deficit / tokensPerNano);
+        if (waitNanos > maxWaitNanos) {
+            return -1;
+        }
+        tokens -= 1.0;
+        return waitNanos;
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+}
@@ -89,6 +89,62 @@ CREATE TABLE IF NOT EXISTS vector_search_log (
     INDEX idx_user_feedback (user_feedback)
 );
 
+-- 크롤링한 웹 페이지 테이블 (로컬 웹 검색 인덱스 원본)
+CREATE TABLE IF NOT EXISTS crawled_pages (
+    url VARCHAR(700) PRIMARY KEY,
+    game_name VARCHAR(50) NOT NULL,
+    title VARCHAR(500),
+    content MEDIUMTEXT NOT NULL,
+    fetched_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    
+    INDEX idx_game_name (game_name),
+    INDEX idx_fetched_at (fetched_at)
+);
+
+-- 페이지별 재수집 상태 (조건부 요청 검증값, 본문 해시, 섹션 키 → {섹션 해시, 지식 ID})
+CREATE TABLE IF NOT EXISTS page_fetch_state (
+    url VARCHAR(700) PRIMARY KEY,
+    etag VARCHAR(255),
+    last_modified VARCHAR(64),
+    content_hash CHAR(64),
+    sections JSON,
+    links JSON,
+    fetched_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    checked_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    
+    INDEX idx_checked_at (checked_at)
+);
+
+-- 사이트 깊이 크롤링 작업 (RUNNING으로 남은 작업은 재시작 후 이어서 진행)
+CREATE TABLE IF NOT EXISTS crawl_jobs (
+    crawl_id VARCHAR(32) PRIMARY KEY,
+    base_url VARCHAR(700) NOT NULL,
+    category VARCHAR(100),
+    max_depth INT NOT NULL,
+    max_pages INT NOT NULL,
+    status VARCHAR(16) NOT NULL DEFAULT 'RUNNING',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    
+    INDEX idx_status (status)
+);
+
+-- 크롤링 대기열 (작업별 방문 기록 겸용, 여러 작업자/노드가 SKIP LOCKED로 URL을 나눠 임대)
+CREATE TABLE IF NOT EXISTS crawl_frontier (
+    crawl_id VARCHAR(32) NOT NULL,
+    url VARCHAR(700) NOT NULL,
+    depth INT NOT NULL,
+    priority INT NOT NULL DEFAULT 0,
+    state VARCHAR(16) NOT NULL DEFAULT 'PENDING',  -- PENDING, LEASED, DONE, FAILED
+    attempts INT NOT NULL DEFAULT 0,
+    next_eligible_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    lease_owner VARCHAR(100),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    
+    PRIMARY KEY (crawl_id, url),
+    INDEX idx_lease (crawl_id, state, next_eligible_at)
+);
+
 -- 게임별 설정 테이블
 CREATE TABLE IF NOT EXISTS game_settings (
     id INT AUTO_INCREMENT PRIMARY KEY,
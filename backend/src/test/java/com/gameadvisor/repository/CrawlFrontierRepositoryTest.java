@@ -0,0 +1,168 @@
+package com.gameadvisor.repository;
+
+import com.gameadvisor.model.CrawlJob;
+import com.gameadvisor.model.FrontierEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * schema.sql의 크롤링 대기열 테이블을 H2(MySQL 호환 모드)에 만들어 임대/완료/실패 규칙을 확인합니다.
+ */
+class CrawlFrontierRepositoryTest {
+
+    private static final String CRAWL_ID = "crawl-1";
+    private static final String SEED = "https://wiki.example.com/";
+    private static final long LONG_LEASE_MS = 60_000;
+
+    private JdbcTemplate jdbcTemplate;
+    private CrawlFrontierRepository repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        for (String ddl : crawlTablesFromSchema()) {
+            jdbcTemplate.execute(ddl);
+        }
+        repository = new CrawlFrontierRepository(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        repository.startJob(CrawlJob.builder()
+                .crawlId(CRAWL_ID).baseUrl(SEED).category("guide").maxDepth(2).maxPages(10)
+                .build(), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void leasedUrlIsNotLeasedAgainUntilLeaseExpires() throws InterruptedException {
+        List<FrontierEntry> first = repository.lease(CRAWL_ID, "worker-a", 8, 100);
+        assertThat(first).extracting(FrontierEntry::getUrl).containsExactly(SEED);
+        assertThat(first.get(0).getAttempts()).isEqualTo(1);
+
+        // 임대 중에는 다른 작업자가 가져가지 못함
+        assertThat(repository.lease(CRAWL_ID, "worker-b", 8, LONG_LEASE_MS)).isEmpty();
+
+        // 완료/실패를 기록하지 못하고 만료되면 다른 작업자가 다시 임대 (시도 횟수 증가)
+        Thread.sleep(200);
+        List<FrontierEntry> retaken = repository.lease(CRAWL_ID, "worker-b", 8, LONG_LEASE_MS);
+        assertThat(retaken).extracting(FrontierEntry::getUrl).containsExactly(SEED);
+        assertThat(retaken.get(0).getAttempts()).isEqualTo(2);
+        assertThat(leaseOwner(SEED)).isEqualTo("worker-b");
+    }
+
+    @Test
+    void completeByOwnerMarksDone() {
+        repository.lease(CRAWL_ID, "worker-a", 8, LONG_LEASE_MS);
+
+        repository.complete(CRAWL_ID, SEED, "worker-a");
+
+        assertThat(state(SEED)).isEqualTo("DONE");
+        assertThat(leaseOwner(SEED)).isNull();
+        assertThat(repository.hasOutstanding(CRAWL_ID)).isFalse();
+    }
+
+    @Test
+    void completeByFormerOwnerAfterReleaseIsIgnored() throws InterruptedException {
+        repository.lease(CRAWL_ID, "worker-a", 8, 100);
+        Thread.sleep(200);
+        repository.lease(CRAWL_ID, "worker-b", 8, LONG_LEASE_MS);
+
+        // 만료된 임대의 이전 작업자가 늦게 완료/실패를 기록해도 현재 임대에는 영향 없음
+        repository.complete(CRAWL_ID, SEED, "worker-a");
+        repository.fail(CRAWL_ID, SEED, "worker-a", false, 0);
+
+        assertThat(state(SEED)).isEqualTo("LEASED");
+        assertThat(leaseOwner(SEED)).isEqualTo("worker-b");
+    }
+
+    @Test
+    void failWithRetryWaitsForRetryDelay() {
+        repository.lease(CRAWL_ID, "worker-a", 8, LONG_LEASE_MS);
+
+        repository.fail(CRAWL_ID, SEED, "worker-a", true, LONG_LEASE_MS);
+
+        assertThat(state(SEED)).isEqualTo("PENDING");
+        assertThat(repository.lease(CRAWL_ID, "worker-b", 8, LONG_LEASE_MS)).isEmpty();
+        assertThat(repository.hasOutstanding(CRAWL_ID)).isTrue();
+    }
+
+    @Test
+    void failWithoutRetryEndsUrl() {
+        repository.lease(CRAWL_ID, "worker-a", 8, LONG_LEASE_MS);
+
+        repository.fail(CRAWL_ID, SEED, "worker-a", false, 0);
+
+        assertThat(state(SEED)).isEqualTo("FAILED");
+        assertThat(repository.hasOutstanding(CRAWL_ID)).isFalse();
+    }
+
+    @Test
+    void enqueueSkipsKnownUrlsAndLeasesByPriorityThenDepth() {
+        repository.lease(CRAWL_ID, "worker-a", 8, LONG_LEASE_MS);
+        repository.complete(CRAWL_ID, SEED, "worker-a");
+
+        assertThat(repository.enqueue(CRAWL_ID, List.of(SEED, SEED + "deep"), 2, 0, 100)).isEqualTo(1);
+        assertThat(repository.enqueue(CRAWL_ID, List.of(SEED + "towers"), 1, 1, 100)).isEqualTo(1);
+
+        assertThat(repository.lease(CRAWL_ID, "worker-a", 8, LONG_LEASE_MS))
+                .extracting(FrontierEntry::getUrl)
+                .containsExactly(SEED + "towers", SEED + "deep");
+        assertThat(repository.countStarted(CRAWL_ID)).isEqualTo(3);
+    }
+
+    @Test
+    void enqueueStopsAtMaxUrlsPerCrawl() {
+        int added = repository.enqueue(CRAWL_ID, List.of(SEED + "a", SEED + "b", SEED + "c"), 1, 0, 3);
+
+        // 시작 URL 포함 작업당 3개까지
+        assertThat(added).isEqualTo(2);
+    }
+
+    private String state(String url) {
+        return jdbcTemplate.queryForObject(
+                "SELECT state FROM crawl_frontier WHERE crawl_id = ? AND url = ?", String.class, CRAWL_ID, url);
+    }
+
+    private String leaseOwner(String url) {
+        return jdbcTemplate.queryForObject(
+                "SELECT lease_owner FROM crawl_frontier WHERE crawl_id = ? AND url = ?", String.class, CRAWL_ID, url);
+    }
+
+    /**
+     * 운영 스키마와 어긋나지 않도록 schema.sql에서 crawl_jobs, crawl_frontier 정의를 그대로 가져옵니다.
+     */
+    private static List<String> crawlTablesFromSchema() throws IOException {
+        String schema;
+        try (InputStream in = CrawlFrontierRepositoryTest.class.getResourceAsStream("/schema.sql")) {
+            schema = new String(in.readAllBytes(), StandardCharsets.UTF_8).replaceAll("--[^\\n]*", "");
+        }
+        Matcher matcher = Pattern.compile("CREATE TABLE IF NOT EXISTS (crawl_jobs|crawl_frontier) \\(.*?\\);",
+                Pattern.DOTALL).matcher(schema);
+        List<String> ddl = new ArrayList<>();
+        while (matcher.find()) {
+            ddl.add(matcher.group());
+        }
+        assertThat(ddl).hasSize(2);
+        return ddl;
+    }
+}
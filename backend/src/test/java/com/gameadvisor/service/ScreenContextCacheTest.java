@@ -0,0 +1,111 @@
+package com.gameadvisor.service;
+
+import com.gameadvisor.model.ScreenAnalysisResponse;
+import com.gameadvisor.service.metrics.AdviceMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScreenContextCacheTest {
+
+    private static final String KEY = "client-1|bloonstd";
+    private static final long HASH = 0x0F0F_0F0F_0F0F_0F0FL;
+
+    private ScreenContextCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ScreenContextCache(new AdviceMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(cache, "ttlMs", 30_000L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 1000);
+        ReflectionTestUtils.setField(cache, "duplicateMaxDistance", 5);
+        ReflectionTestUtils.setField(cache, "duplicateTtlMs", 20_000L);
+        ReflectionTestUtils.setField(cache, "duplicateHistory", 2);
+    }
+
+    @Test
+    void frameWithinHammingThresholdReusesResponse() {
+        ScreenAnalysisResponse response = response("닌자를 배치하세요");
+        cache.rememberFrame(KEY, HASH, response);
+
+        assertThat(cache.similarFrame(KEY, HASH)).isSameAs(response);
+        assertThat(cache.similarFrame(KEY, flipBits(HASH, 5))).isSameAs(response);
+    }
+
+    @Test
+    void frameBeyondHammingThresholdMisses() {
+        cache.rememberFrame(KEY, HASH, response("닌자를 배치하세요"));
+
+        assertThat(cache.similarFrame(KEY, flipBits(HASH, 6))).isNull();
+    }
+
+    @Test
+    void nearestFrameInHistoryWins() {
+        ScreenAnalysisResponse far = response("far");
+        ScreenAnalysisResponse near = response("near");
+        cache.rememberFrame(KEY, flipBits(HASH, 4), far);
+        cache.rememberFrame(KEY, flipBits(HASH, 1), near);
+
+        assertThat(cache.similarFrame(KEY, HASH)).isSameAs(near);
+    }
+
+    @Test
+    void historyKeepsOnlyTheMostRecentFrames() {
+        cache.rememberFrame(KEY, HASH, response("first"));
+        cache.rememberFrame(KEY, ~HASH, response("second"));
+        cache.rememberFrame(KEY, 0L, response("third"));
+
+        assertThat(cache.similarFrame(KEY, HASH)).isNull();
+        assertThat(cache.similarFrame(KEY, ~HASH).getAdvice()).isEqualTo("second");
+        assertThat(cache.similarFrame(KEY, 0L).getAdvice()).isEqualTo("third");
+    }
+
+    @Test
+    void expiredFramesMiss() throws InterruptedException {
+        ReflectionTestUtils.setField(cache, "duplicateTtlMs", 20L);
+        cache.rememberFrame(KEY, HASH, response("닌자를 배치하세요"));
+
+        Thread.sleep(50);
+
+        assertThat(cache.similarFrame(KEY, HASH)).isNull();
+    }
+
+    @Test
+    void failedResponsesAndMissingHashesAreNotRemembered() {
+        cache.rememberFrame(KEY, HASH, ScreenAnalysisResponse.builder().advice("error").success(false).build());
+        cache.rememberFrame(KEY, null, response("no hash"));
+
+        assertThat(cache.similarFrame(KEY, HASH)).isNull();
+        assertThat(cache.similarFrame(KEY, null)).isNull();
+    }
+
+    @Test
+    void framesAreScopedByKey() {
+        cache.rememberFrame(KEY, HASH, response("닌자를 배치하세요"));
+
+        assertThat(cache.similarFrame("client-2|bloonstd", HASH)).isNull();
+    }
+
+    @Test
+    void negativeThresholdDisablesDuplicateDetection() {
+        ReflectionTestUtils.setField(cache, "duplicateMaxDistance", -1);
+        cache.rememberFrame(KEY, HASH, response("닌자를 배치하세요"));
+
+        assertThat(cache.similarFrame(KEY, HASH)).isNull();
+    }
+
+    private static ScreenAnalysisResponse response(String advice) {
+        return ScreenAnalysisResponse.builder().advice(advice).success(true).build();
+    }
+
+    private static long flipBits(long hash, int bits) {
+        long flipped = hash;
+        for (int bit = 0; bit < bits; bit++) {
+            flipped ^= 1L << (bit * 7);
+        }
+        return flipped;
+    }
+}
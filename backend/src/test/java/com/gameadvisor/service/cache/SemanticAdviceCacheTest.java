@@ -0,0 +1,111 @@
+package com.gameadvisor.service.cache;
+
+import com.gameadvisor.repository.vector.KnowledgeChangedEvent;
+import com.gameadvisor.service.metrics.AdviceMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SemanticAdviceCacheTest {
+
+    private static final String GAME = "bloonstd";
+    private static final String SCOPE = SemanticAdviceCache.scopeOf("어떻게 막죠?", "초보", "tower defense");
+
+    private SemanticAdviceCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SemanticAdviceCache(new AdviceMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "minSimilarity", 0.9);
+        ReflectionTestUtils.setField(cache, "maxEntriesPerGame", 200);
+        ReflectionTestUtils.setField(cache, "ttlMs", 60_000L);
+    }
+
+    @Test
+    void sameSituationWithDifferentCaseAndPunctuationHits() {
+        cache.put(SemanticAdviceCache.KIND_SCREEN, GAME, SCOPE, "Round 40: ceramic bloons incoming", "닌자를 더 배치하세요");
+
+        assertThat(cache.lookup(SemanticAdviceCache.KIND_SCREEN, GAME, SCOPE, "round 40 CERAMIC bloons incoming!"))
+                .isEqualTo("닌자를 더 배치하세요");
+    }
+
+    @Test
+    void unrelatedSituationMisses() {
+        cache.put(SemanticAdviceCache.KIND_SCREEN, GAME, SCOPE, "Round 40: ceramic bloons incoming", "닌자를 더 배치하세요");
+
+        assertThat(cache.lookup(SemanticAdviceCache.KIND_SCREEN, GAME, SCOPE, "Round 40: camo lead bloons near the exit"))
+                .isNull();
+    }
+
+    @Test
+    void numbersMustMatchExactly() {
+        cache.put(SemanticAdviceCache.KIND_SCREEN, GAME, SCOPE, "Round 40 with 1,200 cash", "마을을 업그레이드하세요");
+
+        assertThat(cache.lookup(SemanticAdviceCache.KIND_SCREEN, GAME, SCOPE, "Round 41 with 1,200 cash")).isNull();
+        assertThat(cache.lookup(SemanticAdviceCache.KIND_SCREEN, GAME, SCOPE, "round 40 with 1,200 cash!"))
+                .isEqualTo("마을을 업그레이드하세요");
+    }
+
+    @Test
+    void exactKeyIgnoresNumberOrderAndThousandsSeparators() {
+        assertThat(SemanticAdviceCache.exactKeyOf(SCOPE, "1,200 cash at round 40"))
+                .isEqualTo(SemanticAdviceCache.exactKeyOf(SCOPE, "round 40, 1200 cash"));
+        assertThat(SemanticAdviceCache.exactKeyOf(SCOPE, "round 40"))
+                .isNotEqualTo(SemanticAdviceCache.exactKeyOf(SCOPE, "round 4"));
+    }
+
+    @Test
+    void scopeMustMatchExactly() {
+        cache.put(SemanticAdviceCache.KIND_ADVICE, GAME, SCOPE, "Round 40: ceramic bloons incoming", "닌자를 더 배치하세요");
+
+        String otherLevel = SemanticAdviceCache.scopeOf("어떻게 막죠?", "고수", "tower defense");
+        assertThat(cache.lookup(SemanticAdviceCache.KIND_ADVICE, GAME, otherLevel, "Round 40: ceramic bloons incoming"))
+                .isNull();
+        // 정규화 후 같은 질문이면 같은 범위
+        String samePunctuated = SemanticAdviceCache.scopeOf("어떻게 막죠", "초보", "Tower Defense");
+        assertThat(cache.lookup(SemanticAdviceCache.KIND_ADVICE, GAME, samePunctuated, "Round 40: ceramic bloons incoming"))
+                .isEqualTo("닌자를 더 배치하세요");
+    }
+
+    @Test
+    void kindsAndGamesAreSeparated() {
+        cache.put(SemanticAdviceCache.KIND_SCREEN, GAME, SCOPE, "Round 40: ceramic bloons incoming", "닌자를 더 배치하세요");
+
+        assertThat(cache.lookup(SemanticAdviceCache.KIND_ADVICE, GAME, SCOPE, "Round 40: ceramic bloons incoming")).isNull();
+        assertThat(cache.lookup(SemanticAdviceCache.KIND_SCREEN, "masterduel", SCOPE, "Round 40: ceramic bloons incoming")).isNull();
+    }
+
+    @Test
+    void expiredEntriesMiss() throws InterruptedException {
+        ReflectionTestUtils.setField(cache, "ttlMs", 20L);
+        cache.put(SemanticAdviceCache.KIND_SCREEN, GAME, SCOPE, "Round 40: ceramic bloons incoming", "닌자를 더 배치하세요");
+
+        Thread.sleep(50);
+
+        assertThat(cache.lookup(SemanticAdviceCache.KIND_SCREEN, GAME, SCOPE, "Round 40: ceramic bloons incoming")).isNull();
+    }
+
+    @Test
+    void oldestEntryIsEvictedBeyondCapacity() {
+        ReflectionTestUtils.setField(cache, "maxEntriesPerGame", 1);
+        cache.put(SemanticAdviceCache.KIND_SCREEN, GAME, SCOPE, "Round 40: ceramic bloons incoming", "닌자를 더 배치하세요");
+        cache.put(SemanticAdviceCache.KIND_SCREEN, GAME, SCOPE, "Round 63: lead bloon rush", "폭탄 타워를 세우세요");
+
+        assertThat(cache.lookup(SemanticAdviceCache.KIND_SCREEN, GAME, SCOPE, "Round 40: ceramic bloons incoming")).isNull();
+        assertThat(cache.lookup(SemanticAdviceCache.KIND_SCREEN, GAME, SCOPE, "Round 63: lead bloon rush"))
+                .isEqualTo("폭탄 타워를 세우세요");
+    }
+
+    @Test
+    void knowledgeChangeClearsTheGame() {
+        cache.put(SemanticAdviceCache.KIND_SCREEN, GAME, SCOPE, "Round 40: ceramic bloons incoming", "닌자를 더 배치하세요");
+
+        cache.onKnowledgeChanged(new KnowledgeChangedEvent(GAME));
+
+        assertThat(cache.lookup(SemanticAdviceCache.KIND_SCREEN, GAME, SCOPE, "Round 40: ceramic bloons incoming")).isNull();
+    }
+}
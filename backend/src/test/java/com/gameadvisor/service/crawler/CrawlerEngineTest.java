@@ -0,0 +1,142 @@
+package com.gameadvisor.service.crawler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CrawlerEngineTest {
+
+    private static final long MIN_INTERVAL_MS = 150;
+
+    private ThreadPoolTaskExecutor executor;
+    private CrawlerEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.initialize();
+        engine = new CrawlerEngine(executor);
+        ReflectionTestUtils.setField(engine, "maxPerHost", 1);
+        ReflectionTestUtils.setField(engine, "minIntervalMs", MIN_INTERVAL_MS);
+        ReflectionTestUtils.setField(engine, "maxIntervalMs", 1_000L);
+        ReflectionTestUtils.setField(engine, "responseTimeFactor", 0.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+        executor.shutdown();
+    }
+
+    @Test
+    void sameHostTasksStartAtLeastMinIntervalApart() {
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(engine.submit("https://wiki.example.com/page" + i, System::nanoTime));
+        }
+
+        List<Long> startedAt = engine.awaitAll(futures, -1L);
+
+        for (int i = 1; i < startedAt.size(); i++) {
+            long gapMs = TimeUnit.NANOSECONDS.toMillis(startedAt.get(i) - startedAt.get(i - 1));
+            assertThat(gapMs).isGreaterThanOrEqualTo(MIN_INTERVAL_MS - 5);
+        }
+    }
+
+    @Test
+    void concurrencyPerHostNeverExceedsLimit() {
+        ReflectionTestUtils.setField(engine, "maxPerHost", 2);
+        ReflectionTestUtils.setField(engine, "minIntervalMs", 0L);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(engine.submit("https://wiki.example.com/page" + i, () -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(30);
+                running.decrementAndGet();
+                return 1;
+            }));
+        }
+        engine.awaitAll(futures, 0);
+
+        // 작업자는 4개지만 같은 호스트에는 2개까지만 동시에 실행
+        assertThat(peak.get()).isEqualTo(2);
+    }
+
+    @Test
+    void differentHostsRunInParallel() throws InterruptedException {
+        // 두 호스트의 작업이 서로를 기다리므로, 직렬로 실행되면 latch가 끝나지 않음
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        CompletableFuture<Boolean> first = engine.submit("https://a.example.com/", () -> awaitLatch(bothStarted));
+        CompletableFuture<Boolean> second = engine.submit("https://b.example.com/", () -> awaitLatch(bothStarted));
+
+        assertThat(engine.awaitAll(List.of(first, second), false)).containsExactly(true, true);
+    }
+
+    @Test
+    void taskFailureCompletesFutureExceptionallyAndFallsBack() {
+        CompletableFuture<String> failed = engine.submit("https://wiki.example.com/", () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertThat(engine.awaitAll(List.of(failed), "fallback")).containsExactly("fallback");
+    }
+
+    @Test
+    void idleHostQueueIsEvictedAfterInterval() throws Exception {
+        engine.submit("https://a.example.com/", () -> 1).get(1, TimeUnit.SECONDS);
+        engine.submit("https://b.example.com/", () -> 1).get(1, TimeUnit.SECONDS);
+
+        // 간격이 끝나기 전에는 같은 호스트 예의 상태를 유지해야 함
+        assertThat(engine.hostCount()).isEqualTo(2);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (engine.hostCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(engine.hostCount()).isZero();
+    }
+
+    @Test
+    void idleHostKeepsIntervalUntilEvicted() throws Exception {
+        long firstStart = engine.submit("https://wiki.example.com/a", System::nanoTime).get(1, TimeUnit.SECONDS);
+        long secondStart = engine.submit("https://wiki.example.com/b", System::nanoTime).get(1, TimeUnit.SECONDS);
+
+        // 첫 작업이 끝난 직후 제출해도 대기열이 제거되지 않아 최소 간격이 지켜짐
+        assertThat(TimeUnit.NANOSECONDS.toMillis(secondStart - firstStart))
+                .isGreaterThanOrEqualTo(MIN_INTERVAL_MS - 5);
+    }
+
+    private static boolean awaitLatch(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.gameadvisor.service.crawler;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SectionSplitterTest {
+
+    @Test
+    void splitsDocumentAtHeadingsAndSkipsNavigation() {
+        Document doc = Jsoup.parse("<html><head><title>Dart Monkey</title></head><body>"
+                + "<nav>Home | Wiki</nav>"
+                + "<p>The dart monkey is a primary tower.</p>"
+                + "<div id=toc>Contents 1 Upgrades 2 Strategy</div>"
+                + "<h2><span class=mw-headline>Upgrades</span><span class=mw-editsection>[edit]</span></h2>"
+                + "<ul><li>Sharp shots</li><li>Razor sharp shots</li></ul>"
+                + "<h2>Strategy</h2><p>Place it <b>early</b> near the entrance.</p>"
+                + "<script>var x = 1;</script>"
+                + "</body></html>");
+
+        List<PageSection> sections = SectionSplitter.split(doc.body(), doc.title());
+
+        assertThat(sections).extracting(PageSection::getTitle).containsExactly("Dart Monkey", "Upgrades", "Strategy");
+        assertThat(sections.get(1).getContent()).isEqualTo("Sharp shots\nRazor sharp shots");
+        assertThat(sections.get(2).getContent()).isEqualTo("Place it early near the entrance.");
+        assertThat(SectionSplitter.render(sections)).doesNotContain("Home", "Contents", "[edit]", "var x");
+    }
+
+    @Test
+    void splitsTextAtHeadingLinesAndKeepsLineBreaks() {
+        String text = "Contents\n1 Gameplay\n2 Tips\n"
+                + "1 Gameplay\nBloons follow the track.\nPop them before they exit.\n"
+                + "Tips\nSave money for <b>farms</b>.";
+
+        List<PageSection> sections = SectionSplitter.split(text, "Page");
+
+        assertThat(sections).extracting(PageSection::getTitle).containsExactly("Gameplay", "Tips");
+        assertThat(sections.get(0).getContent()).isEqualTo("Bloons follow the track.\nPop them before they exit.");
+        assertThat(sections.get(1).getContent()).isEqualTo("Save money for farms.");
+    }
+
+    @Test
+    void lineBreakTagsBecomeLinesWithoutMergingWords() {
+        List<PageSection> sections = SectionSplitter.split(
+                "Tips\nBuy a <a href=\"/farm\">Banana Farm</a> early.<br>Upgrade it later.<br/>", "Page");
+
+        assertThat(sections).extracting(PageSection::getContent)
+                .containsExactly("Buy a Banana Farm early.\nUpgrade it later.");
+    }
+
+    @Test
+    void cutsLongSectionsAtLineBoundaries() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            text.append("plain lowercase line number ").append(i).append(".\n");
+        }
+
+        List<PageSection> sections = SectionSplitter.split(text.toString(), "Page");
+
+        assertThat(sections).hasSizeGreaterThan(1);
+        assertThat(sections.get(0).getTitle()).isEqualTo("Page - Part 1");
+        assertThat(sections).allSatisfy(section -> {
+            assertThat(section.getContent().length()).isLessThanOrEqualTo(1500);
+            assertThat(section.getContent()).startsWith("plain").endsWith(".");
+        });
+    }
+
+    @Test
+    void emptyInputHasNoSections() {
+        assertThat(SectionSplitter.split((String) null, "Page")).isEmpty();
+        assertThat(SectionSplitter.split("", "Page")).isEmpty();
+    }
+}
@@ -0,0 +1,146 @@
+package com.gameadvisor.service.job;
+
+import com.gameadvisor.model.ScreenAnalysisRequest;
+import com.gameadvisor.model.ScreenAnalysisResponse;
+import com.gameadvisor.service.GeminiService;
+import com.gameadvisor.service.ScreenContextCache;
+import com.gameadvisor.service.metrics.AdviceMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AdviceJobServiceTest {
+
+    private final GeminiService geminiService = mock(GeminiService.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private ThreadPoolTaskExecutor executor;
+    private AdviceJobService service;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(2);
+        executor.initialize();
+        service = new AdviceJobService(geminiService,
+                new ScreenContextCache(new AdviceMetrics(new SimpleMeterRegistry())), executor);
+        ReflectionTestUtils.setField(service, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(service, "maxRunMs", 60_000L);
+
+        // 첫 호출은 release 전까지 대기 (실행 중인 작업 재현)
+        when(geminiService.analyzeScreen(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return ScreenAnalysisResponse.builder().advice("닌자를 배치하세요").success(true).build();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void completedJobCarriesResult() throws Exception {
+        release.countDown();
+
+        AdviceJob job = service.submitScreenAnalysis(request("client-1"));
+
+        assertThat(job.completion().get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(AdviceJob.Status.DONE);
+        assertThat(job.toResponse().getResult().getAdvice()).isEqualTo("닌자를 배치하세요");
+        assertThat(service.find(job.getId())).isSameAs(job);
+    }
+
+    @Test
+    void newCaptureSupersedesTheOwnersPreviousJob() throws Exception {
+        AdviceJob first = service.submitScreenAnalysis(request("client-1"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        AdviceJob second = service.submitScreenAnalysis(request("client-1"));
+
+        assertThat(first.getStatus()).isEqualTo(AdviceJob.Status.CANCELLED);
+        assertThat(first.isFinished()).isTrue();
+        release.countDown();
+        assertThat(second.completion().get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(AdviceJob.Status.DONE);
+        // 취소된 작업은 늦게 끝난 결과로 덮어쓰지 않음
+        assertThat(first.getStatus()).isEqualTo(AdviceJob.Status.CANCELLED);
+        assertThat(first.toResponse().getResult()).isNull();
+    }
+
+    @Test
+    void otherOwnersAreNotSuperseded() throws Exception {
+        AdviceJob first = service.submitScreenAnalysis(request("client-1"));
+        AdviceJob other = service.submitScreenAnalysis(request("client-2"));
+
+        assertThat(first.getStatus()).isNotEqualTo(AdviceJob.Status.CANCELLED);
+        release.countDown();
+        assertThat(first.completion().get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(AdviceJob.Status.DONE);
+        assertThat(other.completion().get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(AdviceJob.Status.DONE);
+    }
+
+    @Test
+    void cancelledQueuedJobNeverRuns() throws Exception {
+        AdviceJob running = service.submitScreenAnalysis(request("client-1"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        AdviceJob queued = service.submitScreenAnalysis(request("client-2"));
+
+        assertThat(service.cancel(queued.getId())).isTrue();
+        assertThat(service.cancel(queued.getId())).isFalse();
+        release.countDown();
+
+        assertThat(running.completion().get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(AdviceJob.Status.DONE);
+        assertThat(queued.getStatus()).isEqualTo(AdviceJob.Status.CANCELLED);
+        executor.shutdown();
+        executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS);
+        verify(geminiService, times(1)).analyzeScreen(any());
+    }
+
+    @Test
+    void saturatedExecutorRejectsAndForgetsTheJob() throws Exception {
+        service.submitScreenAnalysis(request("client-1"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        service.submitScreenAnalysis(request("client-2"));
+        service.submitScreenAnalysis(request("client-3"));
+
+        assertThatThrownBy(() -> service.submitScreenAnalysis(request("client-4")))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void cleanupCancelsOverdueJobsAndRemovesExpiredOnes() throws Exception {
+        AdviceJob job = service.submitScreenAnalysis(request("client-1"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        ReflectionTestUtils.setField(service, "maxRunMs", 0L);
+        ReflectionTestUtils.setField(service, "ttlMs", 0L);
+        Thread.sleep(5);
+
+        service.cleanup();
+        assertThat(job.getStatus()).isEqualTo(AdviceJob.Status.CANCELLED);
+        Thread.sleep(5);
+        service.cleanup();
+
+        assertThat(service.find(job.getId())).isNull();
+    }
+
+    private static ScreenAnalysisRequest request(String clientId) {
+        return ScreenAnalysisRequest.builder().clientId(clientId).gameName("BloonsTD").build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.gameadvisor.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalSearchIndexTest {
+
+    private static final String GAME = "BloonsTD";
+
+    private final LocalSearchIndex index = new LocalSearchIndex(120);
+
+    @Test
+    void ranksDocumentsByRelevance() {
+        index.add(GAME, "https://example.com/ninja", "Ninja Monkey guide",
+                "The ninja monkey throws shurikens. Ninja monkey upgrades pop camo bloons.");
+        index.add(GAME, "https://example.com/towers", "Tower list",
+                "Dart monkey, boomerang monkey and a ninja monkey are primary towers.");
+        index.add(GAME, "https://example.com/maps", "Map list",
+                "Monkey Meadow is the easiest beginner map.");
+
+        List<SearchHit> hits = index.search(GAME, "ninja monkey", null, 10);
+
+        assertThat(hits).extracting(SearchHit::getUrl)
+                .startsWith("https://example.com/ninja", "https://example.com/towers");
+        assertThat(hits.get(0).getScore()).isGreaterThan(hits.get(1).getScore());
+    }
+
+    @Test
+    void phraseMatchOutranksScatteredTerms() {
+        index.add(GAME, "https://example.com/scattered", "Notes",
+                "Super farms are great. Later the monkey village helps too.");
+        index.add(GAME, "https://example.com/phrase", "Notes",
+                "Buy a super monkey early. Farms are great later on too.");
+
+        List<SearchHit> hits = index.search(GAME, "super monkey", null, 10);
+
+        assertThat(hits).extracting(SearchHit::getUrl).first().isEqualTo("https://example.com/phrase");
+    }
+
+    @Test
+    void reAddingUrlReplacesPreviousDocument() {
+        index.add(GAME, "https://example.com/page", "Old", "Dart monkey strategy for early rounds.");
+        index.add(GAME, "https://example.com/page", "New", "Sniper monkey strategy for late rounds.");
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search(GAME, "dart", null, 10)).isEmpty();
+        assertThat(index.search(GAME, "sniper", null, 10))
+                .singleElement()
+                .satisfies(hit -> {
+                    assertThat(hit.getUrl()).isEqualTo("https://example.com/page");
+                    assertThat(hit.getTitle()).isEqualTo("New");
+                });
+    }
+
+    @Test
+    void sitePrefixRestrictsResultsIgnoringSchemeAndWww() {
+        index.add(GAME, "https://bloons.fandom.com/wiki/Ice_Monkey", "Ice Monkey", "The ice monkey freezes bloons.");
+        index.add(GAME, "https://www.reddit.com/r/btd6/ice", "Ice tips", "Ice monkey tips from players.");
+
+        List<SearchHit> fandom = index.search(GAME, "ice monkey", "http://bloons.fandom.com/wiki", 10);
+        List<SearchHit> reddit = index.search(GAME, "ice monkey", "reddit.com/r/btd6", 10);
+
+        assertThat(fandom).extracting(SearchHit::getUrl).containsExactly("https://bloons.fandom.com/wiki/Ice_Monkey");
+        assertThat(reddit).extracting(SearchHit::getUrl).containsExactly("https://www.reddit.com/r/btd6/ice");
+    }
+
+    @Test
+    void snippetContainsQueryTermsFromDeepInContent() {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            content.append("Filler sentence number ").append(i).append(" about nothing in particular. ");
+        }
+        content.append("Use a village with radar scanner to reveal camo bloons. ");
+        for (int i = 0; i < 40; i++) {
+            content.append("More filler text ").append(i).append(". ");
+        }
+        index.add(GAME, "https://example.com/camo", "Guide", content.toString());
+
+        SearchHit hit = index.search(GAME, "camo radar", null, 1).get(0);
+
+        assertThat(hit.getSnippet()).contains("camo").contains("radar");
+        // 스니펫 길이 + 앞뒤 생략 기호
+        assertThat(hit.getSnippet().length()).isLessThanOrEqualTo(120 + 2);
+    }
+
+    @Test
+    void partitionsAreIsolated() {
+        index.add(GAME, "https://example.com/btd", "Bloons", "Tack shooter placement.");
+        index.add("masterduel", "https://example.com/md", "Duel", "Tack shooter is not a card.");
+
+        assertThat(index.search(GAME, "tack shooter", null, 10))
+                .extracting(SearchHit::getUrl).containsExactly("https://example.com/btd");
+        assertThat(index.search("unknown", "tack shooter", null, 10)).isEmpty();
+    }
+
+    @Test
+    void stripSchemeNormalizesUrls() {
+        assertThat(LocalSearchIndex.stripScheme("HTTPS://www.Example.com/Path")).isEqualTo("example.com/path");
+        assertThat(LocalSearchIndex.stripScheme("http://example.com")).isEqualTo("example.com");
+    }
+}
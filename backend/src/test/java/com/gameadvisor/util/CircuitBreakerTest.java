@@ -0,0 +1,125 @@
+package com.gameadvisor.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private final List<String> transitions = new ArrayList<>();
+
+    private CircuitBreaker breaker(long openMs) {
+        return new CircuitBreaker(4, 4, 50, openMs, 2, (from, to) -> transitions.add(from + "->" + to));
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        CircuitBreaker breaker = breaker(60_000);
+        for (int i = 0; i < 2; i++) {
+            breaker.onSuccess(acquire(breaker));
+        }
+        breaker.onFailure(acquire(breaker));
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        breaker.onFailure(acquire(breaker));
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isNull();
+        assertThat(transitions).containsExactly("CLOSED->OPEN");
+    }
+
+    @Test
+    void halfOpenClosesOnlyAfterAllTrialCallsSucceed() {
+        CircuitBreaker breaker = openBreaker();
+
+        CircuitBreaker.Permission first = acquire(breaker);
+        CircuitBreaker.Permission second = acquire(breaker);
+        assertThat(breaker.tryAcquirePermission()).isNull();
+        breaker.onSuccess(first);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        breaker.onSuccess(second);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void halfOpenFailureReopens() {
+        CircuitBreaker breaker = openBreaker();
+
+        breaker.onFailure(acquire(breaker));
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void releasedPermissionRecordsNoOutcome() {
+        CircuitBreaker breaker = openBreaker();
+
+        CircuitBreaker.Permission first = acquire(breaker);
+        CircuitBreaker.Permission second = acquire(breaker);
+        breaker.releasePermission(first);
+        breaker.releasePermission(second);
+
+        // 반납된 시험 호출은 성공으로 세지 않으므로 여전히 HALF_OPEN, 허가는 다시 사용 가능
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquirePermission()).isNotNull();
+    }
+
+    @Test
+    void outcomesFromAnEarlierStateAreIgnored() {
+        CircuitBreaker breaker = breaker(0);
+        // CLOSED에서 허가받고 오래 걸리는 호출들
+        List<CircuitBreaker.Permission> slowCalls = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            slowCalls.add(acquire(breaker));
+        }
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(acquire(breaker));
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        CircuitBreaker.Permission probe = acquire(breaker);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        // 늦게 끝난 CLOSED 시절 호출의 성공은 시험 호출 결과로 세지 않음
+        for (CircuitBreaker.Permission slowCall : slowCalls) {
+            breaker.onSuccess(slowCall);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        breaker.onSuccess(probe);
+        breaker.onSuccess(acquire(breaker));
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void staleFailureDoesNotReopenHalfOpenBreaker() {
+        CircuitBreaker breaker = breaker(0);
+        CircuitBreaker.Permission slowCall = acquire(breaker);
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(acquire(breaker));
+        }
+        acquire(breaker);
+
+        breaker.onFailure(slowCall);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    }
+
+    private static CircuitBreaker.Permission acquire(CircuitBreaker breaker) {
+        CircuitBreaker.Permission permission = breaker.tryAcquirePermission();
+        assertThat(permission).isNotNull();
+        return permission;
+    }
+
+    private CircuitBreaker openBreaker() {
+        CircuitBreaker breaker = breaker(0);
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(acquire(breaker));
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        return breaker;
+    }
+}
@@ -0,0 +1,118 @@
+package com.gameadvisor.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> flight = new SingleFlight<>();
+
+    @Test
+    void concurrentCallersShareOneCall() throws Exception {
+        int callers = 4;
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(pool.submit(() -> flight.execute("k", () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "advice";
+            })));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 1; i < callers; i++) {
+                results.add(pool.submit(() -> flight.execute("k", () -> {
+                    calls.incrementAndGet();
+                    return "duplicate";
+                })));
+            }
+            waitUntil(() -> flight.coalescedCount() == callers - 1);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("advice");
+            }
+            assertThat(calls.get()).isEqualTo(1);
+            assertThat(flight.inFlightCount()).isZero();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void waitersReceiveTheLeadersExceptionAndEntryIsRemoved() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = pool.submit(() -> flight.execute("k", () -> {
+                started.countDown();
+                await(release);
+                throw new IllegalStateException("upstream 503");
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<String> waiter = pool.submit(() -> flight.execute("k", () -> "unused"));
+            waitUntil(() -> flight.coalescedCount() == 1);
+            release.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class)
+                    .hasRootCauseMessage("upstream 503");
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // 실패한 항목은 제거되어 다음 호출은 새로 수행
+        assertThat(flight.inFlightCount()).isZero();
+        assertThat(flight.execute("k", () -> "retried")).isEqualTo("retried");
+    }
+
+    @Test
+    void sequentialCallsAreNotCoalesced() {
+        AtomicInteger calls = new AtomicInteger();
+
+        flight.execute("k", () -> "a" + calls.incrementAndGet());
+        String second = flight.execute("k", () -> "a" + calls.incrementAndGet());
+
+        assertThat(second).isEqualTo("a2");
+        assertThat(flight.coalescedCount()).isZero();
+    }
+
+    @Test
+    void differentKeysRunIndependently() {
+        assertThat(flight.execute("a", () -> flight.execute("b", () -> "inner"))).isEqualTo("inner");
+        assertThat(flight.inFlightCount()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,58 @@
+package com.gameadvisor.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TextAnalyzerTest {
+
+    @Test
+    void normalizeForKeyIgnoresCaseAndPunctuation() {
+        assertThat(TextAnalyzer.normalizeForKey("Tips, Tricks!")).isEqualTo("tips tricks");
+        assertThat(TextAnalyzer.normalizeForKey("  tips   tricks ")).isEqualTo("tips tricks");
+        assertThat(TextAnalyzer.normalizeForKey("닌자 원숭이?")).isEqualTo("닌자 원숭이");
+        assertThat(TextAnalyzer.normalizeForKey(null)).isEmpty();
+    }
+
+    @Test
+    void embeddingIsDeterministicAndUnitLength() {
+        List<Double> first = TextAnalyzer.embed(TextAnalyzer.analyze("ninja monkey 닌자 원숭이"), 64);
+        List<Double> second = TextAnalyzer.embed(TextAnalyzer.analyze("ninja monkey 닌자 원숭이"), 64);
+
+        assertThat(first).hasSize(64).isEqualTo(second);
+        assertThat(first.stream().mapToDouble(v -> v * v).sum()).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    void textsSharingTokensEmbedCloserThanUnrelatedText() {
+        List<Double> query = TextAnalyzer.embed(TextAnalyzer.analyze("함정 카드 카운터"), 384);
+        List<Double> related = TextAnalyzer.embed(TextAnalyzer.analyze("함정 카드 대응 전략 카운터 타이밍"), 384);
+        List<Double> unrelated = TextAnalyzer.embed(TextAnalyzer.analyze("블루아이즈 드래곤 융합 소환"), 384);
+
+        assertThat(dot(query, related)).isGreaterThan(dot(query, unrelated));
+    }
+
+    @Test
+    void emptyTextEmbedsToZeroVector() {
+        assertThat(TextAnalyzer.embed(TextAnalyzer.analyze(""), 8)).containsOnly(0.0);
+    }
+
+    @Test
+    void distinctTokensCountEachTokenOnce() {
+        AnalyzedText analyzed = TextAnalyzer.analyze("monkey", "Monkey dart");
+
+        assertThat(analyzed.size()).isEqualTo(3);
+        assertThat(analyzed.distinctTokens()).hasSize(2);
+    }
+
+    private static double dot(List<Double> a, List<Double> b) {
+        double sum = 0;
+        for (int i = 0; i < a.size(); i++) {
+            sum += a.get(i) * b.get(i);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,39 @@
+package com.gameadvisor.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    @Test
+    void allowsBurstThenRejectsWithoutWaiting() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(0.001, 3);
+
+        assertThat(bucket.tryAcquire(0)).isTrue();
+        assertThat(bucket.tryAcquire(0)).isTrue();
+        assertThat(bucket.tryAcquire(0)).isTrue();
+        assertThat(bucket.tryAcquire(0)).isFalse();
+    }
+
+    @Test
+    void rejectedAcquireDoesNotConsumeToken() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(0.001, 1);
+        assertThat(bucket.tryAcquire(0)).isTrue();
+
+        assertThat(bucket.tryAcquire(0)).isFalse();
+
+        assertThat(bucket.availableTokens()).isLessThan(1.0).isGreaterThanOrEqualTo(0.0);
+    }
+
+    @Test
+    void waitsForRefillWithinAllowedTime() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(100, 1);
+        assertThat(bucket.tryAcquire(0)).isTrue();
+
+        long startedAt = System.nanoTime();
+        assertThat(bucket.tryAcquire(1000)).isTrue();
+
+        assertThat(System.nanoTime() - startedAt).isGreaterThanOrEqualTo(1_000_000L);
+    }
+}
@@ -1,12 +1,19 @@
 package com.gameadvisor.client.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * 화면 분석 요청 모델
  */
 public class ScreenAnalysisRequest {
     private String imageBase64;
+    // PNG 바이트 (있으면 multipart로 그대로 업로드하며 JSON에는 포함하지 않음)
+    @JsonIgnore
+    private byte[] imageBytes;
     private String gameName;
     private String additionalContext;
+    private String clientId;
+    private String hudText;
     
     public ScreenAnalysisRequest() {}
     
@@ -24,6 +31,16 @@ public class ScreenAnalysisRequest {
         this.imageBase64 = imageBase64;
     }
     
+    @JsonIgnore
+    public byte[] getImageBytes() {
+        return imageBytes;
+    }
+    
+    @JsonIgnore
+    public void setImageBytes(byte[] imageBytes) {
+        this.imageBytes = imageBytes;
+    }
+    
     public String getGameName() {
         return gameName;
     }
@@ -39,4 +56,20 @@ public class ScreenAnalysisRequest {
     public void setAdditionalContext(String additionalContext) {
         this.additionalContext = additionalContext;
     }
+    
+    public String getClientId() {
+        return clientId;
+    }
+    
+    public void setClientId(String clientId) {
+        this.clientId = clientId;
+    }
+    
+    public String getHudText() {
+        return hudText;
+    }
+    
+    public void setHudText(String hudText) {
+        this.hudText = hudText;
+    }
 } 
\ No newline at end of file
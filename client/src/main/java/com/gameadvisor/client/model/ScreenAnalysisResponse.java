@@ -11,6 +11,8 @@ public class ScreenAnalysisResponse {
     private String timestamp;
     private boolean success;
     private String errorMessage;
+    private String pipelineMode;
+    private boolean cached;
     
     public ScreenAnalysisResponse() {}
     
@@ -69,4 +71,20 @@ public class ScreenAnalysisResponse {
     public void setErrorMessage(String errorMessage) {
         this.errorMessage = errorMessage;
     }
+    
+    public String getPipelineMode() {
+        return pipelineMode;
+    }
+    
+    public void setPipelineMode(String pipelineMode) {
+        this.pipelineMode = pipelineMode;
+    }
+    
+    public boolean isCached() {
+        return cached;
+    }
+    
+    public void setCached(boolean cached) {
+        this.cached = cached;
+    }
 } 
\ No newline at end of file
@@ -2,10 +2,13 @@ package com.gameadvisor.client.network;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
 import okhttp3.*;
+import okio.BufferedSource;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import com.gameadvisor.client.model.Game;
 import com.gameadvisor.client.model.ScreenAnalysisRequest;
 import com.gameadvisor.client.model.ScreenAnalysisResponse;
@@ -14,6 +17,8 @@ public class ApiClient {
     private final OkHttpClient client;
     private final ObjectMapper mapper = new ObjectMapper();
     private static final String BASE_URL = "http://localhost:8080/api";
+    // 서버가 직전 프레임 분석을 클라이언트별로 재사용할 수 있도록 실행 단위 식별자를 전송
+    private static final String CLIENT_ID = java.util.UUID.randomUUID().toString();
 
     public ApiClient() {
         // 타임아웃 설정을 늘려서 이미지 분석 요청을 처리할 수 있도록 함
@@ -39,17 +44,10 @@ public class ApiClient {
      * 화면 분석 요청
      */
     public ScreenAnalysisResponse analyzeScreen(ScreenAnalysisRequest analysisRequest) throws Exception {
-        String json = mapper.writeValueAsString(analysisRequest);
-        
-        RequestBody requestBody = RequestBody.create(
-            json, 
-            MediaType.get("application/json; charset=utf-8")
-        );
-        
-        Request request = new Request.Builder()
-                .url(BASE_URL + "/advice/screen")
-                .post(requestBody)
-                .build();
+        if (analysisRequest.getClientId() == null) {
+            analysisRequest.setClientId(CLIENT_ID);
+        }
+        Request request = screenRequest("/advice/screen", analysisRequest).build();
                 
         try (Response response = client.newCall(request).execute()) {
             if (!response.isSuccessful()) {
@@ -61,4 +59,108 @@ public class ApiClient {
             return mapper.readValue(responseBody, ScreenAnalysisResponse.class);
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * 화면 분석 스트리밍 요청 (SSE)
+     * 조언 텍스트 조각이 도착하는 즉시 onChunk로 전달하고, 완료 시 최종 응답을 반환합니다.
+     * onChunk는 백그라운드 스레드에서 호출됩니다.
+     */
+    public ScreenAnalysisResponse analyzeScreenStream(ScreenAnalysisRequest analysisRequest,
+                                                      Consumer<String> onChunk) throws Exception {
+        if (analysisRequest.getClientId() == null) {
+            analysisRequest.setClientId(CLIENT_ID);
+        }
+        Request request = screenRequest("/advice/screen/stream", analysisRequest)
+                .header("Accept", "text/event-stream")
+                .build();
+        
+        try (Response response = client.newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                System.err.println("화면 분석 스트리밍 요청 실패: " + response);
+                throw new Exception("화면 분석 스트리밍 요청 실패: " + response.code());
+            }
+            
+            BufferedSource source = response.body().source();
+            String eventName = "message";
+            StringBuilder data = new StringBuilder();
+            String line;
+            while ((line = source.readUtf8Line()) != null) {
+                if (line.isEmpty()) {
+                    // 빈 줄에서 이벤트 하나가 완성됨
+                    ScreenAnalysisResponse done = dispatchEvent(eventName, data.toString(), onChunk);
+                    if (done != null) {
+                        return done;
+                    }
+                    eventName = "message";
+                    data.setLength(0);
+                } else if (line.startsWith("event:")) {
+                    eventName = line.substring("event:".length()).trim();
+                } else if (line.startsWith("data:")) {
+                    if (data.length() > 0) {
+                        data.append('\n');
+                    }
+                    data.append(line.substring("data:".length()));
+                }
+            }
+            
+            // 마지막 이벤트 뒤에 빈 줄 없이 스트림이 끝난 경우
+            ScreenAnalysisResponse done = dispatchEvent(eventName, data.toString(), onChunk);
+            if (done != null) {
+                return done;
+            }
+            throw new Exception("화면 분석 스트림이 완료 이벤트 없이 종료되었습니다.");
+        }
+    }
+    
+    /**
+     * 화면 분석 요청
+     * PNG 바이트가 있으면 본문에 바이트 그대로(octet-stream), 나머지 정보는 쿼리 파라미터로 전송하고,
+     * 없으면 기존 JSON(Base64)으로 전송합니다. (multipart는 서버가 파트 전체를 먼저 받아 두어 복사가 더 생김)
+     */
+    private Request.Builder screenRequest(String path, ScreenAnalysisRequest analysisRequest) throws Exception {
+        if (analysisRequest.getImageBytes() == null) {
+            return new Request.Builder()
+                    .url(BASE_URL + path)
+                    .post(RequestBody.create(
+                        mapper.writeValueAsString(analysisRequest),
+                        MediaType.get("application/json; charset=utf-8")
+                    ));
+        }
+        
+        HttpUrl.Builder url = HttpUrl.get(BASE_URL + path).newBuilder()
+                .addQueryParameter("gameName", analysisRequest.getGameName());
+        addQueryParameter(url, "additionalContext", analysisRequest.getAdditionalContext());
+        addQueryParameter(url, "clientId", analysisRequest.getClientId());
+        addQueryParameter(url, "hudText", analysisRequest.getHudText());
+        return new Request.Builder()
+                .url(url.build())
+                .post(RequestBody.create(analysisRequest.getImageBytes(), MediaType.get("application/octet-stream")));
+    }
+    
+    private void addQueryParameter(HttpUrl.Builder url, String name, String value) {
+        if (value != null) {
+            url.addQueryParameter(name, value);
+        }
+    }
+    
+    /**
+     * SSE 이벤트 처리 - done 이벤트면 최종 응답을 반환하고, 그 외에는 null
+     */
+    private ScreenAnalysisResponse dispatchEvent(String eventName, String data, Consumer<String> onChunk) throws Exception {
+        if (data.isEmpty()) {
+            return null;
+        }
+        switch (eventName) {
+            case "chunk":
+                JsonNode chunk = mapper.readTree(data);
+                onChunk.accept(chunk.path("text").asText(""));
+                return null;
+            case "done":
+                return mapper.readValue(data, ScreenAnalysisResponse.class);
+            case "error":
+                throw new Exception(mapper.readTree(data).path("message").asText("스트리밍 오류"));
+            default:
+                return null;
+        }
+    }
+}
\ No newline at end of file
@@ -15,6 +15,7 @@ import javafx.animation.KeyFrame;
 import javafx.util.Duration;
 import java.awt.Rectangle;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
 import com.gameadvisor.client.util.WindowUtils;
 import com.sun.jna.platform.win32.WinDef.HWND;
 
@@ -225,6 +226,9 @@ public class CharacterOverlay {
     }
     
     private void performActualCapture() {
+        // 스트리밍으로 조언이 표시되기 시작했는지 여부 (완료 시 전체 메시지 재표시 생략)
+        AtomicBoolean streamStarted = new AtomicBoolean(false);
+        
         // 백그라운드에서 공략 분석 수행
         Task<ScreenAnalysisResponse> strategyTask = new Task<ScreenAnalysisResponse>() {
             @Override
@@ -262,7 +266,7 @@ public class CharacterOverlay {
                     );
                     
                     // 화면 캡쳐 실행
-                    String capturedImage = ScreenCaptureUtil.captureGameWindow(captureRect);
+                    byte[] capturedImage = ScreenCaptureUtil.captureGameWindowPng(captureRect);
                     System.out.println("[DEBUG] 화면 캡쳐 완료");
                     
                     // 캡쳐 완료 메시지 표시
@@ -292,15 +296,32 @@ public class CharacterOverlay {
                     );
                     
                     ScreenAnalysisRequest request = new ScreenAnalysisRequest(
-                        capturedImage,
+                        null,
                         currentGameInfo.getGameName(),
                         strategyPrompt
                     );
+                    request.setImageBytes(capturedImage);
                     
                     System.out.println("[DEBUG] API 호출 시작");
                     
-                    // API 호출
-                    ScreenAnalysisResponse response = apiClient.analyzeScreen(request);
+                    // API 호출 (스트리밍: 첫 조각부터 바로 말풍선에 표시)
+                    ScreenAnalysisResponse response;
+                    try {
+                        response = apiClient.analyzeScreenStream(request, chunk -> {
+                            if (streamStarted.compareAndSet(false, true)) {
+                                makeCharacterSpeak("🎉 분석 완료!\n\n" + chunk, SpeechBubble.BubbleType.STRATEGY);
+                            } else {
+                                Platform.runLater(() -> speechBubble.appendText(chunk));
+                            }
+                        });
+                    } catch (Exception streamError) {
+                        if (streamStarted.get()) {
+                            throw streamError;
+                        }
+                        // 스트리밍을 지원하지 않는 서버 등: 일반 요청으로 재시도
+                        System.err.println("[WARN] 스트리밍 분석 실패, 일반 요청으로 재시도: " + streamError.getMessage());
+                        response = apiClient.analyzeScreen(request);
+                    }
                     System.out.println("[DEBUG] API 호출 완료: " + (response != null ? "성공" : "실패"));
                     
                     return response;
@@ -325,7 +346,10 @@ public class CharacterOverlay {
                 isAnalyzing = false;
                 updateScreenAnalysisButtonState();
                 
-                if (response != null && response.isSuccess()) {
+                if (response != null && response.isSuccess() && streamStarted.get()) {
+                    // 스트리밍으로 이미 전체 조언이 표시됨
+                    System.out.println("[DEBUG] 스트리밍 분석 결과 표시 완료 (" + response.getPipelineMode() + ")");
+                } else if (response != null && response.isSuccess()) {
                     System.out.println("[DEBUG] 분석 결과 표시");
                     character.setState(AdvisorCharacter.AnimationState.TALKING);
                     makeCharacterSpeak("🎉 분석 완료!\n\n" + response.getAnalysis(), SpeechBubble.BubbleType.STRATEGY);
@@ -446,6 +446,26 @@ public class SpeechBubble extends Group {
         }
     }
     
+    /**
+     * 표시 중인 말풍선에 텍스트를 이어 붙임 (스트리밍 응답용)
+     * 말풍선이 숨겨져 있거나 최소화 상태면 내용만 갱신합니다.
+     */
+    public void appendText(String chunk) {
+        if (chunk == null || chunk.isEmpty()) {
+            return;
+        }
+        currentMessage = currentMessage + chunk;
+        textArea.appendText(chunk);
+        
+        if (!isMinimized) {
+            calculateBubbleSize(currentMessage);
+            bubbleTail.setLayoutX(bubbleContainer.getPrefWidth() / 2);
+            bubbleTail.setLayoutY(bubbleContainer.getPrefHeight());
+        }
+        // 새 텍스트가 보이도록 맨 아래로 스크롤
+        textArea.setScrollTop(Double.MAX_VALUE);
+    }
+    
     /**
      * 타입에 따른 말풍선 스타일 설정
      */
@@ -55,10 +55,31 @@ public class ScreenCaptureUtil {
      * BufferedImage를 Base64 문자열로 변환
      */
     private static String imageToBase64(BufferedImage image) throws IOException {
+        return Base64.getEncoder().encodeToString(imageToPng(image));
+    }
+    
+    /**
+     * BufferedImage를 PNG 바이트로 변환
+     */
+    private static byte[] imageToPng(BufferedImage image) throws IOException {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         ImageIO.write(image, "png", baos);
-        byte[] imageBytes = baos.toByteArray();
-        return Base64.getEncoder().encodeToString(imageBytes);
+        return baos.toByteArray();
+    }
+    
+    /**
+     * 게임 창 영역을 캡쳐하여 PNG 바이트로 반환 (바이너리 업로드용, Base64 변환 없음)
+     */
+    public static byte[] captureGameWindowPng(Rectangle gameRect) {
+        if (robot == null) {
+            throw new RuntimeException("Robot 인스턴스가 초기화되지 않았습니다.");
+        }
+        
+        try {
+            return imageToPng(robot.createScreenCapture(gameRect));
+        } catch (Exception e) {
+            throw new RuntimeException("화면 캡쳐 중 오류 발생: " + e.getMessage(), e);
+        }
     }
     
     /**